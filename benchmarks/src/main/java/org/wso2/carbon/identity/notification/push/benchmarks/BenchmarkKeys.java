@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key material shared by the benchmarks, mirroring what a registered mobile device holds.
+ */
+public final class BenchmarkKeys {
+
+    public static final String CHALLENGE_CLAIM = "chg";
+
+    private final KeyPair keyPair;
+
+    public BenchmarkKeys() throws GeneralSecurityException {
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        this.keyPair = keyPairGenerator.generateKeyPair();
+    }
+
+    /**
+     * Get the public key in the Base64 encoded X.509 form stored for a registered device.
+     *
+     * @return Encoded public key.
+     */
+    public String getEncodedPublicKey() {
+
+        return Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    /**
+     * Build a signed push authentication response JWT, as sent by the mobile app.
+     *
+     * @param challenge Challenge of the push authentication.
+     * @return Serialized JWT.
+     * @throws JOSEException If the JWT can not be signed.
+     */
+    String buildSignedJwt(String challenge) throws JOSEException {
+
+        JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+                .claim("td", "carbon.super")
+                .claim(CHALLENGE_CLAIM, challenge)
+                .claim("res", "APPROVED")
+                .notBeforeTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claimsSet);
+        signedJWT.sign(new RSASSASigner(keyPair.getPrivate()));
+        return signedJWT.serialize();
+    }
+
+    /**
+     * Sign the given registration payload, as done by the mobile app when registering a device.
+     *
+     * @param payload Payload to be signed.
+     * @return Base64 encoded signature.
+     * @throws GeneralSecurityException If the payload can not be signed.
+     */
+    public String sign(String payload) throws GeneralSecurityException {
+
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(signature.sign());
+    }
+}
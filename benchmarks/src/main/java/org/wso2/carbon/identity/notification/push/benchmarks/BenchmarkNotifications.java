@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.benchmarks;
+
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+/**
+ * Push notification data used by the benchmarks, populated as for a push authentication.
+ */
+public final class BenchmarkNotifications {
+
+    private BenchmarkNotifications() {
+
+    }
+
+    public static PushNotificationData buildTenantUserNotification() {
+
+        return populate(new PushNotificationData.Builder())
+                .setTenantDomain("carbon.super")
+                .build();
+    }
+
+    public static PushNotificationData buildOrganizationUserNotification() {
+
+        return populate(new PushNotificationData.Builder())
+                .setTenantDomain("carbon.super")
+                .setOrganizationId("10084a8d-113f-4211-a0d5-efe36b082211")
+                .setOrganizationName("Benchmark Organization")
+                .setPrimaryTenantDomain("carbon.super")
+                .build();
+    }
+
+    private static PushNotificationData.Builder populate(PushNotificationData.Builder builder) {
+
+        return builder
+                .setNotificationTitle("Authentication Request")
+                .setNotificationBody("Approve the sign in request to My Account")
+                .setUsername("alice")
+                .setUserStoreDomain("PRIMARY")
+                .setApplicationName("My Account")
+                .setNotificationScenario("AUTHENTICATION")
+                .setPushId("2c6fc3d1-22b1-4d8a-9d0b-3a4e0d6f5c11")
+                .setDeviceId("6e3b2a4c-5d1f-4a8e-9b7c-0f2d1e3c4b5a")
+                .setDeviceToken("fcm-device-token-0123456789abcdef0123456789abcdef")
+                .setChallenge("e0c3d04c-750b-4301-8f76-e07ebf02e53a")
+                .setNumberChallenge("42")
+                .setIpAddress("192.168.1.10")
+                .setDeviceOS("macOS")
+                .setBrowser("Firefox");
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.benchmarks;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.h2.tools.RunScript;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.DBConnectionSupplier;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.DeviceDAOImpl;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.Device;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the device store queries against an embedded H2 database.
+ * <p>
+ * {@link IdentityDatabaseUtil} needs a running Carbon server to hand out connections. Hence, the DAO is given the
+ * connections of a pool of the embedded database. The state is kept per thread, so each thread works on its own
+ * database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceDAOBenchmark {
+
+    private static final String SCHEMA = "dbscripts/h2.sql";
+    private static final int TENANT_ID = -1234;
+
+    @Param({"10000"})
+    private int deviceCount;
+
+    private JdbcConnectionPool connectionPool;
+    private DeviceDAOImpl deviceDAO;
+    private String[] deviceIds;
+    private String[] userIds;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:push-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = connectionPool.getConnection();
+             InputStream schema = DeviceDAOBenchmark.class.getClassLoader().getResourceAsStream(SCHEMA);
+             Reader reader = new InputStreamReader(schema, StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, reader);
+        }
+
+        DBConnectionSupplier connectionSupplier = shouldApplyTransaction -> {
+            try {
+                Connection connection = connectionPool.getConnection();
+                connection.setAutoCommit(!shouldApplyTransaction);
+                return connection;
+            } catch (SQLException e) {
+                throw new IllegalStateException("Error while getting a connection of the embedded database.", e);
+            }
+        };
+        deviceDAO = new DeviceDAOImpl(connectionSupplier);
+        String publicKey = new BenchmarkKeys().getEncodedPublicKey();
+        deviceIds = new String[deviceCount];
+        userIds = new String[deviceCount];
+        for (int i = 0; i < deviceCount; i++) {
+            deviceIds[i] = UUID.randomUUID().toString();
+            userIds[i] = UUID.randomUUID().toString();
+            deviceDAO.registerDevice(new Device(userIds[i], deviceIds[i], "Device " + i, "Pixel 8",
+                    "fcm-device-token-" + i, "handle-" + i, "FCM", publicKey), TENANT_ID);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        connectionPool.dispose();
+    }
+
+    @Benchmark
+    public Optional<Device> getDevice() throws PushDeviceHandlerServerException {
+
+        return deviceDAO.getDevice(deviceIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<Device> getDeviceByUserId() throws PushDeviceHandlerServerException {
+
+        return deviceDAO.getDeviceByUserId(userIds[nextIndex()], TENANT_ID);
+    }
+
+    @Benchmark
+    public Optional<String> getPublicKey() throws PushDeviceHandlerServerException {
+
+        return deviceDAO.getPublicKey(deviceIds[nextIndex()]);
+    }
+
+    private int nextIndex() {
+
+        next = next + 1 == deviceIds.length ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.benchmarks;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.notification.push.common.PushChallengeValidator;
+import org.wso2.carbon.identity.notification.push.common.exception.PushTokenValidationException;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of validating the JWT returned by the mobile app for a push authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PushChallengeValidatorBenchmark {
+
+    private String jwt;
+    private String publicKey;
+    private String challenge;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        BenchmarkKeys keys = new BenchmarkKeys();
+        challenge = UUID.randomUUID().toString();
+        jwt = keys.buildSignedJwt(challenge);
+        publicKey = keys.getEncodedPublicKey();
+    }
+
+    @Benchmark
+    public JWTClaimsSet getValidatedClaimSet() throws PushTokenValidationException {
+
+        return PushChallengeValidator.getValidatedClaimSet(jwt, publicKey);
+    }
+
+    @Benchmark
+    public boolean validateChallenge() throws PushTokenValidationException {
+
+        JWTClaimsSet claimsSet = PushChallengeValidator.getValidatedClaimSet(jwt, publicKey);
+        return PushChallengeValidator.validateChallenge(claimsSet, BenchmarkKeys.CHALLENGE_CLAIM, challenge,
+                "benchmarkDevice");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of building the push notification data and its additional data payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PushNotificationDataBenchmark {
+
+    private PushNotificationData tenantUserNotification;
+    private PushNotificationData organizationUserNotification;
+
+    @Setup
+    public void setUp() {
+
+        tenantUserNotification = BenchmarkNotifications.buildTenantUserNotification();
+        organizationUserNotification = BenchmarkNotifications.buildOrganizationUserNotification();
+    }
+
+    @Benchmark
+    public Map<String, String> getAdditionalDataForTenantUser() {
+
+        return tenantUserNotification.getAdditionalData();
+    }
+
+    @Benchmark
+    public Map<String, String> getAdditionalDataForOrganizationUser() {
+
+        return organizationUserNotification.getAdditionalData();
+    }
+
+    @Benchmark
+    public PushNotificationData buildPushNotificationData() {
+
+        return BenchmarkNotifications.buildTenantUserNotification();
+    }
+}
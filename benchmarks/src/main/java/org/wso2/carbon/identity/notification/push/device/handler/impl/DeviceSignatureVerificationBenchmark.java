@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.notification.push.benchmarks.BenchmarkKeys;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerClientException;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.DeviceRegistrationContext;
+import org.wso2.carbon.identity.notification.push.device.handler.model.RegistrationRequest;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of verifying the signature sent by the mobile app when registering a device.
+ * <p>
+ * The public registration flow needs the user store and the registration context cache. Hence, the benchmark is in
+ * the package of {@link DeviceHandlerServiceImpl} and calls the verification step directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceSignatureVerificationBenchmark {
+
+    private DeviceHandlerServiceImpl deviceHandlerService;
+    private RegistrationRequest registrationRequest;
+    private DeviceRegistrationContext registrationContext;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        BenchmarkKeys keys = new BenchmarkKeys();
+        String challenge = UUID.randomUUID().toString();
+        String deviceToken = UUID.randomUUID().toString();
+
+        registrationRequest = new RegistrationRequest();
+        registrationRequest.setDeviceId(UUID.randomUUID().toString());
+        registrationRequest.setDeviceToken(deviceToken);
+        registrationRequest.setPublicKey(keys.getEncodedPublicKey());
+        registrationRequest.setSignature(keys.sign(challenge + "." + deviceToken));
+        registrationContext = new DeviceRegistrationContext(challenge, "admin", "carbon.super", false);
+
+        deviceHandlerService = new DeviceHandlerServiceImpl(null, null);
+    }
+
+    @Benchmark
+    public void verifySignature() throws PushDeviceHandlerServerException, PushDeviceHandlerClientException {
+
+        deviceHandlerService.handleSignatureVerification(registrationRequest, registrationContext);
+    }
+}
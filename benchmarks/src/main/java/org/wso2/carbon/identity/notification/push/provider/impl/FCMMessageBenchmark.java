@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.firebase.messaging.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.notification.push.benchmarks.BenchmarkNotifications;
+import org.wso2.carbon.identity.notification.push.provider.model.FCMPushProviderConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of building the FCM message of a push notification, including the Android and APNs platform options.
+ * <p>
+ * The benchmark is in the package of {@link FCMPushProvider}, so that the message building step is called directly
+ * and the benchmark does not depend on Firebase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FCMMessageBenchmark {
+
+    private FCMPushProvider fcmPushProvider;
+    private PushNotificationData pushNotificationData;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setSharedHttpClientEnabled(false);
+        fcmPushProviderConfig.setCredentialRefreshEnabled(false);
+        fcmPushProvider = new FCMPushProvider(fcmPushProviderConfig);
+        pushNotificationData = BenchmarkNotifications.buildTenantUserNotification();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        fcmPushProvider.shutdown();
+    }
+
+    @Benchmark
+    public Message buildMessage() {
+
+        return fcmPushProvider.buildMessage(pushNotificationData);
+    }
+}
@@ -0,0 +1,30 @@
+CREATE TABLE IF NOT EXISTS IDN_PUSH_DEVICE_STORE (
+    ID VARCHAR(255) NOT NULL,
+    USER_ID VARCHAR(255) NOT NULL,
+    DEVICE_NAME VARCHAR(45) NOT NULL,
+    DEVICE_MODEL VARCHAR(45) NOT NULL,
+    DEVICE_TOKEN VARCHAR(255),
+    DEVICE_HANDLE VARCHAR(255) NOT NULL,
+    PROVIDER VARCHAR(45) NOT NULL,
+    PUBLIC_KEY VARCHAR(2048) NOT NULL,
+    TENANT_ID INTEGER NOT NULL,
+    PRIMARY KEY (ID),
+    UNIQUE (DEVICE_HANDLE, TENANT_ID)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_PUSH_DEVICE_USER_ID_TENANT_ID ON IDN_PUSH_DEVICE_STORE (USER_ID, TENANT_ID);
+
+CREATE TABLE IF NOT EXISTS IDN_PUSH_NOTIFICATION_QUEUE (
+    ID VARCHAR(36) NOT NULL,
+    TENANT_ID INTEGER NOT NULL,
+    DEVICE_ID VARCHAR(255) NOT NULL,
+    PROVIDER VARCHAR(45) NOT NULL,
+    PAYLOAD VARCHAR(8192) NOT NULL,
+    ATTEMPTS INTEGER DEFAULT 0 NOT NULL,
+    CREATED_TIME BIGINT NOT NULL,
+    LEASE_OWNER VARCHAR(64),
+    LEASE_EXPIRY_TIME BIGINT NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_PUSH_NOTIFICATION_QUEUE_LEASE_EXPIRY_TIME ON IDN_PUSH_NOTIFICATION_QUEUE (LEASE_EXPIRY_TIME);
@@ -27,6 +27,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.notification.push.common.exception.PushTokenValidationException;
+import org.wso2.carbon.identity.notification.push.common.metrics.ChallengeValidationEvent;
 
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
@@ -44,6 +45,8 @@ public class PushChallengeValidator {
 
     public static final String SIGNING_ALGORITHM = "RSA";
     private static final String DOT_SEPARATOR = ".";
+    private static final String OUTCOME_SUCCESS = "SUCCESS";
+    private static final String OUTCOME_FAILED = "FAILED";
     private static final Log log = LogFactory.getLog(PushChallengeValidator.class);
 
     /**
@@ -56,6 +59,23 @@ public class PushChallengeValidator {
      */
     public static JWTClaimsSet getValidatedClaimSet(String jwt, String publicKey) throws PushTokenValidationException {
 
+        ChallengeValidationEvent event = new ChallengeValidationEvent();
+        event.begin();
+        boolean validated = false;
+        try {
+            JWTClaimsSet claimsSet = validateClaimSet(jwt, publicKey);
+            validated = true;
+            return claimsSet;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setOutcome(validated ? OUTCOME_SUCCESS : OUTCOME_FAILED);
+                event.commit();
+            }
+        }
+    }
+
+    private static JWTClaimsSet validateClaimSet(String jwt, String publicKey) throws PushTokenValidationException {
+
         if (!isJWT(jwt)) {
             throw new PushTokenValidationException("Token is not a valid JWT.");
         }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the validation of a signed push challenge response.
+ */
+@Name("org.wso2.carbon.identity.notification.push.ChallengeValidation")
+@Label("Push Challenge Validation")
+@Category({"WSO2", "Push Notification"})
+@Description("Validation of a signed push challenge response.")
+@StackTrace(false)
+public class ChallengeValidationEvent extends Event {
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void setOutcome(String outcome) {
+
+        this.outcome = outcome;
+    }
+}
@@ -20,6 +20,9 @@ package org.wso2.carbon.identity.notification.push.common;
 
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -29,8 +32,12 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.notification.push.common.exception.PushTokenValidationException;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -41,6 +48,9 @@ import static org.testng.Assert.assertNotNull;
  */
 public class PushChallengeValidatorTest {
 
+    private static final String CHALLENGE_VALIDATION_EVENT =
+            "org.wso2.carbon.identity.notification.push.ChallengeValidation";
+
     @Mock
     private SignedJWT mockSignedJWT;
 
@@ -109,6 +119,32 @@ public class PushChallengeValidatorTest {
         PushChallengeValidator.getValidatedClaimSet(invalidJwt, publicKey);
     }
 
+    @Test
+    public void testGetValidatedClaimSetEmitsFlightRecorderEvent() throws Exception {
+
+        Path recordingFile = Files.createTempFile("push-challenge-validation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CHALLENGE_VALIDATION_EVENT).withoutThreshold();
+            recording.start();
+            try {
+                PushChallengeValidator.getValidatedClaimSet(invalidJwt, publicKey);
+                Assert.fail("Validation should fail for an invalid JWT.");
+            } catch (PushTokenValidationException e) {
+                // Expected.
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                    .filter(event -> CHALLENGE_VALIDATION_EVENT.equals(event.getEventType().getName()))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(events.size(), 1);
+            Assert.assertEquals(events.get(0).getString("outcome"), "FAILED");
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
     @Test(expectedExceptions = PushTokenValidationException.class)
     public void testGetValidatedClaimSetWithEmptyClaimsSet() throws Exception {
 
@@ -22,6 +22,7 @@ import org.wso2.carbon.identity.notification.push.device.handler.exception.PushD
 import org.wso2.carbon.identity.notification.push.device.handler.model.Device;
 import org.wso2.carbon.identity.notification.push.device.handler.model.RegistrationDiscoveryData;
 import org.wso2.carbon.identity.notification.push.device.handler.model.RegistrationRequest;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
 
 /**
  * Device Handler interface.
@@ -112,4 +113,30 @@ public interface DeviceHandlerService {
      */
     String getPublicKey(String deviceId) throws PushDeviceHandlerException;
 
+    /**
+     * Send a push notification to a registered device through the push sender of the device's push provider.
+     * If hedging is enabled, the push notification is also sent through a secondary push sender when the primary
+     * push sender is slow or fails. If the push outbox is enabled, the push notification is persisted and sent
+     * asynchronously by the outbox dispatchers instead, so failures to deliver it are not reported to the caller.
+     * If the priority lanes are enabled, the push notification is sent once its lane admits it, and only the push
+     * notifications of the bulk lane are persisted to the push outbox. If the stale device cleanup is enabled,
+     * sending to a device which was rejected by its push provider fails with a client error until the device is
+     * removed.
+     * <p>
+     * These behaviours only apply to push notifications sent through this method, so callers such as the push
+     * authenticator should send their push notifications through this service instead of calling the push provider
+     * directly. Implementations which do not support sending push notifications do not need to implement it.
+     *
+     * @param device               Registered device.
+     * @param pushNotificationData Push notification data.
+     * @param tenantDomain         Tenant Domain.
+     * @throws PushDeviceHandlerException Push Device Handler Exception.
+     */
+    default void sendNotification(Device device, PushNotificationData pushNotificationData, String tenantDomain)
+            throws PushDeviceHandlerException {
+
+        throw new UnsupportedOperationException("Sending push notifications is not supported by: "
+                + getClass().getName());
+    }
+
 }
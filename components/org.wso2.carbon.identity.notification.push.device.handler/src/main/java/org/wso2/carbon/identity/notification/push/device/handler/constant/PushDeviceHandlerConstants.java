@@ -31,6 +31,83 @@ public class PushDeviceHandlerConstants {
             "PushAuthenticator.DeviceRegistrationContext.ValidityPeriod";
     public static final int DEFAULT_DEVICE_REGISTRATION_CONTEXT_VALIDITY_PERIOD = 180;
 
+    // Hedged push notification sending configurations.
+    public static final String PUSH_HEDGING_ENABLED = "PushAuthenticator.Hedging.Enabled";
+    public static final String PUSH_HEDGING_LATENCY_PERCENTILE = "PushAuthenticator.Hedging.LatencyPercentile";
+    public static final String PUSH_HEDGING_INITIAL_DELAY = "PushAuthenticator.Hedging.InitialDelay";
+    public static final String PUSH_HEDGING_MINIMUM_DELAY = "PushAuthenticator.Hedging.MinimumDelay";
+    public static final String PUSH_HEDGING_SEND_TIMEOUT = "PushAuthenticator.Hedging.SendTimeout";
+    public static final int DEFAULT_PUSH_HEDGING_LATENCY_PERCENTILE = 95;
+    public static final int DEFAULT_PUSH_HEDGING_INITIAL_DELAY = 1000;
+    public static final int DEFAULT_PUSH_HEDGING_MINIMUM_DELAY = 50;
+    public static final int DEFAULT_PUSH_HEDGING_SEND_TIMEOUT = 20000;
+
+    // Push sender health tracking configurations.
+    public static final String SENDER_HEALTH_WINDOW_SIZE = "PushAuthenticator.SenderHealth.WindowSize";
+    public static final String SENDER_HEALTH_MINIMUM_SAMPLES = "PushAuthenticator.SenderHealth.MinimumSamples";
+    public static final int DEFAULT_SENDER_HEALTH_WINDOW_SIZE = 100;
+    public static final int DEFAULT_SENDER_HEALTH_MINIMUM_SAMPLES = 20;
+
+    // Push sender routing configurations.
+    public static final String PUSH_ROUTING_ENABLED = "PushAuthenticator.Routing.Enabled";
+    public static final String PUSH_ROUTING_LATENCY_PERCENTILE = "PushAuthenticator.Routing.LatencyPercentile";
+    public static final String PUSH_ROUTING_LATENCY_WEIGHT = "PushAuthenticator.Routing.LatencyWeight";
+    public static final String PUSH_ROUTING_FAILURE_RATE_WEIGHT = "PushAuthenticator.Routing.FailureRateWeight";
+    public static final String PUSH_ROUTING_FAILURE_RATE_THRESHOLD = "PushAuthenticator.Routing.FailureRateThreshold";
+    public static final String PUSH_ROUTING_RECOVERY_INTERVAL = "PushAuthenticator.Routing.RecoveryInterval";
+    public static final String PUSH_ROUTING_STICKINESS_TOLERANCE = "PushAuthenticator.Routing.StickinessTolerance";
+    public static final String PUSH_ROUTING_STICKY_DEVICE_LIMIT = "PushAuthenticator.Routing.StickyDeviceLimit";
+    public static final String PUSH_ROUTING_SEND_TIMEOUT = "PushAuthenticator.Routing.SendTimeout";
+    public static final int DEFAULT_PUSH_ROUTING_LATENCY_PERCENTILE = 50;
+    public static final int DEFAULT_PUSH_ROUTING_LATENCY_WEIGHT = 1;
+    public static final int DEFAULT_PUSH_ROUTING_FAILURE_RATE_WEIGHT = 10;
+    public static final int DEFAULT_PUSH_ROUTING_FAILURE_RATE_THRESHOLD = 50;
+    public static final int DEFAULT_PUSH_ROUTING_RECOVERY_INTERVAL = 30000;
+    public static final int DEFAULT_PUSH_ROUTING_STICKINESS_TOLERANCE = 20;
+    public static final int DEFAULT_PUSH_ROUTING_STICKY_DEVICE_LIMIT = 10000;
+    public static final int DEFAULT_PUSH_ROUTING_SEND_TIMEOUT = 10000;
+
+    // Push notification outbox configurations.
+    public static final String PUSH_OUTBOX_ENABLED = "PushAuthenticator.Outbox.Enabled";
+    public static final String PUSH_OUTBOX_WORKER_COUNT = "PushAuthenticator.Outbox.WorkerCount";
+    public static final String PUSH_OUTBOX_BATCH_SIZE = "PushAuthenticator.Outbox.BatchSize";
+    public static final String PUSH_OUTBOX_POLL_INTERVAL = "PushAuthenticator.Outbox.PollInterval";
+    public static final String PUSH_OUTBOX_LEASE_DURATION = "PushAuthenticator.Outbox.LeaseDuration";
+    public static final String PUSH_OUTBOX_MAX_ATTEMPTS = "PushAuthenticator.Outbox.MaxAttempts";
+    public static final String PUSH_OUTBOX_RETRY_INTERVAL = "PushAuthenticator.Outbox.RetryInterval";
+    public static final String PUSH_OUTBOX_MAX_AGE = "PushAuthenticator.Outbox.MaxAge";
+    public static final int DEFAULT_PUSH_OUTBOX_WORKER_COUNT = 4;
+    public static final int DEFAULT_PUSH_OUTBOX_BATCH_SIZE = 50;
+    public static final int DEFAULT_PUSH_OUTBOX_POLL_INTERVAL = 1000;
+    public static final int DEFAULT_PUSH_OUTBOX_LEASE_DURATION = 60000;
+    public static final int DEFAULT_PUSH_OUTBOX_MAX_ATTEMPTS = 5;
+    public static final int DEFAULT_PUSH_OUTBOX_RETRY_INTERVAL = 2000;
+    public static final int DEFAULT_PUSH_OUTBOX_MAX_AGE = 120000;
+
+    // Push notification priority lane configurations.
+    public static final String PUSH_LANES_ENABLED = "PushAuthenticator.Lanes.Enabled";
+    public static final String PUSH_LANES_REALTIME_CONCURRENCY = "PushAuthenticator.Lanes.Realtime.Concurrency";
+    public static final String PUSH_LANES_REALTIME_QUEUE_CAPACITY = "PushAuthenticator.Lanes.Realtime.QueueCapacity";
+    public static final String PUSH_LANES_BULK_CONCURRENCY = "PushAuthenticator.Lanes.Bulk.Concurrency";
+    public static final String PUSH_LANES_BULK_QUEUE_CAPACITY = "PushAuthenticator.Lanes.Bulk.QueueCapacity";
+    public static final String PUSH_LANES_BULK_SCENARIOS = "PushAuthenticator.Lanes.Bulk.Scenarios";
+    public static final String PUSH_LANES_MAX_WAIT = "PushAuthenticator.Lanes.MaxWait";
+    public static final int DEFAULT_PUSH_LANES_REALTIME_CONCURRENCY = 16;
+    public static final int DEFAULT_PUSH_LANES_REALTIME_QUEUE_CAPACITY = 1000;
+    public static final int DEFAULT_PUSH_LANES_BULK_CONCURRENCY = 4;
+    public static final int DEFAULT_PUSH_LANES_BULK_QUEUE_CAPACITY = 10000;
+    public static final int DEFAULT_PUSH_LANES_MAX_WAIT = 2000;
+
+    // Stale device cleanup configurations.
+    public static final String STALE_DEVICE_CLEANUP_ENABLED = "PushAuthenticator.StaleDeviceCleanup.Enabled";
+    public static final String STALE_DEVICE_CLEANUP_FLUSH_INTERVAL =
+            "PushAuthenticator.StaleDeviceCleanup.FlushInterval";
+    public static final String STALE_DEVICE_CLEANUP_BATCH_SIZE = "PushAuthenticator.StaleDeviceCleanup.BatchSize";
+    public static final String STALE_DEVICE_CLEANUP_MAX_PENDING = "PushAuthenticator.StaleDeviceCleanup.MaxPending";
+    public static final int DEFAULT_STALE_DEVICE_CLEANUP_FLUSH_INTERVAL = 5000;
+    public static final int DEFAULT_STALE_DEVICE_CLEANUP_BATCH_SIZE = 100;
+    public static final int DEFAULT_STALE_DEVICE_CLEANUP_MAX_PENDING = 10000;
+
     /**
      * Private constructor to prevent initialization of the class.
      */
@@ -53,11 +130,37 @@ public class PushDeviceHandlerConstants {
         public static final String GET_DEVICE_BY_USER_ID = "SELECT ID, USER_ID, DEVICE_NAME, DEVICE_MODEL, " +
                 "DEVICE_TOKEN, DEVICE_HANDLE, PROVIDER, PUBLIC_KEY, TENANT_ID FROM " +
                 "IDN_PUSH_DEVICE_STORE WHERE USER_ID = :USER_ID; AND TENANT_ID = :TENANT_ID;";
+        public static final String GET_DEVICE_IDS_BY_TOKEN = "SELECT ID FROM IDN_PUSH_DEVICE_STORE WHERE " +
+                "DEVICE_TOKEN = :DEVICE_TOKEN; AND PROVIDER = :PROVIDER; AND TENANT_ID = :TENANT_ID;";
         public static final String GET_PUBLIC_KEY_BY_ID = "SELECT PUBLIC_KEY FROM IDN_PUSH_DEVICE_STORE " +
                 "WHERE ID = :ID;";
         public static final String UNREGISTER_DEVICE = "DELETE FROM IDN_PUSH_DEVICE_STORE WHERE ID = :ID;";
         public static final String EDIT_DEVICE = "UPDATE IDN_PUSH_DEVICE_STORE SET DEVICE_NAME = :DEVICE_NAME; " +
                 "DEVICE_TOKEN = :DEVICE_TOKEN; WHERE ID = :ID;";
+        public static final String ENQUEUE_PUSH_NOTIFICATION = "INSERT INTO IDN_PUSH_NOTIFICATION_QUEUE (ID, " +
+                "TENANT_ID, DEVICE_ID, PROVIDER, PAYLOAD, ATTEMPTS, CREATED_TIME, LEASE_EXPIRY_TIME) VALUES (:ID;, " +
+                ":TENANT_ID;, :DEVICE_ID;, :PROVIDER;, :PAYLOAD;, 0, :CREATED_TIME;, :LEASE_EXPIRY_TIME;)";
+        public static final String GET_AVAILABLE_PUSH_NOTIFICATIONS = "SELECT ID, TENANT_ID, DEVICE_ID, PROVIDER, " +
+                "PAYLOAD, ATTEMPTS, CREATED_TIME FROM IDN_PUSH_NOTIFICATION_QUEUE WHERE LEASE_EXPIRY_TIME <= " +
+                ":LEASE_EXPIRY_TIME; ORDER BY LEASE_EXPIRY_TIME LIMIT :LIMIT;";
+        public static final String GET_AVAILABLE_PUSH_NOTIFICATIONS_ORACLE = "SELECT ID, TENANT_ID, DEVICE_ID, " +
+                "PROVIDER, PAYLOAD, ATTEMPTS, CREATED_TIME FROM (SELECT ID, TENANT_ID, DEVICE_ID, PROVIDER, PAYLOAD, " +
+                "ATTEMPTS, CREATED_TIME FROM IDN_PUSH_NOTIFICATION_QUEUE WHERE LEASE_EXPIRY_TIME <= " +
+                ":LEASE_EXPIRY_TIME; ORDER BY LEASE_EXPIRY_TIME) WHERE ROWNUM <= :LIMIT;";
+        public static final String GET_AVAILABLE_PUSH_NOTIFICATIONS_MSSQL = "SELECT TOP (:LIMIT;) ID, TENANT_ID, " +
+                "DEVICE_ID, PROVIDER, PAYLOAD, ATTEMPTS, CREATED_TIME FROM IDN_PUSH_NOTIFICATION_QUEUE WHERE " +
+                "LEASE_EXPIRY_TIME <= :LEASE_EXPIRY_TIME; ORDER BY LEASE_EXPIRY_TIME";
+        public static final String GET_AVAILABLE_PUSH_NOTIFICATIONS_DB2 = "SELECT ID, TENANT_ID, DEVICE_ID, " +
+                "PROVIDER, PAYLOAD, ATTEMPTS, CREATED_TIME FROM IDN_PUSH_NOTIFICATION_QUEUE WHERE " +
+                "LEASE_EXPIRY_TIME <= :LEASE_EXPIRY_TIME; ORDER BY LEASE_EXPIRY_TIME FETCH FIRST :LIMIT; ROWS ONLY";
+        public static final String CLAIM_PUSH_NOTIFICATION = "UPDATE IDN_PUSH_NOTIFICATION_QUEUE SET " +
+                "LEASE_OWNER = :LEASE_OWNER;, LEASE_EXPIRY_TIME = :LEASE_EXPIRY_TIME;, ATTEMPTS = ATTEMPTS + 1 " +
+                "WHERE ID = :ID; AND LEASE_EXPIRY_TIME <= :CURRENT_TIME;";
+        public static final String DELETE_PUSH_NOTIFICATION = "DELETE FROM IDN_PUSH_NOTIFICATION_QUEUE WHERE " +
+                "ID = :ID; AND LEASE_OWNER = :LEASE_OWNER;";
+        public static final String RELEASE_PUSH_NOTIFICATION = "UPDATE IDN_PUSH_NOTIFICATION_QUEUE SET " +
+                "LEASE_OWNER = NULL, LEASE_EXPIRY_TIME = :LEASE_EXPIRY_TIME; WHERE ID = :ID; AND " +
+                "LEASE_OWNER = :LEASE_OWNER;";
     }
 
     /**
@@ -74,6 +177,14 @@ public class PushDeviceHandlerConstants {
         public static final String PUBLIC_KEY = "PUBLIC_KEY";
         public static final String PROVIDER = "PROVIDER";
         public static final String TENANT_ID = "TENANT_ID";
+        public static final String DEVICE_ID = "DEVICE_ID";
+        public static final String PAYLOAD = "PAYLOAD";
+        public static final String ATTEMPTS = "ATTEMPTS";
+        public static final String CREATED_TIME = "CREATED_TIME";
+        public static final String LEASE_OWNER = "LEASE_OWNER";
+        public static final String LEASE_EXPIRY_TIME = "LEASE_EXPIRY_TIME";
+        public static final String CURRENT_TIME = "CURRENT_TIME";
+        public static final String LIMIT = "LIMIT";
     }
 
     /**
@@ -136,6 +247,19 @@ public class PushDeviceHandlerConstants {
         ERROR_CODE_FAILED_TO_RESOLVE_PUSH_PROVIDER(
                 "PDH-15013",
                 "Failed to resolve the correct push provider for the request."
+        ),
+        ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED(
+                "PDH-15014",
+                "Error occurred while sending the push notification to the device ID: %s."
+        ),
+        ERROR_CODE_PUSH_NOTIFICATION_LANE_FULL(
+                "PDH-15015",
+                "The %s push notification lane is full. Please try again later."
+        ),
+        ERROR_CODE_DEVICE_REJECTED_BY_PUSH_PROVIDER(
+                "PDH-15016",
+                "The push provider no longer accepts push notifications for the device ID: %s. The device needs " +
+                        "to be registered again."
         );
 
         private final String code;
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.dao;
+
+import java.sql.Connection;
+
+/**
+ * Supplier of the identity database connections used by the device DAO.
+ */
+@FunctionalInterface
+public interface DBConnectionSupplier {
+
+    /**
+     * Get a connection to the identity database.
+     *
+     * @param shouldApplyTransaction Whether the connection is used in a transaction, in which auto commit is disabled.
+     * @return Database connection.
+     */
+    Connection getConnection(boolean shouldApplyTransaction);
+}
@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.notification.push.device.handler.dao;
 import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
 import org.wso2.carbon.identity.notification.push.device.handler.model.Device;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -45,6 +46,18 @@ public interface DeviceDAO {
      */
     void unregisterDevice(String deviceId) throws PushDeviceHandlerServerException;
 
+    /**
+     * Get the IDs of the devices of a tenant holding the given device tokens of a push provider.
+     *
+     * @param provider     Push provider name.
+     * @param deviceTokens Device tokens.
+     * @param tenantId     Tenant ID.
+     * @return Device IDs.
+     * @throws PushDeviceHandlerServerException PushDeviceHandlerServerException.
+     */
+    List<String> getDeviceIdsByToken(String provider, List<String> deviceTokens, int tenantId)
+            throws PushDeviceHandlerServerException;
+
     /**
      * Edit a device.
      *
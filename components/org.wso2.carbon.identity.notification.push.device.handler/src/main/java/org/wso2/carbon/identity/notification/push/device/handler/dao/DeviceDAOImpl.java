@@ -20,18 +20,24 @@ package org.wso2.carbon.identity.notification.push.device.handler.dao;
 
 import org.wso2.carbon.database.utils.jdbc.NamedPreparedStatement;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants;
 import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.metrics.DeviceDAOEvent;
 import org.wso2.carbon.identity.notification.push.device.handler.model.Device;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.EDIT_DEVICE;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_DEVICE_BY_DEVICE_ID;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_DEVICE_BY_USER_ID;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_DEVICE_IDS_BY_TOKEN;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_PUBLIC_KEY_BY_ID;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.REGISTER_DEVICE;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.UNREGISTER_DEVICE;
@@ -41,10 +47,33 @@ import static org.wso2.carbon.identity.notification.push.device.handler.constant
  */
 public class DeviceDAOImpl implements DeviceDAO {
 
+    private static final String DAO_OPERATION_FAILED = "FAILED";
+
+    private final DBConnectionSupplier connectionSupplier;
+
+    public DeviceDAOImpl() {
+
+        this(IdentityDatabaseUtil::getDBConnection);
+    }
+
+    /**
+     * Create a device DAO which obtains its connections from the given supplier.
+     *
+     * @param connectionSupplier Supplier of the identity database connections.
+     */
+    public DeviceDAOImpl(DBConnectionSupplier connectionSupplier) {
+
+        this.connectionSupplier = connectionSupplier;
+    }
+
     @Override
     public void registerDevice(Device device, int tenantId) throws PushDeviceHandlerServerException {
 
-        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        long startTime = System.nanoTime();
+        DeviceDAOEvent event = new DeviceDAOEvent();
+        event.begin();
+        boolean succeeded = false;
+        Connection connection = connectionSupplier.getConnection(true);
         try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, REGISTER_DEVICE)) {
             statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, device.getDeviceId());
             statement.setString(PushDeviceHandlerConstants.ColumnNames.USER_ID, device.getUserId());
@@ -57,51 +86,103 @@ public class DeviceDAOImpl implements DeviceDAO {
             statement.setInt(PushDeviceHandlerConstants.ColumnNames.TENANT_ID, tenantId);
             statement.executeUpdate();
             IdentityDatabaseUtil.commitTransaction(connection);
+            succeeded = true;
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new PushDeviceHandlerServerException("Error occurred while registering the device.", e);
         } finally {
             IdentityDatabaseUtil.closeConnection(connection);
+            recordQuery("registerDevice", startTime, event, succeeded);
         }
     }
 
     @Override
     public void unregisterDevice(String deviceId) throws PushDeviceHandlerServerException {
 
-        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        long startTime = System.nanoTime();
+        DeviceDAOEvent event = new DeviceDAOEvent();
+        event.begin();
+        boolean succeeded = false;
+        Connection connection = connectionSupplier.getConnection(true);
         try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, UNREGISTER_DEVICE)) {
             statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, deviceId);
             statement.executeUpdate();
+            succeeded = true;
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new PushDeviceHandlerServerException("Error occurred while unregistering the device.", e);
         } finally {
             IdentityDatabaseUtil.closeConnection(connection);
+            recordQuery("unregisterDevice", startTime, event, succeeded);
         }
     }
 
+    @Override
+    public List<String> getDeviceIdsByToken(String provider, List<String> deviceTokens, int tenantId)
+            throws PushDeviceHandlerServerException {
+
+        List<String> deviceIds = new ArrayList<>();
+        if (deviceTokens.isEmpty()) {
+            return deviceIds;
+        }
+        long startTime = System.nanoTime();
+        DeviceDAOEvent event = new DeviceDAOEvent();
+        event.begin();
+        boolean succeeded = false;
+        Connection connection = connectionSupplier.getConnection(true);
+        try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, GET_DEVICE_IDS_BY_TOKEN)) {
+            for (String deviceToken : deviceTokens) {
+                statement.setString(PushDeviceHandlerConstants.ColumnNames.DEVICE_TOKEN, deviceToken);
+                statement.setString(PushDeviceHandlerConstants.ColumnNames.PROVIDER, provider);
+                statement.setInt(PushDeviceHandlerConstants.ColumnNames.TENANT_ID, tenantId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        deviceIds.add(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.ID));
+                    }
+                }
+            }
+            succeeded = true;
+        } catch (SQLException e) {
+            throw new PushDeviceHandlerServerException("Error occurred while retrieving the devices.", e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+            recordQuery("getDeviceIdsByToken", startTime, event, succeeded);
+        }
+        return deviceIds;
+    }
+
     @Override
     public void editDevice(String deviceId, Device updatedDevice) throws PushDeviceHandlerServerException {
 
-        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        long startTime = System.nanoTime();
+        DeviceDAOEvent event = new DeviceDAOEvent();
+        event.begin();
+        boolean succeeded = false;
+        Connection connection = connectionSupplier.getConnection(true);
         try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, EDIT_DEVICE)) {
             statement.setString(PushDeviceHandlerConstants.ColumnNames.DEVICE_NAME, updatedDevice.getDeviceName());
             statement.setString(PushDeviceHandlerConstants.ColumnNames.DEVICE_TOKEN, updatedDevice.getDeviceToken());
             statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, updatedDevice.getDeviceId());
             statement.executeUpdate();
+            succeeded = true;
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new PushDeviceHandlerServerException("Error occurred while editing the device.", e);
         } finally {
             IdentityDatabaseUtil.closeConnection(connection);
+            recordQuery("editDevice", startTime, event, succeeded);
         }
     }
 
     @Override
     public Optional<Device> getDevice(String deviceId) throws PushDeviceHandlerServerException {
 
+        long startTime = System.nanoTime();
+        DeviceDAOEvent event = new DeviceDAOEvent();
+        event.begin();
+        boolean succeeded = false;
         Device device = null;
-        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        Connection connection = connectionSupplier.getConnection(true);
         try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, GET_DEVICE_BY_DEVICE_ID)) {
             statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, deviceId);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -117,10 +198,12 @@ public class DeviceDAOImpl implements DeviceDAO {
                     device.setProvider(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PROVIDER));
                 }
             }
+            succeeded = true;
         } catch (SQLException e) {
             throw new PushDeviceHandlerServerException("Error occurred while retrieving the device.", e);
         } finally {
             IdentityDatabaseUtil.closeConnection(connection);
+            recordQuery("getDevice", startTime, event, succeeded);
         }
 
         return Optional.ofNullable(device);
@@ -129,8 +212,12 @@ public class DeviceDAOImpl implements DeviceDAO {
     @Override
     public Optional<Device> getDeviceByUserId(String userId, int tenantId) throws PushDeviceHandlerServerException {
 
+        long startTime = System.nanoTime();
+        DeviceDAOEvent event = new DeviceDAOEvent();
+        event.begin();
+        boolean succeeded = false;
         Device device = null;
-        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        Connection connection = connectionSupplier.getConnection(true);
         try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, GET_DEVICE_BY_USER_ID)) {
             statement.setString(PushDeviceHandlerConstants.ColumnNames.USER_ID, userId);
             statement.setInt(PushDeviceHandlerConstants.ColumnNames.TENANT_ID, tenantId);
@@ -147,10 +234,12 @@ public class DeviceDAOImpl implements DeviceDAO {
                     device.setProvider(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PROVIDER));
                 }
             }
+            succeeded = true;
         } catch (SQLException e) {
             throw new PushDeviceHandlerServerException("Error occurred while retrieving the device.", e);
         } finally {
             IdentityDatabaseUtil.closeConnection(connection);
+            recordQuery("getDeviceByUserId", startTime, event, succeeded);
         }
 
         return Optional.ofNullable(device);
@@ -159,8 +248,12 @@ public class DeviceDAOImpl implements DeviceDAO {
     @Override
     public Optional<String> getPublicKey(String deviceId) throws PushDeviceHandlerServerException {
 
+        long startTime = System.nanoTime();
+        DeviceDAOEvent event = new DeviceDAOEvent();
+        event.begin();
+        boolean succeeded = false;
         String publicKey = null;
-        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        Connection connection = connectionSupplier.getConnection(true);
         try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, GET_PUBLIC_KEY_BY_ID)) {
             statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, deviceId);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -168,12 +261,25 @@ public class DeviceDAOImpl implements DeviceDAO {
                     publicKey = resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PUBLIC_KEY);
                 }
             }
+            succeeded = true;
         } catch (SQLException e) {
             throw new PushDeviceHandlerServerException("Error occurred while retrieving the public key.", e);
         } finally {
             IdentityDatabaseUtil.closeConnection(connection);
+            recordQuery("getPublicKey", startTime, event, succeeded);
         }
 
         return Optional.ofNullable(publicKey);
     }
+
+    private void recordQuery(String operation, long startTime, DeviceDAOEvent event, boolean succeeded) {
+
+        PushMetrics.getInstance().recordDaoQuery(operation, System.nanoTime() - startTime);
+        if (event.shouldCommit()) {
+            event.setOperation(operation);
+            event.setTenantDomain(IdentityTenantUtil.getTenantDomainFromContext());
+            event.setOutcome(succeeded ? PushMetrics.SUCCESS : DAO_OPERATION_FAILED);
+            event.commit();
+        }
+    }
 }
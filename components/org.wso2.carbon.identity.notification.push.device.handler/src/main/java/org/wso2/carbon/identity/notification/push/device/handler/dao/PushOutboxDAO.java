@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.dao;
+
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxEntry;
+
+import java.util.List;
+
+/**
+ * DAO of the push notification outbox, which is shared by all the nodes of a cluster.
+ * <p>
+ * A queued push notification is claimed by a dispatcher worker for the lease duration. Until the lease expires, the
+ * push notification is not visible to the other workers. The worker either deletes the push notification once it is
+ * handled or releases it to be retried later. If the worker's node goes down, the push notification becomes
+ * available again when the lease expires, so every queued push notification is sent at least once.
+ */
+public interface PushOutboxDAO {
+
+    /**
+     * Add a push notification to the outbox, making it immediately available to be claimed.
+     *
+     * @param entry Outbox entry.
+     * @throws PushDeviceHandlerServerException PushDeviceHandlerServerException.
+     */
+    void addEntry(PushOutboxEntry entry) throws PushDeviceHandlerServerException;
+
+    /**
+     * Claim the available push notifications, oldest first.
+     *
+     * @param leaseOwner    Unique identifier of the claiming worker.
+     * @param limit         Maximum number of push notifications to claim.
+     * @param leaseDuration Lease duration in milliseconds.
+     * @return Claimed outbox entries, with the attempt count including the current claim.
+     * @throws PushDeviceHandlerServerException PushDeviceHandlerServerException.
+     */
+    List<PushOutboxEntry> claimEntries(String leaseOwner, int limit, long leaseDuration)
+            throws PushDeviceHandlerServerException;
+
+    /**
+     * Delete handled push notifications from the outbox. Push notifications whose lease is no longer held by the
+     * given owner are left untouched.
+     *
+     * @param entryIds   Ids of the outbox entries.
+     * @param leaseOwner Unique identifier of the worker holding the lease.
+     * @throws PushDeviceHandlerServerException PushDeviceHandlerServerException.
+     */
+    void deleteEntries(List<String> entryIds, String leaseOwner) throws PushDeviceHandlerServerException;
+
+    /**
+     * Release the lease of a push notification, so that it can be claimed again after the given time.
+     *
+     * @param entryId     Id of the outbox entry.
+     * @param leaseOwner  Unique identifier of the worker holding the lease.
+     * @param availableAt Time in milliseconds since the epoch after which the push notification can be claimed.
+     * @throws PushDeviceHandlerServerException PushDeviceHandlerServerException.
+     */
+    void releaseEntry(String entryId, String leaseOwner, long availableAt) throws PushDeviceHandlerServerException;
+}
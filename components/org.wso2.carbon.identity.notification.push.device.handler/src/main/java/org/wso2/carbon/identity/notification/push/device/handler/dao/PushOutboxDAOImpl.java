@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wso2.carbon.core.util.CryptoException;
+import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.database.utils.jdbc.NamedPreparedStatement;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxEntry;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.CLAIM_PUSH_NOTIFICATION;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.DELETE_PUSH_NOTIFICATION;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.ENQUEUE_PUSH_NOTIFICATION;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_AVAILABLE_PUSH_NOTIFICATIONS;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_AVAILABLE_PUSH_NOTIFICATIONS_DB2;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_AVAILABLE_PUSH_NOTIFICATIONS_MSSQL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.GET_AVAILABLE_PUSH_NOTIFICATIONS_ORACLE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SQLQueries.RELEASE_PUSH_NOTIFICATION;
+
+/**
+ * Implementation of PushOutboxDAO interface.
+ * <p>
+ * Entries are claimed with a conditional update on the lease expiry time, so that only one worker across the cluster
+ * wins an entry even if several workers read it at the same time. The lease times are taken from the clock of the
+ * claiming node, so the lease duration should be well above the expected clock skew between the nodes.
+ * <p>
+ * The persisted payload carries the challenge and the device token of the push notification, so it is encrypted
+ * with the server's crypto settings before it is written to the outbox.
+ */
+public class PushOutboxDAOImpl implements PushOutboxDAO {
+
+    private static final Log LOG = LogFactory.getLog(PushOutboxDAOImpl.class);
+
+    private static final String ORACLE = "Oracle";
+    private static final String MSSQL = "Microsoft SQL Server";
+    private static final String DB2 = "DB2";
+
+    private static final String NOTIFICATION_TITLE = "notificationTitle";
+    private static final String NOTIFICATION_BODY = "notificationBody";
+    private static final String DEVICE_ID = "deviceId";
+    private static final String DEVICE_TOKEN = "deviceToken";
+    private static final String DEVICE_HANDLE = "deviceHandle";
+    private static final String USERNAME = "username";
+    private static final String TENANT_DOMAIN = "tenantDomain";
+    private static final String ORGANIZATION_ID = "organizationId";
+    private static final String ORGANIZATION_NAME = "organizationName";
+    private static final String PRIMARY_TENANT_DOMAIN = "primaryTenantDomain";
+    private static final String USER_STORE_DOMAIN = "userStoreDomain";
+    private static final String APPLICATION_NAME = "applicationName";
+    private static final String NOTIFICATION_SCENARIO = "notificationScenario";
+    private static final String PUSH_ID = "pushId";
+    private static final String CHALLENGE = "challenge";
+    private static final String NUMBER_CHALLENGE = "numberChallenge";
+    private static final String IP_ADDRESS = "ipAddress";
+    private static final String DEVICE_OS = "deviceOS";
+    private static final String BROWSER = "browser";
+    private static final String PRIORITY = "priority";
+    private static final String TIME_TO_LIVE = "timeToLive";
+    private static final String COLLAPSE_KEY = "collapseKey";
+    private static final String APNS_PRIORITY = "apnsPriority";
+    private static final String APNS_PUSH_TYPE = "apnsPushType";
+
+    @Override
+    public void addEntry(PushOutboxEntry entry) throws PushDeviceHandlerServerException {
+
+        long startTime = System.nanoTime();
+        long currentTime = System.currentTimeMillis();
+        String payload = toPayload(entry.getPushNotificationData());
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, ENQUEUE_PUSH_NOTIFICATION)) {
+            statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, entry.getId());
+            statement.setInt(PushDeviceHandlerConstants.ColumnNames.TENANT_ID, entry.getTenantId());
+            statement.setString(PushDeviceHandlerConstants.ColumnNames.DEVICE_ID, entry.getDeviceId());
+            statement.setString(PushDeviceHandlerConstants.ColumnNames.PROVIDER, entry.getProvider());
+            statement.setString(PushDeviceHandlerConstants.ColumnNames.PAYLOAD, payload);
+            statement.setLong(PushDeviceHandlerConstants.ColumnNames.CREATED_TIME, entry.getCreatedTime());
+            statement.setLong(PushDeviceHandlerConstants.ColumnNames.LEASE_EXPIRY_TIME, currentTime);
+            statement.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new PushDeviceHandlerServerException("Error occurred while queueing the push notification.", e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+            PushMetrics.getInstance().recordDaoQuery("addOutboxEntry", System.nanoTime() - startTime);
+        }
+    }
+
+    @Override
+    public List<PushOutboxEntry> claimEntries(String leaseOwner, int limit, long leaseDuration)
+            throws PushDeviceHandlerServerException {
+
+        long startTime = System.nanoTime();
+        long currentTime = System.currentTimeMillis();
+        List<PushOutboxEntry> availableEntries = new ArrayList<>();
+        List<PushOutboxEntry> claimedEntries = new ArrayList<>();
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try {
+            try (NamedPreparedStatement statement = new NamedPreparedStatement(connection,
+                    getAvailableEntriesQuery(connection))) {
+                statement.setLong(PushDeviceHandlerConstants.ColumnNames.LEASE_EXPIRY_TIME, currentTime);
+                statement.setInt(PushDeviceHandlerConstants.ColumnNames.LIMIT, limit);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        availableEntries.add(new PushOutboxEntry(
+                                resultSet.getString(PushDeviceHandlerConstants.ColumnNames.ID),
+                                resultSet.getInt(PushDeviceHandlerConstants.ColumnNames.TENANT_ID),
+                                resultSet.getString(PushDeviceHandlerConstants.ColumnNames.DEVICE_ID),
+                                resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PROVIDER),
+                                fromPayload(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PAYLOAD)),
+                                resultSet.getInt(PushDeviceHandlerConstants.ColumnNames.ATTEMPTS) + 1,
+                                resultSet.getLong(PushDeviceHandlerConstants.ColumnNames.CREATED_TIME)));
+                    }
+                }
+            }
+            try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, CLAIM_PUSH_NOTIFICATION)) {
+                for (PushOutboxEntry entry : availableEntries) {
+                    statement.setString(PushDeviceHandlerConstants.ColumnNames.LEASE_OWNER, leaseOwner);
+                    statement.setLong(PushDeviceHandlerConstants.ColumnNames.LEASE_EXPIRY_TIME,
+                            currentTime + leaseDuration);
+                    statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, entry.getId());
+                    statement.setLong(PushDeviceHandlerConstants.ColumnNames.CURRENT_TIME, currentTime);
+                    // No row is updated if another worker claimed the entry after it was read.
+                    if (statement.executeUpdate() == 1) {
+                        claimedEntries.add(entry);
+                    }
+                }
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new PushDeviceHandlerServerException("Error occurred while claiming the queued push notifications.",
+                    e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+            PushMetrics.getInstance().recordDaoQuery("claimOutboxEntries", System.nanoTime() - startTime);
+        }
+        return claimedEntries;
+    }
+
+    @Override
+    public void deleteEntries(List<String> entryIds, String leaseOwner) throws PushDeviceHandlerServerException {
+
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, DELETE_PUSH_NOTIFICATION)) {
+            for (String entryId : entryIds) {
+                statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, entryId);
+                statement.setString(PushDeviceHandlerConstants.ColumnNames.LEASE_OWNER, leaseOwner);
+                statement.executeUpdate();
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new PushDeviceHandlerServerException("Error occurred while deleting the sent push notifications.",
+                    e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+            PushMetrics.getInstance().recordDaoQuery("deleteOutboxEntries", System.nanoTime() - startTime);
+        }
+    }
+
+    @Override
+    public void releaseEntry(String entryId, String leaseOwner, long availableAt)
+            throws PushDeviceHandlerServerException {
+
+        long startTime = System.nanoTime();
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try (NamedPreparedStatement statement = new NamedPreparedStatement(connection, RELEASE_PUSH_NOTIFICATION)) {
+            statement.setLong(PushDeviceHandlerConstants.ColumnNames.LEASE_EXPIRY_TIME, availableAt);
+            statement.setString(PushDeviceHandlerConstants.ColumnNames.ID, entryId);
+            statement.setString(PushDeviceHandlerConstants.ColumnNames.LEASE_OWNER, leaseOwner);
+            statement.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new PushDeviceHandlerServerException("Error occurred while releasing the queued push notification.",
+                    e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+            PushMetrics.getInstance().recordDaoQuery("releaseOutboxEntry", System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Get the query reading the available push notifications, limited in the syntax of the database in use.
+     *
+     * @param connection Database connection.
+     * @return Query reading the available push notifications.
+     * @throws SQLException If the database could not be identified.
+     */
+    private String getAvailableEntriesQuery(Connection connection) throws SQLException {
+
+        String databaseProductName = connection.getMetaData().getDatabaseProductName();
+        if (StringUtils.containsIgnoreCase(databaseProductName, ORACLE)) {
+            return GET_AVAILABLE_PUSH_NOTIFICATIONS_ORACLE;
+        }
+        if (StringUtils.containsIgnoreCase(databaseProductName, MSSQL)) {
+            return GET_AVAILABLE_PUSH_NOTIFICATIONS_MSSQL;
+        }
+        if (StringUtils.startsWithIgnoreCase(databaseProductName, DB2)) {
+            return GET_AVAILABLE_PUSH_NOTIFICATIONS_DB2;
+        }
+        return GET_AVAILABLE_PUSH_NOTIFICATIONS;
+    }
+
+    /**
+     * Build the encrypted payload persisted for a push notification.
+     *
+     * @param pushNotificationData Push notification data.
+     * @return Encrypted payload.
+     * @throws PushDeviceHandlerServerException If the payload could not be encrypted.
+     */
+    private String toPayload(PushNotificationData pushNotificationData) throws PushDeviceHandlerServerException {
+
+        JSONObject payload = new JSONObject();
+        payload.put(NOTIFICATION_TITLE, pushNotificationData.getNotificationTitle());
+        payload.put(NOTIFICATION_BODY, pushNotificationData.getNotificationBody());
+        payload.put(DEVICE_ID, pushNotificationData.getDeviceId());
+        payload.put(DEVICE_TOKEN, pushNotificationData.getDeviceToken());
+        payload.put(DEVICE_HANDLE, pushNotificationData.getDeviceHandle());
+        payload.put(USERNAME, pushNotificationData.getUsername());
+        payload.put(TENANT_DOMAIN, pushNotificationData.getTenantDomain());
+        payload.put(ORGANIZATION_ID, pushNotificationData.getOrganizationId());
+        payload.put(ORGANIZATION_NAME, pushNotificationData.getOrganizationName());
+        payload.put(PRIMARY_TENANT_DOMAIN, pushNotificationData.getPrimaryTenantDomain());
+        payload.put(USER_STORE_DOMAIN, pushNotificationData.getUserStoreDomain());
+        payload.put(APPLICATION_NAME, pushNotificationData.getApplicationName());
+        payload.put(NOTIFICATION_SCENARIO, pushNotificationData.getNotificationScenario());
+        payload.put(PUSH_ID, pushNotificationData.getPushId());
+        payload.put(CHALLENGE, pushNotificationData.getChallenge());
+        payload.put(NUMBER_CHALLENGE, pushNotificationData.getNumberChallenge());
+        payload.put(IP_ADDRESS, pushNotificationData.getIpAddress());
+        payload.put(DEVICE_OS, pushNotificationData.getDeviceOS());
+        payload.put(BROWSER, pushNotificationData.getBrowser());
+        PushDeliveryProfile deliveryProfile = pushNotificationData.getDeliveryProfile();
+        payload.put(PRIORITY, deliveryProfile.getPriority().name());
+        payload.put(TIME_TO_LIVE, deliveryProfile.getTimeToLive());
+        payload.put(COLLAPSE_KEY, deliveryProfile.getCollapseKey());
+        payload.put(APNS_PRIORITY, deliveryProfile.getApnsPriority());
+        payload.put(APNS_PUSH_TYPE, deliveryProfile.getApnsPushType());
+        try {
+            return CryptoUtil.getDefaultCryptoUtil()
+                    .encryptAndBase64Encode(payload.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (CryptoException e) {
+            throw new PushDeviceHandlerServerException("Error occurred while encrypting the push notification.", e);
+        }
+    }
+
+    /**
+     * Rebuild the push notification data from the persisted payload.
+     *
+     * @param payload Encrypted payload.
+     * @return Push notification data, or null if the payload could not be decrypted or parsed.
+     */
+    private PushNotificationData fromPayload(String payload) {
+
+        try {
+            JSONObject json = new JSONObject(new String(CryptoUtil.getDefaultCryptoUtil()
+                    .base64DecodeAndDecrypt(payload), StandardCharsets.UTF_8));
+            PushDeliveryProfile deliveryProfile = new PushDeliveryProfile.Builder()
+                    .setPriority(PushDeliveryProfile.Priority.valueOf(json.getString(PRIORITY)))
+                    .setTimeToLive(json.has(TIME_TO_LIVE) ? json.getLong(TIME_TO_LIVE) : null)
+                    .setCollapseKey(json.optString(COLLAPSE_KEY, null))
+                    .setApnsPriority(json.optString(APNS_PRIORITY, null))
+                    .setApnsPushType(json.optString(APNS_PUSH_TYPE, null))
+                    .build();
+            return new PushNotificationData.Builder()
+                    .setNotificationTitle(json.optString(NOTIFICATION_TITLE, null))
+                    .setNotificationBody(json.optString(NOTIFICATION_BODY, null))
+                    .setDeviceId(json.optString(DEVICE_ID, null))
+                    .setDeviceToken(json.optString(DEVICE_TOKEN, null))
+                    .setDeviceHandle(json.optString(DEVICE_HANDLE, null))
+                    .setUsername(json.optString(USERNAME, null))
+                    .setTenantDomain(json.optString(TENANT_DOMAIN, null))
+                    .setOrganizationId(json.optString(ORGANIZATION_ID, null))
+                    .setOrganizationName(json.optString(ORGANIZATION_NAME, null))
+                    .setPrimaryTenantDomain(json.optString(PRIMARY_TENANT_DOMAIN, null))
+                    .setUserStoreDomain(json.optString(USER_STORE_DOMAIN, null))
+                    .setApplicationName(json.optString(APPLICATION_NAME, null))
+                    .setNotificationScenario(json.optString(NOTIFICATION_SCENARIO, null))
+                    .setPushId(json.optString(PUSH_ID, null))
+                    .setChallenge(json.optString(CHALLENGE, null))
+                    .setNumberChallenge(json.optString(NUMBER_CHALLENGE, null))
+                    .setIpAddress(json.optString(IP_ADDRESS, null))
+                    .setDeviceOS(json.optString(DEVICE_OS, null))
+                    .setBrowser(json.optString(BROWSER, null))
+                    .setDeliveryProfile(deliveryProfile)
+                    .build();
+        } catch (CryptoException | JSONException | IllegalArgumentException e) {
+            LOG.error("Error occurred while reading the payload of a queued push notification.", e);
+            return null;
+        }
+    }
+}
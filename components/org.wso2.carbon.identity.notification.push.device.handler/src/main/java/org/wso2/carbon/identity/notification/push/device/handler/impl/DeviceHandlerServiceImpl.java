@@ -30,20 +30,29 @@ import org.wso2.carbon.identity.notification.push.common.exception.PushTokenVali
 import org.wso2.carbon.identity.notification.push.device.handler.DeviceHandlerService;
 import org.wso2.carbon.identity.notification.push.device.handler.DeviceRegistrationContextManager;
 import org.wso2.carbon.identity.notification.push.device.handler.dao.DeviceDAO;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.PushOutboxDAOImpl;
 import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerClientException;
 import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerException;
 import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
 import org.wso2.carbon.identity.notification.push.device.handler.internal.PushDeviceHandlerDataHolder;
+import org.wso2.carbon.identity.notification.push.device.handler.metrics.SignatureVerificationEvent;
 import org.wso2.carbon.identity.notification.push.device.handler.model.Device;
 import org.wso2.carbon.identity.notification.push.device.handler.model.DeviceRegistrationContext;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushHedgingConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushLaneConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushRoutingConfig;
 import org.wso2.carbon.identity.notification.push.device.handler.model.RegistrationDiscoveryData;
 import org.wso2.carbon.identity.notification.push.device.handler.model.RegistrationRequest;
 import org.wso2.carbon.identity.notification.push.device.handler.model.RegistrationRequestProviderData;
+import org.wso2.carbon.identity.notification.push.device.handler.model.StaleDeviceCleanupConfig;
 import org.wso2.carbon.identity.notification.push.device.handler.utils.DeviceHandlerAuditLogger;
 import org.wso2.carbon.identity.notification.push.provider.PushProvider;
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderClientException;
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
 import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
 import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
 import org.wso2.carbon.identity.notification.sender.tenant.config.dto.PushSenderDTO;
 import org.wso2.carbon.identity.notification.sender.tenant.config.exception.NotificationSenderManagementException;
@@ -64,22 +73,30 @@ import java.security.Signature;
 import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_PROVIDER;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_DEVICE_ALREADY_REGISTERED;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_DEVICE_NOT_FOUND;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_DEVICE_NOT_FOUND_FOR_USER_ID;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_DEVICE_REGISTRATION_FAILED;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_DEVICE_REJECTED_BY_PUSH_PROVIDER;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_FAILED_TO_GET_USER_ID;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_FAILED_TO_RESOLVE_PUSH_PROVIDER;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_INVALID_EDIT_DEVICE_SCENARIO;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_INVALID_SIGNATURE;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_PUBLIC_KEY_NOT_FOUND;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_REGISTRATION_CONTEXT_ALREADY_USED;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_REGISTRATION_CONTEXT_NOT_FOUND;
 import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_SIGNATURE_VERIFICATION_FAILED;
@@ -103,7 +120,13 @@ public class DeviceHandlerServiceImpl implements DeviceHandlerService {
     private static final Log LOG = LogFactory.getLog(DeviceHandlerServiceImpl.class);
     private DeviceDAO deviceDAO;
     private DeviceRegistrationContextManager deviceRegistrationContextManager;
+    private PushNotificationDispatcher pushNotificationDispatcher;
+    private PushSenderRouter pushSenderRouter;
+    private PushOutboxDispatcher pushOutboxDispatcher;
+    private PushLaneDispatcher pushLaneDispatcher;
+    private StaleDeviceCleaner staleDeviceCleaner;
     private static final DeviceHandlerAuditLogger AUDIT_LOGGER = new DeviceHandlerAuditLogger();
+    private static final String SIGNATURE_VERIFICATION_FAILED = "FAILED";
 
     /**
      * Constructor of DeviceHandlerServiceImpl.
@@ -114,8 +137,36 @@ public class DeviceHandlerServiceImpl implements DeviceHandlerService {
     public DeviceHandlerServiceImpl(DeviceRegistrationContextManager deviceRegistrationContextManager,
                                     DeviceDAO deviceDAO) {
 
+        this(deviceRegistrationContextManager, deviceDAO, new PushDeliveryComponents.Builder().build());
+    }
+
+    /**
+     * Constructor of DeviceHandlerServiceImpl.
+     *
+     * @param deviceRegistrationContextManager Device registration context manager.
+     * @param deviceDAO                        Device DAO.
+     * @param pushDeliveryComponents           Components used to deliver push notifications. Components which are
+     *                                         not set are created with their default configurations.
+     */
+    public DeviceHandlerServiceImpl(DeviceRegistrationContextManager deviceRegistrationContextManager,
+                                    DeviceDAO deviceDAO, PushDeliveryComponents pushDeliveryComponents) {
+
         this.deviceRegistrationContextManager = deviceRegistrationContextManager;
         this.deviceDAO = deviceDAO;
+        this.pushNotificationDispatcher = pushDeliveryComponents.getPushNotificationDispatcher() != null ?
+                pushDeliveryComponents.getPushNotificationDispatcher() :
+                new PushNotificationDispatcher(new PushHedgingConfig());
+        this.pushSenderRouter = pushDeliveryComponents.getPushSenderRouter() != null ?
+                pushDeliveryComponents.getPushSenderRouter() :
+                new PushSenderRouter(new PushRoutingConfig(), pushNotificationDispatcher.getSenderHealthRegistry());
+        this.pushOutboxDispatcher = pushDeliveryComponents.getPushOutboxDispatcher() != null ?
+                pushDeliveryComponents.getPushOutboxDispatcher() :
+                new PushOutboxDispatcher(new PushOutboxConfig(), new PushOutboxDAOImpl());
+        this.pushLaneDispatcher = pushDeliveryComponents.getPushLaneDispatcher() != null ?
+                pushDeliveryComponents.getPushLaneDispatcher() : new PushLaneDispatcher(new PushLaneConfig());
+        this.staleDeviceCleaner = pushDeliveryComponents.getStaleDeviceCleaner() != null ?
+                pushDeliveryComponents.getStaleDeviceCleaner() :
+                new StaleDeviceCleaner(new StaleDeviceCleanupConfig(), deviceDAO);
     }
 
     @Override
@@ -295,6 +346,93 @@ public class DeviceHandlerServiceImpl implements DeviceHandlerService {
         }
     }
 
+    @Override
+    public void sendNotification(Device device, PushNotificationData pushNotificationData, String tenantDomain)
+            throws PushDeviceHandlerException {
+
+        if (staleDeviceCleaner.isStale(tenantDomain, device.getProvider(), device.getDeviceToken())) {
+            throw new PushDeviceHandlerClientException(ERROR_CODE_DEVICE_REJECTED_BY_PUSH_PROVIDER.getCode(),
+                    String.format(ERROR_CODE_DEVICE_REJECTED_BY_PUSH_PROVIDER.getMessage(), device.getDeviceId()));
+        }
+        PushProvider pushProvider = PushDeviceHandlerDataHolder.getInstance().getPushProvider(device.getProvider());
+        if (pushProvider == null) {
+            throw new PushDeviceHandlerServerException(ERROR_CODE_FAILED_TO_RESOLVE_PUSH_PROVIDER.getCode(),
+                    ERROR_CODE_FAILED_TO_RESOLVE_PUSH_PROVIDER.getMessage());
+        }
+        if (pushLaneDispatcher.isEnabled()) {
+            PushLaneDispatcher.Lane lane = pushLaneDispatcher.resolveLane(pushNotificationData);
+            // Realtime push notifications are never queued in the outbox, as they must reach the device immediately.
+            if (lane == PushLaneDispatcher.Lane.BULK && pushOutboxDispatcher.isEnabled()) {
+                pushOutboxDispatcher.enqueue(device, pushNotificationData, tenantDomain);
+                return;
+            }
+            pushLaneDispatcher.execute(lane,
+                    () -> deliverNotification(device, pushProvider, pushNotificationData, tenantDomain));
+            return;
+        }
+        if (pushOutboxDispatcher.isEnabled()) {
+            pushOutboxDispatcher.enqueue(device, pushNotificationData, tenantDomain);
+            return;
+        }
+        deliverNotification(device, pushProvider, pushNotificationData, tenantDomain);
+    }
+
+    /**
+     * Send a push notification through the push senders of the given push provider.
+     *
+     * @param device               Registered device.
+     * @param pushProvider         Push provider of the device.
+     * @param pushNotificationData Push notification data.
+     * @param tenantDomain         Tenant Domain.
+     * @throws PushDeviceHandlerException Push Device Handler Exception.
+     */
+    private void deliverNotification(Device device, PushProvider pushProvider,
+                                     PushNotificationData pushNotificationData, String tenantDomain)
+            throws PushDeviceHandlerException {
+
+        CompletableFuture<Void> dispatch = null;
+        try {
+            if (!pushNotificationDispatcher.isHedgingEnabled() && !pushSenderRouter.isRoutingEnabled()) {
+                PushSenderDTO pushSender = getPushSenderForProvider(pushProvider.getName());
+                pushProvider.sendNotification(pushNotificationData, buildPushSenderData(pushSender), tenantDomain);
+                return;
+            }
+            List<PushSenderData> pushSenders = getPushSendersForDispatch(pushProvider.getName());
+            if (pushSenderRouter.isRoutingEnabled()) {
+                pushSenders = pushSenderRouter.route(tenantDomain, device.getDeviceId(), pushProvider.getName(),
+                        pushSenders);
+            }
+            int sendTimeout = pushNotificationDispatcher.isHedgingEnabled() ?
+                    pushNotificationDispatcher.getConfig().getSendTimeout() :
+                    pushSenderRouter.getConfig().getSendTimeout();
+            dispatch = pushNotificationDispatcher.dispatch(pushNotificationData, pushSenders, tenantDomain);
+            dispatch.get(sendTimeout, TimeUnit.MILLISECONDS);
+        } catch (PushProviderException e) {
+            throw handleSendNotificationException(device, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PushProviderException) {
+                throw handleSendNotificationException(device, (PushProviderException) e.getCause());
+            }
+            throw new PushDeviceHandlerServerException(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getCode(),
+                    String.format(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getMessage(), device.getDeviceId()),
+                    e.getCause());
+        } catch (TimeoutException e) {
+            // Stop the sends still in flight, so that they do not keep the push senders busy after the caller gave up.
+            dispatch.cancel(true);
+            pushNotificationDispatcher.cancel(tenantDomain, pushNotificationData.getPushId(),
+                    pushNotificationData.getDeviceToken());
+            throw new PushDeviceHandlerServerException(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getCode(),
+                    String.format(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getMessage(), device.getDeviceId()), e);
+        } catch (CancellationException e) {
+            throw new PushDeviceHandlerServerException(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getCode(),
+                    String.format(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getMessage(), device.getDeviceId()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PushDeviceHandlerServerException(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getCode(),
+                    String.format(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getMessage(), device.getDeviceId()), e);
+        }
+    }
+
     /**
      * Resolve the tenant and organization information.
      *
@@ -320,15 +458,19 @@ public class DeviceHandlerServiceImpl implements DeviceHandlerService {
 
     /**
      * Handle the signature verification and exceptions.
+     * Package-private so that the verification step can be benchmarked on its own.
      *
      * @param registrationRequest Registration request.
      * @param context             Device registration context.
      * @throws PushDeviceHandlerClientException Push Device Handler Client Exception.
      * @throws PushDeviceHandlerServerException Push Device Handler Server Exception.
      */
-    private void handleSignatureVerification(RegistrationRequest registrationRequest, DeviceRegistrationContext context)
+    void handleSignatureVerification(RegistrationRequest registrationRequest, DeviceRegistrationContext context)
             throws PushDeviceHandlerServerException, PushDeviceHandlerClientException {
 
+        SignatureVerificationEvent event = new SignatureVerificationEvent();
+        event.begin();
+        String outcome = SIGNATURE_VERIFICATION_FAILED;
         try {
             String signature = registrationRequest.getSignature();
             String deviceToken = registrationRequest.getDeviceToken();
@@ -345,14 +487,24 @@ public class DeviceHandlerServiceImpl implements DeviceHandlerService {
             boolean isSignatureVerified = sign.verify(signatureBytes);
 
             if (!isSignatureVerified) {
+                outcome = ERROR_CODE_INVALID_SIGNATURE.getCode();
                 String errorMessage = String.format(ERROR_CODE_INVALID_SIGNATURE.toString(),
                         registrationRequest.getDeviceId());
                 throw new PushDeviceHandlerClientException(ERROR_CODE_INVALID_SIGNATURE.getCode(), errorMessage);
             }
+            outcome = PushMetrics.SUCCESS;
         } catch (NoSuchAlgorithmException | InvalidKeySpecException | InvalidKeyException | SignatureException e) {
             String errorMessage = String.format(ERROR_CODE_SIGNATURE_VERIFICATION_FAILED.toString(),
                     registrationRequest.getDeviceId());
             throw new PushDeviceHandlerServerException(errorMessage, e);
+        } finally {
+            if (event.shouldCommit()) {
+                event.setTenantDomain(context.getTenantDomain());
+                event.setProvider(registrationRequest.getProvider() != null ?
+                        registrationRequest.getProvider().getName() : null);
+                event.setOutcome(outcome);
+                event.commit();
+            }
         }
     }
 
@@ -619,7 +771,7 @@ public class DeviceHandlerServiceImpl implements DeviceHandlerService {
      * @return PushSenderDTO.
      * @throws PushDeviceHandlerServerException Notification Sender Management Exception.
      */
-    private PushSenderDTO getPushSenderForProvider(String providerName) throws PushDeviceHandlerServerException {
+    static PushSenderDTO getPushSenderForProvider(String providerName) throws PushDeviceHandlerServerException {
 
         try {
             List<PushSenderDTO> pushSenders = PushDeviceHandlerDataHolder.getInstance()
@@ -642,6 +794,54 @@ public class DeviceHandlerServiceImpl implements DeviceHandlerService {
         }
     }
 
+    /**
+     * Get the push senders to use for dispatching a push notification. Only the push senders of the given provider
+     * are returned, as a device token is only accepted by the provider which issued it.
+     *
+     * @param providerName Provider name.
+     * @return Push senders, with the primary push sender first.
+     * @throws PushDeviceHandlerServerException Push Device Handler Server Exception.
+     */
+    private List<PushSenderData> getPushSendersForDispatch(String providerName)
+            throws PushDeviceHandlerServerException {
+
+        List<PushSenderDTO> pushSenders;
+        try {
+            pushSenders = PushDeviceHandlerDataHolder.getInstance().getNotificationSenderManagementService()
+                    .getPushSenders(true);
+        } catch (NotificationSenderManagementException e) {
+            throw new PushDeviceHandlerServerException(
+                    "Error occurred while retrieving the push notification senders.", e);
+        }
+        List<PushSenderData> providerSenders = new ArrayList<>();
+        for (PushSenderDTO pushSender : pushSenders) {
+            if (pushSender.getProvider().equals(providerName)) {
+                providerSenders.add(buildPushSenderData(pushSender));
+            }
+        }
+        if (providerSenders.isEmpty()) {
+            throw new PushDeviceHandlerServerException(
+                    String.format("No push sender found for the provider: %s", providerName));
+        }
+        return providerSenders;
+    }
+
+    /**
+     * Build the device handler exception for a push notification which could not be sent.
+     *
+     * @param device Device.
+     * @param e      Push provider exception.
+     * @return Push Device Handler Exception.
+     */
+    private PushDeviceHandlerException handleSendNotificationException(Device device, PushProviderException e) {
+
+        if (e instanceof PushProviderClientException) {
+            return new PushDeviceHandlerClientException(e.getErrorCode(), e.getMessage(), e.getCause());
+        }
+        return new PushDeviceHandlerServerException(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getCode(),
+                String.format(ERROR_CODE_PUSH_NOTIFICATION_SENDING_FAILED.getMessage(), device.getDeviceId()), e);
+    }
+
     /**
      * Set provider metadata to push device data.
      *
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+/**
+ * Components used by the device handler service to deliver push notifications.
+ * <p>
+ * A component which is not set is created with its default configurations, in which the features it provides are
+ * disabled, by the device handler service.
+ */
+public class PushDeliveryComponents {
+
+    private final PushNotificationDispatcher pushNotificationDispatcher;
+    private final PushSenderRouter pushSenderRouter;
+    private final PushOutboxDispatcher pushOutboxDispatcher;
+    private final PushLaneDispatcher pushLaneDispatcher;
+    private final StaleDeviceCleaner staleDeviceCleaner;
+
+    private PushDeliveryComponents(Builder builder) {
+
+        this.pushNotificationDispatcher = builder.pushNotificationDispatcher;
+        this.pushSenderRouter = builder.pushSenderRouter;
+        this.pushOutboxDispatcher = builder.pushOutboxDispatcher;
+        this.pushLaneDispatcher = builder.pushLaneDispatcher;
+        this.staleDeviceCleaner = builder.staleDeviceCleaner;
+    }
+
+    public PushNotificationDispatcher getPushNotificationDispatcher() {
+
+        return pushNotificationDispatcher;
+    }
+
+    public PushSenderRouter getPushSenderRouter() {
+
+        return pushSenderRouter;
+    }
+
+    public PushOutboxDispatcher getPushOutboxDispatcher() {
+
+        return pushOutboxDispatcher;
+    }
+
+    public PushLaneDispatcher getPushLaneDispatcher() {
+
+        return pushLaneDispatcher;
+    }
+
+    public StaleDeviceCleaner getStaleDeviceCleaner() {
+
+        return staleDeviceCleaner;
+    }
+
+    /**
+     * Builder of the push delivery components.
+     */
+    public static class Builder {
+
+        private PushNotificationDispatcher pushNotificationDispatcher;
+        private PushSenderRouter pushSenderRouter;
+        private PushOutboxDispatcher pushOutboxDispatcher;
+        private PushLaneDispatcher pushLaneDispatcher;
+        private StaleDeviceCleaner staleDeviceCleaner;
+
+        public Builder setPushNotificationDispatcher(PushNotificationDispatcher pushNotificationDispatcher) {
+
+            this.pushNotificationDispatcher = pushNotificationDispatcher;
+            return this;
+        }
+
+        public Builder setPushSenderRouter(PushSenderRouter pushSenderRouter) {
+
+            this.pushSenderRouter = pushSenderRouter;
+            return this;
+        }
+
+        public Builder setPushOutboxDispatcher(PushOutboxDispatcher pushOutboxDispatcher) {
+
+            this.pushOutboxDispatcher = pushOutboxDispatcher;
+            return this;
+        }
+
+        public Builder setPushLaneDispatcher(PushLaneDispatcher pushLaneDispatcher) {
+
+            this.pushLaneDispatcher = pushLaneDispatcher;
+            return this;
+        }
+
+        public Builder setStaleDeviceCleaner(StaleDeviceCleaner staleDeviceCleaner) {
+
+            this.staleDeviceCleaner = staleDeviceCleaner;
+            return this;
+        }
+
+        public PushDeliveryComponents build() {
+
+            return new PushDeliveryComponents(this);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerException;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushLaneConfig;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.ErrorMessages.ERROR_CODE_PUSH_NOTIFICATION_LANE_FULL;
+
+/**
+ * Dispatcher sending push notifications through priority lanes.
+ * <p>
+ * Each lane admits a bounded number of concurrent sends and a bounded number of waiting callers, so realtime push
+ * notifications, such as authentication challenges, never wait behind informational or bulk push notifications and
+ * keep a fixed share of the sending capacity however much bulk traffic is waiting. A push notification goes to the
+ * bulk lane if its notification scenario is configured as a bulk scenario or if it is not delivered with high
+ * priority. The push notification is sent on the caller's thread once the lane admits it, in the order the callers
+ * arrived. When the lane already has as many waiting callers as its queue capacity, or does not admit a push
+ * notification within the maximum wait, the push notification is rejected instead of piling up.
+ */
+public class PushLaneDispatcher {
+
+    private static final String QUEUE_NAME_PREFIX = "lane.";
+
+    /**
+     * Priority lanes of the push notifications.
+     */
+    public enum Lane {
+        REALTIME, BULK
+    }
+
+    /**
+     * Task sending a push notification.
+     */
+    @FunctionalInterface
+    public interface PushTask {
+
+        void run() throws PushDeviceHandlerException;
+    }
+
+    private final Set<String> bulkScenarios;
+    private final long maxWaitNanos;
+    private final Map<Lane, LaneGate> laneGates = new EnumMap<>(Lane.class);
+
+    /**
+     * Admission control of a lane.
+     */
+    private static class LaneGate {
+
+        private final Semaphore permits;
+        private final int queueCapacity;
+        private final AtomicInteger waitingCount = new AtomicInteger();
+
+        LaneGate(int concurrency, int queueCapacity) {
+
+            this.permits = new Semaphore(Math.max(concurrency, 1), true);
+            this.queueCapacity = Math.max(queueCapacity, 1);
+        }
+    }
+
+    /**
+     * Create a push lane dispatcher. The lanes are only created if they are enabled.
+     *
+     * @param config Push lane configurations.
+     */
+    public PushLaneDispatcher(PushLaneConfig config) {
+
+        this.bulkScenarios = new HashSet<>(config.getBulkScenarios());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(config.getMaxWait(), 0));
+        if (config.isEnabled()) {
+            laneGates.put(Lane.REALTIME, new LaneGate(config.getRealtimeConcurrency(),
+                    config.getRealtimeQueueCapacity()));
+            laneGates.put(Lane.BULK, new LaneGate(config.getBulkConcurrency(), config.getBulkQueueCapacity()));
+            laneGates.forEach((lane, laneGate) -> PushMetrics.getInstance().registerQueue(getQueueName(lane),
+                    laneGate.waitingCount::get));
+        }
+    }
+
+    public boolean isEnabled() {
+
+        return !laneGates.isEmpty();
+    }
+
+    /**
+     * Resolve the lane of a push notification.
+     *
+     * @param pushNotificationData Push notification data.
+     * @return Lane of the push notification.
+     */
+    public Lane resolveLane(PushNotificationData pushNotificationData) {
+
+        if (pushNotificationData.getNotificationScenario() != null
+                && bulkScenarios.contains(pushNotificationData.getNotificationScenario())) {
+            return Lane.BULK;
+        }
+        if (pushNotificationData.getDeliveryProfile().getPriority() == PushDeliveryProfile.Priority.HIGH) {
+            return Lane.REALTIME;
+        }
+        return Lane.BULK;
+    }
+
+    /**
+     * Run a push task in the given lane on the caller's thread, waiting up to the maximum wait for the lane to admit
+     * it if the lane is at its concurrency limit.
+     *
+     * @param lane Lane to run the task in.
+     * @param task Push task.
+     * @throws PushDeviceHandlerException If the lane is full, the lane does not admit the task in time or the task
+     *                                    fails.
+     */
+    public void execute(Lane lane, PushTask task) throws PushDeviceHandlerException {
+
+        LaneGate laneGate = laneGates.get(lane);
+        long enqueuedAt = System.nanoTime();
+        try {
+            // A timed acquire honours the fairness of the lane, so a new caller does not overtake the waiting ones.
+            if (!laneGate.permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                if (laneGate.waitingCount.incrementAndGet() > laneGate.queueCapacity) {
+                    laneGate.waitingCount.decrementAndGet();
+                    throw buildLaneFullException(lane);
+                }
+                boolean admitted;
+                try {
+                    admitted = laneGate.permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+                } finally {
+                    laneGate.waitingCount.decrementAndGet();
+                }
+                if (!admitted) {
+                    throw buildLaneFullException(lane);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PushDeviceHandlerServerException("Interrupted while sending the push notification.", e);
+        }
+        try {
+            PushMetrics.getInstance().recordQueueWait(getQueueName(lane), System.nanoTime() - enqueuedAt);
+            task.run();
+        } finally {
+            laneGate.permits.release();
+        }
+    }
+
+    /**
+     * Stop reporting the lane metrics.
+     */
+    public void shutdown() {
+
+        laneGates.keySet().forEach(lane -> PushMetrics.getInstance().unregisterQueue(getQueueName(lane)));
+    }
+
+    private static PushDeviceHandlerServerException buildLaneFullException(Lane lane) {
+
+        return new PushDeviceHandlerServerException(ERROR_CODE_PUSH_NOTIFICATION_LANE_FULL.getCode(),
+                String.format(ERROR_CODE_PUSH_NOTIFICATION_LANE_FULL.getMessage(),
+                        lane.name().toLowerCase(Locale.ENGLISH)));
+    }
+
+    private static String getQueueName(Lane lane) {
+
+        return QUEUE_NAME_PREFIX + lane.name();
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.notification.push.device.handler.internal.PushDeviceHandlerDataHolder;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushHedgingConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.SenderHealthConfig;
+import org.wso2.carbon.identity.notification.push.provider.PushProvider;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatcher which sends push notifications with failover or hedging across the push senders of a tenant.
+ * <p>
+ * Without hedging, a push notification is sent through the given push senders one after the other until one of them
+ * sends it, moving on to the next push sender only when a send fails due to the push sender itself.
+ * <p>
+ * A push notification is first sent through the primary push sender. If it is not sent within the configured
+ * percentile of the recent send latencies of that sender, or if it fails due to the push sender itself, the same
+ * notification is also sent through a secondary push sender, and the first successful send completes the dispatch
+ * and cancels the other send. Both sends carry the same push id, so the device shows a single challenge. A dispatch
+ * of a push id which is already in flight to the same device joins the in-flight dispatch instead of sending the
+ * notification again.
+ * <p>
+ * The outcome of every send is recorded in the health tracker of its push sender. Failures caused by the device,
+ * such as an expired device handle, are not counted against the push sender.
+ */
+public class PushNotificationDispatcher {
+
+    private static final Log LOG = LogFactory.getLog(PushNotificationDispatcher.class);
+    private static final int HEDGE_SCHEDULER_THREADS = 2;
+
+    private final PushHedgingConfig config;
+    private final SenderHealthRegistry senderHealthRegistry;
+    private final ConcurrentMap<String, HedgedSend> inFlightSends = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService hedgeScheduler;
+
+    public PushNotificationDispatcher(PushHedgingConfig config) {
+
+        this(config, new SenderHealthRegistry(new SenderHealthConfig()));
+    }
+
+    /**
+     * Create a push notification dispatcher. The hedge scheduler is only started if hedging is enabled.
+     *
+     * @param config               Push hedging configurations.
+     * @param senderHealthRegistry Registry of the health trackers of the push senders.
+     */
+    public PushNotificationDispatcher(PushHedgingConfig config, SenderHealthRegistry senderHealthRegistry) {
+
+        this.config = config;
+        this.senderHealthRegistry = senderHealthRegistry;
+        if (config.isEnabled()) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.hedgeScheduler = Executors.newScheduledThreadPool(HEDGE_SCHEDULER_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "PushHedgeScheduler-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.hedgeScheduler = null;
+        }
+    }
+
+    public boolean isHedgingEnabled() {
+
+        return hedgeScheduler != null;
+    }
+
+    public PushHedgingConfig getConfig() {
+
+        return config;
+    }
+
+    public SenderHealthRegistry getSenderHealthRegistry() {
+
+        return senderHealthRegistry;
+    }
+
+    /**
+     * Send a push notification through the given push senders with failover, or with hedging if it is enabled.
+     *
+     * @param pushNotificationData Push notification data.
+     * @param pushSenders          Push senders to use, with the primary push sender first. Only the first two are
+     *                             used when hedging.
+     * @param tenantDomain         Tenant domain.
+     * @return Future which completes when the push notification is sent through any of the push senders, or
+     * completes exceptionally with the error of the primary push sender if all of them fail.
+     */
+    public CompletableFuture<Void> dispatch(PushNotificationData pushNotificationData,
+                                            List<PushSenderData> pushSenders, String tenantDomain) {
+
+        if (!isHedgingEnabled() || pushSenders.size() < 2) {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            sendWithFailover(pushNotificationData, pushSenders, 0, tenantDomain, null, result);
+            return result;
+        }
+
+        HedgedSend hedgedSend = new HedgedSend(pushNotificationData, pushSenders.get(0), pushSenders.get(1),
+                tenantDomain);
+        if (StringUtils.isBlank(pushNotificationData.getPushId())
+                || StringUtils.isBlank(pushNotificationData.getDeviceToken())) {
+            hedgedSend.start();
+            return hedgedSend.result;
+        }
+        String dispatchKey = buildKey(tenantDomain, pushNotificationData.getPushId(),
+                pushNotificationData.getDeviceToken());
+        HedgedSend inFlightSend = inFlightSends.putIfAbsent(dispatchKey, hedgedSend);
+        if (inFlightSend != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Push notification with push id: " + pushNotificationData.getPushId()
+                        + " is already being sent to the device. Joining the in-flight send.");
+            }
+            return inFlightSend.result.copy();
+        }
+        hedgedSend.result.whenComplete((ignored, error) -> inFlightSends.remove(dispatchKey, hedgedSend));
+        hedgedSend.start();
+        return hedgedSend.result.copy();
+    }
+
+    /**
+     * Cancel the in-flight dispatch of a push notification to a device. A hedged send which has not been fired yet is
+     * not sent, and sends already handed over to a push provider are cancelled.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param pushId       Push id of the push notification.
+     * @param deviceToken  Device token of the device receiving the push notification.
+     * @return True if an in-flight dispatch was cancelled.
+     */
+    public boolean cancel(String tenantDomain, String pushId, String deviceToken) {
+
+        HedgedSend hedgedSend = inFlightSends.remove(buildKey(tenantDomain, pushId, deviceToken));
+        if (hedgedSend == null) {
+            return false;
+        }
+        hedgedSend.cancelHedge();
+        return hedgedSend.result.cancel(false);
+    }
+
+    /**
+     * Get the hedging delay of the given push sender.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param providerId   Provider id of the push sender.
+     * @return Hedging delay in milliseconds.
+     */
+    public long getHedgeDelay(String tenantDomain, String providerId) {
+
+        SenderHealthTracker healthTracker = senderHealthRegistry.findTracker(tenantDomain, providerId);
+        long percentileLatency = healthTracker == null ? -1
+                : healthTracker.getPercentile(config.getLatencyPercentile());
+        if (percentileLatency < 0) {
+            return config.getInitialDelay();
+        }
+        return Math.max(TimeUnit.NANOSECONDS.toMillis(percentileLatency), config.getMinimumDelay());
+    }
+
+    /**
+     * Stop the hedge scheduler. Hedged sends which are not fired yet are dropped.
+     */
+    public void shutdown() {
+
+        if (hedgeScheduler != null) {
+            hedgeScheduler.shutdownNow();
+        }
+        inFlightSends.clear();
+    }
+
+    private CompletableFuture<Void> send(PushNotificationData pushNotificationData, PushSenderData pushSender,
+                                         String tenantDomain) {
+
+        PushProvider pushProvider = PushDeviceHandlerDataHolder.getInstance().getPushProvider(pushSender.getProvider());
+        long startTime = System.nanoTime();
+        CompletableFuture<Void> future;
+        try {
+            future = pushProvider.sendNotificationAsync(pushNotificationData, pushSender, tenantDomain);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((ignored, error) -> {
+            if (error == null) {
+                senderHealthRegistry.getTracker(tenantDomain, pushSender.getProviderId())
+                        .record(System.nanoTime() - startTime);
+            } else if (isSenderFailure(error)) {
+                senderHealthRegistry.getTracker(tenantDomain, pushSender.getProviderId()).recordFailure();
+            }
+        });
+        return future;
+    }
+
+    private void sendWithFailover(PushNotificationData pushNotificationData, List<PushSenderData> pushSenders,
+                                  int senderIndex, String tenantDomain, Throwable primaryError,
+                                  CompletableFuture<Void> result) {
+
+        CompletableFuture<Void> send = send(pushNotificationData, pushSenders.get(senderIndex), tenantDomain);
+        // Cancelling the dispatch cancels the send in flight.
+        result.whenComplete((ignored, error) -> {
+            if (result.isCancelled()) {
+                send.cancel(true);
+            }
+        });
+        send.whenComplete((ignored, error) -> {
+            if (error == null) {
+                result.complete(null);
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            Throwable firstError = primaryError != null ? primaryError : unwrap(error);
+            if (senderIndex + 1 >= pushSenders.size() || !isSenderFailure(error)) {
+                result.completeExceptionally(firstError);
+                return;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Failing over the push notification with push id: " + pushNotificationData.getPushId()
+                        + " to the push sender: " + pushSenders.get(senderIndex + 1).getName());
+            }
+            sendWithFailover(pushNotificationData, pushSenders, senderIndex + 1, tenantDomain, firstError, result);
+        });
+    }
+
+    /**
+     * Check whether a send failed due to the push sender, as opposed to the device or the caller.
+     */
+    private static boolean isSenderFailure(Throwable error) {
+
+        Throwable cause = unwrap(error);
+        if (cause instanceof CancellationException) {
+            return false;
+        }
+        if (cause instanceof PushProviderException) {
+            String errorCode = ((PushProviderException) cause).getErrorCode();
+            return !PushProviderConstants.ErrorMessages.ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER.getCode()
+                    .equals(errorCode)
+                    && !PushProviderConstants.ErrorMessages.ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED
+                    .getCode().equals(errorCode);
+        }
+        return true;
+    }
+
+    private String buildKey(String tenantDomain, String pushId, String deviceToken) {
+
+        return tenantDomain + ":" + pushId + ":" + deviceToken;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * A push notification sent through a primary push sender, and through a secondary push sender if the primary
+     * send is slow or fails.
+     */
+    private final class HedgedSend {
+
+        private final PushNotificationData pushNotificationData;
+        private final PushSenderData primarySender;
+        private final PushSenderData secondarySender;
+        private final String tenantDomain;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicBoolean hedged = new AtomicBoolean();
+        // Sends which are started or reserved and have not failed yet. The dispatch fails when it drops to zero.
+        private final AtomicInteger pendingSends = new AtomicInteger();
+        private final List<CompletableFuture<Void>> sends = new CopyOnWriteArrayList<>();
+        private volatile Throwable primaryError;
+        private volatile ScheduledFuture<?> scheduledHedge;
+
+        private HedgedSend(PushNotificationData pushNotificationData, PushSenderData primarySender,
+                           PushSenderData secondarySender, String tenantDomain) {
+
+            this.pushNotificationData = pushNotificationData;
+            this.primarySender = primarySender;
+            this.secondarySender = secondarySender;
+            this.tenantDomain = tenantDomain;
+        }
+
+        private void start() {
+
+            long hedgeDelay = getHedgeDelay(tenantDomain, primarySender.getProviderId());
+            result.whenComplete((ignored, error) -> {
+                if (result.isCancelled()) {
+                    cancelHedge();
+                    cancelSends(null);
+                }
+            });
+            pendingSends.incrementAndGet();
+            sendThrough(primarySender);
+            if (!result.isDone() && !hedged.get()) {
+                scheduledHedge = hedgeScheduler.schedule(this::hedge, hedgeDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void hedge() {
+
+            if (result.isDone()) {
+                return;
+            }
+            // Reserve the secondary send before claiming the hedge, so a concurrent failure of the primary send does
+            // not fail the dispatch while the secondary send is being started.
+            pendingSends.incrementAndGet();
+            if (!hedged.compareAndSet(false, true)) {
+                releaseSend(primaryError);
+                return;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Sending the push notification with push id: " + pushNotificationData.getPushId()
+                        + " through the secondary push sender: " + secondarySender.getName());
+            }
+            sendThrough(secondarySender);
+        }
+
+        private void cancelHedge() {
+
+            ScheduledFuture<?> hedge = scheduledHedge;
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+        }
+
+        private void cancelSends(CompletableFuture<Void> winner) {
+
+            for (CompletableFuture<Void> send : sends) {
+                if (send != winner) {
+                    send.cancel(true);
+                }
+            }
+        }
+
+        private void releaseSend(Throwable error) {
+
+            if (pendingSends.decrementAndGet() == 0) {
+                result.completeExceptionally(primaryError != null ? primaryError : error);
+            }
+        }
+
+        private void sendThrough(PushSenderData pushSender) {
+
+            CompletableFuture<Void> send = send(pushNotificationData, pushSender, tenantDomain);
+            sends.add(send);
+            send.whenComplete((ignored, error) -> {
+                if (error == null) {
+                    if (result.complete(null)) {
+                        cancelHedge();
+                        cancelSends(send);
+                    }
+                    return;
+                }
+                if (pushSender == primarySender) {
+                    primaryError = unwrap(error);
+                }
+                if (pushSender == primarySender && isSenderFailure(error)) {
+                    // Do not wait for the hedging delay once the primary push sender has failed.
+                    hedge();
+                } else if (pushSender == primarySender) {
+                    // The device or the notification is at fault, so the secondary push sender would fail too.
+                    hedged.set(true);
+                    cancelHedge();
+                }
+                releaseSend(unwrap(error));
+            });
+        }
+    }
+}
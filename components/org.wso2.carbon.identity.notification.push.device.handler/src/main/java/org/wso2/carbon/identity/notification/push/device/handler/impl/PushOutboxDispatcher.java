@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.PushOutboxDAO;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.internal.PushDeviceHandlerDataHolder;
+import org.wso2.carbon.identity.notification.push.device.handler.model.Device;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxEntry;
+import org.wso2.carbon.identity.notification.push.provider.PushProvider;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationResult;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatcher of the push notifications queued in the outbox.
+ * <p>
+ * Instead of calling the push provider on the caller's thread, push notifications are persisted to the outbox and
+ * sent by a fixed pool of dispatcher workers, which bounds the number of concurrent provider calls of a node
+ * regardless of the incoming load. Each worker claims a batch of push notifications, sends the ones of the same
+ * tenant and push provider together, and then deletes the handled push notifications or releases the failed ones to
+ * be retried with an exponential backoff. As a claimed push notification is only deleted after it is handled, a
+ * push notification claimed by a node which goes down is sent by another node once its lease expires.
+ * <p>
+ * A push notification carries a challenge which is only valid for a limited time, so a push notification older than
+ * the configured maximum age, or its time to live if that is shorter, is discarded instead of being sent or retried.
+ */
+public class PushOutboxDispatcher {
+
+    private static final Log LOG = LogFactory.getLog(PushOutboxDispatcher.class);
+    private static final int MAX_RETRY_BACKOFF_EXPONENT = 10;
+
+    private final PushOutboxConfig config;
+    private final PushOutboxDAO pushOutboxDAO;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Semaphore wakeUpSignal = new Semaphore(0);
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    /**
+     * Create a push outbox dispatcher. The dispatcher workers are started by {@link #start()}.
+     *
+     * @param config        Push outbox configurations.
+     * @param pushOutboxDAO Push outbox DAO.
+     */
+    public PushOutboxDispatcher(PushOutboxConfig config, PushOutboxDAO pushOutboxDAO) {
+
+        this.config = config;
+        this.pushOutboxDAO = pushOutboxDAO;
+    }
+
+    public boolean isEnabled() {
+
+        return config.isEnabled();
+    }
+
+    /**
+     * Start the dispatcher workers if the outbox is enabled.
+     */
+    public synchronized void start() {
+
+        if (!config.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        int workerCount = Math.max(config.getWorkerCount(), 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "PushOutboxDispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            String leaseOwner = nodeId + ":" + i;
+            workers.execute(() -> runWorker(leaseOwner));
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Started " + workerCount + " push outbox dispatcher workers on the node: " + nodeId);
+        }
+    }
+
+    /**
+     * Stop the dispatcher workers. Push notifications claimed by the workers which are not handled yet are sent
+     * once their leases expire.
+     */
+    public synchronized void shutdown() {
+
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    /**
+     * Queue a push notification to be sent by the dispatcher workers.
+     *
+     * @param device               Device receiving the push notification.
+     * @param pushNotificationData Push notification data.
+     * @param tenantDomain         Tenant domain.
+     * @throws PushDeviceHandlerServerException If the push notification could not be persisted.
+     */
+    public void enqueue(Device device, PushNotificationData pushNotificationData, String tenantDomain)
+            throws PushDeviceHandlerServerException {
+
+        PushOutboxEntry entry = new PushOutboxEntry(UUID.randomUUID().toString(),
+                IdentityTenantUtil.getTenantId(tenantDomain), device.getDeviceId(), device.getProvider(),
+                pushNotificationData, 0, System.currentTimeMillis());
+        pushOutboxDAO.addEntry(entry);
+        // Wake up an idle worker instead of waiting for the next poll.
+        if (wakeUpSignal.availablePermits() < config.getWorkerCount()) {
+            wakeUpSignal.release();
+        }
+    }
+
+    /**
+     * Claim a batch of push notifications from the outbox and send them.
+     *
+     * @param leaseOwner Unique identifier of the worker.
+     * @return Number of push notifications claimed.
+     * @throws PushDeviceHandlerServerException If the outbox could not be accessed.
+     */
+    int dispatchBatch(String leaseOwner) throws PushDeviceHandlerServerException {
+
+        List<PushOutboxEntry> entries = pushOutboxDAO.claimEntries(leaseOwner, config.getBatchSize(),
+                config.getLeaseDuration());
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<PushOutboxEntry>> entryGroups = new LinkedHashMap<>();
+        List<String> handledEntryIds = new ArrayList<>();
+        long currentTime = System.currentTimeMillis();
+        for (PushOutboxEntry entry : entries) {
+            if (entry.getPushNotificationData() == null) {
+                // The payload could not be read, so the push notification can never be sent.
+                handledEntryIds.add(entry.getId());
+                continue;
+            }
+            if (getExpiryTime(entry) <= currentTime) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Discarding the queued push notification to the device: " + entry.getDeviceId()
+                            + " as it has expired.");
+                }
+                handledEntryIds.add(entry.getId());
+                continue;
+            }
+            entryGroups.computeIfAbsent(entry.getTenantId() + ":" + entry.getProvider(), key -> new ArrayList<>())
+                    .add(entry);
+        }
+        try {
+            for (List<PushOutboxEntry> entryGroup : entryGroups.values()) {
+                sendEntries(entryGroup, leaseOwner, handledEntryIds);
+            }
+        } finally {
+            // Delete the handled push notifications even if sending the rest failed, so they are not sent again.
+            pushOutboxDAO.deleteEntries(handledEntryIds, leaseOwner);
+        }
+        return entries.size();
+    }
+
+    private void runWorker(String leaseOwner) {
+
+        while (running) {
+            try {
+                int claimedCount = dispatchBatch(leaseOwner);
+                if (claimedCount < config.getBatchSize()) {
+                    wakeUpSignal.tryAcquire(config.getPollInterval(), TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                LOG.error("Error occurred while dispatching the queued push notifications.", e);
+                try {
+                    Thread.sleep(config.getPollInterval());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Send push notifications of the same tenant and push provider through a single provider call.
+     *
+     * @param entries         Outbox entries of the same tenant and push provider.
+     * @param leaseOwner      Unique identifier of the worker.
+     * @param handledEntryIds Ids of the outbox entries which should not be retried, to be filled.
+     */
+    private void sendEntries(List<PushOutboxEntry> entries, String leaseOwner, List<String> handledEntryIds) {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(entries.get(0).getTenantId());
+        String providerName = entries.get(0).getProvider();
+        List<PushNotificationResult> results;
+        PrivilegedCarbonContext.startTenantFlow();
+        try {
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain, true);
+            PushProvider pushProvider = PushDeviceHandlerDataHolder.getInstance().getPushProvider(providerName);
+            if (pushProvider == null) {
+                throw new PushDeviceHandlerServerException("Push provider: " + providerName + " is not available.");
+            }
+            PushSenderData pushSenderData = DeviceHandlerServiceImpl.buildPushSenderData(
+                    DeviceHandlerServiceImpl.getPushSenderForProvider(providerName));
+            List<PushNotificationData> pushNotifications = new ArrayList<>(entries.size());
+            for (PushOutboxEntry entry : entries) {
+                pushNotifications.add(entry.getPushNotificationData());
+            }
+            results = pushProvider.sendNotifications(pushNotifications, pushSenderData, tenantDomain);
+        } catch (PushDeviceHandlerServerException | PushProviderException e) {
+            LOG.warn("Error occurred while sending the queued push notifications of the tenant: " + tenantDomain
+                    + " through the push provider: " + providerName + ". The push notifications will be retried.", e);
+            for (PushOutboxEntry entry : entries) {
+                handleFailure(entry, leaseOwner, handledEntryIds);
+            }
+            return;
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            PushOutboxEntry entry = entries.get(i);
+            PushNotificationResult result = results.get(i);
+            if (result.isSuccessful()) {
+                handledEntryIds.add(entry.getId());
+            } else if (isPermanentFailure(result.getErrorCode())) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Discarding the queued push notification to the device: " + entry.getDeviceId()
+                            + " as the device can no longer receive push notifications. " + result.getErrorMessage());
+                }
+                handledEntryIds.add(entry.getId());
+            } else {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Failed to send the queued push notification to the device: " + entry.getDeviceId()
+                            + ". " + result.getErrorMessage());
+                }
+                handleFailure(entry, leaseOwner, handledEntryIds);
+            }
+        }
+    }
+
+    private void handleFailure(PushOutboxEntry entry, String leaseOwner, List<String> handledEntryIds) {
+
+        if (entry.getAttempts() >= config.getMaxAttempts()) {
+            LOG.error("Discarding the queued push notification to the device: " + entry.getDeviceId() + " after "
+                    + entry.getAttempts() + " failed attempts.");
+            handledEntryIds.add(entry.getId());
+            return;
+        }
+        long backoff = (long) config.getRetryInterval()
+                << Math.min(entry.getAttempts() - 1, MAX_RETRY_BACKOFF_EXPONENT);
+        long retryTime = System.currentTimeMillis() + backoff;
+        if (retryTime >= getExpiryTime(entry)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Discarding the queued push notification to the device: " + entry.getDeviceId()
+                        + " as it expires before it can be retried.");
+            }
+            handledEntryIds.add(entry.getId());
+            return;
+        }
+        try {
+            pushOutboxDAO.releaseEntry(entry.getId(), leaseOwner, retryTime);
+        } catch (PushDeviceHandlerServerException e) {
+            // The push notification is retried once its lease expires.
+            LOG.error("Error occurred while releasing the queued push notification to the device: "
+                    + entry.getDeviceId() + ".", e);
+        }
+    }
+
+    /**
+     * Get the time after which a queued push notification is no longer sent, which is the configured maximum age or
+     * the time to live of the push notification, whichever is shorter.
+     *
+     * @param entry Outbox entry.
+     * @return Expiry time in milliseconds since the epoch.
+     */
+    private long getExpiryTime(PushOutboxEntry entry) {
+
+        long maxAge = config.getMaxAge();
+        PushDeliveryProfile deliveryProfile = entry.getPushNotificationData().getDeliveryProfile();
+        if (deliveryProfile != null && deliveryProfile.getTimeToLive() != null) {
+            maxAge = Math.min(maxAge, TimeUnit.SECONDS.toMillis(deliveryProfile.getTimeToLive()));
+        }
+        return entry.getCreatedTime() + maxAge;
+    }
+
+    private static boolean isPermanentFailure(String errorCode) {
+
+        return PushProviderConstants.ErrorMessages.ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER.getCode()
+                .equals(errorCode)
+                || PushProviderConstants.ErrorMessages.ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED
+                .getCode().equals(errorCode);
+    }
+}
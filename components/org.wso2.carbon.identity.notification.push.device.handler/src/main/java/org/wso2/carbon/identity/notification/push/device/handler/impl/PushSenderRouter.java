@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushRoutingConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Router which orders the push senders of a tenant by their recent health, so that a push notification is sent
+ * through the healthiest push sender first and the remaining push senders are used for failover.
+ * <p>
+ * Each push sender is scored from the configured percentile of its recent send latencies and its recent failure
+ * rate, where a lower score is better. Only the push senders of the provider the device is registered with are
+ * routed, as a device token is only accepted by the provider which issued it. Push senders at or above the failure
+ * rate threshold are only tried after all the healthy ones. A push sender without enough recorded sends scores as a
+ * perfect sender, so that new and recovered push senders receive traffic. The push sender last used for a device is
+ * kept for that device as long as it stays healthy and within the stickiness tolerance of the best score.
+ */
+public class PushSenderRouter {
+
+    private static final Log LOG = LogFactory.getLog(PushSenderRouter.class);
+
+    private final PushRoutingConfig config;
+    private final SenderHealthRegistry senderHealthRegistry;
+    private final Map<String, String> stickySenders;
+
+    /**
+     * Create a push sender router.
+     *
+     * @param config               Push routing configurations.
+     * @param senderHealthRegistry Registry of the health trackers of the push senders.
+     */
+    public PushSenderRouter(PushRoutingConfig config, SenderHealthRegistry senderHealthRegistry) {
+
+        this.config = config;
+        this.senderHealthRegistry = senderHealthRegistry;
+        int stickyDeviceLimit = Math.max(config.getStickyDeviceLimit(), 0);
+        this.stickySenders = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+
+                return size() > stickyDeviceLimit;
+            }
+        });
+    }
+
+    public boolean isRoutingEnabled() {
+
+        return config.isEnabled();
+    }
+
+    public PushRoutingConfig getConfig() {
+
+        return config;
+    }
+
+    /**
+     * Order the given push senders for sending a push notification to a device.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param deviceId     Device id, or null if the push sender should not be kept for the device.
+     * @param providerName Name of the provider the device is registered with.
+     * @param pushSenders  Push senders of the tenant.
+     * @return Push senders of the given provider, ordered from the most preferred to the least preferred.
+     */
+    public List<PushSenderData> route(String tenantDomain, String deviceId, String providerName,
+                                      List<PushSenderData> pushSenders) {
+
+        List<PushSenderData> providerSenders = new ArrayList<>(pushSenders.size());
+        for (PushSenderData pushSender : pushSenders) {
+            if (StringUtils.equals(pushSender.getProvider(), providerName)) {
+                providerSenders.add(pushSender);
+            }
+        }
+        if (providerSenders.size() < 2) {
+            rememberSender(tenantDomain, deviceId, providerSenders);
+            return providerSenders;
+        }
+
+        List<RankedSender> rankedSenders = new ArrayList<>(providerSenders.size());
+        for (int i = 0; i < providerSenders.size(); i++) {
+            rankedSenders.add(rank(tenantDomain, providerSenders.get(i), i));
+        }
+        rankedSenders.sort(Comparator.comparing((RankedSender sender) -> sender.degraded)
+                .thenComparingDouble(sender -> sender.score)
+                .thenComparingInt(sender -> sender.index));
+        keepStickySender(tenantDomain, deviceId, rankedSenders);
+
+        List<PushSenderData> routedSenders = new ArrayList<>(rankedSenders.size());
+        for (RankedSender rankedSender : rankedSenders) {
+            routedSenders.add(rankedSender.pushSender);
+        }
+        rememberSender(tenantDomain, deviceId, routedSenders);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Push notification to the device: " + deviceId + " is routed to the push sender: "
+                    + routedSenders.get(0).getName());
+        }
+        return routedSenders;
+    }
+
+    private RankedSender rank(String tenantDomain, PushSenderData pushSender, int index) {
+
+        SenderHealthTracker healthTracker = senderHealthRegistry.findTracker(tenantDomain,
+                pushSender.getProviderId());
+        if (healthTracker == null) {
+            return new RankedSender(pushSender, index, false, 0);
+        }
+
+        float failureRate = healthTracker.getFailureRate();
+        boolean degraded = failureRate >= config.getFailureRateThreshold();
+        if (degraded && System.nanoTime() - healthTracker.getLastRecordedAt()
+                >= TimeUnit.MILLISECONDS.toNanos(config.getRecoveryInterval())) {
+            // No push notification went through the sender for a while. Forget its failures so that it is retried.
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Retrying the push sender: " + pushSender.getName() + " after the recovery interval.");
+            }
+            senderHealthRegistry.reset(tenantDomain, pushSender.getProviderId());
+            return new RankedSender(pushSender, index, false, 0);
+        }
+
+        long percentileLatency = healthTracker.getPercentile(config.getLatencyPercentile());
+        double score = Math.max(failureRate, 0) * config.getFailureRateWeight();
+        if (percentileLatency > 0) {
+            score += percentileLatency / (double) TimeUnit.MILLISECONDS.toNanos(1) * config.getLatencyWeight();
+        }
+        return new RankedSender(pushSender, index, degraded, score);
+    }
+
+    private void keepStickySender(String tenantDomain, String deviceId, List<RankedSender> rankedSenders) {
+
+        if (StringUtils.isBlank(deviceId)) {
+            return;
+        }
+        String stickyProviderId = stickySenders.get(buildKey(tenantDomain, deviceId));
+        if (stickyProviderId == null) {
+            return;
+        }
+        RankedSender bestSender = rankedSenders.get(0);
+        for (int i = 1; i < rankedSenders.size(); i++) {
+            RankedSender rankedSender = rankedSenders.get(i);
+            if (!stickyProviderId.equals(rankedSender.pushSender.getProviderId())) {
+                continue;
+            }
+            if (!rankedSender.degraded && rankedSender.score
+                    <= bestSender.score * (1 + config.getStickinessTolerance() / 100d)) {
+                rankedSenders.add(0, rankedSenders.remove(i));
+            }
+            return;
+        }
+    }
+
+    private void rememberSender(String tenantDomain, String deviceId, List<PushSenderData> routedSenders) {
+
+        if (StringUtils.isBlank(deviceId) || routedSenders.isEmpty() || config.getStickyDeviceLimit() <= 0) {
+            return;
+        }
+        stickySenders.put(buildKey(tenantDomain, deviceId), routedSenders.get(0).getProviderId());
+    }
+
+    private String buildKey(String tenantDomain, String id) {
+
+        return tenantDomain + ":" + id;
+    }
+
+    /**
+     * A push sender with its routing rank.
+     */
+    private static final class RankedSender {
+
+        private final PushSenderData pushSender;
+        private final int index;
+        private final boolean degraded;
+        private final double score;
+
+        private RankedSender(PushSenderData pushSender, int index, boolean degraded, double score) {
+
+            this.pushSender = pushSender;
+            this.index = index;
+            this.degraded = degraded;
+            this.score = score;
+        }
+    }
+}
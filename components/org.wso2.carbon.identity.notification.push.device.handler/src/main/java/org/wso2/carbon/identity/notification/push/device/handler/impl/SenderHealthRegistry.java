@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.wso2.carbon.identity.notification.push.device.handler.model.SenderHealthConfig;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the health trackers of the push senders, keyed by tenant domain and provider id.
+ */
+public class SenderHealthRegistry {
+
+    private final ConcurrentMap<String, SenderHealthTracker> healthTrackers = new ConcurrentHashMap<>();
+    private final SenderHealthConfig config;
+
+    public SenderHealthRegistry(SenderHealthConfig config) {
+
+        this.config = config;
+    }
+
+    /**
+     * Get the health tracker of the given push sender, creating it if it is not available.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param providerId   Provider id of the push sender.
+     * @return Sender health tracker.
+     */
+    public SenderHealthTracker getTracker(String tenantDomain, String providerId) {
+
+        String key = buildKey(tenantDomain, providerId);
+        SenderHealthTracker healthTracker = healthTrackers.get(key);
+        if (healthTracker == null) {
+            healthTracker = healthTrackers.computeIfAbsent(key,
+                    name -> new SenderHealthTracker(config.getWindowSize(), config.getMinimumSamples()));
+        }
+        return healthTracker;
+    }
+
+    /**
+     * Get the health tracker of the given push sender without creating it.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param providerId   Provider id of the push sender.
+     * @return Sender health tracker, or null if no send outcome of the push sender is recorded yet.
+     */
+    public SenderHealthTracker findTracker(String tenantDomain, String providerId) {
+
+        return healthTrackers.get(buildKey(tenantDomain, providerId));
+    }
+
+    /**
+     * Discard the health tracker of the given push sender, so that the sender starts with no recorded outcomes.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param providerId   Provider id of the push sender.
+     */
+    public void reset(String tenantDomain, String providerId) {
+
+        healthTrackers.remove(buildKey(tenantDomain, providerId));
+    }
+
+    private String buildKey(String tenantDomain, String providerId) {
+
+        return tenantDomain + ":" + providerId;
+    }
+}
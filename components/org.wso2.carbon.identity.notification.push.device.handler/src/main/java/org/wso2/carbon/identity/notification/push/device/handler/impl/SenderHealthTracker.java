@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import java.util.Arrays;
+
+/**
+ * Tracker of the most recent send outcomes of a push sender.
+ * <p>
+ * Outcomes are kept in a fixed size sliding window, from which the latency percentiles of the successful sends and
+ * the failure rate are calculated on demand. A calculated percentile is reused until a new outcome is recorded.
+ */
+public class SenderHealthTracker {
+
+    private static final long FAILED = -1;
+
+    private final int minimumSamples;
+
+    // Sliding window of the send latencies in nanoseconds, with FAILED marking failed sends. Guarded by this.
+    private final long[] outcomes;
+    private int windowIndex;
+    private int sampleCount;
+    private int failureCount;
+    private long lastRecordedAt;
+    private int cachedPercentile = -1;
+    private long cachedPercentileValue = -1;
+
+    /**
+     * Create a sender health tracker.
+     *
+     * @param windowSize     Number of most recent send outcomes to keep.
+     * @param minimumSamples Number of send outcomes required before the latency percentiles and the failure rate
+     *                       are reported.
+     */
+    public SenderHealthTracker(int windowSize, int minimumSamples) {
+
+        this.outcomes = new long[Math.max(windowSize, 1)];
+        this.minimumSamples = Math.min(Math.max(minimumSamples, 1), outcomes.length);
+    }
+
+    /**
+     * Record a push notification successfully sent through the push sender.
+     *
+     * @param latencyNanos Send latency in nanoseconds.
+     */
+    public synchronized void record(long latencyNanos) {
+
+        add(Math.max(latencyNanos, 0));
+    }
+
+    /**
+     * Record a push notification which could not be sent due to a failure of the push sender.
+     */
+    public synchronized void recordFailure() {
+
+        add(FAILED);
+    }
+
+    /**
+     * Get the given percentile of the latencies of the successful sends.
+     *
+     * @param percentile Percentile between 1 and 100.
+     * @return Latency in nanoseconds, or -1 if not enough successful sends are recorded.
+     */
+    public synchronized long getPercentile(int percentile) {
+
+        int successCount = sampleCount - failureCount;
+        if (successCount < minimumSamples) {
+            return -1;
+        }
+        if (cachedPercentile != percentile) {
+            long[] latencies = new long[successCount];
+            int index = 0;
+            for (int i = 0; i < sampleCount; i++) {
+                if (outcomes[i] != FAILED) {
+                    latencies[index++] = outcomes[i];
+                }
+            }
+            Arrays.sort(latencies);
+            int rank = (int) Math.ceil(Math.min(Math.max(percentile, 1), 100) / 100d * successCount);
+            cachedPercentileValue = latencies[Math.max(rank - 1, 0)];
+            cachedPercentile = percentile;
+        }
+        return cachedPercentileValue;
+    }
+
+    /**
+     * Get the failure percentage of the sends in the sliding window.
+     *
+     * @return Failure rate as a percentage, or -1 if not enough sends are recorded.
+     */
+    public synchronized float getFailureRate() {
+
+        if (sampleCount < minimumSamples) {
+            return -1;
+        }
+        return failureCount * 100f / sampleCount;
+    }
+
+    public synchronized int getSampleCount() {
+
+        return sampleCount;
+    }
+
+    /**
+     * Get the time at which the last send outcome was recorded.
+     *
+     * @return {@link System#nanoTime()} of the last recorded outcome.
+     */
+    public synchronized long getLastRecordedAt() {
+
+        return lastRecordedAt;
+    }
+
+    /**
+     * Discard all the recorded send outcomes.
+     */
+    public synchronized void reset() {
+
+        windowIndex = 0;
+        sampleCount = 0;
+        failureCount = 0;
+        cachedPercentile = -1;
+    }
+
+    private void add(long outcome) {
+
+        if (sampleCount == outcomes.length) {
+            // Drop the oldest outcome from the counts before overwriting it.
+            if (outcomes[windowIndex] == FAILED) {
+                failureCount--;
+            }
+        } else {
+            sampleCount++;
+        }
+        outcomes[windowIndex] = outcome;
+        if (outcome == FAILED) {
+            failureCount++;
+        }
+        windowIndex = (windowIndex + 1) % outcomes.length;
+        lastRecordedAt = System.nanoTime();
+        cachedPercentile = -1;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.DeviceHandlerService;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.DeviceDAO;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerException;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.StaleDeviceCleanupConfig;
+import org.wso2.carbon.identity.notification.push.provider.PushDeviceFeedbackListener;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceFeedback;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cleaner removing the devices rejected by the push providers.
+ * <p>
+ * The push providers report a device as soon as they are told that it is unregistered or that its token is not
+ * valid. The reports are only recorded on the sending thread, and repeated reports of a device collapse into a
+ * single pending removal. A background task looks up the pending devices in batches at a fixed interval and
+ * unregisters them through the device handler service, so that the removals are audited and the devices are also
+ * unregistered from their push providers. Until a device is removed, push notifications to it fail fast without
+ * another round-trip to the push provider.
+ */
+public class StaleDeviceCleaner implements PushDeviceFeedbackListener {
+
+    private static final Log LOG = LogFactory.getLog(StaleDeviceCleaner.class);
+
+    private final StaleDeviceCleanupConfig config;
+    private final DeviceDAO deviceDAO;
+    private final ConcurrentMap<String, PushDeviceFeedback> staleDevices = new ConcurrentHashMap<>();
+    private volatile DeviceHandlerService deviceHandlerService;
+    private ScheduledExecutorService executor;
+
+    public StaleDeviceCleaner(StaleDeviceCleanupConfig config, DeviceDAO deviceDAO) {
+
+        this.config = config;
+        this.deviceDAO = deviceDAO;
+    }
+
+    /**
+     * Set the device handler service used to unregister the rejected devices. Rejected devices are kept pending
+     * until it is set.
+     *
+     * @param deviceHandlerService Device handler service.
+     */
+    public void setDeviceHandlerService(DeviceHandlerService deviceHandlerService) {
+
+        this.deviceHandlerService = deviceHandlerService;
+    }
+
+    public boolean isEnabled() {
+
+        return config.isEnabled();
+    }
+
+    /**
+     * Start removing the rejected devices in the background, if the cleanup is enabled.
+     */
+    public synchronized void start() {
+
+        if (!config.isEnabled() || executor != null) {
+            return;
+        }
+        long flushInterval = Math.max(config.getFlushInterval(), 1);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PushStaleDeviceCleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the background removal. Devices which are not removed yet are reported again by the push providers on
+     * the next failed push notification.
+     */
+    public synchronized void shutdown() {
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public void onDeviceRejected(PushDeviceFeedback feedback) {
+
+        if (!config.isEnabled() || StringUtils.isBlank(feedback.getDeviceToken())) {
+            return;
+        }
+        String key = buildKey(feedback.getTenantDomain(), feedback.getProvider(), feedback.getDeviceToken());
+        if (staleDevices.containsKey(key)) {
+            return;
+        }
+        if (staleDevices.size() >= config.getMaxPending()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Too many rejected devices are waiting to be removed. Ignoring the rejected device: "
+                        + feedback.getDeviceId());
+            }
+            return;
+        }
+        staleDevices.putIfAbsent(key, feedback);
+    }
+
+    /**
+     * Check whether the given device was rejected by its push provider and is waiting to be removed.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param provider     Push provider name.
+     * @param deviceToken  Device token.
+     * @return True if the device was rejected by the push provider.
+     */
+    public boolean isStale(String tenantDomain, String provider, String deviceToken) {
+
+        return config.isEnabled() && StringUtils.isNotBlank(deviceToken)
+                && staleDevices.containsKey(buildKey(tenantDomain, provider, deviceToken));
+    }
+
+    /**
+     * Remove the pending rejected devices, grouped by tenant and push provider. Devices which could not be removed
+     * are kept for the next run.
+     */
+    void flush() {
+
+        if (staleDevices.isEmpty() || deviceHandlerService == null) {
+            return;
+        }
+        Map<String, List<PushDeviceFeedback>> groups = new LinkedHashMap<>();
+        for (PushDeviceFeedback feedback : staleDevices.values()) {
+            groups.computeIfAbsent(feedback.getTenantDomain() + ":" + feedback.getProvider(),
+                    group -> new ArrayList<>()).add(feedback);
+        }
+        int batchSize = Math.max(config.getBatchSize(), 1);
+        for (List<PushDeviceFeedback> group : groups.values()) {
+            for (int start = 0; start < group.size(); start += batchSize) {
+                removeDevices(group.subList(start, Math.min(start + batchSize, group.size())));
+            }
+        }
+    }
+
+    private void removeDevices(List<PushDeviceFeedback> batch) {
+
+        PushDeviceFeedback first = batch.get(0);
+        List<String> deviceTokens = new ArrayList<>(batch.size());
+        for (PushDeviceFeedback feedback : batch) {
+            deviceTokens.add(feedback.getDeviceToken());
+        }
+        PrivilegedCarbonContext.startTenantFlow();
+        try {
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(first.getTenantDomain(), true);
+            int tenantId = IdentityTenantUtil.getTenantId(first.getTenantDomain());
+            List<String> deviceIds = deviceDAO.getDeviceIdsByToken(first.getProvider(), deviceTokens, tenantId);
+            int removedDevices = 0;
+            for (String deviceId : deviceIds) {
+                if (unregisterDevice(deviceId)) {
+                    removedDevices++;
+                }
+            }
+            for (PushDeviceFeedback feedback : batch) {
+                staleDevices.remove(buildKey(feedback.getTenantDomain(), feedback.getProvider(),
+                        feedback.getDeviceToken()));
+            }
+            if (removedDevices > 0) {
+                LOG.info("Removed " + removedDevices + " devices rejected by the push provider: "
+                        + first.getProvider() + " in tenant: " + first.getTenantDomain());
+            }
+        } catch (PushDeviceHandlerServerException | RuntimeException e) {
+            LOG.warn("Error occurred while removing the devices rejected by the push provider: "
+                    + first.getProvider() + " in tenant: " + first.getTenantDomain(), e);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private boolean unregisterDevice(String deviceId) {
+
+        try {
+            deviceHandlerService.unregisterDevice(deviceId);
+            return true;
+        } catch (PushDeviceHandlerException e) {
+            // The device is reported again by its push provider on the next failed push notification.
+            LOG.warn("Error occurred while removing the device rejected by the push provider: " + deviceId, e);
+            return false;
+        }
+    }
+
+    private String buildKey(String tenantDomain, String provider, String deviceToken) {
+
+        return tenantDomain + ":" + provider + ":" + deviceToken;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.internal;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushHedgingConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushLaneConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushRoutingConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.SenderHealthConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.StaleDeviceCleanupConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_INITIAL_DELAY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_LATENCY_PERCENTILE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_MINIMUM_DELAY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_BULK_CONCURRENCY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_BULK_QUEUE_CAPACITY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_MAX_WAIT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_REALTIME_CONCURRENCY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_REALTIME_QUEUE_CAPACITY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_BATCH_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_LEASE_DURATION;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_MAX_AGE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_MAX_ATTEMPTS;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_POLL_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_RETRY_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_WORKER_COUNT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_FAILURE_RATE_WEIGHT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_LATENCY_PERCENTILE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_LATENCY_WEIGHT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_RECOVERY_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_STICKINESS_TOLERANCE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_STICKY_DEVICE_LIMIT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_SENDER_HEALTH_MINIMUM_SAMPLES;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_SENDER_HEALTH_WINDOW_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_STALE_DEVICE_CLEANUP_BATCH_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_STALE_DEVICE_CLEANUP_FLUSH_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_STALE_DEVICE_CLEANUP_MAX_PENDING;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_HEDGING_ENABLED;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_HEDGING_INITIAL_DELAY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_HEDGING_LATENCY_PERCENTILE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_HEDGING_MINIMUM_DELAY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_HEDGING_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_LANES_BULK_CONCURRENCY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_LANES_BULK_QUEUE_CAPACITY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_LANES_BULK_SCENARIOS;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_LANES_ENABLED;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_LANES_MAX_WAIT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_LANES_REALTIME_CONCURRENCY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_LANES_REALTIME_QUEUE_CAPACITY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_BATCH_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_ENABLED;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_LEASE_DURATION;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_MAX_AGE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_MAX_ATTEMPTS;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_POLL_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_RETRY_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_OUTBOX_WORKER_COUNT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_ENABLED;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_FAILURE_RATE_WEIGHT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_LATENCY_PERCENTILE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_LATENCY_WEIGHT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_RECOVERY_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_STICKINESS_TOLERANCE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.PUSH_ROUTING_STICKY_DEVICE_LIMIT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SENDER_HEALTH_MINIMUM_SAMPLES;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.SENDER_HEALTH_WINDOW_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.STALE_DEVICE_CLEANUP_BATCH_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.STALE_DEVICE_CLEANUP_ENABLED;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.STALE_DEVICE_CLEANUP_FLUSH_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.STALE_DEVICE_CLEANUP_MAX_PENDING;
+
+/**
+ * Reader of the push device handler configurations defined in identity.xml.
+ */
+public class PushDeviceHandlerConfigReader {
+
+    private static final Log LOG = LogFactory.getLog(PushDeviceHandlerConfigReader.class);
+
+    private PushDeviceHandlerConfigReader() {
+
+    }
+
+    /**
+     * Read the configurations of hedged push notification sending.
+     *
+     * @return Push hedging configurations.
+     */
+    public static PushHedgingConfig readPushHedgingConfig() {
+
+        PushHedgingConfig pushHedgingConfig = new PushHedgingConfig();
+        pushHedgingConfig.setEnabled(readBooleanProperty(PUSH_HEDGING_ENABLED, false));
+        pushHedgingConfig.setLatencyPercentile(
+                readIntProperty(PUSH_HEDGING_LATENCY_PERCENTILE, DEFAULT_PUSH_HEDGING_LATENCY_PERCENTILE));
+        pushHedgingConfig.setInitialDelay(
+                readIntProperty(PUSH_HEDGING_INITIAL_DELAY, DEFAULT_PUSH_HEDGING_INITIAL_DELAY));
+        pushHedgingConfig.setMinimumDelay(
+                readIntProperty(PUSH_HEDGING_MINIMUM_DELAY, DEFAULT_PUSH_HEDGING_MINIMUM_DELAY));
+        pushHedgingConfig.setSendTimeout(
+                readIntProperty(PUSH_HEDGING_SEND_TIMEOUT, DEFAULT_PUSH_HEDGING_SEND_TIMEOUT));
+        return pushHedgingConfig;
+    }
+
+    /**
+     * Read the configurations of the send outcome tracking of the push senders.
+     *
+     * @return Sender health configurations.
+     */
+    public static SenderHealthConfig readSenderHealthConfig() {
+
+        SenderHealthConfig senderHealthConfig = new SenderHealthConfig();
+        senderHealthConfig.setWindowSize(readIntProperty(SENDER_HEALTH_WINDOW_SIZE, DEFAULT_SENDER_HEALTH_WINDOW_SIZE));
+        senderHealthConfig.setMinimumSamples(
+                readIntProperty(SENDER_HEALTH_MINIMUM_SAMPLES, DEFAULT_SENDER_HEALTH_MINIMUM_SAMPLES));
+        return senderHealthConfig;
+    }
+
+    /**
+     * Read the configurations of routing push notifications among the push senders.
+     *
+     * @return Push routing configurations.
+     */
+    public static PushRoutingConfig readPushRoutingConfig() {
+
+        PushRoutingConfig pushRoutingConfig = new PushRoutingConfig();
+        pushRoutingConfig.setEnabled(readBooleanProperty(PUSH_ROUTING_ENABLED, false));
+        pushRoutingConfig.setLatencyPercentile(
+                readIntProperty(PUSH_ROUTING_LATENCY_PERCENTILE, DEFAULT_PUSH_ROUTING_LATENCY_PERCENTILE));
+        pushRoutingConfig.setLatencyWeight(
+                readIntProperty(PUSH_ROUTING_LATENCY_WEIGHT, DEFAULT_PUSH_ROUTING_LATENCY_WEIGHT));
+        pushRoutingConfig.setFailureRateWeight(
+                readIntProperty(PUSH_ROUTING_FAILURE_RATE_WEIGHT, DEFAULT_PUSH_ROUTING_FAILURE_RATE_WEIGHT));
+        pushRoutingConfig.setFailureRateThreshold(
+                readIntProperty(PUSH_ROUTING_FAILURE_RATE_THRESHOLD, DEFAULT_PUSH_ROUTING_FAILURE_RATE_THRESHOLD));
+        pushRoutingConfig.setRecoveryInterval(
+                readIntProperty(PUSH_ROUTING_RECOVERY_INTERVAL, DEFAULT_PUSH_ROUTING_RECOVERY_INTERVAL));
+        pushRoutingConfig.setStickinessTolerance(
+                readIntProperty(PUSH_ROUTING_STICKINESS_TOLERANCE, DEFAULT_PUSH_ROUTING_STICKINESS_TOLERANCE));
+        pushRoutingConfig.setStickyDeviceLimit(
+                readIntProperty(PUSH_ROUTING_STICKY_DEVICE_LIMIT, DEFAULT_PUSH_ROUTING_STICKY_DEVICE_LIMIT));
+        pushRoutingConfig.setSendTimeout(
+                readIntProperty(PUSH_ROUTING_SEND_TIMEOUT, DEFAULT_PUSH_ROUTING_SEND_TIMEOUT));
+        return pushRoutingConfig;
+    }
+
+    /**
+     * Read the configurations of the push notification outbox.
+     *
+     * @return Push outbox configurations.
+     */
+    public static PushOutboxConfig readPushOutboxConfig() {
+
+        PushOutboxConfig pushOutboxConfig = new PushOutboxConfig();
+        pushOutboxConfig.setEnabled(readBooleanProperty(PUSH_OUTBOX_ENABLED, false));
+        pushOutboxConfig.setWorkerCount(readIntProperty(PUSH_OUTBOX_WORKER_COUNT, DEFAULT_PUSH_OUTBOX_WORKER_COUNT));
+        pushOutboxConfig.setBatchSize(readIntProperty(PUSH_OUTBOX_BATCH_SIZE, DEFAULT_PUSH_OUTBOX_BATCH_SIZE));
+        pushOutboxConfig.setPollInterval(
+                readIntProperty(PUSH_OUTBOX_POLL_INTERVAL, DEFAULT_PUSH_OUTBOX_POLL_INTERVAL));
+        pushOutboxConfig.setLeaseDuration(
+                readIntProperty(PUSH_OUTBOX_LEASE_DURATION, DEFAULT_PUSH_OUTBOX_LEASE_DURATION));
+        pushOutboxConfig.setMaxAttempts(readIntProperty(PUSH_OUTBOX_MAX_ATTEMPTS, DEFAULT_PUSH_OUTBOX_MAX_ATTEMPTS));
+        pushOutboxConfig.setRetryInterval(
+                readIntProperty(PUSH_OUTBOX_RETRY_INTERVAL, DEFAULT_PUSH_OUTBOX_RETRY_INTERVAL));
+        pushOutboxConfig.setMaxAge(readIntProperty(PUSH_OUTBOX_MAX_AGE, DEFAULT_PUSH_OUTBOX_MAX_AGE));
+        return pushOutboxConfig;
+    }
+
+    /**
+     * Read the priority lane configurations of the push notifications.
+     *
+     * @return Push lane configurations.
+     */
+    public static PushLaneConfig readPushLaneConfig() {
+
+        PushLaneConfig pushLaneConfig = new PushLaneConfig();
+        pushLaneConfig.setEnabled(readBooleanProperty(PUSH_LANES_ENABLED, false));
+        pushLaneConfig.setRealtimeConcurrency(
+                readIntProperty(PUSH_LANES_REALTIME_CONCURRENCY, DEFAULT_PUSH_LANES_REALTIME_CONCURRENCY));
+        pushLaneConfig.setRealtimeQueueCapacity(
+                readIntProperty(PUSH_LANES_REALTIME_QUEUE_CAPACITY, DEFAULT_PUSH_LANES_REALTIME_QUEUE_CAPACITY));
+        pushLaneConfig.setBulkConcurrency(
+                readIntProperty(PUSH_LANES_BULK_CONCURRENCY, DEFAULT_PUSH_LANES_BULK_CONCURRENCY));
+        pushLaneConfig.setBulkQueueCapacity(
+                readIntProperty(PUSH_LANES_BULK_QUEUE_CAPACITY, DEFAULT_PUSH_LANES_BULK_QUEUE_CAPACITY));
+        pushLaneConfig.setMaxWait(readIntProperty(PUSH_LANES_MAX_WAIT, DEFAULT_PUSH_LANES_MAX_WAIT));
+        String bulkScenarios = IdentityUtil.getProperty(PUSH_LANES_BULK_SCENARIOS);
+        if (StringUtils.isNotBlank(bulkScenarios)) {
+            List<String> scenarios = new ArrayList<>();
+            for (String scenario : StringUtils.split(bulkScenarios, ",")) {
+                if (StringUtils.isNotBlank(scenario)) {
+                    scenarios.add(scenario.trim());
+                }
+            }
+            pushLaneConfig.setBulkScenarios(scenarios);
+        }
+        return pushLaneConfig;
+    }
+
+    /**
+     * Read the configurations of the cleanup of the devices rejected by the push providers.
+     *
+     * @return Stale device cleanup configurations.
+     */
+    public static StaleDeviceCleanupConfig readStaleDeviceCleanupConfig() {
+
+        StaleDeviceCleanupConfig staleDeviceCleanupConfig = new StaleDeviceCleanupConfig();
+        staleDeviceCleanupConfig.setEnabled(readBooleanProperty(STALE_DEVICE_CLEANUP_ENABLED, false));
+        staleDeviceCleanupConfig.setFlushInterval(
+                readIntProperty(STALE_DEVICE_CLEANUP_FLUSH_INTERVAL, DEFAULT_STALE_DEVICE_CLEANUP_FLUSH_INTERVAL));
+        staleDeviceCleanupConfig.setBatchSize(
+                readIntProperty(STALE_DEVICE_CLEANUP_BATCH_SIZE, DEFAULT_STALE_DEVICE_CLEANUP_BATCH_SIZE));
+        staleDeviceCleanupConfig.setMaxPending(
+                readIntProperty(STALE_DEVICE_CLEANUP_MAX_PENDING, DEFAULT_STALE_DEVICE_CLEANUP_MAX_PENDING));
+        return staleDeviceCleanupConfig;
+    }
+
+    private static boolean readBooleanProperty(String propertyName, boolean defaultValue) {
+
+        String configuredValue = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(configuredValue)) {
+            return Boolean.parseBoolean(configuredValue.trim());
+        }
+        return defaultValue;
+    }
+
+    private static int readIntProperty(String propertyName, int defaultValue) {
+
+        String configuredValue = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(configuredValue)) {
+            try {
+                return Integer.parseInt(configuredValue.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid value configured for '" + propertyName + "': " + configuredValue
+                        + ". Using default value: " + defaultValue, e);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -31,8 +31,17 @@ import org.wso2.carbon.identity.notification.push.device.handler.DeviceHandlerSe
 import org.wso2.carbon.identity.notification.push.device.handler.DeviceRegistrationContextManager;
 import org.wso2.carbon.identity.notification.push.device.handler.dao.DeviceDAO;
 import org.wso2.carbon.identity.notification.push.device.handler.dao.DeviceDAOImpl;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.PushOutboxDAOImpl;
 import org.wso2.carbon.identity.notification.push.device.handler.impl.DeviceHandlerServiceImpl;
 import org.wso2.carbon.identity.notification.push.device.handler.impl.DeviceRegistrationContextManagerImpl;
+import org.wso2.carbon.identity.notification.push.device.handler.impl.PushDeliveryComponents;
+import org.wso2.carbon.identity.notification.push.device.handler.impl.PushLaneDispatcher;
+import org.wso2.carbon.identity.notification.push.device.handler.impl.PushNotificationDispatcher;
+import org.wso2.carbon.identity.notification.push.device.handler.impl.PushOutboxDispatcher;
+import org.wso2.carbon.identity.notification.push.device.handler.impl.PushSenderRouter;
+import org.wso2.carbon.identity.notification.push.device.handler.impl.SenderHealthRegistry;
+import org.wso2.carbon.identity.notification.push.device.handler.impl.StaleDeviceCleaner;
+import org.wso2.carbon.identity.notification.push.provider.PushDeviceFeedbackListener;
 import org.wso2.carbon.identity.notification.push.provider.PushProvider;
 import org.wso2.carbon.identity.notification.sender.tenant.config.NotificationSenderManagementService;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
@@ -47,6 +56,10 @@ import org.wso2.carbon.identity.organization.management.service.OrganizationMana
 public class PushDeviceHandlerServiceComponent {
 
     private static final Log LOG = LogFactory.getLog(PushDeviceHandlerServiceComponent.class);
+    private PushNotificationDispatcher pushNotificationDispatcher;
+    private PushOutboxDispatcher pushOutboxDispatcher;
+    private PushLaneDispatcher pushLaneDispatcher;
+    private StaleDeviceCleaner staleDeviceCleaner;
 
     @Activate
     protected void activate(ComponentContext context) {
@@ -55,10 +68,35 @@ public class PushDeviceHandlerServiceComponent {
             DeviceRegistrationContextManager deviceRegistrationContextManager =
                     new DeviceRegistrationContextManagerImpl();
             DeviceDAO deviceDAO = new DeviceDAOImpl();
-            DeviceHandlerService deviceHandlerService =
-                    new DeviceHandlerServiceImpl(deviceRegistrationContextManager, deviceDAO);
+            SenderHealthRegistry senderHealthRegistry =
+                    new SenderHealthRegistry(PushDeviceHandlerConfigReader.readSenderHealthConfig());
+            pushNotificationDispatcher = new PushNotificationDispatcher(
+                    PushDeviceHandlerConfigReader.readPushHedgingConfig(), senderHealthRegistry);
+            PushSenderRouter pushSenderRouter =
+                    new PushSenderRouter(PushDeviceHandlerConfigReader.readPushRoutingConfig(), senderHealthRegistry);
+            pushOutboxDispatcher = new PushOutboxDispatcher(
+                    PushDeviceHandlerConfigReader.readPushOutboxConfig(), new PushOutboxDAOImpl());
+            pushLaneDispatcher = new PushLaneDispatcher(PushDeviceHandlerConfigReader.readPushLaneConfig());
+            staleDeviceCleaner = new StaleDeviceCleaner(
+                    PushDeviceHandlerConfigReader.readStaleDeviceCleanupConfig(), deviceDAO);
+            PushDeliveryComponents pushDeliveryComponents = new PushDeliveryComponents.Builder()
+                    .setPushNotificationDispatcher(pushNotificationDispatcher)
+                    .setPushSenderRouter(pushSenderRouter)
+                    .setPushOutboxDispatcher(pushOutboxDispatcher)
+                    .setPushLaneDispatcher(pushLaneDispatcher)
+                    .setStaleDeviceCleaner(staleDeviceCleaner)
+                    .build();
+            DeviceHandlerService deviceHandlerService = new DeviceHandlerServiceImpl(deviceRegistrationContextManager,
+                    deviceDAO, pushDeliveryComponents);
             context.getBundleContext().registerService(
                     DeviceHandlerService.class.getName(), deviceHandlerService, null);
+            staleDeviceCleaner.setDeviceHandlerService(deviceHandlerService);
+            if (staleDeviceCleaner.isEnabled()) {
+                context.getBundleContext().registerService(
+                        PushDeviceFeedbackListener.class.getName(), staleDeviceCleaner, null);
+                staleDeviceCleaner.start();
+            }
+            pushOutboxDispatcher.start();
         } catch (Throwable e) {
             LOG.error("Error occurred while activating Push Device Handler Service Component", e);
         }
@@ -71,6 +109,18 @@ public class PushDeviceHandlerServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        if (pushNotificationDispatcher != null) {
+            pushNotificationDispatcher.shutdown();
+        }
+        if (pushOutboxDispatcher != null) {
+            pushOutboxDispatcher.shutdown();
+        }
+        if (pushLaneDispatcher != null) {
+            pushLaneDispatcher.shutdown();
+        }
+        if (staleDeviceCleaner != null) {
+            staleDeviceCleaner.shutdown();
+        }
         if (LOG.isDebugEnabled()) {
             LOG.debug("Push Device Handler Service Component bundle is deactivated.");
         }
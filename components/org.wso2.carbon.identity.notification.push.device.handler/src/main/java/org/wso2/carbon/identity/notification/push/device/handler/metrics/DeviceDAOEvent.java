@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a push device DAO operation.
+ * <p>
+ * Complements the DAO query time metric with per query attribution in flight recordings, where the JDBC frames alone
+ * do not show which device operation issued a query.
+ */
+@Name("org.wso2.carbon.identity.notification.push.DeviceDAO")
+@Label("Push Device DAO Operation")
+@Category({"WSO2", "Push Notification"})
+@Description("Execution of a push device DAO operation.")
+@StackTrace(false)
+public class DeviceDAOEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Tenant Domain")
+    private String tenantDomain;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void setOperation(String operation) {
+
+        this.operation = operation;
+    }
+
+    public void setTenantDomain(String tenantDomain) {
+
+        this.tenantDomain = tenantDomain;
+    }
+
+    public void setOutcome(String outcome) {
+
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.model;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_INITIAL_DELAY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_LATENCY_PERCENTILE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_MINIMUM_DELAY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_HEDGING_SEND_TIMEOUT;
+
+/**
+ * Model class for the configurations of hedged push notification sending.
+ */
+public class PushHedgingConfig {
+
+    private boolean enabled;
+    private int latencyPercentile = DEFAULT_PUSH_HEDGING_LATENCY_PERCENTILE;
+    private int initialDelay = DEFAULT_PUSH_HEDGING_INITIAL_DELAY;
+    private int minimumDelay = DEFAULT_PUSH_HEDGING_MINIMUM_DELAY;
+    private int sendTimeout = DEFAULT_PUSH_HEDGING_SEND_TIMEOUT;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the percentile of the recent send latencies of the primary push sender after which the push notification
+     * is also sent through a secondary push sender.
+     *
+     * @return Latency percentile.
+     */
+    public int getLatencyPercentile() {
+
+        return latencyPercentile;
+    }
+
+    public void setLatencyPercentile(int latencyPercentile) {
+
+        this.latencyPercentile = latencyPercentile;
+    }
+
+    /**
+     * Get the hedging delay in milliseconds used until enough latency samples are recorded for the push sender.
+     *
+     * @return Initial hedging delay in milliseconds.
+     */
+    public int getInitialDelay() {
+
+        return initialDelay;
+    }
+
+    public void setInitialDelay(int initialDelay) {
+
+        this.initialDelay = initialDelay;
+    }
+
+    /**
+     * Get the lower bound of the hedging delay in milliseconds.
+     *
+     * @return Minimum hedging delay in milliseconds.
+     */
+    public int getMinimumDelay() {
+
+        return minimumDelay;
+    }
+
+    public void setMinimumDelay(int minimumDelay) {
+
+        this.minimumDelay = minimumDelay;
+    }
+
+    /**
+     * Get the time in milliseconds to wait for a dispatched push notification to be sent.
+     *
+     * @return Send timeout in milliseconds.
+     */
+    public int getSendTimeout() {
+
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(int sendTimeout) {
+
+        this.sendTimeout = sendTimeout;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.model;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_BULK_CONCURRENCY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_BULK_QUEUE_CAPACITY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_MAX_WAIT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_REALTIME_CONCURRENCY;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_LANES_REALTIME_QUEUE_CAPACITY;
+
+/**
+ * Model class for the configurations of the priority lanes used to send push notifications.
+ */
+public class PushLaneConfig {
+
+    private boolean enabled;
+    private int realtimeConcurrency = DEFAULT_PUSH_LANES_REALTIME_CONCURRENCY;
+    private int realtimeQueueCapacity = DEFAULT_PUSH_LANES_REALTIME_QUEUE_CAPACITY;
+    private int bulkConcurrency = DEFAULT_PUSH_LANES_BULK_CONCURRENCY;
+    private int bulkQueueCapacity = DEFAULT_PUSH_LANES_BULK_QUEUE_CAPACITY;
+    private int maxWait = DEFAULT_PUSH_LANES_MAX_WAIT;
+    private List<String> bulkScenarios = Collections.emptyList();
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the maximum number of push notifications of the realtime lane sent concurrently.
+     *
+     * @return Realtime lane concurrency.
+     */
+    public int getRealtimeConcurrency() {
+
+        return realtimeConcurrency;
+    }
+
+    public void setRealtimeConcurrency(int realtimeConcurrency) {
+
+        this.realtimeConcurrency = realtimeConcurrency;
+    }
+
+    /**
+     * Get the maximum number of push notifications waiting in the realtime lane.
+     *
+     * @return Realtime lane queue capacity.
+     */
+    public int getRealtimeQueueCapacity() {
+
+        return realtimeQueueCapacity;
+    }
+
+    public void setRealtimeQueueCapacity(int realtimeQueueCapacity) {
+
+        this.realtimeQueueCapacity = realtimeQueueCapacity;
+    }
+
+    /**
+     * Get the maximum number of push notifications of the bulk lane sent concurrently.
+     *
+     * @return Bulk lane concurrency.
+     */
+    public int getBulkConcurrency() {
+
+        return bulkConcurrency;
+    }
+
+    public void setBulkConcurrency(int bulkConcurrency) {
+
+        this.bulkConcurrency = bulkConcurrency;
+    }
+
+    /**
+     * Get the maximum number of push notifications waiting in the bulk lane.
+     *
+     * @return Bulk lane queue capacity.
+     */
+    public int getBulkQueueCapacity() {
+
+        return bulkQueueCapacity;
+    }
+
+    public void setBulkQueueCapacity(int bulkQueueCapacity) {
+
+        this.bulkQueueCapacity = bulkQueueCapacity;
+    }
+
+    /**
+     * Get the maximum time in milliseconds a push notification waits for its lane to admit it before it is rejected.
+     *
+     * @return Maximum wait in milliseconds.
+     */
+    public int getMaxWait() {
+
+        return maxWait;
+    }
+
+    public void setMaxWait(int maxWait) {
+
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Get the notification scenarios whose push notifications are sent through the bulk lane regardless of their
+     * delivery priority.
+     *
+     * @return Bulk notification scenarios.
+     */
+    public List<String> getBulkScenarios() {
+
+        return bulkScenarios;
+    }
+
+    public void setBulkScenarios(List<String> bulkScenarios) {
+
+        this.bulkScenarios = bulkScenarios;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.model;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_BATCH_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_LEASE_DURATION;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_MAX_AGE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_MAX_ATTEMPTS;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_POLL_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_RETRY_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_OUTBOX_WORKER_COUNT;
+
+/**
+ * Model class for the configurations of the push notification outbox.
+ */
+public class PushOutboxConfig {
+
+    private boolean enabled;
+    private int workerCount = DEFAULT_PUSH_OUTBOX_WORKER_COUNT;
+    private int batchSize = DEFAULT_PUSH_OUTBOX_BATCH_SIZE;
+    private int pollInterval = DEFAULT_PUSH_OUTBOX_POLL_INTERVAL;
+    private int leaseDuration = DEFAULT_PUSH_OUTBOX_LEASE_DURATION;
+    private int maxAttempts = DEFAULT_PUSH_OUTBOX_MAX_ATTEMPTS;
+    private int retryInterval = DEFAULT_PUSH_OUTBOX_RETRY_INTERVAL;
+    private int maxAge = DEFAULT_PUSH_OUTBOX_MAX_AGE;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of dispatcher workers draining the outbox on this node.
+     *
+     * @return Worker count.
+     */
+    public int getWorkerCount() {
+
+        return workerCount;
+    }
+
+    public void setWorkerCount(int workerCount) {
+
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * Get the maximum number of push notifications claimed and sent by a dispatcher worker at once.
+     *
+     * @return Batch size.
+     */
+    public int getBatchSize() {
+
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Get the time in milliseconds an idle dispatcher worker waits before polling the outbox again.
+     *
+     * @return Poll interval in milliseconds.
+     */
+    public int getPollInterval() {
+
+        return pollInterval;
+    }
+
+    public void setPollInterval(int pollInterval) {
+
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Get the time in milliseconds for which a claimed push notification is reserved for the claiming worker. A push
+     * notification which is neither sent nor released within this time can be claimed by any node again.
+     *
+     * @return Lease duration in milliseconds.
+     */
+    public int getLeaseDuration() {
+
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(int leaseDuration) {
+
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Get the maximum number of attempts made to send a push notification before it is discarded.
+     *
+     * @return Maximum attempt count.
+     */
+    public int getMaxAttempts() {
+
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Get the time in milliseconds before the first retry of a push notification which could not be sent. The
+     * interval doubles with each further attempt.
+     *
+     * @return Retry interval in milliseconds.
+     */
+    public int getRetryInterval() {
+
+        return retryInterval;
+    }
+
+    public void setRetryInterval(int retryInterval) {
+
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * Get the time in milliseconds after which a queued push notification is discarded instead of being sent. A
+     * push notification with a shorter time to live is discarded once its time to live has passed.
+     *
+     * @return Maximum age in milliseconds.
+     */
+    public int getMaxAge() {
+
+        return maxAge;
+    }
+
+    public void setMaxAge(int maxAge) {
+
+        this.maxAge = maxAge;
+    }
+}
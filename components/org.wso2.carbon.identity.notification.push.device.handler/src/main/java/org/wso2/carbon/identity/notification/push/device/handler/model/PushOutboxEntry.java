@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.model;
+
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+/**
+ * Model class for a push notification persisted in the outbox until it is sent.
+ */
+public class PushOutboxEntry {
+
+    private final String id;
+    private final int tenantId;
+    private final String deviceId;
+    private final String provider;
+    private final PushNotificationData pushNotificationData;
+    private final int attempts;
+    private final long createdTime;
+
+    /**
+     * Constructor of PushOutboxEntry.
+     *
+     * @param id                   Unique id of the entry.
+     * @param tenantId             Tenant id of the user receiving the push notification.
+     * @param deviceId             Id of the device receiving the push notification.
+     * @param provider             Name of the push provider of the device.
+     * @param pushNotificationData Push notification data.
+     * @param attempts             Number of times the entry has been claimed for sending.
+     * @param createdTime          Time in milliseconds since the epoch at which the entry was queued.
+     */
+    public PushOutboxEntry(String id, int tenantId, String deviceId, String provider,
+                           PushNotificationData pushNotificationData, int attempts, long createdTime) {
+
+        this.id = id;
+        this.tenantId = tenantId;
+        this.deviceId = deviceId;
+        this.provider = provider;
+        this.pushNotificationData = pushNotificationData;
+        this.attempts = attempts;
+        this.createdTime = createdTime;
+    }
+
+    public String getId() {
+
+        return id;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public String getDeviceId() {
+
+        return deviceId;
+    }
+
+    public String getProvider() {
+
+        return provider;
+    }
+
+    public PushNotificationData getPushNotificationData() {
+
+        return pushNotificationData;
+    }
+
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.model;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_FAILURE_RATE_WEIGHT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_LATENCY_PERCENTILE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_LATENCY_WEIGHT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_RECOVERY_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_STICKINESS_TOLERANCE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_PUSH_ROUTING_STICKY_DEVICE_LIMIT;
+
+/**
+ * Model class for the configurations of routing push notifications among the push senders.
+ */
+public class PushRoutingConfig {
+
+    private boolean enabled;
+    private int latencyPercentile = DEFAULT_PUSH_ROUTING_LATENCY_PERCENTILE;
+    private int latencyWeight = DEFAULT_PUSH_ROUTING_LATENCY_WEIGHT;
+    private int failureRateWeight = DEFAULT_PUSH_ROUTING_FAILURE_RATE_WEIGHT;
+    private int failureRateThreshold = DEFAULT_PUSH_ROUTING_FAILURE_RATE_THRESHOLD;
+    private int recoveryInterval = DEFAULT_PUSH_ROUTING_RECOVERY_INTERVAL;
+    private int stickinessTolerance = DEFAULT_PUSH_ROUTING_STICKINESS_TOLERANCE;
+    private int stickyDeviceLimit = DEFAULT_PUSH_ROUTING_STICKY_DEVICE_LIMIT;
+    private int sendTimeout = DEFAULT_PUSH_ROUTING_SEND_TIMEOUT;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the percentile of the recent send latencies used to score a push sender.
+     *
+     * @return Latency percentile.
+     */
+    public int getLatencyPercentile() {
+
+        return latencyPercentile;
+    }
+
+    public void setLatencyPercentile(int latencyPercentile) {
+
+        this.latencyPercentile = latencyPercentile;
+    }
+
+    /**
+     * Get the weight of each millisecond of send latency in the score of a push sender.
+     *
+     * @return Latency weight.
+     */
+    public int getLatencyWeight() {
+
+        return latencyWeight;
+    }
+
+    public void setLatencyWeight(int latencyWeight) {
+
+        this.latencyWeight = latencyWeight;
+    }
+
+    /**
+     * Get the weight of each failure percentage point in the score of a push sender.
+     *
+     * @return Failure rate weight.
+     */
+    public int getFailureRateWeight() {
+
+        return failureRateWeight;
+    }
+
+    public void setFailureRateWeight(int failureRateWeight) {
+
+        this.failureRateWeight = failureRateWeight;
+    }
+
+    /**
+     * Get the failure percentage at or above which a push sender is only used after all the healthy push senders.
+     *
+     * @return Failure rate threshold as a percentage.
+     */
+    public int getFailureRateThreshold() {
+
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    /**
+     * Get the time in milliseconds without any send outcome after which the recorded outcomes of an unhealthy push
+     * sender are discarded, so that it is tried again.
+     *
+     * @return Recovery interval in milliseconds.
+     */
+    public int getRecoveryInterval() {
+
+        return recoveryInterval;
+    }
+
+    public void setRecoveryInterval(int recoveryInterval) {
+
+        this.recoveryInterval = recoveryInterval;
+    }
+
+    /**
+     * Get the percentage by which the score of the push sender last used for a device may exceed the best score
+     * while still being preferred for that device.
+     *
+     * @return Stickiness tolerance as a percentage.
+     */
+    public int getStickinessTolerance() {
+
+        return stickinessTolerance;
+    }
+
+    public void setStickinessTolerance(int stickinessTolerance) {
+
+        this.stickinessTolerance = stickinessTolerance;
+    }
+
+    /**
+     * Get the maximum number of devices for which the last used push sender is remembered.
+     *
+     * @return Sticky device limit.
+     */
+    public int getStickyDeviceLimit() {
+
+        return stickyDeviceLimit;
+    }
+
+    public void setStickyDeviceLimit(int stickyDeviceLimit) {
+
+        this.stickyDeviceLimit = stickyDeviceLimit;
+    }
+
+    /**
+     * Get the time in milliseconds to wait for a routed push notification to be sent through the push senders when
+     * hedging is not enabled.
+     *
+     * @return Send timeout in milliseconds.
+     */
+    public int getSendTimeout() {
+
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(int sendTimeout) {
+
+        this.sendTimeout = sendTimeout;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.model;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_SENDER_HEALTH_MINIMUM_SAMPLES;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_SENDER_HEALTH_WINDOW_SIZE;
+
+/**
+ * Model class for the configurations of the send outcome tracking of the push senders.
+ */
+public class SenderHealthConfig {
+
+    private int windowSize = DEFAULT_SENDER_HEALTH_WINDOW_SIZE;
+    private int minimumSamples = DEFAULT_SENDER_HEALTH_MINIMUM_SAMPLES;
+
+    /**
+     * Get the number of most recent send outcomes of a push sender considered when calculating its latency
+     * percentiles and failure rate.
+     *
+     * @return Sliding window size.
+     */
+    public int getWindowSize() {
+
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Get the minimum number of send outcomes of a push sender required before its latency percentiles and failure
+     * rate are used.
+     *
+     * @return Minimum sample count.
+     */
+    public int getMinimumSamples() {
+
+        return minimumSamples;
+    }
+
+    public void setMinimumSamples(int minimumSamples) {
+
+        this.minimumSamples = minimumSamples;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.model;
+
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_STALE_DEVICE_CLEANUP_BATCH_SIZE;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_STALE_DEVICE_CLEANUP_FLUSH_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants.DEFAULT_STALE_DEVICE_CLEANUP_MAX_PENDING;
+
+/**
+ * Model class for the configurations of the cleanup of the devices rejected by the push providers.
+ */
+public class StaleDeviceCleanupConfig {
+
+    private boolean enabled;
+    private int flushInterval = DEFAULT_STALE_DEVICE_CLEANUP_FLUSH_INTERVAL;
+    private int batchSize = DEFAULT_STALE_DEVICE_CLEANUP_BATCH_SIZE;
+    private int maxPending = DEFAULT_STALE_DEVICE_CLEANUP_MAX_PENDING;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the interval in milliseconds at which the rejected devices are removed.
+     *
+     * @return Flush interval in milliseconds.
+     */
+    public int getFlushInterval() {
+
+        return flushInterval;
+    }
+
+    public void setFlushInterval(int flushInterval) {
+
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Get the maximum number of rejected devices looked up in a single database round-trip.
+     *
+     * @return Batch size.
+     */
+    public int getBatchSize() {
+
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Get the maximum number of rejected devices waiting to be removed. Rejections reported while the limit is
+     * reached are ignored.
+     *
+     * @return Maximum number of pending devices.
+     */
+    public int getMaxPending() {
+
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+
+        this.maxPending = maxPending;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.dao;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.database.utils.jdbc.NamedPreparedStatement;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.constant.PushDeviceHandlerConstants;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxEntry;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Unit tests for PushOutboxDAOImpl.
+ */
+public class PushOutboxDAOImplTest {
+
+    private static final String LEASE_OWNER = "node-1:0";
+    private static final int TENANT_ID = -1234;
+    private static final long CREATED_TIME = 1000L;
+
+    private PushOutboxDAOImpl pushOutboxDAO;
+    private MockedStatic<CryptoUtil> mockedCryptoUtil;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        pushOutboxDAO = new PushOutboxDAOImpl();
+        // Base64 stands in for the server's encryption, so that the tests can tell the payload is not stored as is.
+        CryptoUtil cryptoUtil = Mockito.mock(CryptoUtil.class);
+        Mockito.when(cryptoUtil.encryptAndBase64Encode(Mockito.any(byte[].class)))
+                .thenAnswer(invocation -> Base64.getEncoder().encodeToString(invocation.getArgument(0)));
+        Mockito.when(cryptoUtil.base64DecodeAndDecrypt(Mockito.anyString()))
+                .thenAnswer(invocation -> Base64.getDecoder().decode((String) invocation.getArgument(0)));
+        mockedCryptoUtil = Mockito.mockStatic(CryptoUtil.class);
+        mockedCryptoUtil.when(CryptoUtil::getDefaultCryptoUtil).thenReturn(cryptoUtil);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        mockedCryptoUtil.close();
+    }
+
+    @Test
+    public void testClaimEntriesRestoresQueuedPushNotification() throws Exception {
+
+        PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                .setPushId("pushId")
+                .setDeviceId("deviceId")
+                .setDeviceToken("deviceToken")
+                .setUsername("user")
+                .setTenantDomain("carbon.super")
+                .setNumberChallenge("42")
+                .setBrowser("Firefox")
+                .setTimeToLive(60L)
+                .build();
+
+        try (MockedStatic<IdentityDatabaseUtil> mockedDbUtil = Mockito.mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = Mockito.mock(Connection.class);
+            NamedPreparedStatement statement = Mockito.mock(NamedPreparedStatement.class);
+            mockedDbUtil.when(() -> IdentityDatabaseUtil.getDBConnection(true)).thenReturn(connection);
+            Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+
+            pushOutboxDAO.addEntry(new PushOutboxEntry("entryId", TENANT_ID, "deviceId", "FCM",
+                    pushNotificationData, 0, CREATED_TIME));
+
+            ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+            Mockito.verify(statement).setString(Mockito.eq(5), payloadCaptor.capture());
+            Assert.assertFalse(payloadCaptor.getValue().contains("deviceToken"));
+            Mockito.verify(statement).setLong(PushDeviceHandlerConstants.ColumnNames.CREATED_TIME, CREATED_TIME);
+            mockedDbUtil.verify(() -> IdentityDatabaseUtil.commitTransaction(connection));
+
+            mockDatabaseProductName(connection, "H2");
+            ResultSet resultSet = Mockito.mock(ResultSet.class);
+            Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+            Mockito.when(resultSet.next()).thenReturn(true, false);
+            Mockito.when(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.ID)).thenReturn("entryId");
+            Mockito.when(resultSet.getInt(PushDeviceHandlerConstants.ColumnNames.TENANT_ID)).thenReturn(TENANT_ID);
+            Mockito.when(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.DEVICE_ID)).thenReturn("deviceId");
+            Mockito.when(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PROVIDER)).thenReturn("FCM");
+            Mockito.when(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PAYLOAD))
+                    .thenReturn(payloadCaptor.getValue());
+            Mockito.when(resultSet.getInt(PushDeviceHandlerConstants.ColumnNames.ATTEMPTS)).thenReturn(1);
+            Mockito.when(resultSet.getLong(PushDeviceHandlerConstants.ColumnNames.CREATED_TIME))
+                    .thenReturn(CREATED_TIME);
+            Mockito.when(statement.executeUpdate()).thenReturn(1);
+
+            List<PushOutboxEntry> entries = pushOutboxDAO.claimEntries(LEASE_OWNER, 10, 60000);
+
+            Assert.assertEquals(entries.size(), 1);
+            PushOutboxEntry entry = entries.get(0);
+            Assert.assertEquals(entry.getId(), "entryId");
+            Assert.assertEquals(entry.getTenantId(), TENANT_ID);
+            Assert.assertEquals(entry.getProvider(), "FCM");
+            Assert.assertEquals(entry.getAttempts(), 2);
+            Assert.assertEquals(entry.getCreatedTime(), CREATED_TIME);
+            PushNotificationData restored = entry.getPushNotificationData();
+            Assert.assertEquals(restored.getPushId(), "pushId");
+            Assert.assertEquals(restored.getDeviceToken(), "deviceToken");
+            Assert.assertEquals(restored.getNumberChallenge(), "42");
+            Assert.assertEquals(restored.getBrowser(), "Firefox");
+            Assert.assertNull(restored.getChallenge());
+            Assert.assertEquals(restored.getDeliveryProfile().getPriority(), PushDeliveryProfile.Priority.HIGH);
+            Assert.assertEquals(restored.getDeliveryProfile().getTimeToLive(), Long.valueOf(60L));
+            Assert.assertEquals(restored.getDeliveryProfile().getCollapseKey(),
+                    pushNotificationData.getDeliveryProfile().getCollapseKey());
+            Assert.assertEquals(restored.getAdditionalData(), pushNotificationData.getAdditionalData());
+        }
+    }
+
+    @Test
+    public void testClaimEntriesSkipsEntriesClaimedByOtherWorkers() throws Exception {
+
+        try (MockedStatic<IdentityDatabaseUtil> mockedDbUtil = Mockito.mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = Mockito.mock(Connection.class);
+            NamedPreparedStatement statement = Mockito.mock(NamedPreparedStatement.class);
+            ResultSet resultSet = Mockito.mock(ResultSet.class);
+            mockedDbUtil.when(() -> IdentityDatabaseUtil.getDBConnection(true)).thenReturn(connection);
+            Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+            mockDatabaseProductName(connection, "H2");
+            Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+            Mockito.when(resultSet.next()).thenReturn(true, false);
+            Mockito.when(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.ID)).thenReturn("entryId");
+            Mockito.when(resultSet.getString(PushDeviceHandlerConstants.ColumnNames.PAYLOAD))
+                    .thenReturn(Base64.getEncoder().encodeToString("{\"priority\":\"HIGH\"}".getBytes(
+                            StandardCharsets.UTF_8)));
+            // The conditional update does not match as another worker claimed the entry in the meantime.
+            Mockito.when(statement.executeUpdate()).thenReturn(0);
+
+            List<PushOutboxEntry> entries = pushOutboxDAO.claimEntries(LEASE_OWNER, 10, 60000);
+
+            Assert.assertTrue(entries.isEmpty());
+            Mockito.verify(statement).setString(1, LEASE_OWNER);
+            Mockito.verify(statement).setString(3, "entryId");
+            mockedDbUtil.verify(() -> IdentityDatabaseUtil.commitTransaction(connection));
+        }
+    }
+
+    @Test
+    public void testClaimEntriesLimitsTheQueryForTheDatabase() throws Exception {
+
+        try (MockedStatic<IdentityDatabaseUtil> mockedDbUtil = Mockito.mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = Mockito.mock(Connection.class);
+            NamedPreparedStatement statement = Mockito.mock(NamedPreparedStatement.class);
+            ResultSet resultSet = Mockito.mock(ResultSet.class);
+            mockedDbUtil.when(() -> IdentityDatabaseUtil.getDBConnection(true)).thenReturn(connection);
+            Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+            Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+
+            mockDatabaseProductName(connection, "MySQL");
+            pushOutboxDAO.claimEntries(LEASE_OWNER, 10, 60000);
+            mockDatabaseProductName(connection, "Oracle");
+            pushOutboxDAO.claimEntries(LEASE_OWNER, 20, 60000);
+            mockDatabaseProductName(connection, "Microsoft SQL Server");
+            pushOutboxDAO.claimEntries(LEASE_OWNER, 30, 60000);
+
+            ArgumentCaptor<String> queryCaptor = ArgumentCaptor.forClass(String.class);
+            Mockito.verify(connection, Mockito.atLeast(3)).prepareStatement(queryCaptor.capture());
+            List<String> queries = new ArrayList<>();
+            for (String query : queryCaptor.getAllValues()) {
+                if (query.startsWith("SELECT")) {
+                    queries.add(query);
+                }
+            }
+            Assert.assertEquals(queries.size(), 3);
+            Assert.assertTrue(queries.get(0).endsWith("LIMIT ?"));
+            Assert.assertTrue(queries.get(1).endsWith("WHERE ROWNUM <= ?"));
+            Assert.assertTrue(queries.get(2).startsWith("SELECT TOP (?)"));
+            Mockito.verify(statement).setInt(2, 10);
+            Mockito.verify(statement).setInt(2, 20);
+            Mockito.verify(statement).setInt(1, 30);
+        }
+    }
+
+    @Test
+    public void testReleaseEntry() throws Exception {
+
+        try (MockedStatic<IdentityDatabaseUtil> mockedDbUtil = Mockito.mockStatic(IdentityDatabaseUtil.class)) {
+            Connection connection = Mockito.mock(Connection.class);
+            NamedPreparedStatement statement = Mockito.mock(NamedPreparedStatement.class);
+            mockedDbUtil.when(() -> IdentityDatabaseUtil.getDBConnection(true)).thenReturn(connection);
+            Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+
+            pushOutboxDAO.releaseEntry("entryId", LEASE_OWNER, 1000L);
+
+            Mockito.verify(statement).setLong(1, 1000L);
+            Mockito.verify(statement).setString(2, "entryId");
+            Mockito.verify(statement).setString(3, LEASE_OWNER);
+            Mockito.verify(statement).executeUpdate();
+            mockedDbUtil.verify(() -> IdentityDatabaseUtil.commitTransaction(connection));
+        }
+    }
+
+    private void mockDatabaseProductName(Connection connection, String databaseProductName) throws Exception {
+
+        DatabaseMetaData metaData = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(metaData.getDatabaseProductName()).thenReturn(databaseProductName);
+        Mockito.when(connection.getMetaData()).thenReturn(metaData);
+    }
+}
@@ -50,6 +50,8 @@ import org.wso2.carbon.identity.notification.push.provider.exception.PushProvide
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
 import org.wso2.carbon.identity.notification.push.provider.impl.FCMPushProvider;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
 import org.wso2.carbon.identity.notification.sender.tenant.config.NotificationSenderManagementConstants;
 import org.wso2.carbon.identity.notification.sender.tenant.config.NotificationSenderManagementService;
 import org.wso2.carbon.identity.notification.sender.tenant.config.dto.PushSenderDTO;
@@ -1904,6 +1906,84 @@ public class DeviceHandlerServiceImplTest {
         }
     }
 
+    @Test
+    public void testSendNotification()
+            throws PushDeviceHandlerException, NotificationSenderManagementException, PushProviderException {
+
+        Device device = new Device("testUserId", "testDeviceId", "deviceName", "deviceModel", deviceToken,
+                null, "FCM", publicKey);
+        PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                .setDeviceToken(deviceToken)
+                .setPushId("testPushId")
+                .build();
+
+        try (MockedStatic<PushDeviceHandlerDataHolder> mockedPushDeviceHandlerDataHolder =
+                     Mockito.mockStatic(PushDeviceHandlerDataHolder.class)) {
+
+            PushDeviceHandlerDataHolder pushDeviceHandlerDataHolder = mock(PushDeviceHandlerDataHolder.class);
+            mockedPushDeviceHandlerDataHolder.when(
+                    PushDeviceHandlerDataHolder::getInstance).thenReturn(pushDeviceHandlerDataHolder);
+            NotificationSenderManagementService notificationSenderManagementService =
+                    mock(NotificationSenderManagementService.class);
+            when(pushDeviceHandlerDataHolder.getNotificationSenderManagementService())
+                    .thenReturn(notificationSenderManagementService);
+            PushSenderDTO pushSenderDTO = new PushSenderDTO();
+            pushSenderDTO.setName("FCM_PushPublisher");
+            pushSenderDTO.setProvider("FCM");
+            pushSenderDTO.setProviderId("fcm-provider-id");
+            List<PushSenderDTO> pushSenders = new ArrayList<>();
+            pushSenders.add(pushSenderDTO);
+            when(notificationSenderManagementService.getPushSenders(anyBoolean())).thenReturn(pushSenders);
+            FCMPushProvider fcmPushProvider = mock(FCMPushProvider.class);
+            when(fcmPushProvider.getName()).thenReturn("FCM");
+            when(pushDeviceHandlerDataHolder.getPushProvider("FCM")).thenReturn(fcmPushProvider);
+
+            deviceHandlerService.sendNotification(device, pushNotificationData, "carbon.super");
+
+            verify(fcmPushProvider, times(1)).sendNotification(eq(pushNotificationData),
+                    Mockito.argThat((PushSenderData pushSenderData) ->
+                            "fcm-provider-id".equals(pushSenderData.getProviderId())), eq("carbon.super"));
+        }
+    }
+
+    @Test
+    public void testSendNotificationWhenPushProviderServerExceptionThrown()
+            throws NotificationSenderManagementException, PushProviderException {
+
+        Device device = new Device("testUserId", "testDeviceId", "deviceName", "deviceModel", deviceToken,
+                null, "FCM", publicKey);
+        PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                .setDeviceToken(deviceToken)
+                .build();
+
+        try (MockedStatic<PushDeviceHandlerDataHolder> mockedPushDeviceHandlerDataHolder =
+                     Mockito.mockStatic(PushDeviceHandlerDataHolder.class)) {
+
+            PushDeviceHandlerDataHolder pushDeviceHandlerDataHolder = mock(PushDeviceHandlerDataHolder.class);
+            mockedPushDeviceHandlerDataHolder.when(
+                    PushDeviceHandlerDataHolder::getInstance).thenReturn(pushDeviceHandlerDataHolder);
+            NotificationSenderManagementService notificationSenderManagementService =
+                    mock(NotificationSenderManagementService.class);
+            when(pushDeviceHandlerDataHolder.getNotificationSenderManagementService())
+                    .thenReturn(notificationSenderManagementService);
+            PushSenderDTO pushSenderDTO = new PushSenderDTO();
+            pushSenderDTO.setName("FCM_PushPublisher");
+            pushSenderDTO.setProvider("FCM");
+            List<PushSenderDTO> pushSenders = new ArrayList<>();
+            pushSenders.add(pushSenderDTO);
+            when(notificationSenderManagementService.getPushSenders(anyBoolean())).thenReturn(pushSenders);
+            FCMPushProvider fcmPushProvider = mock(FCMPushProvider.class);
+            when(fcmPushProvider.getName()).thenReturn("FCM");
+            when(pushDeviceHandlerDataHolder.getPushProvider("FCM")).thenReturn(fcmPushProvider);
+            doThrow(new PushProviderServerException("65001", "Error while sending the push notification."))
+                    .when(fcmPushProvider).sendNotification(any(), any(), anyString());
+
+            PushDeviceHandlerServerException exception = Assert.expectThrows(PushDeviceHandlerServerException.class,
+                    () -> deviceHandlerService.sendNotification(device, pushNotificationData, "carbon.super"));
+            Assert.assertEquals(exception.getErrorCode(), "PDH-15014");
+        }
+    }
+
     private RegistrationRequest createRegistrationRequest() {
 
         RegistrationRequest registrationRequest = new RegistrationRequest();
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerClientException;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushLaneConfig;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for PushLaneDispatcher.
+ */
+public class PushLaneDispatcherTest {
+
+    private PushLaneDispatcher dispatcher;
+    private ExecutorService callers;
+
+    @BeforeMethod
+    public void setUp() {
+
+        PushLaneConfig config = new PushLaneConfig();
+        config.setEnabled(true);
+        config.setRealtimeConcurrency(2);
+        config.setRealtimeQueueCapacity(10);
+        config.setBulkConcurrency(1);
+        config.setBulkQueueCapacity(1);
+        config.setBulkScenarios(Collections.singletonList("BULK_NOTIFICATION"));
+        dispatcher = new PushLaneDispatcher(config);
+        callers = Executors.newCachedThreadPool();
+        PushMetrics.getInstance().reset();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        dispatcher.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void testResolveLane() {
+
+        PushNotificationData authNotification = new PushNotificationData.Builder()
+                .setNotificationScenario("AUTHENTICATION")
+                .build();
+        Assert.assertEquals(dispatcher.resolveLane(authNotification), PushLaneDispatcher.Lane.REALTIME);
+
+        PushNotificationData bulkNotification = new PushNotificationData.Builder()
+                .setNotificationScenario("BULK_NOTIFICATION")
+                .build();
+        Assert.assertEquals(dispatcher.resolveLane(bulkNotification), PushLaneDispatcher.Lane.BULK);
+
+        PushNotificationData informationalNotification = new PushNotificationData.Builder()
+                .setNotificationScenario("INFORMATION")
+                .setDeliveryProfile(new PushDeliveryProfile.Builder()
+                        .setPriority(PushDeliveryProfile.Priority.NORMAL)
+                        .build())
+                .build();
+        Assert.assertEquals(dispatcher.resolveLane(informationalNotification), PushLaneDispatcher.Lane.BULK);
+    }
+
+    @Test
+    public void testIsEnabled() {
+
+        PushLaneDispatcher disabledDispatcher = new PushLaneDispatcher(new PushLaneConfig());
+        Assert.assertFalse(disabledDispatcher.isEnabled());
+        Assert.assertTrue(dispatcher.isEnabled());
+    }
+
+    @Test
+    public void testRealtimeLaneNotBlockedBySaturatedBulkLane() throws Exception {
+
+        CountDownLatch bulkStarted = new CountDownLatch(1);
+        CountDownLatch releaseBulk = new CountDownLatch(1);
+        CompletableFuture<Void> runningBulkTask = CompletableFuture.runAsync(() -> executeQuietly(
+                PushLaneDispatcher.Lane.BULK, () -> {
+                    bulkStarted.countDown();
+                    awaitQuietly(releaseBulk);
+                }), callers);
+        Assert.assertTrue(bulkStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> queuedBulkTask = CompletableFuture.runAsync(() -> executeQuietly(
+                PushLaneDispatcher.Lane.BULK, () -> { }), callers);
+
+        try {
+            AtomicBoolean realtimeSent = new AtomicBoolean();
+            CompletableFuture.runAsync(() -> executeQuietly(PushLaneDispatcher.Lane.REALTIME,
+                    () -> realtimeSent.set(true)), callers).get(5, TimeUnit.SECONDS);
+            Assert.assertTrue(realtimeSent.get());
+        } finally {
+            releaseBulk.countDown();
+        }
+        runningBulkTask.get(5, TimeUnit.SECONDS);
+        queuedBulkTask.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testExecuteWhenLaneIsFull() throws Exception {
+
+        CountDownLatch bulkStarted = new CountDownLatch(1);
+        CountDownLatch releaseBulk = new CountDownLatch(1);
+        CompletableFuture<Void> runningBulkTask = CompletableFuture.runAsync(() -> executeQuietly(
+                PushLaneDispatcher.Lane.BULK, () -> {
+                    bulkStarted.countDown();
+                    awaitQuietly(releaseBulk);
+                }), callers);
+        Assert.assertTrue(bulkStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> queuedBulkTask = CompletableFuture.runAsync(() -> executeQuietly(
+                PushLaneDispatcher.Lane.BULK, () -> { }), callers);
+        waitForQueueDepth(PushLaneDispatcher.Lane.BULK, 1);
+
+        try {
+            dispatcher.execute(PushLaneDispatcher.Lane.BULK, () -> { });
+            Assert.fail("Expected the bulk lane to reject the push notification.");
+        } catch (PushDeviceHandlerServerException e) {
+            Assert.assertEquals(e.getErrorCode(), "PDH-15015");
+        } finally {
+            releaseBulk.countDown();
+        }
+        runningBulkTask.get(5, TimeUnit.SECONDS);
+        queuedBulkTask.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testExecuteRunsTaskOnCallerThread() throws Exception {
+
+        Thread caller = Thread.currentThread();
+        AtomicBoolean ranOnCaller = new AtomicBoolean();
+
+        dispatcher.execute(PushLaneDispatcher.Lane.REALTIME, () -> ranOnCaller.set(Thread.currentThread() == caller));
+
+        Assert.assertTrue(ranOnCaller.get());
+    }
+
+    @Test
+    public void testExecuteWhenLaneDoesNotAdmitInTime() throws Exception {
+
+        PushLaneConfig config = new PushLaneConfig();
+        config.setEnabled(true);
+        config.setBulkConcurrency(1);
+        config.setMaxWait(100);
+        PushLaneDispatcher boundedDispatcher = new PushLaneDispatcher(config);
+        CountDownLatch bulkStarted = new CountDownLatch(1);
+        CountDownLatch releaseBulk = new CountDownLatch(1);
+        CompletableFuture<Void> runningBulkTask = CompletableFuture.runAsync(() -> {
+            try {
+                boundedDispatcher.execute(PushLaneDispatcher.Lane.BULK, () -> {
+                    bulkStarted.countDown();
+                    awaitQuietly(releaseBulk);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, callers);
+        Assert.assertTrue(bulkStarted.await(5, TimeUnit.SECONDS));
+
+        try {
+            boundedDispatcher.execute(PushLaneDispatcher.Lane.BULK, () -> { });
+            Assert.fail("Expected the bulk lane to reject the push notification after the maximum wait.");
+        } catch (PushDeviceHandlerServerException e) {
+            Assert.assertEquals(e.getErrorCode(), "PDH-15015");
+        } finally {
+            releaseBulk.countDown();
+            boundedDispatcher.shutdown();
+        }
+        runningBulkTask.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testExecutePropagatesTaskException() {
+
+        try {
+            dispatcher.execute(PushLaneDispatcher.Lane.REALTIME, () -> {
+                throw new PushDeviceHandlerClientException("PDH-15001", "Device not found.");
+            });
+            Assert.fail("Expected the task exception to be thrown to the caller.");
+        } catch (PushDeviceHandlerClientException e) {
+            Assert.assertEquals(e.getErrorCode(), "PDH-15001");
+        } catch (Exception e) {
+            Assert.fail("Unexpected exception type: " + e.getClass().getName());
+        }
+    }
+
+    @Test
+    public void testExecuteRecordsQueueWaitTime() throws Exception {
+
+        dispatcher.execute(PushLaneDispatcher.Lane.REALTIME, () -> { });
+
+        Assert.assertTrue(PushMetrics.getInstance().getQueueWaitTimes().containsKey("lane.REALTIME"));
+        Assert.assertTrue(PushMetrics.getInstance().getQueueDepths().containsKey("lane.BULK"));
+    }
+
+    private void executeQuietly(PushLaneDispatcher.Lane lane, PushLaneDispatcher.PushTask task) {
+
+        try {
+            dispatcher.execute(lane, task);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitForQueueDepth(PushLaneDispatcher.Lane lane, int depth) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (PushMetrics.getInstance().getQueueDepths().get("lane." + lane.name()) < depth
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.device.handler.internal.PushDeviceHandlerDataHolder;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushHedgingConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.SenderHealthConfig;
+import org.wso2.carbon.identity.notification.push.provider.PushProvider;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PushNotificationDispatcher.
+ */
+public class PushNotificationDispatcherTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String SENDING_FAILED =
+            PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED.getCode();
+
+    private MockedStatic<PushDeviceHandlerDataHolder> mockedPushDeviceHandlerDataHolder;
+    private PushProvider pushProvider;
+    private PushSenderData primarySender;
+    private PushSenderData secondarySender;
+    private PushNotificationDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() {
+
+        pushProvider = mock(PushProvider.class);
+        PushDeviceHandlerDataHolder pushDeviceHandlerDataHolder = mock(PushDeviceHandlerDataHolder.class);
+        when(pushDeviceHandlerDataHolder.getPushProvider("FCM")).thenReturn(pushProvider);
+        mockedPushDeviceHandlerDataHolder = Mockito.mockStatic(PushDeviceHandlerDataHolder.class);
+        mockedPushDeviceHandlerDataHolder.when(PushDeviceHandlerDataHolder::getInstance)
+                .thenReturn(pushDeviceHandlerDataHolder);
+
+        primarySender = buildPushSenderData("FCM_PushPublisher_1", "FCM", "fcm-provider-id-1");
+        secondarySender = buildPushSenderData("FCM_PushPublisher_2", "FCM", "fcm-provider-id-2");
+        dispatcher = new PushNotificationDispatcher(buildConfig(10000), buildSenderHealthRegistry());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        dispatcher.shutdown();
+        mockedPushDeviceHandlerDataHolder.close();
+    }
+
+    @Test
+    public void testPrimarySendCompletesWithoutHedging() throws Exception {
+
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        dispatcher.dispatch(buildPushNotificationData("push-1"), getPushSenders(), TENANT_DOMAIN)
+                .get(1, TimeUnit.SECONDS);
+
+        verify(pushProvider, never()).sendNotificationAsync(any(), eq(secondarySender), anyString());
+    }
+
+    @Test
+    public void testSlowPrimarySendIsHedged() throws Exception {
+
+        dispatcher.shutdown();
+        dispatcher = new PushNotificationDispatcher(buildConfig(50), buildSenderHealthRegistry());
+        CompletableFuture<Void> primaryFuture = new CompletableFuture<>();
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString())).thenReturn(primaryFuture);
+        when(pushProvider.sendNotificationAsync(any(), eq(secondarySender), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        PushNotificationData pushNotificationData = buildPushNotificationData("push-2");
+        dispatcher.dispatch(pushNotificationData, getPushSenders(), TENANT_DOMAIN).get(1, TimeUnit.SECONDS);
+
+        verify(pushProvider, times(1)).sendNotificationAsync(pushNotificationData, secondarySender,
+                TENANT_DOMAIN);
+        // The secondary send won, so the primary send is abandoned.
+        Assert.assertTrue(primaryFuture.isCancelled());
+    }
+
+    @Test
+    public void testFailedPrimarySendIsHedgedImmediately() throws Exception {
+
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString())).thenReturn(
+                CompletableFuture.failedFuture(new PushProviderServerException(SENDING_FAILED, "Primary failed.")));
+        when(pushProvider.sendNotificationAsync(any(), eq(secondarySender), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // The hedging delay is 10 seconds, so the dispatch only completes in time if the failure triggers the hedge.
+        dispatcher.dispatch(buildPushNotificationData("push-3"), getPushSenders(), TENANT_DOMAIN)
+                .get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testPrimaryFailureAfterHedgeWaitsForSecondarySend() throws Exception {
+
+        dispatcher.shutdown();
+        dispatcher = new PushNotificationDispatcher(buildConfig(50), buildSenderHealthRegistry());
+        CompletableFuture<Void> primaryFuture = new CompletableFuture<>();
+        CompletableFuture<Void> secondaryFuture = new CompletableFuture<>();
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString())).thenReturn(primaryFuture);
+        when(pushProvider.sendNotificationAsync(any(), eq(secondarySender), anyString())).thenReturn(secondaryFuture);
+
+        CompletableFuture<Void> dispatch =
+                dispatcher.dispatch(buildPushNotificationData("push-12"), getPushSenders(), TENANT_DOMAIN);
+        verify(pushProvider, Mockito.timeout(1000)).sendNotificationAsync(any(), eq(secondarySender), anyString());
+        primaryFuture.completeExceptionally(new PushProviderServerException(SENDING_FAILED, "Primary failed."));
+
+        Assert.assertFalse(dispatch.isDone());
+        secondaryFuture.complete(null);
+        dispatch.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDeviceErrorIsNotHedged() throws Exception {
+
+        PushProviderServerException deviceError = new PushProviderServerException(PushProviderConstants.ErrorMessages
+                .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode(), "Device expired.");
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(deviceError));
+
+        try {
+            dispatcher.dispatch(buildPushNotificationData("push-10"), getPushSenders(), TENANT_DOMAIN)
+                    .get(1, TimeUnit.SECONDS);
+            Assert.fail("Dispatch should fail when the device handle has expired.");
+        } catch (ExecutionException e) {
+            Assert.assertSame(e.getCause(), deviceError);
+        }
+        verify(pushProvider, never()).sendNotificationAsync(any(), eq(secondarySender), anyString());
+    }
+
+    @Test
+    public void testDispatchFailsWithPrimaryErrorWhenAllSendsFail() throws Exception {
+
+        PushProviderServerException primaryError = new PushProviderServerException(SENDING_FAILED, "Primary failed.");
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(primaryError));
+        when(pushProvider.sendNotificationAsync(any(), eq(secondarySender), anyString())).thenReturn(
+                CompletableFuture.failedFuture(new PushProviderServerException(SENDING_FAILED, "Secondary failed.")));
+
+        try {
+            dispatcher.dispatch(buildPushNotificationData("push-4"), getPushSenders(), TENANT_DOMAIN)
+                    .get(1, TimeUnit.SECONDS);
+            Assert.fail("Dispatch should fail when all push senders fail.");
+        } catch (ExecutionException e) {
+            Assert.assertSame(e.getCause(), primaryError);
+        }
+    }
+
+    @Test
+    public void testDuplicateDispatchJoinsInFlightSend() throws Exception {
+
+        CompletableFuture<Void> primaryFuture = new CompletableFuture<>();
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString())).thenReturn(primaryFuture);
+
+        CompletableFuture<Void> firstDispatch =
+                dispatcher.dispatch(buildPushNotificationData("push-5"), getPushSenders(), TENANT_DOMAIN);
+        CompletableFuture<Void> secondDispatch =
+                dispatcher.dispatch(buildPushNotificationData("push-5"), getPushSenders(), TENANT_DOMAIN);
+        primaryFuture.complete(null);
+
+        firstDispatch.get(1, TimeUnit.SECONDS);
+        secondDispatch.get(1, TimeUnit.SECONDS);
+        verify(pushProvider, times(1)).sendNotificationAsync(any(), any(), anyString());
+    }
+
+    @Test
+    public void testDispatchOfSamePushIdToAnotherDeviceIsSent() throws Exception {
+
+        CompletableFuture<Void> firstDeviceFuture = new CompletableFuture<>();
+        PushNotificationData firstDeviceNotification = buildPushNotificationData("push-11");
+        PushNotificationData secondDeviceNotification = new PushNotificationData.Builder()
+                .setDeviceToken("otherDeviceToken")
+                .setPushId("push-11")
+                .build();
+        when(pushProvider.sendNotificationAsync(eq(firstDeviceNotification), eq(primarySender), anyString()))
+                .thenReturn(firstDeviceFuture);
+        when(pushProvider.sendNotificationAsync(eq(secondDeviceNotification), eq(primarySender), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> firstDispatch =
+                dispatcher.dispatch(firstDeviceNotification, getPushSenders(), TENANT_DOMAIN);
+        dispatcher.dispatch(secondDeviceNotification, getPushSenders(), TENANT_DOMAIN).get(1, TimeUnit.SECONDS);
+
+        Assert.assertFalse(firstDispatch.isDone());
+        verify(pushProvider, times(1)).sendNotificationAsync(secondDeviceNotification, primarySender,
+                TENANT_DOMAIN);
+        firstDeviceFuture.complete(null);
+        firstDispatch.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCancelDropsPendingHedge() throws Exception {
+
+        dispatcher.shutdown();
+        dispatcher = new PushNotificationDispatcher(buildConfig(200), buildSenderHealthRegistry());
+        CompletableFuture<Void> primaryFuture = new CompletableFuture<>();
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString())).thenReturn(primaryFuture);
+
+        CompletableFuture<Void> dispatch =
+                dispatcher.dispatch(buildPushNotificationData("push-6"), getPushSenders(), TENANT_DOMAIN);
+        Assert.assertTrue(dispatcher.cancel(TENANT_DOMAIN, "push-6", "testDeviceToken"));
+        Assert.assertFalse(dispatcher.cancel(TENANT_DOMAIN, "push-6", "testDeviceToken"));
+
+        Assert.assertTrue(dispatch.isCompletedExceptionally());
+        Assert.assertTrue(primaryFuture.isCancelled());
+        verify(pushProvider, after(400).never()).sendNotificationAsync(any(), eq(secondarySender), anyString());
+    }
+
+    @Test
+    public void testHedgeDelayFollowsRecordedLatency() throws Exception {
+
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        Assert.assertEquals(dispatcher.getHedgeDelay(TENANT_DOMAIN, "fcm-provider-id-1"), 10000);
+        for (int i = 0; i < 2; i++) {
+            dispatcher.dispatch(buildPushNotificationData("push-7-" + i), getPushSenders(), TENANT_DOMAIN)
+                    .get(1, TimeUnit.SECONDS);
+        }
+        // Recorded latencies are far below the minimum delay, so the minimum delay is used.
+        Assert.assertEquals(dispatcher.getHedgeDelay(TENANT_DOMAIN, "fcm-provider-id-1"), 20);
+    }
+
+    @Test
+    public void testFailoverToNextSenderWithoutHedging() throws Exception {
+
+        dispatcher.shutdown();
+        dispatcher = new PushNotificationDispatcher(new PushHedgingConfig(), buildSenderHealthRegistry());
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString())).thenReturn(
+                CompletableFuture.failedFuture(new PushProviderServerException(SENDING_FAILED, "Primary failed.")));
+        when(pushProvider.sendNotificationAsync(any(), eq(secondarySender), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        dispatcher.dispatch(buildPushNotificationData("push-8"), getPushSenders(), TENANT_DOMAIN)
+                .get(1, TimeUnit.SECONDS);
+
+        verify(pushProvider, times(1)).sendNotificationAsync(any(), eq(secondarySender), anyString());
+        SenderHealthRegistry senderHealthRegistry = dispatcher.getSenderHealthRegistry();
+        Assert.assertEquals(senderHealthRegistry.getTracker(TENANT_DOMAIN, "fcm-provider-id-1").getSampleCount(), 1);
+        Assert.assertEquals(senderHealthRegistry.getTracker(TENANT_DOMAIN, "fcm-provider-id-2").getSampleCount(), 1);
+    }
+
+    @Test
+    public void testCancellingFailoverDispatchCancelsSend() {
+
+        dispatcher.shutdown();
+        dispatcher = new PushNotificationDispatcher(new PushHedgingConfig(), buildSenderHealthRegistry());
+        CompletableFuture<Void> primaryFuture = new CompletableFuture<>();
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString())).thenReturn(primaryFuture);
+
+        dispatcher.dispatch(buildPushNotificationData("push-13"), getPushSenders(), TENANT_DOMAIN).cancel(true);
+
+        Assert.assertTrue(primaryFuture.isCancelled());
+        verify(pushProvider, never()).sendNotificationAsync(any(), eq(secondarySender), anyString());
+    }
+
+    @Test
+    public void testDeviceErrorIsNotFailedOverOrRecorded() throws Exception {
+
+        dispatcher.shutdown();
+        dispatcher = new PushNotificationDispatcher(new PushHedgingConfig(), buildSenderHealthRegistry());
+        PushProviderServerException deviceError = new PushProviderServerException(PushProviderConstants.ErrorMessages
+                .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode(), "Device expired.");
+        when(pushProvider.sendNotificationAsync(any(), eq(primarySender), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(deviceError));
+
+        try {
+            dispatcher.dispatch(buildPushNotificationData("push-9"), getPushSenders(), TENANT_DOMAIN)
+                    .get(1, TimeUnit.SECONDS);
+            Assert.fail("Dispatch should fail when the device handle has expired.");
+        } catch (ExecutionException e) {
+            Assert.assertSame(e.getCause(), deviceError);
+        }
+        verify(pushProvider, never()).sendNotificationAsync(any(), eq(secondarySender), anyString());
+        Assert.assertNull(dispatcher.getSenderHealthRegistry().findTracker(TENANT_DOMAIN, "fcm-provider-id-1"));
+    }
+
+    @Test
+    public void testSenderHealthTracker() {
+
+        SenderHealthTracker healthTracker = new SenderHealthTracker(100, 10);
+        for (int i = 1; i <= 9; i++) {
+            healthTracker.record(i);
+        }
+        Assert.assertEquals(healthTracker.getPercentile(95), -1);
+        Assert.assertEquals(healthTracker.getFailureRate(), -1f);
+        for (int i = 10; i <= 150; i++) {
+            healthTracker.record(i);
+        }
+        // Only the most recent 100 latencies, from 51 to 150, are kept.
+        Assert.assertEquals(healthTracker.getSampleCount(), 100);
+        Assert.assertEquals(healthTracker.getPercentile(95), 145);
+        Assert.assertEquals(healthTracker.getPercentile(50), 100);
+        Assert.assertEquals(healthTracker.getFailureRate(), 0f);
+
+        for (int i = 0; i < 25; i++) {
+            healthTracker.recordFailure();
+        }
+        // Failures replace the oldest latencies, from 51 to 75, and are left out of the percentiles.
+        Assert.assertEquals(healthTracker.getFailureRate(), 25f);
+        Assert.assertEquals(healthTracker.getPercentile(50), 113);
+
+        healthTracker.reset();
+        Assert.assertEquals(healthTracker.getSampleCount(), 0);
+        Assert.assertEquals(healthTracker.getPercentile(50), -1);
+    }
+
+    private PushHedgingConfig buildConfig(int initialDelay) {
+
+        PushHedgingConfig config = new PushHedgingConfig();
+        config.setEnabled(true);
+        config.setInitialDelay(initialDelay);
+        config.setMinimumDelay(20);
+        return config;
+    }
+
+    private SenderHealthRegistry buildSenderHealthRegistry() {
+
+        SenderHealthConfig senderHealthConfig = new SenderHealthConfig();
+        senderHealthConfig.setMinimumSamples(2);
+        return new SenderHealthRegistry(senderHealthConfig);
+    }
+
+    private List<PushSenderData> getPushSenders() {
+
+        return Arrays.asList(primarySender, secondarySender);
+    }
+
+    private PushSenderData buildPushSenderData(String name, String provider, String providerId) {
+
+        PushSenderData pushSenderData = new PushSenderData();
+        pushSenderData.setName(name);
+        pushSenderData.setProvider(provider);
+        pushSenderData.setProviderId(providerId);
+        return pushSenderData;
+    }
+
+    private PushNotificationData buildPushNotificationData(String pushId) {
+
+        return new PushNotificationData.Builder()
+                .setDeviceToken("testDeviceToken")
+                .setPushId(pushId)
+                .build();
+    }
+}
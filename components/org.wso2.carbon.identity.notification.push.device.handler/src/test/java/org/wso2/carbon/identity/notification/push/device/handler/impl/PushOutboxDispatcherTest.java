@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.PushOutboxDAO;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.internal.PushDeviceHandlerDataHolder;
+import org.wso2.carbon.identity.notification.push.device.handler.model.Device;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushOutboxEntry;
+import org.wso2.carbon.identity.notification.push.provider.PushProvider;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationResult;
+import org.wso2.carbon.identity.notification.sender.tenant.config.NotificationSenderManagementService;
+import org.wso2.carbon.identity.notification.sender.tenant.config.dto.PushSenderDTO;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PushOutboxDispatcher.
+ */
+public class PushOutboxDispatcherTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final int TENANT_ID = -1234;
+    private static final String LEASE_OWNER = "node-1:0";
+    private static final String SENDING_FAILED =
+            PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED.getCode();
+
+    private MockedStatic<PushDeviceHandlerDataHolder> mockedPushDeviceHandlerDataHolder;
+    private MockedStatic<IdentityTenantUtil> mockedIdentityTenantUtil;
+    private MockedStatic<PrivilegedCarbonContext> mockedCarbonContext;
+    private PushDeviceHandlerDataHolder pushDeviceHandlerDataHolder;
+    private PushProvider pushProvider;
+    private PushOutboxDAO pushOutboxDAO;
+    private PushOutboxConfig config;
+    private PushOutboxDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        pushProvider = mock(PushProvider.class);
+        pushDeviceHandlerDataHolder = mock(PushDeviceHandlerDataHolder.class);
+        when(pushDeviceHandlerDataHolder.getPushProvider("FCM")).thenReturn(pushProvider);
+        NotificationSenderManagementService notificationSenderManagementService =
+                mock(NotificationSenderManagementService.class);
+        when(pushDeviceHandlerDataHolder.getNotificationSenderManagementService())
+                .thenReturn(notificationSenderManagementService);
+        PushSenderDTO pushSenderDTO = new PushSenderDTO();
+        pushSenderDTO.setName("FCM_PushPublisher");
+        pushSenderDTO.setProvider("FCM");
+        pushSenderDTO.setProviderId("fcm-provider-id");
+        when(notificationSenderManagementService.getPushSenders(anyBoolean()))
+                .thenReturn(Collections.singletonList(pushSenderDTO));
+        mockedPushDeviceHandlerDataHolder = Mockito.mockStatic(PushDeviceHandlerDataHolder.class);
+        mockedPushDeviceHandlerDataHolder.when(PushDeviceHandlerDataHolder::getInstance)
+                .thenReturn(pushDeviceHandlerDataHolder);
+
+        mockedIdentityTenantUtil = Mockito.mockStatic(IdentityTenantUtil.class);
+        mockedIdentityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        mockedIdentityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(TENANT_ID)).thenReturn(TENANT_DOMAIN);
+        mockedCarbonContext = Mockito.mockStatic(PrivilegedCarbonContext.class);
+        mockedCarbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(mock(PrivilegedCarbonContext.class));
+
+        pushOutboxDAO = mock(PushOutboxDAO.class);
+        config = new PushOutboxConfig();
+        config.setEnabled(true);
+        config.setMaxAttempts(3);
+        dispatcher = new PushOutboxDispatcher(config, pushOutboxDAO);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        dispatcher.shutdown();
+        mockedPushDeviceHandlerDataHolder.close();
+        mockedIdentityTenantUtil.close();
+        mockedCarbonContext.close();
+    }
+
+    @Test
+    public void testEnqueuePersistsPushNotification() throws Exception {
+
+        Device device = new Device("userId", "deviceId", "name", "model", "token", "handle", "FCM", "key");
+        PushNotificationData pushNotificationData = buildPushNotificationData("push-1");
+
+        dispatcher.enqueue(device, pushNotificationData, TENANT_DOMAIN);
+
+        ArgumentCaptor<PushOutboxEntry> entryCaptor = ArgumentCaptor.forClass(PushOutboxEntry.class);
+        verify(pushOutboxDAO).addEntry(entryCaptor.capture());
+        PushOutboxEntry entry = entryCaptor.getValue();
+        Assert.assertNotNull(entry.getId());
+        Assert.assertEquals(entry.getTenantId(), TENANT_ID);
+        Assert.assertEquals(entry.getDeviceId(), "deviceId");
+        Assert.assertEquals(entry.getProvider(), "FCM");
+        Assert.assertSame(entry.getPushNotificationData(), pushNotificationData);
+    }
+
+    @Test
+    public void testDispatchBatchDeletesHandledAndReleasesFailedPushNotifications() throws Exception {
+
+        PushOutboxEntry sentEntry = buildEntry("entry-1", 1);
+        PushOutboxEntry expiredDeviceEntry = buildEntry("entry-2", 1);
+        PushOutboxEntry failedEntry = buildEntry("entry-3", 1);
+        when(pushOutboxDAO.claimEntries(eq(LEASE_OWNER), anyInt(), anyLong()))
+                .thenReturn(Arrays.asList(sentEntry, expiredDeviceEntry, failedEntry));
+        when(pushProvider.sendNotifications(anyList(), any(), eq(TENANT_DOMAIN))).thenReturn(Arrays.asList(
+                new PushNotificationResult(sentEntry.getPushNotificationData()),
+                new PushNotificationResult(expiredDeviceEntry.getPushNotificationData(),
+                        PushProviderConstants.ErrorMessages.ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED
+                                .getCode(), "Expired."),
+                new PushNotificationResult(failedEntry.getPushNotificationData(), SENDING_FAILED, "Failed.")));
+
+        int claimedCount = dispatcher.dispatchBatch(LEASE_OWNER);
+
+        Assert.assertEquals(claimedCount, 3);
+        verify(pushProvider).sendNotifications(anyList(), any(), eq(TENANT_DOMAIN));
+        verify(pushOutboxDAO).deleteEntries(Arrays.asList("entry-1", "entry-2"), LEASE_OWNER);
+        verify(pushOutboxDAO).releaseEntry(eq("entry-3"), eq(LEASE_OWNER), anyLong());
+    }
+
+    @Test
+    public void testDispatchBatchDeletesHandledPushNotificationsWhenReleaseFails() throws Exception {
+
+        PushOutboxEntry failedEntry = buildEntry("entry-1", 1);
+        PushOutboxEntry sentEntry = buildEntry("entry-2", 1);
+        when(pushOutboxDAO.claimEntries(eq(LEASE_OWNER), anyInt(), anyLong()))
+                .thenReturn(Arrays.asList(failedEntry, sentEntry));
+        when(pushProvider.sendNotifications(anyList(), any(), eq(TENANT_DOMAIN))).thenReturn(Arrays.asList(
+                new PushNotificationResult(failedEntry.getPushNotificationData(), SENDING_FAILED, "Failed."),
+                new PushNotificationResult(sentEntry.getPushNotificationData())));
+        doThrow(new PushDeviceHandlerServerException("Release failed.")).when(pushOutboxDAO)
+                .releaseEntry(eq("entry-1"), eq(LEASE_OWNER), anyLong());
+
+        dispatcher.dispatchBatch(LEASE_OWNER);
+
+        verify(pushOutboxDAO).deleteEntries(Collections.singletonList("entry-2"), LEASE_OWNER);
+    }
+
+    @Test
+    public void testDispatchBatchDiscardsPushNotificationAfterMaxAttempts() throws Exception {
+
+        PushOutboxEntry failedEntry = buildEntry("entry-1", config.getMaxAttempts());
+        when(pushOutboxDAO.claimEntries(eq(LEASE_OWNER), anyInt(), anyLong()))
+                .thenReturn(Collections.singletonList(failedEntry));
+        when(pushProvider.sendNotifications(anyList(), any(), eq(TENANT_DOMAIN))).thenReturn(Collections.singletonList(
+                new PushNotificationResult(failedEntry.getPushNotificationData(), SENDING_FAILED, "Failed.")));
+
+        dispatcher.dispatchBatch(LEASE_OWNER);
+
+        verify(pushOutboxDAO).deleteEntries(Collections.singletonList("entry-1"), LEASE_OWNER);
+        verify(pushOutboxDAO, never()).releaseEntry(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    public void testDispatchBatchDiscardsExpiredPushNotification() throws Exception {
+
+        PushOutboxEntry expiredEntry = buildEntry("entry-1", 1, System.currentTimeMillis() - config.getMaxAge());
+        when(pushOutboxDAO.claimEntries(eq(LEASE_OWNER), anyInt(), anyLong()))
+                .thenReturn(Collections.singletonList(expiredEntry));
+
+        dispatcher.dispatchBatch(LEASE_OWNER);
+
+        verify(pushProvider, never()).sendNotifications(anyList(), any(), anyString());
+        verify(pushOutboxDAO).deleteEntries(Collections.singletonList("entry-1"), LEASE_OWNER);
+    }
+
+    @Test
+    public void testDispatchBatchDiscardsPushNotificationExpiringBeforeRetry() throws Exception {
+
+        PushOutboxEntry failedEntry = buildEntry("entry-1", 1,
+                System.currentTimeMillis() - config.getMaxAge() + config.getRetryInterval() / 2);
+        when(pushOutboxDAO.claimEntries(eq(LEASE_OWNER), anyInt(), anyLong()))
+                .thenReturn(Collections.singletonList(failedEntry));
+        when(pushProvider.sendNotifications(anyList(), any(), eq(TENANT_DOMAIN))).thenReturn(Collections.singletonList(
+                new PushNotificationResult(failedEntry.getPushNotificationData(), SENDING_FAILED, "Failed.")));
+
+        dispatcher.dispatchBatch(LEASE_OWNER);
+
+        verify(pushOutboxDAO).deleteEntries(Collections.singletonList("entry-1"), LEASE_OWNER);
+        verify(pushOutboxDAO, never()).releaseEntry(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    public void testDispatchBatchReleasesPushNotificationsWhenProviderUnavailable() throws Exception {
+
+        when(pushDeviceHandlerDataHolder.getPushProvider("FCM")).thenReturn(null);
+        when(pushOutboxDAO.claimEntries(eq(LEASE_OWNER), anyInt(), anyLong()))
+                .thenReturn(Collections.singletonList(buildEntry("entry-1", 1)));
+
+        dispatcher.dispatchBatch(LEASE_OWNER);
+
+        ArgumentCaptor<Long> availableAtCaptor = ArgumentCaptor.forClass(Long.class);
+        verify(pushOutboxDAO).releaseEntry(eq("entry-1"), eq(LEASE_OWNER), availableAtCaptor.capture());
+        Assert.assertTrue(availableAtCaptor.getValue() > System.currentTimeMillis());
+        verify(pushOutboxDAO).deleteEntries(Collections.emptyList(), LEASE_OWNER);
+    }
+
+    @Test
+    public void testDispatchBatchWithEmptyOutbox() throws Exception {
+
+        when(pushOutboxDAO.claimEntries(eq(LEASE_OWNER), anyInt(), anyLong())).thenReturn(Collections.emptyList());
+
+        Assert.assertEquals(dispatcher.dispatchBatch(LEASE_OWNER), 0);
+        verify(pushOutboxDAO, never()).deleteEntries(anyList(), anyString());
+    }
+
+    private PushOutboxEntry buildEntry(String id, int attempts) {
+
+        return buildEntry(id, attempts, System.currentTimeMillis());
+    }
+
+    private PushOutboxEntry buildEntry(String id, int attempts, long createdTime) {
+
+        return new PushOutboxEntry(id, TENANT_ID, "deviceId-" + id, "FCM", buildPushNotificationData(id), attempts,
+                createdTime);
+    }
+
+    private PushNotificationData buildPushNotificationData(String pushId) {
+
+        return new PushNotificationData.Builder()
+                .setPushId(pushId)
+                .setDeviceToken("deviceToken")
+                .setTenantDomain(TENANT_DOMAIN)
+                .build();
+    }
+}
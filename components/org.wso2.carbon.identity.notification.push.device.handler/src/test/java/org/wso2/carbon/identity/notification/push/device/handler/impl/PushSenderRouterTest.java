@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.device.handler.model.PushRoutingConfig;
+import org.wso2.carbon.identity.notification.push.device.handler.model.SenderHealthConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for PushSenderRouter.
+ */
+public class PushSenderRouterTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String DEVICE_ID = "testDeviceId";
+
+    private SenderHealthRegistry senderHealthRegistry;
+    private PushRoutingConfig config;
+    private PushSenderRouter router;
+    private PushSenderData firstFcmSender;
+    private PushSenderData secondFcmSender;
+    private PushSenderData apnsSender;
+
+    @BeforeMethod
+    public void setUp() {
+
+        SenderHealthConfig senderHealthConfig = new SenderHealthConfig();
+        senderHealthConfig.setWindowSize(10);
+        senderHealthConfig.setMinimumSamples(2);
+        senderHealthRegistry = new SenderHealthRegistry(senderHealthConfig);
+        config = new PushRoutingConfig();
+        config.setEnabled(true);
+        router = new PushSenderRouter(config, senderHealthRegistry);
+
+        firstFcmSender = buildPushSenderData("FCM_PushPublisher_1", "FCM", "fcm-provider-id-1");
+        secondFcmSender = buildPushSenderData("FCM_PushPublisher_2", "FCM", "fcm-provider-id-2");
+        apnsSender = buildPushSenderData("APNS_PushPublisher", "APNS", "apns-provider-id");
+    }
+
+    @Test
+    public void testSendersWithoutHistoryKeepTheirOrder() {
+
+        List<PushSenderData> routedSenders = router.route(TENANT_DOMAIN, null, "FCM", getPushSenders());
+
+        Assert.assertEquals(routedSenders, Arrays.asList(firstFcmSender, secondFcmSender));
+    }
+
+    @Test
+    public void testFasterSenderIsPreferred() {
+
+        recordLatency("fcm-provider-id-1", 300, 5);
+        recordLatency("fcm-provider-id-2", 100, 5);
+
+        List<PushSenderData> routedSenders = router.route(TENANT_DOMAIN, null, "FCM", getPushSenders());
+
+        Assert.assertEquals(routedSenders, Arrays.asList(secondFcmSender, firstFcmSender));
+    }
+
+    @Test
+    public void testFailingSenderIsUsedLast() {
+
+        recordLatency("fcm-provider-id-1", 50, 2);
+        recordFailures("fcm-provider-id-1", 3);
+
+        List<PushSenderData> routedSenders = router.route(TENANT_DOMAIN, null, "FCM", getPushSenders());
+
+        // The first sender fails 60% of the sends, above the default threshold of 50%.
+        Assert.assertEquals(routedSenders, Arrays.asList(secondFcmSender, firstFcmSender));
+    }
+
+    @Test
+    public void testOtherProviderSenderIsNotRouted() {
+
+        recordLatency("fcm-provider-id-1", 300, 5);
+        recordLatency("fcm-provider-id-2", 300, 5);
+        recordLatency("apns-provider-id", 10, 5);
+
+        List<PushSenderData> routedSenders = router.route(TENANT_DOMAIN, null, "FCM", getPushSenders());
+
+        Assert.assertEquals(routedSenders, Arrays.asList(firstFcmSender, secondFcmSender));
+    }
+
+    @Test
+    public void testDegradedSameProviderSenderIsNotReplacedByOtherProviderSender() {
+
+        recordFailures("fcm-provider-id-1", 5);
+        recordFailures("fcm-provider-id-2", 5);
+        recordLatency("apns-provider-id", 10, 5);
+
+        List<PushSenderData> routedSenders = router.route(TENANT_DOMAIN, null, "FCM", getPushSenders());
+
+        Assert.assertEquals(routedSenders, Arrays.asList(firstFcmSender, secondFcmSender));
+        Assert.assertEquals(router.route(TENANT_DOMAIN, null, "FCM", Arrays.asList(firstFcmSender, apnsSender)),
+                Arrays.asList(firstFcmSender));
+    }
+
+    @Test
+    public void testDeviceSticksToSenderWithinTolerance() {
+
+        recordLatency("fcm-provider-id-1", 100, 5);
+        Assert.assertEquals(router.route(TENANT_DOMAIN, DEVICE_ID, "FCM", getPushSenders()).get(0), secondFcmSender);
+
+        // The last used sender is slightly slower than the best sender, so the device keeps using it.
+        recordLatency("fcm-provider-id-2", 110, 5);
+        Assert.assertEquals(router.route(TENANT_DOMAIN, DEVICE_ID, "FCM", getPushSenders()).get(0), secondFcmSender);
+        Assert.assertEquals(router.route(TENANT_DOMAIN, "otherDeviceId", "FCM", getPushSenders()).get(0),
+                firstFcmSender);
+
+        // The last used sender is now well outside the tolerance, so the device moves to the best sender.
+        recordLatency("fcm-provider-id-2", 400, 10);
+        Assert.assertEquals(router.route(TENANT_DOMAIN, DEVICE_ID, "FCM", getPushSenders()).get(0), firstFcmSender);
+    }
+
+    @Test
+    public void testFailingSenderIsRetriedAfterRecoveryInterval() throws Exception {
+
+        config.setRecoveryInterval(50);
+        recordFailures("fcm-provider-id-1", 5);
+        Assert.assertEquals(router.route(TENANT_DOMAIN, null, "FCM", getPushSenders()).get(0), secondFcmSender);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        Assert.assertEquals(router.route(TENANT_DOMAIN, null, "FCM", getPushSenders()).get(0), firstFcmSender);
+        Assert.assertNull(senderHealthRegistry.findTracker(TENANT_DOMAIN, "fcm-provider-id-1"));
+    }
+
+    private void recordLatency(String providerId, long latencyMillis, int count) {
+
+        SenderHealthTracker healthTracker = senderHealthRegistry.getTracker(TENANT_DOMAIN, providerId);
+        for (int i = 0; i < count; i++) {
+            healthTracker.record(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+    }
+
+    private void recordFailures(String providerId, int count) {
+
+        SenderHealthTracker healthTracker = senderHealthRegistry.getTracker(TENANT_DOMAIN, providerId);
+        for (int i = 0; i < count; i++) {
+            healthTracker.recordFailure();
+        }
+    }
+
+    private List<PushSenderData> getPushSenders() {
+
+        return Arrays.asList(firstFcmSender, secondFcmSender, apnsSender);
+    }
+
+    private PushSenderData buildPushSenderData(String name, String provider, String providerId) {
+
+        PushSenderData pushSenderData = new PushSenderData();
+        pushSenderData.setName(name);
+        pushSenderData.setProvider(provider);
+        pushSenderData.setProviderId(providerId);
+        return pushSenderData;
+    }
+}
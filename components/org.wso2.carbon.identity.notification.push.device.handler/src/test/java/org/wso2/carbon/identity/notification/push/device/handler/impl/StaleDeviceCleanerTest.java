@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.device.handler.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.notification.push.device.handler.DeviceHandlerService;
+import org.wso2.carbon.identity.notification.push.device.handler.dao.DeviceDAO;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerClientException;
+import org.wso2.carbon.identity.notification.push.device.handler.exception.PushDeviceHandlerServerException;
+import org.wso2.carbon.identity.notification.push.device.handler.model.StaleDeviceCleanupConfig;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceFeedback;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StaleDeviceCleaner.
+ */
+public class StaleDeviceCleanerTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final int TENANT_ID = -1234;
+
+    private MockedStatic<IdentityTenantUtil> mockedIdentityTenantUtil;
+    private MockedStatic<PrivilegedCarbonContext> mockedCarbonContext;
+    private DeviceDAO deviceDAO;
+    private DeviceHandlerService deviceHandlerService;
+    private StaleDeviceCleanupConfig config;
+
+    @BeforeMethod
+    public void setUp() {
+
+        deviceDAO = mock(DeviceDAO.class);
+        deviceHandlerService = mock(DeviceHandlerService.class);
+        config = new StaleDeviceCleanupConfig();
+        config.setEnabled(true);
+        config.setBatchSize(2);
+        config.setMaxPending(10);
+        mockedIdentityTenantUtil = Mockito.mockStatic(IdentityTenantUtil.class);
+        mockedIdentityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        mockedCarbonContext = Mockito.mockStatic(PrivilegedCarbonContext.class);
+        mockedCarbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                .thenReturn(mock(PrivilegedCarbonContext.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        mockedIdentityTenantUtil.close();
+        mockedCarbonContext.close();
+    }
+
+    @Test
+    public void testRejectedDeviceIsStaleUntilRemoved() throws Exception {
+
+        StaleDeviceCleaner cleaner = buildCleaner();
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+        Assert.assertTrue(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-2"));
+        when(deviceDAO.getDeviceIdsByToken(anyString(), anyList(), anyInt()))
+                .thenReturn(Collections.singletonList("device-1"));
+
+        cleaner.flush();
+
+        ArgumentCaptor<List> deviceTokens = ArgumentCaptor.forClass(List.class);
+        verify(deviceDAO).getDeviceIdsByToken(eq("FCM"), deviceTokens.capture(), eq(TENANT_ID));
+        Assert.assertEquals(deviceTokens.getValue(), Collections.singletonList("token-1"));
+        verify(deviceHandlerService).unregisterDevice("device-1");
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+    }
+
+    @Test
+    public void testFlushRemovesDevicesInBatchesPerProvider() throws Exception {
+
+        StaleDeviceCleaner cleaner = buildCleaner();
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+        cleaner.onDeviceRejected(feedback("FCM", "device-2", "token-2"));
+        cleaner.onDeviceRejected(feedback("FCM", "device-3", "token-3"));
+        cleaner.onDeviceRejected(feedback("APNS", "device-4", "token-4"));
+        when(deviceDAO.getDeviceIdsByToken(anyString(), anyList(), anyInt())).thenReturn(Collections.emptyList());
+
+        cleaner.flush();
+
+        verify(deviceDAO, times(2)).getDeviceIdsByToken(eq("FCM"), anyList(), eq(TENANT_ID));
+        verify(deviceDAO).getDeviceIdsByToken(eq("APNS"), anyList(), eq(TENANT_ID));
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-3"));
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "APNS", "token-4"));
+    }
+
+    @Test
+    public void testFailedLookupIsRetried() throws Exception {
+
+        StaleDeviceCleaner cleaner = buildCleaner();
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+        when(deviceDAO.getDeviceIdsByToken(anyString(), anyList(), anyInt()))
+                .thenThrow(new PushDeviceHandlerServerException("Error occurred."))
+                .thenReturn(Collections.singletonList("device-1"));
+
+        cleaner.flush();
+        Assert.assertTrue(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+        verify(deviceHandlerService, never()).unregisterDevice(anyString());
+
+        cleaner.flush();
+        verify(deviceDAO, times(2)).getDeviceIdsByToken(eq("FCM"), anyList(), eq(TENANT_ID));
+        verify(deviceHandlerService).unregisterDevice("device-1");
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+    }
+
+    @Test
+    public void testFailedUnregistrationDoesNotStopTheBatch() throws Exception {
+
+        StaleDeviceCleaner cleaner = buildCleaner();
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+        cleaner.onDeviceRejected(feedback("FCM", "device-2", "token-2"));
+        when(deviceDAO.getDeviceIdsByToken(anyString(), anyList(), anyInt()))
+                .thenReturn(Arrays.asList("device-1", "device-2"));
+        doThrow(new PushDeviceHandlerClientException("Device not found.")).when(deviceHandlerService)
+                .unregisterDevice("device-1");
+
+        cleaner.flush();
+
+        verify(deviceHandlerService).unregisterDevice("device-2");
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-2"));
+    }
+
+    @Test
+    public void testDevicesAreKeptUntilTheServiceIsSet() throws Exception {
+
+        StaleDeviceCleaner cleaner = new StaleDeviceCleaner(config, deviceDAO);
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+
+        cleaner.flush();
+
+        Assert.assertTrue(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+        verify(deviceDAO, never()).getDeviceIdsByToken(anyString(), anyList(), anyInt());
+    }
+
+    @Test
+    public void testPendingDevicesAreBounded() throws Exception {
+
+        config.setMaxPending(1);
+        StaleDeviceCleaner cleaner = buildCleaner();
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+        cleaner.onDeviceRejected(feedback("FCM", "device-2", "token-2"));
+
+        Assert.assertTrue(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-2"));
+    }
+
+    @Test
+    public void testDisabledCleanerIgnoresRejectedDevices() throws Exception {
+
+        config.setEnabled(false);
+        StaleDeviceCleaner cleaner = buildCleaner();
+        cleaner.onDeviceRejected(feedback("FCM", "device-1", "token-1"));
+
+        cleaner.flush();
+
+        Assert.assertFalse(cleaner.isStale(TENANT_DOMAIN, "FCM", "token-1"));
+        verify(deviceDAO, never()).getDeviceIdsByToken(anyString(), anyList(), anyInt());
+        verify(deviceHandlerService, never()).unregisterDevice(anyString());
+    }
+
+    private StaleDeviceCleaner buildCleaner() {
+
+        StaleDeviceCleaner cleaner = new StaleDeviceCleaner(config, deviceDAO);
+        cleaner.setDeviceHandlerService(deviceHandlerService);
+        return cleaner;
+    }
+
+    private PushDeviceFeedback feedback(String provider, String deviceId, String deviceToken) {
+
+        return new PushDeviceFeedback(provider, TENANT_DOMAIN, deviceId, deviceToken,
+                PushProviderConstants.ErrorMessages.ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode());
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceFeedback;
+
+/**
+ * Listener of the feedback given by the push providers about the devices they send push notifications to. The
+ * listeners are registered as OSGi services and are notified by the push providers, so that the owner of the
+ * device registrations can act on devices which can no longer receive push notifications.
+ */
+public interface PushDeviceFeedbackListener {
+
+    /**
+     * Invoked when a push provider rejects a device, because the device is no longer registered with the provider
+     * or its device token is not valid for the provider. The listener is invoked on the sending thread. Hence, it
+     * should only record the feedback and act on it asynchronously.
+     *
+     * @param feedback Feedback about the rejected device.
+     */
+    void onDeviceRejected(PushDeviceFeedback feedback);
+}
@@ -21,9 +21,13 @@ package org.wso2.carbon.identity.notification.push.provider;
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
 import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceData;
 import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationResult;
 import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Functions such as sending push notifications, registering devices, unregistering devices, updating devices, and
@@ -51,6 +55,63 @@ public interface PushProvider {
     void sendNotification(PushNotificationData pushNotificationData, PushSenderData pushSenderData, String tenantDomain)
             throws PushProviderException;
 
+    /**
+     * Sends a push notification to the device without blocking the calling thread for the provider round-trip.
+     * The returned future completes when the provider accepts the message, or completes exceptionally with a
+     * {@link PushProviderException} if sending fails. Failures are always reported through the returned future and
+     * never thrown to the caller, including unexpected runtime failures of the provider.
+     * <p>
+     * The default implementation delegates to {@link #sendNotification(PushNotificationData, PushSenderData, String)}
+     * on the calling thread. Providers with a non-blocking client should override this method.
+     *
+     * @param pushNotificationData Data required to send the push notification.
+     * @param pushSenderData       Sender data required to send the push notification.
+     * @param tenantDomain         Tenant domain of the user.
+     * @return Future which completes once the push notification is sent.
+     */
+    default CompletableFuture<Void> sendNotificationAsync(PushNotificationData pushNotificationData,
+                                                          PushSenderData pushSenderData, String tenantDomain) {
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            sendNotification(pushNotificationData, pushSenderData, tenantDomain);
+            future.complete(null);
+        } catch (PushProviderException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sends push notifications to multiple devices using the same push sender. A failure to deliver one notification
+     * does not stop the others; the outcome of each notification is reported in the returned list, in the same order
+     * as the given notifications.
+     * <p>
+     * The default implementation sends the notifications one by one. Providers which support sending many messages
+     * in a single call should override this method.
+     *
+     * @param pushNotificationDataList Data required to send each push notification.
+     * @param pushSenderData           Sender data required to send the push notifications.
+     * @param tenantDomain             Tenant domain of the users.
+     * @return Result of each push notification.
+     * @throws PushProviderException If an error occurs which prevents sending any of the push notifications.
+     */
+    default List<PushNotificationResult> sendNotifications(List<PushNotificationData> pushNotificationDataList,
+                                                           PushSenderData pushSenderData, String tenantDomain)
+            throws PushProviderException {
+
+        List<PushNotificationResult> results = new ArrayList<>(pushNotificationDataList.size());
+        for (PushNotificationData pushNotificationData : pushNotificationDataList) {
+            try {
+                sendNotification(pushNotificationData, pushSenderData, tenantDomain);
+                results.add(new PushNotificationResult(pushNotificationData));
+            } catch (PushProviderException e) {
+                results.add(new PushNotificationResult(pushNotificationData, e.getErrorCode(), e.getMessage()));
+            }
+        }
+        return results;
+    }
+
     /**
      * Register the device.
      *
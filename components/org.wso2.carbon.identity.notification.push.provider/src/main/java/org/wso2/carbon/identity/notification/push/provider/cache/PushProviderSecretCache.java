@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.PUSH_PROVIDER_SECRET_CACHE;
+
+/**
+ * Cache of the resolved push provider secrets, scoped by tenant.
+ * <p>
+ * Entries are cleared across the cluster when the secrets are changed, and expire after the configured time to
+ * live. The capacity of the cache is bounded by the cache configurations of the server.
+ */
+public class PushProviderSecretCache extends BaseCache<PushProviderSecretCacheKey, PushProviderSecretCacheEntry> {
+
+    private static volatile PushProviderSecretCache instance;
+
+    /**
+     * Private constructor which initializes the push provider secret cache.
+     */
+    private PushProviderSecretCache() {
+
+        super(PUSH_PROVIDER_SECRET_CACHE);
+    }
+
+    /**
+     * Get the push provider secret cache instance.
+     *
+     * @return Push provider secret cache instance.
+     */
+    public static PushProviderSecretCache getInstance() {
+
+        CarbonUtils.checkSecurity();
+        if (instance == null) {
+            synchronized (PushProviderSecretCache.class) {
+                if (instance == null) {
+                    instance = new PushProviderSecretCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache entry holding a resolved push provider secret.
+ */
+public class PushProviderSecretCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -3315428716012961457L;
+
+    private final String resolvedSecretValue;
+    private final long expiresAt;
+
+    /**
+     * Constructor for PushProviderSecretCacheEntry.
+     *
+     * @param resolvedSecretValue Resolved value of the secret.
+     * @param timeToLive          Time in seconds for which the entry is valid.
+     */
+    public PushProviderSecretCacheEntry(String resolvedSecretValue, int timeToLive) {
+
+        this.resolvedSecretValue = resolvedSecretValue;
+        this.expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeToLive);
+        this.setValidityPeriod(TimeUnit.SECONDS.toNanos(timeToLive));
+    }
+
+    /**
+     * Get the resolved value of the secret.
+     *
+     * @return Resolved secret value if the entry has not expired, null otherwise.
+     */
+    public String getResolvedSecretValue() {
+
+        if (System.currentTimeMillis() > expiresAt) {
+            return null;
+        }
+        return resolvedSecretValue;
+    }
+}
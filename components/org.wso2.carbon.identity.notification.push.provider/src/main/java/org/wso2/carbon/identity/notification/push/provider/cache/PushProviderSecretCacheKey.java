@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+/**
+ * Cache key for the push provider secret cache.
+ */
+public class PushProviderSecretCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 4178532361946305187L;
+    private final String secretType;
+    private final String secretName;
+
+    /**
+     * Constructor for PushProviderSecretCacheKey.
+     *
+     * @param secretType Type of the secret.
+     * @param secretName Name of the secret.
+     */
+    public PushProviderSecretCacheKey(String secretType, String secretName) {
+
+        this.secretType = secretType;
+        this.secretName = secretName;
+    }
+
+    public String getSecretType() {
+
+        return secretType;
+    }
+
+    public String getSecretName() {
+
+        return secretName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (!(o instanceof PushProviderSecretCacheKey)) {
+            return false;
+        }
+        PushProviderSecretCacheKey other = (PushProviderSecretCacheKey) o;
+        return secretType.equals(other.getSecretType()) && secretName.equals(other.getSecretName());
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * secretType.hashCode() + secretName.hashCode();
+    }
+}
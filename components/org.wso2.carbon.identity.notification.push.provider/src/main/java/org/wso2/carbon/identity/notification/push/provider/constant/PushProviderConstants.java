@@ -32,6 +32,120 @@ public class PushProviderConstants {
 
     public static final String PUSH_PROVIDER_SECRET_TYPE = "PUSH_PROVIDER_SECRET_PROPERTIES";
     public static final String FCM_SERVICE_ACCOUNT_SECRET = "serviceAccountContent";
+    // Optional push sender property overriding the server level send timeout for the sender.
+    public static final String FCM_SEND_TIMEOUT_PROPERTY = "sendTimeout";
+    // Optional push sender property with the root URL of an FCM compatible endpoint, such as a local stand-in.
+    public static final String FCM_ENDPOINT_PROPERTY = "fcmEndpoint";
+
+    // FCM push provider configurations.
+    public static final String FCM_APP_POOL_MAX_SIZE = "PushProvider.FCM.AppPool.MaxSize";
+    public static final String FCM_APP_POOL_IDLE_TIMEOUT = "PushProvider.FCM.AppPool.IdleTimeout";
+    public static final int DEFAULT_FCM_APP_POOL_MAX_SIZE = 1000;
+    public static final int DEFAULT_FCM_APP_POOL_IDLE_TIMEOUT = 3600;
+    public static final String FCM_CREDENTIAL_REFRESH_ENABLED = "PushProvider.FCM.CredentialRefresh.Enabled";
+    public static final String FCM_CREDENTIAL_REFRESH_MARGIN = "PushProvider.FCM.CredentialRefresh.Margin";
+    public static final String FCM_CREDENTIAL_REFRESH_MAX_JITTER = "PushProvider.FCM.CredentialRefresh.MaxJitter";
+    public static final int DEFAULT_FCM_CREDENTIAL_REFRESH_MARGIN = 600;
+    public static final int DEFAULT_FCM_CREDENTIAL_REFRESH_MAX_JITTER = 120;
+    public static final String FCM_HTTP_CLIENT_SHARED = "PushProvider.FCM.HttpClient.Shared";
+    public static final String FCM_HTTP_CLIENT_MAX_CONNECTIONS = "PushProvider.FCM.HttpClient.MaxConnections";
+    public static final String FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE =
+            "PushProvider.FCM.HttpClient.MaxConnectionsPerRoute";
+    public static final String FCM_HTTP_CLIENT_CONNECT_TIMEOUT = "PushProvider.FCM.HttpClient.ConnectTimeout";
+    public static final String FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT =
+            "PushProvider.FCM.HttpClient.IdleConnectionTimeout";
+    public static final int DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS = 200;
+    public static final int DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    public static final int DEFAULT_FCM_HTTP_CLIENT_CONNECT_TIMEOUT = 10;
+    public static final int DEFAULT_FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT = 60;
+    public static final String FCM_RETRY_MAX_ATTEMPTS = "PushProvider.FCM.Retry.MaxAttempts";
+    public static final String FCM_RETRY_INITIAL_BACKOFF = "PushProvider.FCM.Retry.InitialBackoff";
+    public static final String FCM_RETRY_MAX_BACKOFF = "PushProvider.FCM.Retry.MaxBackoff";
+    public static final String FCM_RETRY_DEADLINE = "PushProvider.FCM.Retry.Deadline";
+    public static final int DEFAULT_FCM_RETRY_MAX_ATTEMPTS = 3;
+    public static final int DEFAULT_FCM_RETRY_INITIAL_BACKOFF = 200;
+    public static final int DEFAULT_FCM_RETRY_MAX_BACKOFF = 2000;
+    public static final int DEFAULT_FCM_RETRY_DEADLINE = 5000;
+    public static final String FCM_SEND_TIMEOUT = "PushProvider.FCM.SendTimeout";
+    public static final int DEFAULT_FCM_SEND_TIMEOUT = 0;
+    public static final String FCM_ASYNC_SCHEDULER_THREADS = "PushProvider.FCM.AsyncSchedulerThreads";
+    public static final int DEFAULT_FCM_ASYNC_SCHEDULER_THREADS = 2;
+    public static final String FCM_DEFAULT_TIME_TO_LIVE = "PushProvider.FCM.DefaultTimeToLive";
+    public static final int DEFAULT_FCM_DEFAULT_TIME_TO_LIVE = 300;
+    public static final String FCM_ALLOW_ENDPOINT_OVERRIDE = "PushProvider.FCM.AllowEndpointOverride";
+    public static final String FCM_SHARED_APP_ENABLED = "PushProvider.FCM.SharedApp.Enabled";
+    public static final String FCM_DEDUPLICATION_ENABLED = "PushProvider.FCM.Deduplication.Enabled";
+    public static final String FCM_DEDUPLICATION_WINDOW = "PushProvider.FCM.Deduplication.Window";
+    public static final String FCM_DEDUPLICATION_MAX_ENTRIES = "PushProvider.FCM.Deduplication.MaxEntries";
+    public static final int DEFAULT_FCM_DEDUPLICATION_WINDOW = 30;
+    public static final int DEFAULT_FCM_DEDUPLICATION_MAX_ENTRIES = 10000;
+
+    // APNs push sender properties.
+    public static final String APNS_SIGNING_KEY_SECRET = "signingKey";
+    public static final String APNS_KEY_ID_PROPERTY = "keyId";
+    public static final String APNS_TEAM_ID_PROPERTY = "teamId";
+    public static final String APNS_TOPIC_PROPERTY = "bundleId";
+    // Optional push sender property selecting the APNs environment, either production or sandbox.
+    public static final String APNS_ENVIRONMENT_PROPERTY = "environment";
+    public static final String APNS_ENVIRONMENT_SANDBOX = "sandbox";
+    // Optional push sender property with the root URL of an APNs compatible endpoint, such as a local stand-in.
+    public static final String APNS_ENDPOINT_PROPERTY = "apnsEndpoint";
+
+    // APNs push provider configurations.
+    public static final String APNS_ENABLED = "PushProvider.APNS.Enabled";
+    public static final String APNS_TOKEN_REFRESH_INTERVAL = "PushProvider.APNS.TokenRefreshInterval";
+    public static final String APNS_CONNECT_TIMEOUT = "PushProvider.APNS.ConnectTimeout";
+    public static final String APNS_SEND_TIMEOUT = "PushProvider.APNS.SendTimeout";
+    public static final String APNS_DEFAULT_TIME_TO_LIVE = "PushProvider.APNS.DefaultTimeToLive";
+    public static final String APNS_ALLOW_ENDPOINT_OVERRIDE = "PushProvider.APNS.AllowEndpointOverride";
+    // APNs rejects provider tokens older than one hour and refreshes more frequent than once per 20 minutes.
+    public static final int DEFAULT_APNS_TOKEN_REFRESH_INTERVAL = 2700;
+    public static final int DEFAULT_APNS_CONNECT_TIMEOUT = 10;
+    public static final int DEFAULT_APNS_SEND_TIMEOUT = 10000;
+    public static final int DEFAULT_APNS_DEFAULT_TIME_TO_LIVE = 300;
+
+    // Secret cache configurations.
+    public static final String PUSH_PROVIDER_SECRET_CACHE = "PushProviderSecretCache";
+    public static final String SECRET_CACHE_ENABLED = "PushProvider.SecretCache.Enabled";
+    public static final String SECRET_CACHE_TIME_TO_LIVE = "PushProvider.SecretCache.TimeToLive";
+    public static final int DEFAULT_SECRET_CACHE_TIME_TO_LIVE = 900;
+
+    // Circuit breaker configurations.
+    public static final String CIRCUIT_BREAKER_ENABLED = "PushProvider.CircuitBreaker.Enabled";
+    public static final String CIRCUIT_BREAKER_WINDOW_SIZE = "PushProvider.CircuitBreaker.WindowSize";
+    public static final String CIRCUIT_BREAKER_MINIMUM_CALLS = "PushProvider.CircuitBreaker.MinimumCalls";
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD =
+            "PushProvider.CircuitBreaker.FailureRateThreshold";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_DURATION = "PushProvider.CircuitBreaker.SlowCallDuration";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD =
+            "PushProvider.CircuitBreaker.SlowCallRateThreshold";
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION = "PushProvider.CircuitBreaker.OpenDuration";
+    public static final String CIRCUIT_BREAKER_HALF_OPEN_CALLS = "PushProvider.CircuitBreaker.HalfOpenCalls";
+    public static final int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+    public static final int DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS = 10;
+    public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 50;
+    public static final int DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION = 3000;
+    public static final int DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD = 80;
+    public static final int DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 30000;
+    public static final int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS = 3;
+
+    // Rate limiter configurations.
+    public static final String RATE_LIMIT_ENABLED = "PushProvider.RateLimit.Enabled";
+    public static final String RATE_LIMIT_TENANT_RATE = "PushProvider.RateLimit.TenantRate";
+    public static final String RATE_LIMIT_TENANT_BURST = "PushProvider.RateLimit.TenantBurst";
+    public static final String RATE_LIMIT_CREDENTIAL_RATE = "PushProvider.RateLimit.CredentialRate";
+    public static final String RATE_LIMIT_CREDENTIAL_BURST = "PushProvider.RateLimit.CredentialBurst";
+    public static final String RATE_LIMIT_MAX_WAIT = "PushProvider.RateLimit.MaxWait";
+    public static final int DEFAULT_RATE_LIMIT_TENANT_RATE = 1000;
+    public static final int DEFAULT_RATE_LIMIT_TENANT_BURST = 2000;
+    public static final int DEFAULT_RATE_LIMIT_CREDENTIAL_RATE = 5000;
+    public static final int DEFAULT_RATE_LIMIT_CREDENTIAL_BURST = 5000;
+    public static final int DEFAULT_RATE_LIMIT_MAX_WAIT = 1000;
+
+    // Push notification metrics configurations.
+    public static final String METRICS_ENABLED = "PushProvider.Metrics.Enabled";
+    public static final String METRICS_MAX_SERIES = "PushProvider.Metrics.MaxSeries";
+    public static final int DEFAULT_METRICS_MAX_SERIES = 1000;
 
     /**
      * Enum for error messages related to push providers.
@@ -62,7 +176,13 @@ public class PushProviderConstants {
         ERROR_REQUIRED_METADATA_MISSING("65011",
                 "Required provider metadata is missing or invalid: "),
         ERROR_DEVICE_ALREADY_REGISTERED("65012",
-                "Device is already registered to the push provider.");
+                "Device is already registered to the push provider."),
+        ERROR_CIRCUIT_OPEN("65013",
+                "Push notifications are temporarily not sent through the push sender due to repeated failures."),
+        ERROR_RATE_LIMIT_EXCEEDED("65014",
+                "Push notification rate limit exceeded. Please try again later."),
+        ERROR_PUSH_NOTIFICATION_SENDING_TIMED_OUT("65015",
+                "Push notification was not sent within the configured send timeout.");
 
         private final String code;
         private final String message;
@@ -0,0 +1,784 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.notification.push.provider.PushProvider;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCache;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCacheEntry;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCacheKey;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
+import org.wso2.carbon.identity.notification.push.provider.internal.ProviderDataHolder;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+import org.wso2.carbon.identity.notification.push.provider.model.APNSPushProviderConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationResult;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+import org.wso2.carbon.identity.secret.mgt.core.SecretManager;
+import org.wso2.carbon.identity.secret.mgt.core.SecretResolveManager;
+import org.wso2.carbon.identity.secret.mgt.core.exception.SecretManagementException;
+import org.wso2.carbon.identity.secret.mgt.core.model.ResolvedSecret;
+import org.wso2.carbon.identity.secret.mgt.core.model.Secret;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_ENDPOINT_PROPERTY;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_ENVIRONMENT_PROPERTY;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_ENVIRONMENT_SANDBOX;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_KEY_ID_PROPERTY;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_SIGNING_KEY_SECRET;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_TEAM_ID_PROPERTY;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_TOPIC_PROPERTY;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.PUSH_PROVIDER_SECRET_TYPE;
+
+/**
+ * Push provider implementation for the Apple Push Notification service (APNs).
+ * <p>
+ * Push notifications are sent directly to APNs over HTTP/2, so that the requests of all the push senders are
+ * multiplexed over a few long lived connections. Push senders authenticate with a provider token signed with their
+ * APNs signing key, which is reused until it is due for refresh.
+ */
+public class APNSPushProvider implements PushProvider {
+
+    private static final Log log = LogFactory.getLog(APNSPushProvider.class);
+    private static final String APNS_PROVIDER_NAME = "APNS";
+    private static final String APNS_SECRET_REFERENCE = "APNS-credentials";
+    private static final PushProviderSecretCacheKey SECRET_CACHE_KEY =
+            new PushProviderSecretCacheKey(PUSH_PROVIDER_SECRET_TYPE, APNS_SECRET_REFERENCE);
+    private static final String APNS_PRODUCTION_ENDPOINT = "https://api.push.apple.com";
+    private static final String APNS_SANDBOX_ENDPOINT = "https://api.sandbox.push.apple.com";
+    private static final String APNS_DEVICE_PATH = "/3/device/";
+    private static final String AUTHORIZATION_HEADER = "authorization";
+    private static final String BEARER_PREFIX = "bearer ";
+    private static final String APNS_TOPIC_HEADER = "apns-topic";
+    private static final String APNS_PRIORITY_HEADER = "apns-priority";
+    private static final String APNS_PUSH_TYPE_HEADER = "apns-push-type";
+    private static final String APNS_COLLAPSE_ID_HEADER = "apns-collapse-id";
+    private static final String APNS_EXPIRATION_HEADER = "apns-expiration";
+    private static final String APNS_ID_HEADER = "apns-id";
+    private static final String APS_KEY = "aps";
+    private static final Pattern DEVICE_TOKEN_PATTERN = Pattern.compile("[0-9a-fA-F]+");
+    private static final int HTTP_STATUS_OK = 200;
+    private static final int HTTP_STATUS_FORBIDDEN = 403;
+    private static final int HTTP_STATUS_GONE = 410;
+    // Maximum number of push notifications of a batch which are in flight at the same time.
+    private static final int APNS_MAX_CONCURRENT_SENDS = 100;
+
+    private final HttpClient httpClient;
+    private final ConcurrentMap<String, APNSTokenSigner> tokenSigners = new ConcurrentHashMap<>();
+    private final int tokenRefreshInterval;
+    private final int sendTimeout;
+    private final int defaultTimeToLive;
+    private final boolean endpointOverrideAllowed;
+    private final boolean secretCacheEnabled;
+    private final int secretCacheTimeToLive;
+
+    /**
+     * Create the APNs push provider with the default configurations.
+     */
+    public APNSPushProvider() {
+
+        this(new APNSPushProviderConfig());
+    }
+
+    /**
+     * Create the APNs push provider with the given configurations.
+     *
+     * @param apnsPushProviderConfig APNs push provider configurations.
+     */
+    public APNSPushProvider(APNSPushProviderConfig apnsPushProviderConfig) {
+
+        this.tokenRefreshInterval = apnsPushProviderConfig.getTokenRefreshInterval();
+        this.sendTimeout = apnsPushProviderConfig.getSendTimeout();
+        this.defaultTimeToLive = apnsPushProviderConfig.getDefaultTimeToLive();
+        this.endpointOverrideAllowed = apnsPushProviderConfig.isEndpointOverrideAllowed();
+        this.secretCacheEnabled = apnsPushProviderConfig.isSecretCacheEnabled();
+        this.secretCacheTimeToLive = apnsPushProviderConfig.getSecretCacheTimeToLive();
+        // The client keeps one HTTP/2 connection per APNs host and multiplexes the concurrent requests over it.
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(apnsPushProviderConfig.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Release the connections held by the provider.
+     */
+    public void shutdown() {
+
+        tokenSigners.clear();
+        httpClient.shutdown();
+    }
+
+    @Override
+    public String getName() {
+
+        return APNS_PROVIDER_NAME;
+    }
+
+    @Override
+    public void sendNotification(PushNotificationData pushNotificationData, PushSenderData pushSenderData,
+                                 String tenantDomain) throws PushProviderException {
+
+        log.debug("Initiating push notification sending process for APNs provider.");
+        long startTime = System.nanoTime();
+        Throwable error = null;
+        try {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            sendAttempt(buildRequest(pushNotificationData, pushSenderData),
+                    getTokenSigner(pushSenderData, tenantDomain), result, true);
+            waitForResult(result);
+        } catch (PushProviderException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            PushMetrics.getInstance().recordSend(APNS_PROVIDER_NAME, tenantDomain, System.nanoTime() - startTime,
+                    error);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> sendNotificationAsync(PushNotificationData pushNotificationData,
+                                                         PushSenderData pushSenderData, String tenantDomain) {
+
+        log.debug("Initiating asynchronous push notification sending process for APNs provider.");
+        long startTime = System.nanoTime();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        result.whenComplete((ignored, throwable) -> PushMetrics.getInstance().recordSend(APNS_PROVIDER_NAME,
+                tenantDomain, System.nanoTime() - startTime, throwable));
+        try {
+            sendAttempt(buildRequest(pushNotificationData, pushSenderData),
+                    getTokenSigner(pushSenderData, tenantDomain), result, true);
+        } catch (PushProviderException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public List<PushNotificationResult> sendNotifications(List<PushNotificationData> pushNotificationDataList,
+                                                          PushSenderData pushSenderData, String tenantDomain)
+            throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Initiating batch push notification sending process for APNs provider with "
+                    + pushNotificationDataList.size() + " notifications.");
+        }
+        List<PushNotificationResult> results = new ArrayList<>(pushNotificationDataList.size());
+        if (pushNotificationDataList.isEmpty()) {
+            return results;
+        }
+        APNSTokenSigner tokenSigner = getTokenSigner(pushSenderData, tenantDomain);
+        for (int start = 0; start < pushNotificationDataList.size(); start += APNS_MAX_CONCURRENT_SENDS) {
+            List<PushNotificationData> chunk = pushNotificationDataList.subList(start,
+                    Math.min(start + APNS_MAX_CONCURRENT_SENDS, pushNotificationDataList.size()));
+            // APNs accepts a single notification per request. Hence, the requests of a chunk are sent concurrently
+            // as streams of the same connection.
+            List<CompletableFuture<Void>> sends = new ArrayList<>(chunk.size());
+            for (PushNotificationData pushNotificationData : chunk) {
+                CompletableFuture<Void> result = new CompletableFuture<>();
+                try {
+                    sendAttempt(buildRequest(pushNotificationData, pushSenderData), tokenSigner, result, true);
+                } catch (PushProviderException e) {
+                    result.completeExceptionally(e);
+                }
+                sends.add(result);
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    waitForResult(sends.get(i));
+                    results.add(new PushNotificationResult(chunk.get(i)));
+                    PushMetrics.getInstance().recordSendOutcome(APNS_PROVIDER_NAME, null);
+                } catch (PushProviderException e) {
+                    results.add(new PushNotificationResult(chunk.get(i), e.getErrorCode(), e.getMessage()));
+                    PushMetrics.getInstance().recordSendOutcome(APNS_PROVIDER_NAME, e.getErrorCode());
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void registerDevice(PushDeviceData device, PushSenderData pushSenderData) throws PushProviderException {
+
+        // APNs does not require any registration to be done on its side. Hence, the method is not implemented.
+    }
+
+    @Override
+    public void unregisterDevice(PushDeviceData device, PushSenderData pushSenderData) throws PushProviderException {
+
+        // APNs does not require any unregistration to be done on its side. Hence, the method is not implemented.
+    }
+
+    @Override
+    public void updateDevice(PushDeviceData device, PushSenderData pushSenderData) throws PushProviderException {
+
+        // APNs does not require any update to be done on its side. Hence, the method is not implemented.
+    }
+
+    @Override
+    public Map<String, String> preProcessProperties(PushSenderData pushSenderData) throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Pre-processing properties for providerId: " + pushSenderData.getProviderId());
+        }
+        Map<String, String> properties = new HashMap<>(pushSenderData.getProperties());
+        String signingKey = properties.get(APNS_SIGNING_KEY_SECRET);
+        if (StringUtils.isBlank(signingKey)) {
+            log.debug("Signing key is missing in properties.");
+            throw buildPropertyMissingException(APNS_SIGNING_KEY_SECRET);
+        }
+        log.debug("Decoding Base64 encoded signing key.");
+        try {
+            properties.put(APNS_SIGNING_KEY_SECRET,
+                    new String(Base64.getDecoder().decode(signingKey), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_REQUIRED_METADATA_MISSING;
+            throw new PushProviderServerException(error.getCode(), error.getMessage() + APNS_SIGNING_KEY_SECRET, e);
+        }
+        return properties;
+    }
+
+    @Override
+    public Map<String, String> postProcessProperties(PushSenderData pushSenderData) throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Post-processing properties for providerId: " + pushSenderData.getProviderId());
+        }
+        Map<String, String> properties = new HashMap<>(pushSenderData.getProperties());
+        String signingKey = properties.get(APNS_SIGNING_KEY_SECRET);
+        if (StringUtils.isBlank(signingKey)) {
+            log.debug("Signing key is missing in properties.");
+            throw buildPropertyMissingException(APNS_SIGNING_KEY_SECRET);
+        }
+        log.debug("Encoding signing key to Base64.");
+        properties.put(APNS_SIGNING_KEY_SECRET,
+                Base64.getEncoder().encodeToString(signingKey.getBytes(StandardCharsets.UTF_8)));
+        return properties;
+    }
+
+    @Override
+    public void updateCredentials(PushSenderData pushSenderData, String tenantDomain) throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Updating credentials for tenant: " + tenantDomain + ", providerId: " +
+                    pushSenderData.getProviderId());
+        }
+        tokenSigners.remove(generateSenderKey(tenantDomain, pushSenderData.getProviderId()));
+        clearCachedSecret(tenantDomain);
+    }
+
+    @Override
+    public Map<String, String> storePushProviderSecretProperties(PushSenderData pushSenderData)
+            throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Storing push provider secret properties for providerId: " + pushSenderData.getProviderId());
+        }
+        try {
+            Map<String, String> properties = new HashMap<>(pushSenderData.getProperties());
+            String signingKey = properties.get(APNS_SIGNING_KEY_SECRET);
+            if (StringUtils.isBlank(signingKey)) {
+                log.debug("Signing key is missing in properties.");
+                throw buildPropertyMissingException(APNS_SIGNING_KEY_SECRET);
+            }
+            SecretManager secretManager = ProviderDataHolder.getInstance().getSecretManager();
+            if (secretManager.isSecretExist(PUSH_PROVIDER_SECRET_TYPE, APNS_SECRET_REFERENCE)) {
+                log.debug("Updating existing secret in secret manager.");
+                secretManager.updateSecretValue(PUSH_PROVIDER_SECRET_TYPE, APNS_SECRET_REFERENCE, signingKey);
+            } else {
+                log.debug("Adding new secret to secret manager.");
+                Secret newSecret = new Secret();
+                newSecret.setSecretType(PUSH_PROVIDER_SECRET_TYPE);
+                newSecret.setSecretName(APNS_SECRET_REFERENCE);
+                newSecret.setSecretValue(signingKey);
+                secretManager.addSecret(PUSH_PROVIDER_SECRET_TYPE, newSecret);
+            }
+            clearCachedSecret();
+            properties.put(APNS_SIGNING_KEY_SECRET, APNS_SECRET_REFERENCE);
+            return properties;
+        } catch (SecretManagementException e) {
+            log.debug("Error occurred while storing secrets.");
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_WHILE_STORING_SECRETS_OF_PUSH_PROVIDER;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, String> retrievePushProviderSecretProperties(PushSenderData pushSenderData)
+            throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving push provider secret properties for providerId: " + pushSenderData.getProviderId());
+        }
+        try {
+            Map<String, String> properties = new HashMap<>(pushSenderData.getProperties());
+            if (StringUtils.isBlank(properties.get(APNS_SIGNING_KEY_SECRET))) {
+                log.debug("Signing key is missing in properties.");
+                throw buildPropertyMissingException(APNS_SIGNING_KEY_SECRET);
+            }
+
+            String cachedSecret = getCachedSecret();
+            if (cachedSecret != null) {
+                log.debug("Resolved secret found in the cache.");
+                properties.put(APNS_SIGNING_KEY_SECRET, cachedSecret);
+                return properties;
+            }
+            SecretManager secretManager = ProviderDataHolder.getInstance().getSecretManager();
+            SecretResolveManager secretResolveManager = ProviderDataHolder.getInstance().getSecretResolveManager();
+            if (secretManager.isSecretExist(PUSH_PROVIDER_SECRET_TYPE, APNS_SECRET_REFERENCE)) {
+                log.debug("Secret exists. Resolving secret value.");
+                ResolvedSecret resolvedSecret =
+                        secretResolveManager.getResolvedSecret(PUSH_PROVIDER_SECRET_TYPE, APNS_SECRET_REFERENCE);
+                properties.put(APNS_SIGNING_KEY_SECRET, resolvedSecret.getResolvedSecretValue());
+                cacheSecret(resolvedSecret.getResolvedSecretValue());
+                return properties;
+            } else {
+                log.debug("Secret does not exist in secret manager.");
+                PushProviderConstants.ErrorMessages error =
+                        PushProviderConstants.ErrorMessages.ERROR_WHILE_RETRIEVING_SECRETS_OF_PUSH_PROVIDER;
+                throw new PushProviderServerException(error.getCode(), error.getMessage());
+            }
+        } catch (SecretManagementException e) {
+            log.debug("Error occurred while retrieving secrets.");
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_WHILE_RETRIEVING_SECRETS_OF_PUSH_PROVIDER;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deletePushProviderSecretProperties(PushSenderData pushSenderData) throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Deleting push provider secret properties for providerId: " + pushSenderData.getProviderId());
+        }
+        try {
+            SecretManager secretManager = ProviderDataHolder.getInstance().getSecretManager();
+            if (secretManager.isSecretExist(PUSH_PROVIDER_SECRET_TYPE, APNS_SECRET_REFERENCE)) {
+                log.debug("Secret exists. Deleting secret from secret manager.");
+                secretManager.deleteSecret(PUSH_PROVIDER_SECRET_TYPE, APNS_SECRET_REFERENCE);
+            } else {
+                log.debug("Secret does not exist in secret manager. No deletion required.");
+            }
+            clearCachedSecret();
+        } catch (SecretManagementException e) {
+            log.debug("Error occurred while deleting secrets.");
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_WHILE_DELETING_SECRETS_OF_PUSH_PROVIDER;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        }
+    }
+
+    /**
+     * Send the request with a provider token. If APNs rejects the provider token, the request is sent once more with
+     * a newly signed token.
+     *
+     * @param requestBuilder       Builder of the request, without the authorization header.
+     * @param tokenSigner          Signer of the provider tokens of the push sender.
+     * @param result               Future to be completed with the outcome of the send.
+     * @param retryOnRejectedToken Whether the request is sent again if the provider token is rejected.
+     */
+    private void sendAttempt(HttpRequest.Builder requestBuilder, APNSTokenSigner tokenSigner,
+                             CompletableFuture<Void> result, boolean retryOnRejectedToken) {
+
+        String providerToken;
+        try {
+            providerToken = tokenSigner.getToken();
+        } catch (GeneralSecurityException e) {
+            log.debug("Error while signing the APNs provider token.", e);
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            result.completeExceptionally(new PushProviderServerException(error.getCode(), error.getMessage(), e));
+            return;
+        }
+        HttpRequest request = requestBuilder.copy()
+                .setHeader(AUTHORIZATION_HEADER, BEARER_PREFIX + providerToken)
+                .build();
+        CompletableFuture<HttpResponse<String>> responseFuture =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        responseFuture.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(handleSendError(throwable));
+                return;
+            }
+            if (response.statusCode() == HTTP_STATUS_OK) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Successfully sent message: " + response.headers().firstValue(APNS_ID_HEADER)
+                            .orElse(null));
+                }
+                result.complete(null);
+                return;
+            }
+            String reason = getReason(response.body());
+            if (retryOnRejectedToken && response.statusCode() == HTTP_STATUS_FORBIDDEN
+                    && (APNSErrorReason.EXPIRED_PROVIDER_TOKEN.equals(reason)
+                    || APNSErrorReason.INVALID_PROVIDER_TOKEN.equals(reason))) {
+                log.debug("APNs rejected the provider token. Retrying with a new provider token.");
+                tokenSigner.invalidate(providerToken);
+                sendAttempt(requestBuilder, tokenSigner, result, false);
+                return;
+            }
+            result.completeExceptionally(handleErrorResponse(response.statusCode(), reason));
+        });
+        result.whenComplete((ignored, throwable) -> {
+            // Abandon the APNs call if the send was cancelled.
+            if (!responseFuture.isDone()) {
+                responseFuture.cancel(true);
+            }
+        });
+    }
+
+    private void waitForResult(CompletableFuture<Void> result) throws PushProviderException {
+
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PushProviderException) {
+                throw (PushProviderException) e.getCause();
+            }
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Build the APNs request for the given push notification, without the authorization header.
+     *
+     * @param pushNotificationData Push notification data.
+     * @param pushSenderData       Push sender data.
+     * @return Request builder.
+     * @throws PushProviderException If the push sender or the device token is not valid.
+     */
+    private HttpRequest.Builder buildRequest(PushNotificationData pushNotificationData,
+                                             PushSenderData pushSenderData) throws PushProviderException {
+
+        String deviceToken = pushNotificationData.getDeviceToken();
+        if (StringUtils.isBlank(deviceToken) || !DEVICE_TOKEN_PATTERN.matcher(deviceToken).matches()) {
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER;
+            throw new PushProviderServerException(error.getCode(), error.getMessage());
+        }
+        String topic = getRequiredProperty(pushSenderData.getProperties(), APNS_TOPIC_PROPERTY);
+        PushDeliveryProfile deliveryProfile = pushNotificationData.getDeliveryProfile();
+        String pushType = StringUtils.defaultIfBlank(deliveryProfile.getApnsPushType(),
+                PushDeliveryProfile.APNS_PUSH_TYPE_ALERT);
+        boolean background = PushDeliveryProfile.APNS_PUSH_TYPE_BACKGROUND.equals(pushType);
+
+        log.debug("Building push notification request with device token and additional data.");
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(
+                        URI.create(resolveEndpoint(pushSenderData) + APNS_DEVICE_PATH + deviceToken))
+                .POST(HttpRequest.BodyPublishers.ofString(buildPayload(pushNotificationData, background)))
+                .header(APNS_TOPIC_HEADER, topic)
+                .header(APNS_PUSH_TYPE_HEADER, pushType);
+        // APNs rejects background notifications which are not sent with the power considerate priority.
+        String priority = background ? PushDeliveryProfile.APNS_PRIORITY_POWER_CONSIDERATE :
+                deliveryProfile.getApnsPriority();
+        if (StringUtils.isNotBlank(priority)) {
+            requestBuilder.header(APNS_PRIORITY_HEADER, priority);
+        }
+        if (StringUtils.isNotBlank(deliveryProfile.getCollapseKey())) {
+            requestBuilder.header(APNS_COLLAPSE_ID_HEADER, deliveryProfile.getCollapseKey());
+        }
+        Long timeToLive = deliveryProfile.getTimeToLive();
+        if (timeToLive == null && defaultTimeToLive >= 0) {
+            timeToLive = (long) defaultTimeToLive;
+        }
+        if (timeToLive != null) {
+            // APNs expects the absolute expiry time in epoch seconds. Zero means deliver now or never.
+            long expiration = timeToLive > 0 ?
+                    TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + timeToLive : 0;
+            requestBuilder.header(APNS_EXPIRATION_HEADER, String.valueOf(expiration));
+        }
+        if (sendTimeout > 0) {
+            requestBuilder.timeout(Duration.ofMillis(sendTimeout));
+        }
+        return requestBuilder;
+    }
+
+    /**
+     * Build the JSON payload of the given push notification. The additional data is sent as custom keys next to
+     * the aps dictionary.
+     *
+     * @param pushNotificationData Push notification data.
+     * @param background           Whether the notification is a background notification without an alert.
+     * @return JSON payload.
+     */
+    private String buildPayload(PushNotificationData pushNotificationData, boolean background) {
+
+        JsonObject aps = new JsonObject();
+        if (background) {
+            aps.addProperty("content-available", 1);
+        } else {
+            JsonObject alert = new JsonObject();
+            alert.addProperty("title", pushNotificationData.getNotificationTitle());
+            alert.addProperty("body", pushNotificationData.getNotificationBody());
+            aps.add("alert", alert);
+        }
+        JsonObject payload = new JsonObject();
+        for (Map.Entry<String, String> entry : pushNotificationData.getAdditionalData().entrySet()) {
+            payload.addProperty(entry.getKey(), entry.getValue());
+        }
+        payload.add(APS_KEY, aps);
+        return payload.toString();
+    }
+
+    /**
+     * Get the signer of the provider tokens of the given push sender, creating it if it is not available.
+     *
+     * @param pushSenderData Push sender data.
+     * @param tenantDomain   Tenant domain.
+     * @return Token signer.
+     * @throws PushProviderException If the signing key of the push sender is missing or invalid.
+     */
+    private APNSTokenSigner getTokenSigner(PushSenderData pushSenderData, String tenantDomain)
+            throws PushProviderException {
+
+        String senderKey = generateSenderKey(tenantDomain, pushSenderData.getProviderId());
+        APNSTokenSigner tokenSigner = tokenSigners.get(senderKey);
+        if (tokenSigner != null) {
+            return tokenSigner;
+        }
+        Map<String, String> processedProperties = preProcessProperties(pushSenderData);
+        String teamId = getRequiredProperty(processedProperties, APNS_TEAM_ID_PROPERTY);
+        String keyId = getRequiredProperty(processedProperties, APNS_KEY_ID_PROPERTY);
+        PrivateKey signingKey;
+        try {
+            signingKey = APNSTokenSigner.parseSigningKey(processedProperties.get(APNS_SIGNING_KEY_SECRET));
+        } catch (GeneralSecurityException e) {
+            log.debug("Failed to read the APNs signing key.");
+            throw new PushProviderServerException("Error occurred while reading the APNs signing key.", e);
+        }
+        tokenSigner = new APNSTokenSigner(teamId, keyId, signingKey, tokenRefreshInterval);
+        APNSTokenSigner existingTokenSigner = tokenSigners.putIfAbsent(senderKey, tokenSigner);
+        return existingTokenSigner != null ? existingTokenSigner : tokenSigner;
+    }
+
+    /**
+     * Resolve the APNs endpoint of the given push sender.
+     *
+     * @param pushSenderData Push sender data.
+     * @return Root URL of the endpoint.
+     * @throws PushProviderException If the configured endpoint is not a valid HTTP URL.
+     */
+    private String resolveEndpoint(PushSenderData pushSenderData) throws PushProviderException {
+
+        Map<String, String> properties = pushSenderData.getProperties();
+        String endpoint = endpointOverrideAllowed && properties != null ? properties.get(APNS_ENDPOINT_PROPERTY) : null;
+        if (StringUtils.isBlank(endpoint)) {
+            return properties != null && APNS_ENVIRONMENT_SANDBOX.equalsIgnoreCase(
+                    properties.get(APNS_ENVIRONMENT_PROPERTY)) ? APNS_SANDBOX_ENDPOINT : APNS_PRODUCTION_ENDPOINT;
+        }
+        endpoint = StringUtils.removeEnd(endpoint.trim(), "/");
+        try {
+            URI endpointUri = new URI(endpoint);
+            if (("http".equalsIgnoreCase(endpointUri.getScheme()) || "https".equalsIgnoreCase(endpointUri.getScheme()))
+                    && StringUtils.isNotBlank(endpointUri.getHost())) {
+                return endpoint;
+            }
+        } catch (URISyntaxException e) {
+            log.debug("Invalid APNs endpoint configured for the push sender.", e);
+        }
+        PushProviderConstants.ErrorMessages error = PushProviderConstants.ErrorMessages.ERROR_REQUIRED_METADATA_MISSING;
+        throw new PushProviderServerException(error.getCode(), error.getMessage() + APNS_ENDPOINT_PROPERTY);
+    }
+
+    private String getRequiredProperty(Map<String, String> properties, String propertyName)
+            throws PushProviderException {
+
+        String value = properties != null ? properties.get(propertyName) : null;
+        if (StringUtils.isBlank(value)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Required property: " + propertyName + " is missing in properties.");
+            }
+            throw buildPropertyMissingException(propertyName);
+        }
+        return value.trim();
+    }
+
+    private PushProviderServerException buildPropertyMissingException(String propertyName) {
+
+        PushProviderConstants.ErrorMessages error = PushProviderConstants.ErrorMessages.ERROR_REQUIRED_PROPERTY_MISSING;
+        return new PushProviderServerException(error.getCode(), error.getMessage() + propertyName);
+    }
+
+    /**
+     * Get the reason of a failed request from the response body returned by APNs.
+     *
+     * @param responseBody Response body.
+     * @return Reason, or null if the body does not contain one.
+     */
+    private String getReason(String responseBody) {
+
+        if (StringUtils.isBlank(responseBody)) {
+            return null;
+        }
+        try {
+            JsonElement response = JsonParser.parseString(responseBody);
+            if (response.isJsonObject() && response.getAsJsonObject().has("reason")) {
+                return response.getAsJsonObject().get("reason").getAsString();
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            log.debug("Unable to read the APNs error response.", e);
+        }
+        return null;
+    }
+
+    /**
+     * Build the exception corresponding to a request rejected by APNs.
+     *
+     * @param statusCode HTTP status code of the response.
+     * @param reason     Reason returned by APNs.
+     * @return Push provider exception.
+     */
+    private PushProviderException handleErrorResponse(int statusCode, String reason) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("APNs rejected the push notification with status: " + statusCode + " and reason: " + reason);
+        }
+        PushProviderConstants.ErrorMessages error;
+        if (statusCode == HTTP_STATUS_GONE || APNSErrorReason.UNREGISTERED.equals(reason)
+                || APNSErrorReason.EXPIRED_TOKEN.equals(reason)) {
+            error = PushProviderConstants.ErrorMessages.ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED;
+        } else if (APNSErrorReason.BAD_DEVICE_TOKEN.equals(reason)
+                || APNSErrorReason.DEVICE_TOKEN_NOT_FOR_TOPIC.equals(reason)) {
+            error = PushProviderConstants.ErrorMessages.ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER;
+        } else {
+            error = PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+        }
+        return new PushProviderServerException(error.getCode(), error.getMessage());
+    }
+
+    private PushProviderException handleSendError(Throwable throwable) {
+
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        log.debug("Error while sending the push notification.", throwable);
+        PushProviderConstants.ErrorMessages error = throwable instanceof HttpTimeoutException ?
+                PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_TIMED_OUT :
+                PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+        return new PushProviderServerException(error.getCode(), error.getMessage(), throwable);
+    }
+
+    /**
+     * Get the resolved push provider secret of the current tenant from the cache.
+     *
+     * @return Resolved secret value, or null if it is not cached or the cache is disabled.
+     */
+    private String getCachedSecret() {
+
+        if (!secretCacheEnabled) {
+            return null;
+        }
+        PushProviderSecretCacheEntry cacheEntry =
+                PushProviderSecretCache.getInstance().getValueFromCache(SECRET_CACHE_KEY, getTenantDomain());
+        return cacheEntry != null ? cacheEntry.getResolvedSecretValue() : null;
+    }
+
+    private void cacheSecret(String resolvedSecretValue) {
+
+        if (secretCacheEnabled && resolvedSecretValue != null) {
+            PushProviderSecretCache.getInstance().addToCache(SECRET_CACHE_KEY,
+                    new PushProviderSecretCacheEntry(resolvedSecretValue, secretCacheTimeToLive), getTenantDomain());
+        }
+    }
+
+    private void clearCachedSecret() {
+
+        if (secretCacheEnabled) {
+            clearCachedSecret(getTenantDomain());
+        }
+    }
+
+    private void clearCachedSecret(String tenantDomain) {
+
+        if (secretCacheEnabled) {
+            PushProviderSecretCache.getInstance().clearCacheEntry(SECRET_CACHE_KEY, tenantDomain);
+        }
+    }
+
+    private String getTenantDomain() {
+
+        return PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+    }
+
+    private String generateSenderKey(String tenantDomain, String providerId) {
+
+        return tenantDomain + ":" + providerId;
+    }
+
+    /**
+     * Reasons returned by APNs for the rejected requests which are handled by the provider.
+     */
+    private static final class APNSErrorReason {
+
+        private static final String BAD_DEVICE_TOKEN = "BadDeviceToken";
+        private static final String DEVICE_TOKEN_NOT_FOR_TOPIC = "DeviceTokenNotForTopic";
+        private static final String UNREGISTERED = "Unregistered";
+        private static final String EXPIRED_TOKEN = "ExpiredToken";
+        private static final String EXPIRED_PROVIDER_TOKEN = "ExpiredProviderToken";
+        private static final String INVALID_PROVIDER_TOKEN = "InvalidProviderToken";
+
+        private APNSErrorReason() {
+
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.gson.JsonObject;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signer of the JSON web tokens which authenticate a push sender to APNs.
+ * <p>
+ * APNs accepts a provider token for one hour, but rejects a sender which signs new tokens more often than once per
+ * 20 minutes. Hence, a token is signed once and reused for every push notification until the refresh interval
+ * elapses, or until APNs reports it as expired.
+ */
+public class APNSTokenSigner {
+
+    private static final Log log = LogFactory.getLog(APNSTokenSigner.class);
+    private static final String KEY_ALGORITHM = "EC";
+    // Produces the raw R || S signature required by JWS, instead of the DER encoded one.
+    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSAinP1363Format";
+    private static final String JWT_ALGORITHM = "ES256";
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final String teamId;
+    private final String keyId;
+    private final PrivateKey signingKey;
+    private final long refreshIntervalNanos;
+    private volatile ProviderToken providerToken;
+
+    /**
+     * Create a signer for the given signing key.
+     *
+     * @param teamId                 Team id of the Apple developer account, used as the token issuer.
+     * @param keyId                  Id of the signing key.
+     * @param signingKey             Signing key.
+     * @param refreshIntervalSeconds Time in seconds after which a new token is signed.
+     */
+    public APNSTokenSigner(String teamId, String keyId, PrivateKey signingKey, long refreshIntervalSeconds) {
+
+        this.teamId = teamId;
+        this.keyId = keyId;
+        this.signingKey = signingKey;
+        this.refreshIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(refreshIntervalSeconds, 0));
+    }
+
+    /**
+     * Parse a PKCS #8 signing key, as downloaded from the Apple developer account in a .p8 file.
+     *
+     * @param signingKey PEM encoded signing key, with or without the PEM header and footer.
+     * @return Signing key.
+     * @throws GeneralSecurityException If the key is not a valid elliptic curve private key.
+     */
+    public static PrivateKey parseSigningKey(String signingKey) throws GeneralSecurityException {
+
+        String encodedKey = signingKey
+                .replaceAll("-----(BEGIN|END) PRIVATE KEY-----", "")
+                .replaceAll("\\s", "");
+        byte[] decodedKey;
+        try {
+            decodedKey = Base64.getDecoder().decode(encodedKey);
+        } catch (IllegalArgumentException e) {
+            throw new GeneralSecurityException("The signing key is not Base64 encoded.", e);
+        }
+        return KeyFactory.getInstance(KEY_ALGORITHM).generatePrivate(new PKCS8EncodedKeySpec(decodedKey));
+    }
+
+    /**
+     * Get a provider token, signing a new one if the current token is due for refresh.
+     *
+     * @return Provider token.
+     * @throws GeneralSecurityException If the token can not be signed.
+     */
+    public String getToken() throws GeneralSecurityException {
+
+        ProviderToken token = providerToken;
+        if (token != null && !token.isDue(refreshIntervalNanos)) {
+            return token.value;
+        }
+        synchronized (this) {
+            token = providerToken;
+            if (token == null || token.isDue(refreshIntervalNanos)) {
+                token = new ProviderToken(sign());
+                providerToken = token;
+            }
+            return token.value;
+        }
+    }
+
+    /**
+     * Discard the given token after APNs rejected it, so that the next request signs a new token. A token which was
+     * already replaced by another request is ignored.
+     *
+     * @param rejectedToken Token rejected by APNs.
+     */
+    public synchronized void invalidate(String rejectedToken) {
+
+        ProviderToken token = providerToken;
+        if (token != null && token.value.equals(rejectedToken)) {
+            providerToken = null;
+        }
+    }
+
+    private String sign() throws GeneralSecurityException {
+
+        JsonObject header = new JsonObject();
+        header.addProperty("alg", JWT_ALGORITHM);
+        header.addProperty("kid", keyId);
+        JsonObject claims = new JsonObject();
+        claims.addProperty("iss", teamId);
+        claims.addProperty("iat", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        String signingInput = encode(header.toString().getBytes(StandardCharsets.UTF_8)) + "."
+                + encode(claims.toString().getBytes(StandardCharsets.UTF_8));
+
+        Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+        signature.initSign(signingKey);
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        if (log.isDebugEnabled()) {
+            log.debug("Signed a new APNs provider token for the key: " + keyId);
+        }
+        return signingInput + "." + encode(signature.sign());
+    }
+
+    private static String encode(byte[] value) {
+
+        return BASE64_URL_ENCODER.encodeToString(value);
+    }
+
+    /**
+     * Signed provider token and the time it was signed at.
+     */
+    private static class ProviderToken {
+
+        private final String value;
+        private final long issuedAt = System.nanoTime();
+
+        ProviderToken(String value) {
+
+            this.value = value;
+        }
+
+        boolean isDue(long refreshIntervalNanos) {
+
+            return System.nanoTime() - issuedAt >= refreshIntervalNanos;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.notification.push.provider.model.CircuitBreakerConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker guarding the calls made to a push provider on behalf of a single push sender.
+ * <p>
+ * The outcomes of the most recent calls are kept in a count based sliding window. When the failure rate or the slow
+ * call rate of the window reaches its threshold, the circuit opens and calls fail fast without reaching the
+ * provider. After the open duration a limited number of probe calls are let through, and the circuit closes again
+ * only if all of them succeed.
+ */
+public class CircuitBreaker {
+
+    private static final Log log = LogFactory.getLog(CircuitBreaker.class);
+
+    /**
+     * States of the circuit breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int slowCallRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // Sliding window of the call outcomes. Guarded by this.
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int windowIndex;
+    private int callCount;
+    private int failedCallCount;
+    private int slowCallCount;
+
+    // Guarded by this.
+    private long openedAt;
+    private int halfOpenPermitsIssued;
+    private int halfOpenSuccessCount;
+
+    private volatile State state = State.CLOSED;
+
+    /**
+     * Create a circuit breaker.
+     *
+     * @param name   Name of the circuit breaker, used for logging.
+     * @param config Circuit breaker configurations.
+     */
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+
+        this.name = name;
+        int windowSize = Math.max(config.getWindowSize(), 1);
+        this.minimumCalls = Math.min(Math.max(config.getMinimumCalls(), 1), windowSize);
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDuration());
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold();
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getOpenDuration());
+        this.halfOpenCalls = Math.max(config.getHalfOpenCalls(), 1);
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * Check whether a call is permitted. Every permitted call must be followed by {@link #onResult(long, boolean)}.
+     *
+     * @return True if the call may proceed, false if it must fail fast.
+     */
+    public boolean tryAcquirePermission() {
+
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermitsIssued >= halfOpenCalls) {
+                    return false;
+                }
+                halfOpenPermitsIssued++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     *
+     * @param durationNanos Duration of the call in nanoseconds.
+     * @param failed        Whether the call failed due to the provider being unavailable or misconfigured.
+     */
+    public synchronized void onResult(long durationNanos, boolean failed) {
+
+        boolean slow = durationNanos >= slowCallDurationNanos;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccessCount >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(failed, slow);
+            if (callCount >= minimumCalls && (getRate(failedCallCount) >= failureRateThreshold
+                    || getRate(slowCallCount) >= slowCallRateThreshold)) {
+                transitionTo(State.OPEN);
+            }
+        }
+        // Outcomes of the calls permitted before the circuit opened are ignored.
+    }
+
+    public State getState() {
+
+        return state;
+    }
+
+    /**
+     * Get the failure percentage of the calls in the sliding window.
+     *
+     * @return Failure rate as a percentage.
+     */
+    public synchronized float getFailureRate() {
+
+        return getRate(failedCallCount);
+    }
+
+    /**
+     * Get the slow call percentage of the calls in the sliding window.
+     *
+     * @return Slow call rate as a percentage.
+     */
+    public synchronized float getSlowCallRate() {
+
+        return getRate(slowCallCount);
+    }
+
+    private void record(boolean failed, boolean slow) {
+
+        if (callCount == failedCalls.length) {
+            // Drop the oldest outcome from the counts before overwriting it.
+            if (failedCalls[windowIndex]) {
+                failedCallCount--;
+            }
+            if (slowCalls[windowIndex]) {
+                slowCallCount--;
+            }
+        } else {
+            callCount++;
+        }
+        failedCalls[windowIndex] = failed;
+        slowCalls[windowIndex] = slow;
+        if (failed) {
+            failedCallCount++;
+        }
+        if (slow) {
+            slowCallCount++;
+        }
+        windowIndex = (windowIndex + 1) % failedCalls.length;
+    }
+
+    private float getRate(int count) {
+
+        return callCount == 0 ? 0 : count * 100f / callCount;
+    }
+
+    private void transitionTo(State newState) {
+
+        State oldState = state;
+        switch (newState) {
+            case OPEN:
+                openedAt = System.nanoTime();
+                log.warn("Circuit breaker of the push sender: " + name + " opened. Push notifications will fail "
+                        + "fast for " + TimeUnit.NANOSECONDS.toMillis(openDurationNanos) + " ms.");
+                break;
+            case HALF_OPEN:
+                halfOpenPermitsIssued = 0;
+                halfOpenSuccessCount = 0;
+                break;
+            case CLOSED:
+                windowIndex = 0;
+                callCount = 0;
+                failedCallCount = 0;
+                slowCallCount = 0;
+                if (log.isInfoEnabled()) {
+                    log.info("Circuit breaker of the push sender: " + name + " closed.");
+                }
+                break;
+            default:
+                break;
+        }
+        state = newState;
+        if (log.isDebugEnabled()) {
+            log.debug("Circuit breaker of the push sender: " + name + " transitioned from " + oldState + " to "
+                    + newState + ".");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import org.wso2.carbon.identity.notification.push.provider.model.CircuitBreakerConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the circuit breakers of the push senders, keyed by tenant domain and provider id.
+ */
+public class CircuitBreakerRegistry {
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final CircuitBreakerConfig config;
+
+    public CircuitBreakerRegistry(CircuitBreakerConfig config) {
+
+        this.config = config;
+    }
+
+    /**
+     * Get the circuit breaker of the given push sender, creating it if it is not available.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param providerId   Provider id of the push sender.
+     * @return Circuit breaker.
+     */
+    public CircuitBreaker getCircuitBreaker(String tenantDomain, String providerId) {
+
+        String key = buildKey(tenantDomain, providerId);
+        CircuitBreaker circuitBreaker = circuitBreakers.get(key);
+        if (circuitBreaker == null) {
+            circuitBreaker = circuitBreakers.computeIfAbsent(key, name -> new CircuitBreaker(name, config));
+        }
+        return circuitBreaker;
+    }
+
+    /**
+     * Discard the circuit breaker of the given push sender, so that the sender starts with a closed circuit.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param providerId   Provider id of the push sender.
+     */
+    public void reset(String tenantDomain, String providerId) {
+
+        circuitBreakers.remove(buildKey(tenantDomain, providerId));
+    }
+
+    /**
+     * Get the current state of every circuit breaker for monitoring.
+     *
+     * @return Circuit breaker states keyed by tenant domain and provider id.
+     */
+    public Map<String, CircuitBreaker.State> getStates() {
+
+        Map<String, CircuitBreaker.State> states = new HashMap<>();
+        circuitBreakers.forEach((key, circuitBreaker) -> states.put(key, circuitBreaker.getState()));
+        return states;
+    }
+
+    private String buildKey(String tenantDomain, String providerId) {
+
+        return tenantDomain + ":" + providerId;
+    }
+}
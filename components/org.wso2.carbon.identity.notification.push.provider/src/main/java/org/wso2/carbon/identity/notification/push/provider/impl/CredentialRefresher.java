@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes the OAuth access tokens of the FCM credentials ahead of their expiry on a background thread.
+ * <p>
+ * Each token is refreshed a configured margin before it expires, minus a random jitter, so that the tokens of many
+ * tenants are not refreshed at the same moment. Sends therefore find a valid token and do not block on the token
+ * endpoint.
+ */
+public class CredentialRefresher {
+
+    private static final Log log = LogFactory.getLog(CredentialRefresher.class);
+    private static final String REFRESHER_THREAD_NAME = "FCM-Credential-Refresher";
+    private static final long RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MIN_REFRESH_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final long refreshMarginMillis;
+    private final long maxJitterMillis;
+
+    /**
+     * Create a credential refresher.
+     *
+     * @param refreshMarginSeconds Time in seconds before the token expiry at which the token is refreshed.
+     * @param maxJitterSeconds     Maximum random time in seconds by which a refresh is brought forward.
+     */
+    public CredentialRefresher(long refreshMarginSeconds, long maxJitterSeconds) {
+
+        this.refreshMarginMillis = TimeUnit.SECONDS.toMillis(Math.max(refreshMarginSeconds, 0));
+        this.maxJitterMillis = TimeUnit.SECONDS.toMillis(Math.max(maxJitterSeconds, 0));
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, REFRESHER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Start refreshing the given credentials. The first refresh is performed immediately in the background.
+     *
+     * @param appName     Name of the Firebase app which uses the credentials.
+     * @param credentials Credentials to be refreshed.
+     * @return Handle which stops refreshing the credentials when cancelled.
+     */
+    public RefreshTask schedule(String appName, GoogleCredentials credentials) {
+
+        RefreshTask refreshTask = new RefreshTask(appName, credentials);
+        refreshTask.scheduleRefresh(0);
+        return refreshTask;
+    }
+
+    /**
+     * Stop the background refresher thread.
+     */
+    public void shutdown() {
+
+        scheduler.shutdownNow();
+    }
+
+    private long calculateNextRefreshDelay(AccessToken accessToken) {
+
+        Date expirationTime = accessToken.getExpirationTime();
+        if (expirationTime == null) {
+            return -1;
+        }
+        long jitter = maxJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(maxJitterMillis + 1) : 0;
+        long delay = expirationTime.getTime() - System.currentTimeMillis() - refreshMarginMillis - jitter;
+        // Avoid refreshing continuously when the token lifetime is shorter than the refresh margin.
+        return Math.max(delay, MIN_REFRESH_DELAY_MILLIS);
+    }
+
+    /**
+     * Scheduled refresh of a single credential.
+     */
+    public class RefreshTask implements Runnable {
+
+        private final String appName;
+        private final GoogleCredentials credentials;
+        private volatile ScheduledFuture<?> scheduledFuture;
+        private volatile boolean cancelled;
+
+        private RefreshTask(String appName, GoogleCredentials credentials) {
+
+            this.appName = appName;
+            this.credentials = credentials;
+        }
+
+        @Override
+        public void run() {
+
+            if (cancelled) {
+                return;
+            }
+            try {
+                credentials.refresh();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Error while refreshing the access token of the Firebase app: " + appName
+                        + ". Retrying in " + TimeUnit.MILLISECONDS.toSeconds(RETRY_DELAY_MILLIS) + " seconds.", e);
+                scheduleRefresh(RETRY_DELAY_MILLIS);
+                return;
+            }
+
+            AccessToken accessToken = credentials.getAccessToken();
+            if (accessToken == null) {
+                return;
+            }
+            long delay = calculateNextRefreshDelay(accessToken);
+            if (delay < 0) {
+                return;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Refreshed the access token of the Firebase app: " + appName + ". Next refresh in "
+                        + TimeUnit.MILLISECONDS.toSeconds(delay) + " seconds.");
+            }
+            scheduleRefresh(delay);
+        }
+
+        /**
+         * Stop refreshing the credentials.
+         */
+        public void cancel() {
+
+            cancelled = true;
+            ScheduledFuture<?> future = scheduledFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private void scheduleRefresh(long delayMillis) {
+
+            if (cancelled || scheduler.isShutdown()) {
+                return;
+            }
+            try {
+                scheduledFuture = scheduler.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Credential refresher is shut down. Skipping the access token refresh of: " + appName);
+                }
+                return;
+            }
+            // Cancel the newly scheduled refresh if the task was cancelled while it was being scheduled.
+            if (cancelled) {
+                scheduledFuture.cancel(false);
+            }
+        }
+    }
+}
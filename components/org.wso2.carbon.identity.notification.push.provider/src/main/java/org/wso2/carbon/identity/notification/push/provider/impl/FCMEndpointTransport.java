@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+
+import java.io.IOException;
+
+/**
+ * HTTP transport which sends the FCM requests of a Firebase app to an FCM compatible endpoint instead of the Google
+ * endpoint, such as a local stand-in used for load testing.
+ * <p>
+ * The Firebase SDK does not allow the FCM endpoint to be configured. Hence, the request URLs are rewritten before
+ * the requests are built by the underlying {@link FCMHttpTransport}, so that the connection pooling of that
+ * transport is kept.
+ */
+public class FCMEndpointTransport extends HttpTransport {
+
+    public static final String FCM_ROOT_URL = "https://fcm.googleapis.com";
+
+    private final FCMHttpTransport delegate;
+    private final String rootUrl;
+    private final boolean ownsDelegate;
+
+    /**
+     * Create a transport which rewrites the FCM request URLs.
+     *
+     * @param delegate     Transport which sends the requests.
+     * @param rootUrl      Root URL of the FCM compatible endpoint.
+     * @param ownsDelegate Whether the delegate is shut down together with this transport. Shared transports must not
+     *                     be owned.
+     */
+    public FCMEndpointTransport(FCMHttpTransport delegate, String rootUrl, boolean ownsDelegate) {
+
+        this.delegate = delegate;
+        this.rootUrl = rootUrl.endsWith("/") ? rootUrl.substring(0, rootUrl.length() - 1) : rootUrl;
+        this.ownsDelegate = ownsDelegate;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) throws IOException {
+
+        // The delegate is in the same package, so its protected request builder can be called directly.
+        return delegate.buildRequest(method, rewriteUrl(url));
+    }
+
+    @Override
+    public boolean supportsMethod(String method) throws IOException {
+
+        return delegate.supportsMethod(method);
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+
+        if (ownsDelegate) {
+            delegate.shutdown();
+        }
+    }
+
+    /**
+     * Rewrite the given URL to the configured endpoint if it targets the Google FCM endpoint.
+     *
+     * @param url Request URL.
+     * @return Rewritten URL.
+     */
+    public String rewriteUrl(String url) {
+
+        if (url != null && url.startsWith(FCM_ROOT_URL)) {
+            return rootUrl + url.substring(FCM_ROOT_URL.length());
+        }
+        return url;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Connection pool shared by all the Firebase apps created by the FCM push provider.
+ * <p>
+ * A single HTTP/2 capable async client is used for every app, so that connections to FCM are kept alive and reused
+ * across tenants instead of each app opening its own connections and paying a TLS handshake per connection.
+ */
+public class FCMHttpClientPool {
+
+    private static final Log log = LogFactory.getLog(FCMHttpClientPool.class);
+
+    private final PoolingAsyncClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpAsyncClient;
+    private final FCMHttpTransport httpTransport;
+
+    /**
+     * Create the shared connection pool.
+     *
+     * @param maxConnections          Maximum number of connections in the pool.
+     * @param maxConnectionsPerRoute  Maximum number of connections per route.
+     * @param connectTimeoutSeconds   Connection establishment timeout in seconds.
+     * @param idleConnectionTimeout   Time in seconds after which idle connections are closed.
+     */
+    public FCMHttpClientPool(int maxConnections, int maxConnectionsPerRoute, int connectTimeoutSeconds,
+                             int idleConnectionTimeout) {
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofSeconds(connectTimeoutSeconds))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(idleConnectionTimeout))
+                .build();
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .setTlsStrategy(ClientTlsStrategyBuilder.create().useSystemProperties().build())
+                .build();
+        this.httpAsyncClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                .setIOReactorConfig(IOReactorConfig.custom().setSoKeepAlive(true).build())
+                .evictIdleConnections(TimeValue.ofSeconds(idleConnectionTimeout))
+                .disableCookieManagement()
+                .disableRedirectHandling()
+                .build();
+        this.httpAsyncClient.start();
+        this.httpTransport = new FCMHttpTransport(httpAsyncClient, false);
+        if (log.isDebugEnabled()) {
+            log.debug("Initialized the shared FCM connection pool with maximum " + maxConnections
+                    + " connections and " + maxConnectionsPerRoute + " connections per route.");
+        }
+    }
+
+    /**
+     * Get the HTTP transport which sends requests through the shared pool.
+     *
+     * @return HTTP transport.
+     */
+    public FCMHttpTransport getHttpTransport() {
+
+        return httpTransport;
+    }
+
+    /**
+     * Get the number of connections currently in use.
+     *
+     * @return Leased connection count.
+     */
+    public int getLeasedConnections() {
+
+        return getTotalStats().getLeased();
+    }
+
+    /**
+     * Get the number of idle connections available for reuse.
+     *
+     * @return Available connection count.
+     */
+    public int getAvailableConnections() {
+
+        return getTotalStats().getAvailable();
+    }
+
+    /**
+     * Get the number of requests waiting for a connection.
+     *
+     * @return Pending request count.
+     */
+    public int getPendingRequests() {
+
+        return getTotalStats().getPending();
+    }
+
+    /**
+     * Get the maximum number of connections in the pool.
+     *
+     * @return Maximum connection count.
+     */
+    public int getMaxConnections() {
+
+        return getTotalStats().getMax();
+    }
+
+    /**
+     * Close the pool and the connections in it.
+     */
+    public void close() {
+
+        httpAsyncClient.close(CloseMode.GRACEFUL);
+        log.debug("Closed the shared FCM connection pool.");
+    }
+
+    private PoolStats getTotalStats() {
+
+        return connectionManager.getTotalStats();
+    }
+}
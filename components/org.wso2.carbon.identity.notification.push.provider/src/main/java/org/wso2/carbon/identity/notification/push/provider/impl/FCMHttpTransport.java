@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.util.StreamingContent;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP transport of the Firebase apps, which sends the requests through an HTTP/2 capable Apache async client.
+ * <p>
+ * The transport is built only on the public APIs of the Google HTTP client and the Apache HTTP client, so that it
+ * does not depend on the internal transport classes of the Firebase SDK.
+ */
+public class FCMHttpTransport extends HttpTransport {
+
+    private final CloseableHttpAsyncClient httpAsyncClient;
+    private final boolean ownsClient;
+
+    /**
+     * Create a transport which sends the requests through the given client.
+     *
+     * @param httpAsyncClient Started async client.
+     * @param ownsClient      Whether the client is closed together with this transport. Shared clients must not be
+     *                        owned.
+     */
+    public FCMHttpTransport(CloseableHttpAsyncClient httpAsyncClient, boolean ownsClient) {
+
+        this.httpAsyncClient = httpAsyncClient;
+        this.ownsClient = ownsClient;
+    }
+
+    /**
+     * Create a transport with a client of its own, which is closed when the transport is shut down.
+     *
+     * @return HTTP transport.
+     */
+    public static FCMHttpTransport createDefault() {
+
+        CloseableHttpAsyncClient httpAsyncClient = HttpAsyncClients.custom()
+                .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                .disableCookieManagement()
+                .disableRedirectHandling()
+                .build();
+        httpAsyncClient.start();
+        return new FCMHttpTransport(httpAsyncClient, true);
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+
+        return new FCMHttpRequest(method, url);
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+
+        return true;
+    }
+
+    @Override
+    public void shutdown() {
+
+        if (ownsClient) {
+            httpAsyncClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    /**
+     * Request sent through the async client. The calling thread waits for the response, as the Google HTTP client
+     * expects, while the connection is handled by the I/O threads of the client.
+     */
+    private class FCMHttpRequest extends LowLevelHttpRequest {
+
+        private final SimpleRequestBuilder requestBuilder;
+        private int readTimeout;
+
+        private FCMHttpRequest(String method, String url) {
+
+            this.requestBuilder = SimpleRequestBuilder.create(method).setUri(url);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+
+            requestBuilder.addHeader(name, value);
+        }
+
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) {
+
+            // The connect timeout is a setting of the connections, which are managed by the client.
+            this.readTimeout = readTimeout;
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+
+            StreamingContent content = getStreamingContent();
+            if (content != null) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                content.writeTo(body);
+                requestBuilder.setBody(body.toByteArray(),
+                        getContentType() != null ? ContentType.parse(getContentType()) : null);
+                if (getContentEncoding() != null) {
+                    requestBuilder.addHeader(HttpHeaders.CONTENT_ENCODING, getContentEncoding());
+                }
+            }
+            SimpleHttpRequest request = requestBuilder.build();
+            if (readTimeout > 0) {
+                request.setConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build());
+            }
+            Future<SimpleHttpResponse> responseFuture = httpAsyncClient.execute(request, null);
+            try {
+                return new FCMHttpResponse(responseFuture.get());
+            } catch (InterruptedException e) {
+                // The send was abandoned by the caller. Release the connection and keep the interrupt.
+                responseFuture.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the response of: " + request.getRequestUri(), e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Error while sending the request to: " + request.getRequestUri(),
+                        e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Response of a request sent through the async client, of which the body is fully read.
+     */
+    private static class FCMHttpResponse extends LowLevelHttpResponse {
+
+        private final SimpleHttpResponse response;
+        private final List<Header> headers = new ArrayList<>();
+
+        private FCMHttpResponse(SimpleHttpResponse response) {
+
+            this.response = response;
+            for (Header header : response.getHeaders()) {
+                headers.add(header);
+            }
+        }
+
+        @Override
+        public InputStream getContent() {
+
+            byte[] body = response.getBodyBytes();
+            return body != null ? new ByteArrayInputStream(body) : null;
+        }
+
+        @Override
+        public String getContentEncoding() {
+
+            Header header = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+            return header != null ? header.getValue() : null;
+        }
+
+        @Override
+        public long getContentLength() {
+
+            byte[] body = response.getBodyBytes();
+            return body != null ? body.length : 0;
+        }
+
+        @Override
+        public String getContentType() {
+
+            Header header = response.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+            return header != null ? header.getValue() : null;
+        }
+
+        @Override
+        public String getStatusLine() {
+
+            StringBuilder statusLine = new StringBuilder();
+            if (response.getVersion() != null) {
+                statusLine.append(response.getVersion()).append(' ');
+            }
+            statusLine.append(response.getCode());
+            if (response.getReasonPhrase() != null) {
+                statusLine.append(' ').append(response.getReasonPhrase());
+            }
+            return statusLine.toString();
+        }
+
+        @Override
+        public int getStatusCode() {
+
+            return response.getCode();
+        }
+
+        @Override
+        public String getReasonPhrase() {
+
+            return response.getReasonPhrase();
+        }
+
+        @Override
+        public int getHeaderCount() {
+
+            return headers.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+
+            return headers.get(index).getName();
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+
+            return headers.get(index).getValue();
+        }
+    }
+}
@@ -18,25 +18,44 @@
 
 package org.wso2.carbon.identity.notification.push.provider.impl;
 
+import com.google.api.core.ApiFuture;
 import com.google.auth.oauth2.GoogleCredentials;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.FirebaseOptions;
+import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.firebase.IncomingHttpResponse;
+import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.ApnsConfig;
+import com.google.firebase.messaging.Aps;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.MessagingErrorCode;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.notification.push.provider.PushDeviceFeedbackListener;
 import org.wso2.carbon.identity.notification.push.provider.PushProvider;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCache;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCacheEntry;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCacheKey;
 import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
 import org.wso2.carbon.identity.notification.push.provider.internal.ProviderDataHolder;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushSendEvent;
+import org.wso2.carbon.identity.notification.push.provider.model.CircuitBreakerConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.FCMPushProviderConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceFeedback;
 import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceData;
 import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationResult;
 import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+import org.wso2.carbon.identity.notification.push.provider.model.RateLimitConfig;
 import org.wso2.carbon.identity.secret.mgt.core.SecretManager;
 import org.wso2.carbon.identity.secret.mgt.core.SecretResolveManager;
 import org.wso2.carbon.identity.secret.mgt.core.exception.SecretManagementException;
@@ -45,13 +64,34 @@ import org.wso2.carbon.identity.secret.mgt.core.model.Secret;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import static com.google.firebase.messaging.MessagingErrorCode.INVALID_ARGUMENT;
 import static com.google.firebase.messaging.MessagingErrorCode.UNREGISTERED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_ENDPOINT_PROPERTY;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_SEND_TIMEOUT_PROPERTY;
 import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_SERVICE_ACCOUNT_SECRET;
 import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.PUSH_PROVIDER_SECRET_TYPE;
 
@@ -63,7 +103,133 @@ public class FCMPushProvider implements PushProvider {
     private static final Log log = LogFactory.getLog(FCMPushProvider.class);
     private static final String FCM_PROVIDER_NAME = "FCM";
     private static final String FCM_APP_PREFIX = "FirebaseApp-";
+    private static final String FCM_SHARED_APP_PREFIX = "FirebaseApp-shared-";
+    private static final String CREDENTIAL_FINGERPRINT_ALGORITHM = "SHA-256";
     private static final String FCM_SECRET_REFERENCE = "FCM-credentials";
+    private static final PushProviderSecretCacheKey SECRET_CACHE_KEY =
+            new PushProviderSecretCacheKey(PUSH_PROVIDER_SECRET_TYPE, FCM_SECRET_REFERENCE);
+    // Maximum number of messages FCM accepts in a single sendEach call.
+    private static final int FCM_MAX_BATCH_SIZE = 500;
+    private static final String APNS_PRIORITY_HEADER = "apns-priority";
+    private static final String APNS_PUSH_TYPE_HEADER = "apns-push-type";
+    private static final String APNS_COLLAPSE_ID_HEADER = "apns-collapse-id";
+    private static final String APNS_EXPIRATION_HEADER = "apns-expiration";
+    // FCM names the registration token in the errors caused by an invalid token.
+    private static final String FCM_REGISTRATION_TOKEN_ERROR = "registration token";
+    private static final String FCM_TOKEN_FIELD = "message.token";
+    private static final String ASYNC_SCHEDULER_THREAD_NAME = "FCM-Async-Send-Scheduler";
+
+    private final FirebaseAppRegistry firebaseAppRegistry;
+    private final FirebaseAppBindings firebaseAppBindings;
+    private final CredentialRefresher credentialRefresher;
+    private final FCMHttpClientPool httpClientPool;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final Supplier<Map<String, ?>> circuitBreakerStates;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final PushSendDeduplicator sendDeduplicator;
+    // Runs the delayed work of the asynchronous sends, so that it never occupies the common fork join pool.
+    private final ScheduledThreadPoolExecutor asyncScheduler;
+    private final int sendTimeout;
+    private final int defaultTimeToLive;
+    private final boolean endpointOverrideAllowed;
+    private final boolean secretCacheEnabled;
+    private final int secretCacheTimeToLive;
+
+    /**
+     * Create the FCM push provider with the default configurations.
+     */
+    public FCMPushProvider() {
+
+        this(new FCMPushProviderConfig());
+    }
+
+    /**
+     * Create the FCM push provider with the given configurations.
+     *
+     * @param fcmPushProviderConfig FCM push provider configurations.
+     */
+    public FCMPushProvider(FCMPushProviderConfig fcmPushProviderConfig) {
+
+        this.retryPolicy = new RetryPolicy(fcmPushProviderConfig.getRetryMaxAttempts(),
+                fcmPushProviderConfig.getRetryInitialBackoff(), fcmPushProviderConfig.getRetryMaxBackoff(),
+                fcmPushProviderConfig.getRetryDeadline());
+        CircuitBreakerConfig circuitBreakerConfig = fcmPushProviderConfig.getCircuitBreakerConfig();
+        this.circuitBreakerRegistry = circuitBreakerConfig.isEnabled() ?
+                new CircuitBreakerRegistry(circuitBreakerConfig) : null;
+        if (circuitBreakerRegistry != null) {
+            this.circuitBreakerStates = circuitBreakerRegistry::getStates;
+            PushMetrics.getInstance().registerCircuitBreakers(FCM_PROVIDER_NAME, circuitBreakerStates);
+        } else {
+            this.circuitBreakerStates = null;
+        }
+        RateLimitConfig rateLimitConfig = fcmPushProviderConfig.getRateLimitConfig();
+        this.rateLimiterRegistry = rateLimitConfig.isEnabled() ? new RateLimiterRegistry(rateLimitConfig) : null;
+        this.sendDeduplicator = fcmPushProviderConfig.isDeduplicationEnabled() ?
+                new PushSendDeduplicator(fcmPushProviderConfig.getDeduplicationWindow(),
+                        fcmPushProviderConfig.getDeduplicationMaxEntries()) : null;
+        this.sendTimeout = fcmPushProviderConfig.getSendTimeout();
+        this.defaultTimeToLive = fcmPushProviderConfig.getDefaultTimeToLive();
+        this.endpointOverrideAllowed = fcmPushProviderConfig.isEndpointOverrideAllowed();
+        this.firebaseAppBindings = fcmPushProviderConfig.isSharedAppEnabled() ? new FirebaseAppBindings() : null;
+        this.secretCacheEnabled = fcmPushProviderConfig.isSecretCacheEnabled();
+        this.secretCacheTimeToLive = fcmPushProviderConfig.getSecretCacheTimeToLive();
+        if (fcmPushProviderConfig.isCredentialRefreshEnabled()) {
+            this.credentialRefresher = new CredentialRefresher(fcmPushProviderConfig.getCredentialRefreshMargin(),
+                    fcmPushProviderConfig.getCredentialRefreshMaxJitter());
+        } else {
+            this.credentialRefresher = null;
+        }
+        if (fcmPushProviderConfig.isSharedHttpClientEnabled()) {
+            this.httpClientPool = new FCMHttpClientPool(fcmPushProviderConfig.getHttpClientMaxConnections(),
+                    fcmPushProviderConfig.getHttpClientMaxConnectionsPerRoute(),
+                    fcmPushProviderConfig.getHttpClientConnectTimeout(),
+                    fcmPushProviderConfig.getHttpClientIdleConnectionTimeout());
+        } else {
+            this.httpClientPool = null;
+        }
+        int asyncSchedulerThreads = Math.max(fcmPushProviderConfig.getAsyncSchedulerThreads(), 1);
+        this.asyncScheduler = new ScheduledThreadPoolExecutor(asyncSchedulerThreads, runnable -> {
+            Thread thread = new Thread(runnable, ASYNC_SCHEDULER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.asyncScheduler.setRemoveOnCancelPolicy(true);
+        this.firebaseAppRegistry = new FirebaseAppRegistry(fcmPushProviderConfig.getAppPoolMaxSize(),
+                fcmPushProviderConfig.getAppPoolIdleTimeout(), credentialRefresher,
+                httpClientPool != null ? httpClientPool.getHttpTransport() : null);
+    }
+
+    /**
+     * Get the connection pool shared by the Firebase apps, which exposes the pool metrics.
+     *
+     * @return Shared connection pool, or null if the shared connection pool is disabled.
+     */
+    public FCMHttpClientPool getHttpClientPool() {
+
+        return httpClientPool;
+    }
+
+    /**
+     * Release the Firebase apps and the background threads held by the provider.
+     */
+    public void shutdown() {
+
+        asyncScheduler.shutdownNow();
+        if (circuitBreakerStates != null) {
+            PushMetrics.getInstance().unregisterCircuitBreakers(FCM_PROVIDER_NAME, circuitBreakerStates);
+        }
+        firebaseAppRegistry.clear();
+        if (firebaseAppBindings != null) {
+            firebaseAppBindings.clear();
+        }
+        if (credentialRefresher != null) {
+            credentialRefresher.shutdown();
+        }
+        if (httpClientPool != null) {
+            httpClientPool.close();
+        }
+    }
 
     @Override
     public String getName() {
@@ -75,68 +241,301 @@ public class FCMPushProvider implements PushProvider {
     public void sendNotification(PushNotificationData pushNotificationData, PushSenderData pushSenderData,
                                  String tenantDomain) throws PushProviderException {
 
+        String sendKey = getSendKey(pushNotificationData, pushSenderData, tenantDomain);
+        CompletableFuture<Void> sendOutcome = null;
+        if (sendKey != null) {
+            sendOutcome = new CompletableFuture<>();
+            CompletableFuture<Void> previousOutcome = sendDeduplicator.register(sendKey, sendOutcome);
+            if (previousOutcome != null) {
+                awaitPreviousSend(previousOutcome, getPreviousSendTimeout(pushSenderData));
+                return;
+            }
+        }
+        PushSendEvent event = new PushSendEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        Throwable error = null;
+        try {
+            sendNotificationWithCircuitBreaker(pushNotificationData, pushSenderData, tenantDomain);
+        } catch (PushProviderException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            PushMetrics.getInstance().recordSend(FCM_PROVIDER_NAME, tenantDomain, System.nanoTime() - startTime,
+                    error);
+            commitSendEvent(event, tenantDomain, error);
+            if (error != null) {
+                reportDeviceRejection(pushNotificationData, tenantDomain, error);
+            }
+            if (sendOutcome != null) {
+                sendDeduplicator.complete(sendKey, sendOutcome, error, isRetriableSendError(error));
+            }
+        }
+    }
+
+    private void sendNotificationWithCircuitBreaker(PushNotificationData pushNotificationData,
+                                                    PushSenderData pushSenderData, String tenantDomain)
+            throws PushProviderException {
+
+        waitForRatePermits(reserveRatePermits(pushSenderData, tenantDomain, 1));
+        CircuitBreaker circuitBreaker = acquireCircuitBreaker(pushSenderData, tenantDomain);
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            doSendNotification(pushNotificationData, pushSenderData, tenantDomain);
+            failed = false;
+        } catch (PushProviderException e) {
+            failed = isProviderFailure(e);
+            throw e;
+        } finally {
+            recordResult(circuitBreaker, startTime, failed);
+        }
+    }
+
+    private void doSendNotification(PushNotificationData pushNotificationData, PushSenderData pushSenderData,
+                                    String tenantDomain) throws PushProviderException {
+
         log.debug("Initiating push notification sending process for FCM provider.");
-        String appName = generateFirebaseAppName(tenantDomain, pushSenderData.getProviderId());
+        try (FirebaseAppRegistry.FirebaseAppLease appLease = acquireFirebaseApp(pushSenderData, tenantDomain)) {
+            FirebaseMessaging firebaseMessaging = appLease.getFirebaseMessaging();
+            Message message = buildMessage(pushNotificationData);
+            long timeout = getSendTimeout(pushSenderData);
+
+            long deadline = retryPolicy.startDeadline();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    log.debug("Sending push notification via Firebase Messaging.");
+                    String response = timeout > 0 ? getWithinTimeout(firebaseMessaging.sendAsync(message), timeout)
+                            : firebaseMessaging.send(message);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Successfully sent message: " + response);
+                    }
+                    return;
+                } catch (FirebaseMessagingException e) {
+                    log.debug("Error while sending the push notification.", e);
+                    long retryDelay = retryPolicy.getRetryDelay(e, attempt, deadline);
+                    if (retryDelay < 0 || !sleepBeforeRetry(retryDelay)) {
+                        throw handleFirebaseMessagingException(e);
+                    }
+                }
+            }
+        }
+    }
 
-        if (FirebaseApp.getApps().stream().noneMatch(app -> app.getName().equals(appName))) {
-            log.debug("Firebase app instance not found. Initializing new Firebase app.");
+    @Override
+    public CompletableFuture<Void> sendNotificationAsync(PushNotificationData pushNotificationData,
+                                                         PushSenderData pushSenderData, String tenantDomain) {
 
-            Map<String, String> processedProperties = this.preProcessProperties(pushSenderData);
-            String serviceAccountString = processedProperties.get(FCM_SERVICE_ACCOUNT_SECRET);
-            if (StringUtils.isBlank(serviceAccountString)) {
-                log.debug("Service account credentials are missing.");
-                throw new PushProviderServerException(
-                        "Service account credentials are not provided for FCM push provider.");
+        String sendKey = getSendKey(pushNotificationData, pushSenderData, tenantDomain);
+        CompletableFuture<Void> sendOutcome = sendKey != null ? new CompletableFuture<>() : null;
+        if (sendOutcome != null) {
+            CompletableFuture<Void> previousOutcome = sendDeduplicator.register(sendKey, sendOutcome);
+            if (previousOutcome != null) {
+                log.debug("Push notification was already sent to the device. Reusing the outcome of the previous "
+                        + "send.");
+                PushMetrics.getInstance().recordSendOutcome(FCM_PROVIDER_NAME, PushMetrics.DEDUPLICATED);
+                // Hand out a dependent future, so that a caller cancelling it does not cancel the previous send.
+                CompletableFuture<Void> outcome = previousOutcome.thenApply(ignored -> null);
+                if (outcome.isDone()) {
+                    return outcome;
+                }
+                long timeout = getPreviousSendTimeout(pushSenderData);
+                ScheduledFuture<?> outcomeTimeout = scheduleAsyncTask(
+                        () -> outcome.completeExceptionally(buildSendTimeoutException(timeout, null)), timeout,
+                        TimeUnit.MILLISECONDS, outcome);
+                if (outcomeTimeout != null) {
+                    // Release the timer as soon as the previous send completes, rather than after the full timeout.
+                    outcome.whenComplete((ignored, throwable) -> outcomeTimeout.cancel(false));
+                }
+                return outcome;
             }
+        }
+        PushSendEvent event = new PushSendEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        CompletableFuture<Void> result =
+                sendNotificationAsyncWithRateLimit(pushNotificationData, pushSenderData, tenantDomain);
+        result.whenComplete((ignored, throwable) -> {
+            PushMetrics.getInstance().recordSend(FCM_PROVIDER_NAME, tenantDomain, System.nanoTime() - startTime,
+                    throwable);
+            commitSendEvent(event, tenantDomain, throwable);
+            if (throwable != null) {
+                reportDeviceRejection(pushNotificationData, tenantDomain, throwable);
+            }
+            if (sendOutcome != null) {
+                sendDeduplicator.complete(sendKey, sendOutcome, throwable, isRetriableSendError(throwable));
+            }
+        });
+        return result;
+    }
 
-            log.debug("Processing service account credentials for Firebase authentication.");
-            GoogleCredentials credentials;
+    private CompletableFuture<Void> sendNotificationAsyncWithRateLimit(PushNotificationData pushNotificationData,
+                                                                       PushSenderData pushSenderData,
+                                                                       String tenantDomain) {
+
+        long rateLimitWait;
+        try {
+            rateLimitWait = reserveRatePermits(pushSenderData, tenantDomain, 1);
+        } catch (PushProviderException e) {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+        if (rateLimitWait <= 0) {
+            return sendNotificationAsyncWithCircuitBreaker(pushNotificationData, pushSenderData, tenantDomain);
+        }
+        // Queue the send until the permit is available, without holding the calling thread.
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        ScheduledFuture<?> queuedSend = scheduleAsyncTask(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<Void> send;
             try {
-                ByteArrayInputStream jsonInputStream = new ByteArrayInputStream(
-                        serviceAccountString.getBytes(StandardCharsets.UTF_8));
-                credentials = GoogleCredentials.fromStream(jsonInputStream);
-                log.debug("Successfully loaded Google credentials from service account.");
-            } catch (IOException e) {
-                log.debug("Failed to read service account credentials.");
-                throw new PushProviderServerException(
-                        "Error occurred while reading the service account credentials.", e);
+                send = sendNotificationAsyncWithCircuitBreaker(pushNotificationData, pushSenderData, tenantDomain);
+            } catch (RuntimeException e) {
+                completeWithSendFailure(result, e);
+                return;
             }
+            send.whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    result.complete(null);
+                }
+            });
+            result.whenComplete((ignored, throwable) -> {
+                if (!send.isDone()) {
+                    send.cancel(true);
+                }
+            });
+        }, rateLimitWait, TimeUnit.NANOSECONDS, result);
+        if (queuedSend != null) {
+            result.whenComplete((ignored, throwable) -> queuedSend.cancel(false));
+        }
+        return result;
+    }
 
-            FirebaseOptions options = FirebaseOptions.builder().setCredentials(credentials).build();
-            FirebaseApp.initializeApp(options, appName);
-            log.debug("Successfully initialized the firebase app.");
-        } else {
-            log.debug("Using existing Firebase app instance.");
+    /**
+     * Run the given task on the asynchronous send scheduler of the provider after the given delay. If the provider
+     * has been shut down, the task is not run and the given send is completed with a failure instead.
+     *
+     * @param task   Task to be run.
+     * @param delay  Delay after which the task is run.
+     * @param unit   Unit of the delay.
+     * @param result Future of the send which the task belongs to.
+     * @return Handle which cancels the task, or null if the task was not scheduled.
+     */
+    private ScheduledFuture<?> scheduleAsyncTask(Runnable task, long delay, TimeUnit unit,
+                                                 CompletableFuture<Void> result) {
+
+        try {
+            return asyncScheduler.schedule(task, delay, unit);
+        } catch (RejectedExecutionException e) {
+            completeWithSendFailure(result, e);
+            return null;
         }
+    }
 
-        FirebaseApp firebaseApp = FirebaseApp.getInstance(appName);
+    private CompletableFuture<Void> sendNotificationAsyncWithCircuitBreaker(PushNotificationData pushNotificationData,
+                                                                            PushSenderData pushSenderData,
+                                                                            String tenantDomain) {
 
-        // Build the content for the pop-up notification.
-        Notification notification = Notification.builder()
-                .setTitle(pushNotificationData.getNotificationTitle())
-                .setBody(pushNotificationData.getNotificationBody())
-                .build();
+        CircuitBreaker circuitBreaker;
+        try {
+            circuitBreaker = acquireCircuitBreaker(pushSenderData, tenantDomain);
+        } catch (PushProviderException e) {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+        long startTime = System.nanoTime();
+        CompletableFuture<Void> result = doSendNotificationAsync(pushNotificationData, pushSenderData, tenantDomain);
+        if (circuitBreaker != null) {
+            result.whenComplete((ignored, throwable) ->
+                    recordResult(circuitBreaker, startTime, throwable != null && isProviderFailure(throwable)));
+        }
+        return result;
+    }
 
-        // Build the push notification message.
-        log.debug("Building push notification message with device token and additional data.");
-        Message message = Message.builder()
-                .setToken(pushNotificationData.getDeviceToken())
-                .setNotification(notification)
-                .putAllData(pushNotificationData.getAdditionalData())
-                .build();
+    private CompletableFuture<Void> doSendNotificationAsync(PushNotificationData pushNotificationData,
+                                                            PushSenderData pushSenderData, String tenantDomain) {
 
+        log.debug("Initiating asynchronous push notification sending process for FCM provider.");
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        Message message = buildMessage(pushNotificationData);
+        sendAsyncAttempt(pushSenderData, tenantDomain, message, getSendTimeout(pushSenderData), result, 1,
+                retryPolicy.startDeadline());
+        return result;
+    }
+
+    @Override
+    public List<PushNotificationResult> sendNotifications(List<PushNotificationData> pushNotificationDataList,
+                                                          PushSenderData pushSenderData, String tenantDomain)
+            throws PushProviderException {
+
+        if (pushNotificationDataList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CircuitBreaker circuitBreaker = acquireCircuitBreaker(pushSenderData, tenantDomain);
+        long startTime = System.nanoTime();
+        boolean failed = true;
         try {
-            log.debug("Sending push notification via Firebase Messaging.");
-            String response = FirebaseMessaging.getInstance(firebaseApp).send(message);
-            if (log.isDebugEnabled()) {
-                log.debug("Successfully sent message: " + response);
+            List<PushNotificationResult> results =
+                    doSendNotifications(pushNotificationDataList, pushSenderData, tenantDomain);
+            // The provider is considered failing only if none of the notifications could be delivered.
+            failed = results.stream().allMatch(result -> !result.isSuccessful()
+                    && isProviderFailureCode(result.getErrorCode()));
+            for (PushNotificationResult result : results) {
+                PushMetrics.getInstance().recordSendOutcome(FCM_PROVIDER_NAME, result.getErrorCode());
             }
-        } catch (FirebaseMessagingException e) {
-            log.debug("Error while sending the push notification.", e);
-            throw handleFirebaseMessagingException(e);
+            return results;
+        } catch (PushProviderException e) {
+            failed = isProviderFailure(e);
+            PushMetrics.getInstance().recordSendOutcome(FCM_PROVIDER_NAME, e.getErrorCode());
+            throw e;
+        } finally {
+            recordResult(circuitBreaker, startTime, failed);
         }
     }
 
+    private List<PushNotificationResult> doSendNotifications(List<PushNotificationData> pushNotificationDataList,
+                                                             PushSenderData pushSenderData, String tenantDomain)
+            throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Initiating batch push notification sending process for FCM provider with "
+                    + pushNotificationDataList.size() + " notifications.");
+        }
+        List<PushNotificationResult> results = new ArrayList<>(pushNotificationDataList.size());
+        if (pushNotificationDataList.isEmpty()) {
+            return results;
+        }
+        long timeout = getSendTimeout(pushSenderData);
+        try (FirebaseAppRegistry.FirebaseAppLease appLease = acquireFirebaseApp(pushSenderData, tenantDomain)) {
+            for (int start = 0; start < pushNotificationDataList.size(); start += FCM_MAX_BATCH_SIZE) {
+                List<PushNotificationData> chunk = pushNotificationDataList.subList(start,
+                        Math.min(start + FCM_MAX_BATCH_SIZE, pushNotificationDataList.size()));
+                try {
+                    waitForRatePermits(reserveRatePermits(pushSenderData, tenantDomain, chunk.size()));
+                } catch (PushProviderException e) {
+                    for (PushNotificationData pushNotificationData : chunk) {
+                        results.add(new PushNotificationResult(pushNotificationData, e.getErrorCode(),
+                                e.getMessage()));
+                    }
+                    continue;
+                }
+                List<Message> messages = new ArrayList<>(chunk.size());
+                for (PushNotificationData pushNotificationData : chunk) {
+                    messages.add(buildMessage(pushNotificationData));
+                }
+
+                results.addAll(sendChunk(appLease.getFirebaseMessaging(), chunk, messages, timeout, tenantDomain));
+            }
+        }
+        return results;
+    }
+
     @Override
     public void registerDevice(PushDeviceData device, PushSenderData pushSenderData) throws PushProviderException {
 
@@ -205,8 +604,16 @@ public class FCMPushProvider implements PushProvider {
                     pushSenderData.getProviderId());
         }
         String appName = generateFirebaseAppName(tenantDomain, pushSenderData.getProviderId());
-        FirebaseApp.getApps().stream()
-                .filter(app -> app.getName().equals(appName)).forEach(FirebaseApp::delete);
+        if (firebaseAppBindings != null && firebaseAppBindings.getAppName(appName) != null) {
+            // The app may be shared with other push senders, in which case it is kept until they are updated too.
+            releaseFirebaseApp(firebaseAppBindings.unbind(appName));
+        } else {
+            firebaseAppRegistry.removeFirebaseApp(appName);
+        }
+        if (circuitBreakerRegistry != null) {
+            circuitBreakerRegistry.reset(tenantDomain, pushSenderData.getProviderId());
+        }
+        clearCachedSecret(tenantDomain);
     }
 
     @Override
@@ -239,6 +646,7 @@ public class FCMPushProvider implements PushProvider {
                 newSecret.setSecretValue(serviceAccountContent);
                 secretManager.addSecret(PUSH_PROVIDER_SECRET_TYPE, newSecret);
             }
+            clearCachedSecret();
             properties.put(FCM_SERVICE_ACCOUNT_SECRET, FCM_SECRET_REFERENCE);
             return properties;
         } catch (SecretManagementException e) {
@@ -266,6 +674,12 @@ public class FCMPushProvider implements PushProvider {
                 throw new PushProviderServerException(error.getCode(), error.getMessage() + FCM_SERVICE_ACCOUNT_SECRET);
             }
 
+            String cachedSecret = getCachedSecret();
+            if (cachedSecret != null) {
+                log.debug("Resolved secret found in the cache.");
+                properties.put(FCM_SERVICE_ACCOUNT_SECRET, cachedSecret);
+                return properties;
+            }
             SecretManager secretManager = ProviderDataHolder.getInstance().getSecretManager();
             SecretResolveManager secretResolveManager = ProviderDataHolder.getInstance().getSecretResolveManager();
             if (secretManager.isSecretExist(PUSH_PROVIDER_SECRET_TYPE, FCM_SECRET_REFERENCE)) {
@@ -273,6 +687,7 @@ public class FCMPushProvider implements PushProvider {
                 ResolvedSecret resolvedSecret =
                         secretResolveManager.getResolvedSecret(PUSH_PROVIDER_SECRET_TYPE, FCM_SECRET_REFERENCE);
                 properties.put(FCM_SERVICE_ACCOUNT_SECRET, resolvedSecret.getResolvedSecretValue());
+                cacheSecret(resolvedSecret.getResolvedSecretValue());
                 return properties;
             } else {
                 log.debug("Secret does not exist in secret manager.");
@@ -303,6 +718,7 @@ public class FCMPushProvider implements PushProvider {
             } else {
                 log.debug("Secret does not exist in secret manager. No deletion required.");
             }
+            clearCachedSecret();
         } catch (SecretManagementException e) {
             log.debug("Error occurred while deleting secrets.");
             PushProviderConstants.ErrorMessages error =
@@ -312,24 +728,892 @@ public class FCMPushProvider implements PushProvider {
     }
 
     /**
-     * Handle FirebaseMessagingException and throw PushProviderException with the appropriate error message.
+     * Get the resolved push provider secret of the current tenant from the cache.
      *
-     * @param e FirebaseMessagingException
-     * @throws PushProviderException PushProviderException
+     * @return Resolved secret value, or null if it is not cached or the cache is disabled.
+     */
+    private String getCachedSecret() {
+
+        if (!secretCacheEnabled) {
+            return null;
+        }
+        PushProviderSecretCacheEntry cacheEntry =
+                PushProviderSecretCache.getInstance().getValueFromCache(SECRET_CACHE_KEY, getTenantDomain());
+        return cacheEntry != null ? cacheEntry.getResolvedSecretValue() : null;
+    }
+
+    private void cacheSecret(String resolvedSecretValue) {
+
+        if (secretCacheEnabled && resolvedSecretValue != null) {
+            PushProviderSecretCache.getInstance().addToCache(SECRET_CACHE_KEY,
+                    new PushProviderSecretCacheEntry(resolvedSecretValue, secretCacheTimeToLive), getTenantDomain());
+        }
+    }
+
+    private void clearCachedSecret() {
+
+        if (secretCacheEnabled) {
+            clearCachedSecret(getTenantDomain());
+        }
+    }
+
+    /**
+     * Clear the cached push provider secret of the given tenant. The entry is cleared on the other nodes of the
+     * cluster as well, so that they resolve the changed secret on the next push notification.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    private void clearCachedSecret(String tenantDomain) {
+
+        if (secretCacheEnabled) {
+            PushProviderSecretCache.getInstance().clearCacheEntry(SECRET_CACHE_KEY, tenantDomain);
+        }
+    }
+
+    private String getTenantDomain() {
+
+        return PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+    }
+
+    /**
+     * Lease the Firebase app of the given push sender for sending, initializing the app if it is not available. The
+     * lease keeps the app from being deleted by an eviction until it is closed.
+     * <p>
+     * When shared apps are enabled, the first request of a push sender binds it to the app named by the fingerprint
+     * of its credentials, so that push senders configured with the same service account share one app. Later
+     * requests use the bound app until the credentials of the push sender are updated.
+     *
+     * @param pushSenderData Push sender data.
+     * @param tenantDomain   Tenant domain.
+     * @return Lease of the Firebase app, which must be closed once the send is complete.
+     * @throws PushProviderException If an error occurs while initializing the Firebase app.
+     */
+    private FirebaseAppRegistry.FirebaseAppLease acquireFirebaseApp(PushSenderData pushSenderData,
+                                                                    String tenantDomain)
+            throws PushProviderException {
+
+        String appName = generateFirebaseAppName(tenantDomain, pushSenderData.getProviderId());
+        // Endpoint overrides are honoured only when allowed at the server level, since they redirect the requests
+        // carrying the access tokens of the push sender.
+        String endpoint = endpointOverrideAllowed ? resolveEndpoint(pushSenderData) : null;
+        if (firebaseAppBindings == null) {
+            return firebaseAppRegistry.acquireFirebaseApp(appName, () -> loadCredentials(pushSenderData), endpoint);
+        }
+        String boundAppName = firebaseAppBindings.getAppName(appName);
+        if (boundAppName != null) {
+            return firebaseAppRegistry.acquireFirebaseApp(boundAppName, () -> loadCredentials(pushSenderData),
+                    endpoint);
+        }
+        GoogleCredentials credentials = loadCredentials(pushSenderData);
+        String sharedAppName = generateSharedFirebaseAppName(credentials, endpoint);
+        if (sharedAppName == null) {
+            // Credentials which can not be fingerprinted get an app of their own.
+            sharedAppName = appName;
+        } else if (log.isDebugEnabled()) {
+            log.debug("Binding the push sender: " + appName + " to the shared Firebase app: " + sharedAppName);
+        }
+        releaseFirebaseApp(firebaseAppBindings.bind(appName, sharedAppName));
+        return firebaseAppRegistry.acquireFirebaseApp(sharedAppName, () -> credentials, endpoint);
+    }
+
+    /**
+     * Remove the given Firebase app which is no longer referenced by any push sender.
+     *
+     * @param appName Name of the Firebase app, or null if there is no app to be removed.
+     */
+    private void releaseFirebaseApp(String appName) {
+
+        if (appName != null) {
+            firebaseAppRegistry.removeFirebaseApp(appName);
+        }
+    }
+
+    /**
+     * Generate the name of the Firebase app shared by the push senders configured with the given credentials.
+     * <p>
+     * The name is a digest of the project, the service account, the private key id and the private key itself, so
+     * that only push senders holding the same private key share an app. The endpoint is included as well, since an
+     * app sends all its requests to a single endpoint.
+     *
+     * @param credentials Google credentials of the push sender.
+     * @param endpoint    Root URL of the FCM compatible endpoint, or null for the Google endpoint.
+     * @return Name of the shared app, or null if the credentials can not be fingerprinted.
+     */
+    private String generateSharedFirebaseAppName(GoogleCredentials credentials, String endpoint) {
+
+        if (!(credentials instanceof ServiceAccountCredentials)) {
+            return null;
+        }
+        ServiceAccountCredentials serviceAccountCredentials = (ServiceAccountCredentials) credentials;
+        PrivateKey privateKey = serviceAccountCredentials.getPrivateKey();
+        if (privateKey == null || privateKey.getEncoded() == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance(CREDENTIAL_FINGERPRINT_ALGORITHM);
+            updateDigest(digest, serviceAccountCredentials.getProjectId());
+            updateDigest(digest, serviceAccountCredentials.getClientEmail());
+            updateDigest(digest, serviceAccountCredentials.getPrivateKeyId());
+            updateDigest(digest, endpoint);
+            digest.update(privateKey.getEncoded());
+            return FCM_SHARED_APP_PREFIX + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            log.debug("Unable to fingerprint the service account credentials.", e);
+            return null;
+        }
+    }
+
+    private void updateDigest(MessageDigest digest, String value) {
+
+        digest.update(StringUtils.defaultString(value).getBytes(StandardCharsets.UTF_8));
+        // Separate the values, so that different splits of the same characters produce different digests.
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Resolve the FCM compatible endpoint configured for the given push sender.
+     *
+     * @param pushSenderData Push sender data.
+     * @return Root URL of the endpoint, or null to use the Google endpoint.
+     * @throws PushProviderException If the configured endpoint is not a valid HTTP URL.
+     */
+    private String resolveEndpoint(PushSenderData pushSenderData) throws PushProviderException {
+
+        String endpoint = pushSenderData.getProperties() != null ?
+                pushSenderData.getProperties().get(FCM_ENDPOINT_PROPERTY) : null;
+        if (StringUtils.isBlank(endpoint)) {
+            return null;
+        }
+        endpoint = endpoint.trim();
+        try {
+            URI endpointUri = new URI(endpoint);
+            if (("http".equalsIgnoreCase(endpointUri.getScheme()) || "https".equalsIgnoreCase(endpointUri.getScheme()))
+                    && StringUtils.isNotBlank(endpointUri.getHost())) {
+                return endpoint;
+            }
+        } catch (URISyntaxException e) {
+            log.debug("Invalid FCM endpoint configured for the push sender.", e);
+        }
+        PushProviderConstants.ErrorMessages error = PushProviderConstants.ErrorMessages.ERROR_REQUIRED_METADATA_MISSING;
+        throw new PushProviderServerException(error.getCode(), error.getMessage() + FCM_ENDPOINT_PROPERTY);
+    }
+
+    /**
+     * Load the credentials required to initialize the Firebase app of the given push sender.
+     *
+     * @param pushSenderData Push sender data.
+     * @return Google credentials.
+     * @throws PushProviderException If the service account credentials are missing or invalid.
+     */
+    private GoogleCredentials loadCredentials(PushSenderData pushSenderData) throws PushProviderException {
+
+        Map<String, String> processedProperties = this.preProcessProperties(pushSenderData);
+        String serviceAccountString = processedProperties.get(FCM_SERVICE_ACCOUNT_SECRET);
+        if (StringUtils.isBlank(serviceAccountString)) {
+            log.debug("Service account credentials are missing.");
+            throw new PushProviderServerException(
+                    "Service account credentials are not provided for FCM push provider.");
+        }
+
+        log.debug("Processing service account credentials for Firebase authentication.");
+        GoogleCredentials credentials;
+        try {
+            ByteArrayInputStream jsonInputStream = new ByteArrayInputStream(
+                    serviceAccountString.getBytes(StandardCharsets.UTF_8));
+            credentials = GoogleCredentials.fromStream(jsonInputStream);
+            log.debug("Successfully loaded Google credentials from service account.");
+        } catch (IOException e) {
+            log.debug("Failed to read service account credentials.");
+            throw new PushProviderServerException(
+                    "Error occurred while reading the service account credentials.", e);
+        }
+        return credentials;
+    }
+
+    /**
+     * Build the FCM message for the given push notification data.
+     * Package-private so that building the message can be benchmarked on its own.
+     *
+     * @param pushNotificationData Push notification data.
+     * @return FCM message.
+     */
+    Message buildMessage(PushNotificationData pushNotificationData) {
+
+        // Build the content for the pop-up notification.
+        Notification notification = Notification.builder()
+                .setTitle(pushNotificationData.getNotificationTitle())
+                .setBody(pushNotificationData.getNotificationBody())
+                .build();
+
+        // Build the push notification message.
+        log.debug("Building push notification message with device token and additional data.");
+        PushDeliveryProfile deliveryProfile = pushNotificationData.getDeliveryProfile();
+        Long timeToLive = deliveryProfile.getTimeToLive();
+        if (timeToLive == null && defaultTimeToLive >= 0) {
+            timeToLive = (long) defaultTimeToLive;
+        }
+        return Message.builder()
+                .setToken(pushNotificationData.getDeviceToken())
+                .setNotification(notification)
+                .putAllData(pushNotificationData.getAdditionalData())
+                .setAndroidConfig(buildAndroidConfig(deliveryProfile, timeToLive))
+                .setApnsConfig(buildApnsConfig(deliveryProfile, timeToLive))
+                .build();
+    }
+
+    /**
+     * Build the Android specific options of the message from the delivery profile.
+     *
+     * @param deliveryProfile Delivery profile of the push notification.
+     * @param timeToLive      Time to live in seconds, or null to use the default of FCM.
+     * @return Android config.
+     */
+    private AndroidConfig buildAndroidConfig(PushDeliveryProfile deliveryProfile, Long timeToLive) {
+
+        // High priority messages wake the device from Doze, so that time critical notifications are not deferred.
+        AndroidConfig.Builder androidConfigBuilder = AndroidConfig.builder()
+                .setPriority(deliveryProfile.getPriority() == PushDeliveryProfile.Priority.HIGH ?
+                        AndroidConfig.Priority.HIGH : AndroidConfig.Priority.NORMAL);
+        if (timeToLive != null) {
+            androidConfigBuilder.setTtl(TimeUnit.SECONDS.toMillis(Math.max(timeToLive, 0)));
+        }
+        if (StringUtils.isNotBlank(deliveryProfile.getCollapseKey())) {
+            androidConfigBuilder.setCollapseKey(deliveryProfile.getCollapseKey());
+        }
+        return androidConfigBuilder.build();
+    }
+
+    /**
+     * Build the APNs specific options of the message from the delivery profile.
+     *
+     * @param deliveryProfile Delivery profile of the push notification.
+     * @param timeToLive      Time to live in seconds, or null to use the default of APNs.
+     * @return APNs config.
+     */
+    private ApnsConfig buildApnsConfig(PushDeliveryProfile deliveryProfile, Long timeToLive) {
+
+        ApnsConfig.Builder apnsConfigBuilder = ApnsConfig.builder();
+        if (StringUtils.isNotBlank(deliveryProfile.getApnsPriority())) {
+            apnsConfigBuilder.putHeader(APNS_PRIORITY_HEADER, deliveryProfile.getApnsPriority());
+        }
+        if (StringUtils.isNotBlank(deliveryProfile.getApnsPushType())) {
+            apnsConfigBuilder.putHeader(APNS_PUSH_TYPE_HEADER, deliveryProfile.getApnsPushType());
+        }
+        if (StringUtils.isNotBlank(deliveryProfile.getCollapseKey())) {
+            apnsConfigBuilder.putHeader(APNS_COLLAPSE_ID_HEADER, deliveryProfile.getCollapseKey());
+        }
+        if (timeToLive != null) {
+            // APNs expects the absolute expiry time in epoch seconds. Zero means deliver now or never.
+            long expiration = timeToLive > 0 ?
+                    TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + timeToLive : 0;
+            apnsConfigBuilder.putHeader(APNS_EXPIRATION_HEADER, String.valueOf(expiration));
+        }
+        // The aps dictionary is mandatory. Background notifications must be flagged as content available.
+        apnsConfigBuilder.setAps(Aps.builder()
+                .setContentAvailable(PushDeliveryProfile.APNS_PUSH_TYPE_BACKGROUND.equals(
+                        deliveryProfile.getApnsPushType()))
+                .build());
+        return apnsConfigBuilder.build();
+    }
+
+    /**
+     * Send a chunk of messages with a single sendEach call, retrying the messages which failed with a transient
+     * error.
+     *
+     * @param firebaseMessaging Firebase messaging instance.
+     * @param chunk             Push notifications of the chunk.
+     * @param messages          FCM messages built for the push notifications, in the same order.
+     * @param timeout           Time in milliseconds within which each FCM call must complete, or zero for no limit.
+     * @param tenantDomain      Tenant domain.
+     * @return Results of the push notifications, in the same order.
+     */
+    private List<PushNotificationResult> sendChunk(FirebaseMessaging firebaseMessaging,
+                                                   List<PushNotificationData> chunk, List<Message> messages,
+                                                   long timeout, String tenantDomain) {
+
+        PushNotificationResult[] results = new PushNotificationResult[chunk.size()];
+        List<Integer> pending = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            pending.add(i);
+        }
+        long deadline = retryPolicy.startDeadline();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<Message> pendingMessages = new ArrayList<>(pending.size());
+            for (int index : pending) {
+                pendingMessages.add(messages.get(index));
+            }
+
+            List<Integer> retryable = new ArrayList<>();
+            long retryDelay = -1;
+            try {
+                BatchResponse batchResponse = timeout > 0 ?
+                        getWithinTimeout(firebaseMessaging.sendEachAsync(pendingMessages), timeout) :
+                        firebaseMessaging.sendEach(pendingMessages);
+                if (log.isDebugEnabled()) {
+                    log.debug("Batch sent with " + batchResponse.getSuccessCount() + " successful and "
+                            + batchResponse.getFailureCount() + " failed messages.");
+                }
+                List<SendResponse> responses = batchResponse.getResponses();
+                for (int i = 0; i < pending.size(); i++) {
+                    int index = pending.get(i);
+                    SendResponse response = responses.get(i);
+                    if (response.isSuccessful()) {
+                        results[index] = new PushNotificationResult(chunk.get(index));
+                        continue;
+                    }
+                    long delay = retryPolicy.getRetryDelay(response.getException(), attempt, deadline);
+                    if (delay >= 0) {
+                        retryable.add(index);
+                        retryDelay = Math.max(retryDelay, delay);
+                    } else {
+                        PushProviderConstants.ErrorMessages error =
+                                resolveErrorMessage(response.getException().getMessagingErrorCode());
+                        results[index] = new PushNotificationResult(chunk.get(index), error.getCode(),
+                                error.getMessage());
+                        if (isDeviceRejection(response.getException())) {
+                            notifyDeviceRejected(chunk.get(index), tenantDomain, error.getCode());
+                        }
+                    }
+                }
+            } catch (FirebaseMessagingException e) {
+                // The whole call was rejected, hence every pending message has failed with the same error.
+                log.debug("Error while sending the batch of push notifications.", e);
+                retryDelay = retryPolicy.getRetryDelay(e, attempt, deadline);
+                if (retryDelay >= 0) {
+                    retryable.addAll(pending);
+                } else {
+                    PushProviderConstants.ErrorMessages error = resolveErrorMessage(e.getMessagingErrorCode());
+                    for (int index : pending) {
+                        results[index] = new PushNotificationResult(chunk.get(index), error.getCode(),
+                                error.getMessage());
+                    }
+                }
+            } catch (PushProviderException e) {
+                for (int index : pending) {
+                    results[index] = new PushNotificationResult(chunk.get(index), e.getErrorCode(), e.getMessage());
+                }
+            }
+
+            pending = retryable;
+            if (!pending.isEmpty() && !sleepBeforeRetry(retryDelay)) {
+                PushProviderConstants.ErrorMessages error =
+                        PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+                for (int index : pending) {
+                    results[index] = new PushNotificationResult(chunk.get(index), error.getCode(),
+                            error.getMessage());
+                }
+                break;
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Send the message asynchronously, retrying transient failures after a delay without blocking any thread.
+     * <p>
+     * The Firebase app is leased again for each attempt, since the app of a previous attempt may have been replaced
+     * by a credential update or evicted during the retry delay. Any failure of an attempt completes the result, so
+     * that the send never hangs on an error raised outside the FCM call.
+     *
+     * @param pushSenderData Push sender data.
+     * @param tenantDomain   Tenant domain.
+     * @param message        FCM message.
+     * @param timeout        Time in milliseconds within which the FCM call must complete, or zero for no limit.
+     * @param result         Future to be completed with the outcome of the send.
+     * @param attempt        Number of the attempt, starting from one.
+     * @param deadline       Deadline of the send as a {@link System#nanoTime()} value.
      */
-    private PushProviderException handleFirebaseMessagingException(FirebaseMessagingException e)
+    private void sendAsyncAttempt(PushSenderData pushSenderData, String tenantDomain, Message message, long timeout,
+                                  CompletableFuture<Void> result, int attempt, long deadline) {
+
+        if (result.isDone()) {
+            return;
+        }
+        log.debug("Sending push notification asynchronously via Firebase Messaging.");
+        FirebaseAppRegistry.FirebaseAppLease appLease;
+        ApiFuture<String> sendFuture;
+        try {
+            appLease = acquireFirebaseApp(pushSenderData, tenantDomain);
+        } catch (PushProviderException e) {
+            result.completeExceptionally(e);
+            return;
+        } catch (RuntimeException e) {
+            completeWithSendFailure(result, e);
+            return;
+        }
+        try {
+            sendFuture = appLease.getFirebaseMessaging().sendAsync(message);
+        } catch (RuntimeException e) {
+            appLease.close();
+            completeWithSendFailure(result, e);
+            return;
+        }
+        ScheduledFuture<?> attemptTimeout = timeout > 0 ? scheduleAsyncTask(
+                () -> result.completeExceptionally(buildSendTimeoutException(timeout, null)), timeout,
+                TimeUnit.MILLISECONDS, result) : null;
+        // The listener runs on the thread that completes the FCM call, so no additional thread is held here.
+        sendFuture.addListener(() -> {
+            if (attemptTimeout != null) {
+                attemptTimeout.cancel(false);
+            }
+            appLease.close();
+            FirebaseMessagingException retryableError = completeAsyncSend(sendFuture, result);
+            if (retryableError == null) {
+                return;
+            }
+            long retryDelay = retryPolicy.getRetryDelay(retryableError, attempt, deadline);
+            if (retryDelay < 0) {
+                result.completeExceptionally(handleFirebaseMessagingException(retryableError));
+                return;
+            }
+            // The next attempt leases the Firebase app again, which may initialize it, so it runs on the bounded
+            // scheduler of the provider rather than on a shared pool.
+            scheduleAsyncTask(() -> sendAsyncAttempt(pushSenderData, tenantDomain, message, timeout, result,
+                    attempt + 1, deadline), retryDelay, TimeUnit.MILLISECONDS, result);
+        }, Runnable::run);
+        result.whenComplete((ignored, throwable) -> {
+            // Abandon the FCM call if the send was cancelled or timed out.
+            if (!sendFuture.isDone()) {
+                sendFuture.cancel(true);
+            }
+        });
+    }
+
+    private void completeWithSendFailure(CompletableFuture<Void> result, RuntimeException e) {
+
+        log.debug("Error while sending the push notification.", e);
+        PushProviderConstants.ErrorMessages error =
+                PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+        result.completeExceptionally(new PushProviderServerException(error.getCode(), error.getMessage(), e));
+    }
+
+    /**
+     * Complete the result of an asynchronous send once the FCM call is done.
+     *
+     * @param sendFuture FCM send future, which is already completed.
+     * @param result     Future to be completed with the outcome of the send.
+     * @return FCM error of the send if the result was left incomplete for a possible retry, null otherwise.
+     */
+    private FirebaseMessagingException completeAsyncSend(ApiFuture<String> sendFuture,
+                                                         CompletableFuture<Void> result) {
+
+        try {
+            String response = sendFuture.get();
+            if (log.isDebugEnabled()) {
+                log.debug("Successfully sent message: " + response);
+            }
+            result.complete(null);
+        } catch (CancellationException e) {
+            result.cancel(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            result.completeExceptionally(new PushProviderServerException(error.getCode(), error.getMessage(), e));
+        } catch (ExecutionException e) {
+            log.debug("Error while sending the push notification.", e.getCause());
+            if (e.getCause() instanceof FirebaseMessagingException) {
+                return (FirebaseMessagingException) e.getCause();
+            }
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            result.completeExceptionally(
+                    new PushProviderServerException(error.getCode(), error.getMessage(), e.getCause()));
+        }
+        return null;
+    }
+
+    /**
+     * Get the time within which a call to FCM must complete for the given push sender.
+     *
+     * @param pushSenderData Push sender data.
+     * @return Send timeout in milliseconds, or zero if the calls are not bounded.
+     */
+    private long getSendTimeout(PushSenderData pushSenderData) {
+
+        String senderTimeout = pushSenderData.getProperties() != null ?
+                pushSenderData.getProperties().get(FCM_SEND_TIMEOUT_PROPERTY) : null;
+        if (StringUtils.isNotBlank(senderTimeout)) {
+            try {
+                return Math.max(Long.parseLong(senderTimeout.trim()), 0);
+            } catch (NumberFormatException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Invalid send timeout configured for the push sender: " + pushSenderData.getProviderId()
+                            + ". Using the server level send timeout.");
+                }
+            }
+        }
+        return Math.max(sendTimeout, 0);
+    }
+
+    /**
+     * Wait for an FCM call to complete within the given time.
+     *
+     * @param future  Future of the FCM call.
+     * @param timeout Time to wait in milliseconds.
+     * @param <T>     Type of the response.
+     * @return Response of the FCM call.
+     * @throws FirebaseMessagingException If FCM returned an error.
+     * @throws PushProviderException      If the call did not complete in time or could not be completed.
+     */
+    private <T> T getWithinTimeout(ApiFuture<T> future, long timeout) throws FirebaseMessagingException,
+            PushProviderException {
+
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw buildSendTimeoutException(timeout, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FirebaseMessagingException) {
+                throw (FirebaseMessagingException) e.getCause();
+            }
+            PushProviderConstants.ErrorMessages error =
+                    PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e.getCause());
+        }
+    }
+
+    private PushProviderServerException buildSendTimeoutException(long timeout, Throwable cause) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("FCM call did not complete within the send timeout of " + timeout + " ms.");
+        }
+        PushProviderConstants.ErrorMessages error =
+                PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_TIMED_OUT;
+        return new PushProviderServerException(error.getCode(), error.getMessage(), cause);
+    }
+
+    /**
+     * Wait before retrying a failed send.
+     *
+     * @param retryDelay Delay in milliseconds.
+     * @return True if the wait completed, false if the thread was interrupted.
+     */
+    private boolean sleepBeforeRetry(long retryDelay) {
+
+        try {
+            Thread.sleep(retryDelay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Reserve rate limit permits for sending push notifications through the given push sender.
+     *
+     * @param pushSenderData Push sender data.
+     * @param tenantDomain   Tenant domain.
+     * @param permits        Number of push notifications to be sent.
+     * @return Time in nanoseconds to wait before sending.
+     * @throws PushProviderException If the permits are not available within the maximum wait.
+     */
+    private long reserveRatePermits(PushSenderData pushSenderData, String tenantDomain, int permits)
             throws PushProviderException {
 
-        MessagingErrorCode errorCodeFromProvider = e.getMessagingErrorCode();
-        PushProviderConstants.ErrorMessages error;
+        if (rateLimiterRegistry == null) {
+            return 0;
+        }
+        long waitNanos = rateLimiterRegistry.tryReserve(tenantDomain,
+                getCredentialKey(tenantDomain, pushSenderData.getProviderId()), permits);
+        if (waitNanos < 0) {
+            PushProviderConstants.ErrorMessages error = PushProviderConstants.ErrorMessages.ERROR_RATE_LIMIT_EXCEEDED;
+            throw new PushProviderServerException(error.getCode(), error.getMessage());
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Wait until the reserved rate limit permits are available.
+     *
+     * @param waitNanos Time to wait in nanoseconds.
+     * @throws PushProviderException If the thread is interrupted while waiting.
+     */
+    private void waitForRatePermits(long waitNanos) throws PushProviderException {
+
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            PushProviderConstants.ErrorMessages error = PushProviderConstants.ErrorMessages.ERROR_RATE_LIMIT_EXCEEDED;
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the circuit breaker of the given push sender and acquire permission to call FCM.
+     *
+     * @param pushSenderData Push sender data.
+     * @param tenantDomain   Tenant domain.
+     * @return Circuit breaker which must be informed of the outcome of the call, or null if circuit breakers are
+     * disabled.
+     * @throws PushProviderException If the circuit of the push sender is open.
+     */
+    private CircuitBreaker acquireCircuitBreaker(PushSenderData pushSenderData, String tenantDomain)
+            throws PushProviderException {
+
+        if (circuitBreakerRegistry == null) {
+            return null;
+        }
+        CircuitBreaker circuitBreaker =
+                circuitBreakerRegistry.getCircuitBreaker(tenantDomain, pushSenderData.getProviderId());
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.debug("Circuit breaker of the push sender is open. Failing fast without calling FCM.");
+            PushProviderConstants.ErrorMessages error = PushProviderConstants.ErrorMessages.ERROR_CIRCUIT_OPEN;
+            throw new PushProviderServerException(error.getCode(), error.getMessage());
+        }
+        return circuitBreaker;
+    }
+
+    /**
+     * Get the key identifying a push notification sent to a device through a push sender, which is used to suppress
+     * repeated sends of the push notification. The push sender is part of the key, so that the same push
+     * notification may still be sent through another push sender, as done when hedging.
+     *
+     * @param pushNotificationData Push notification data.
+     * @param pushSenderData       Push sender data.
+     * @param tenantDomain         Tenant domain.
+     * @return Send key, or null if the send should not be deduplicated.
+     */
+    private String getSendKey(PushNotificationData pushNotificationData, PushSenderData pushSenderData,
+                              String tenantDomain) {
+
+        if (sendDeduplicator == null || StringUtils.isBlank(pushNotificationData.getPushId())
+                || StringUtils.isBlank(pushNotificationData.getDeviceToken())) {
+            return null;
+        }
+        return tenantDomain + ":" + pushSenderData.getProviderId() + ":" + pushNotificationData.getPushId() + ":"
+                + pushNotificationData.getDeviceToken();
+    }
+
+    /**
+     * Wait for the previous send of a push notification and report its outcome as the outcome of this send.
+     *
+     * @param previousOutcome Outcome of the previous send.
+     * @param timeout         Time in milliseconds to wait for the previous send.
+     * @throws PushProviderException If the previous send failed or did not complete in time.
+     */
+    private void awaitPreviousSend(CompletableFuture<Void> previousOutcome, long timeout)
+            throws PushProviderException {
+
+        log.debug("Push notification was already sent to the device. Reusing the outcome of the previous send.");
+        PushMetrics.getInstance().recordSendOutcome(FCM_PROVIDER_NAME, PushMetrics.DEDUPLICATED);
+        PushProviderConstants.ErrorMessages error =
+                PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+        try {
+            previousOutcome.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw buildSendTimeoutException(timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        } catch (ExecutionException | CancellationException e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof PushProviderException) {
+                throw (PushProviderException) cause;
+            }
+            throw new PushProviderServerException(error.getCode(), error.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Get the time a repeated send waits for the outcome of the previous send, which is the send timeout of the
+     * push sender, or the deduplication window if the sends are not bounded.
+     *
+     * @param pushSenderData Push sender data.
+     * @return Wait time in milliseconds.
+     */
+    private long getPreviousSendTimeout(PushSenderData pushSenderData) {
+
+        long timeout = getSendTimeout(pushSenderData);
+        return timeout > 0 ? timeout : sendDeduplicator.getWindow();
+    }
+
+    /**
+     * Check whether a failed send should reach FCM again when the push notification is sent again. Only the
+     * errors stating that the device can not receive push notifications are final.
+     *
+     * @param throwable Error of the send, or null if the push notification was sent.
+     * @return True if a repeated send should not reuse the outcome.
+     */
+    private boolean isRetriableSendError(Throwable throwable) {
+
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable instanceof PushProviderException) {
+            return !isDeviceRejectionCode(((PushProviderException) throwable).getErrorCode());
+        }
+        return true;
+    }
+
+    /**
+     * Check whether FCM rejected a send because of the device rather than the push notification. FCM reports
+     * INVALID_ARGUMENT for malformed messages as well, such as an invalid TTL or APNs header, hence such an error
+     * counts only if it names the registration token.
+     *
+     * @param e Error returned by FCM.
+     * @return True if the device is unregistered or its token is not valid.
+     */
+    private boolean isDeviceRejection(FirebaseMessagingException e) {
+
+        if (e.getMessagingErrorCode() == UNREGISTERED) {
+            return true;
+        }
+        if (e.getMessagingErrorCode() != INVALID_ARGUMENT) {
+            return false;
+        }
+        if (StringUtils.containsIgnoreCase(e.getMessage(), FCM_REGISTRATION_TOKEN_ERROR)) {
+            return true;
+        }
+        IncomingHttpResponse httpResponse = e.getHttpResponse();
+        return httpResponse != null && StringUtils.contains(httpResponse.getContent(), FCM_TOKEN_FIELD);
+    }
+
+    private boolean isDeviceRejectionCode(String errorCode) {
+
+        return PushProviderConstants.ErrorMessages.ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER.getCode()
+                .equals(errorCode) || PushProviderConstants.ErrorMessages
+                .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode().equals(errorCode);
+    }
+
+    /**
+     * Notify the device feedback listeners if FCM rejected the device of a push notification, because the device
+     * is unregistered or its token is not valid.
+     *
+     * @param pushNotificationData Push notification data.
+     * @param tenantDomain         Tenant domain.
+     * @param error                Error of the failed send.
+     */
+    private void reportDeviceRejection(PushNotificationData pushNotificationData, String tenantDomain,
+                                       Throwable error) {
+
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof PushProviderException && error.getCause() instanceof FirebaseMessagingException
+                && isDeviceRejection((FirebaseMessagingException) error.getCause())) {
+            notifyDeviceRejected(pushNotificationData, tenantDomain, ((PushProviderException) error).getErrorCode());
+        }
+    }
+
+    private void notifyDeviceRejected(PushNotificationData pushNotificationData, String tenantDomain,
+                                      String errorCode) {
+
+        List<PushDeviceFeedbackListener> listeners = ProviderDataHolder.getInstance().getDeviceFeedbackListeners();
+        if (listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        PushDeviceFeedback feedback = new PushDeviceFeedback(FCM_PROVIDER_NAME, tenantDomain,
+                pushNotificationData.getDeviceId(), pushNotificationData.getDeviceToken(), errorCode);
+        for (PushDeviceFeedbackListener listener : listeners) {
+            try {
+                listener.onDeviceRejected(feedback);
+            } catch (RuntimeException e) {
+                log.warn("Error occurred while notifying the device feedback listener: "
+                        + listener.getClass().getName(), e);
+            }
+        }
+    }
+
+    private void commitSendEvent(PushSendEvent event, String tenantDomain, Throwable error) {
+
+        if (event.shouldCommit()) {
+            event.setTenantDomain(tenantDomain);
+            event.setProvider(FCM_PROVIDER_NAME);
+            event.setOutcome(PushMetrics.getOutcome(error));
+            event.commit();
+        }
+    }
+
+    private void recordResult(CircuitBreaker circuitBreaker, long startTime, boolean failed) {
+
+        if (circuitBreaker != null) {
+            circuitBreaker.onResult(System.nanoTime() - startTime, failed);
+        }
+    }
+
+    /**
+     * Check whether the error indicates that FCM or the push sender configuration is failing, as opposed to an
+     * error specific to the device.
+     *
+     * @param throwable Error of the call.
+     * @return True if the error should count towards opening the circuit.
+     */
+    private boolean isProviderFailure(Throwable throwable) {
+
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable instanceof CancellationException) {
+            return false;
+        }
+        if (throwable instanceof PushProviderException) {
+            String errorCode = ((PushProviderException) throwable).getErrorCode();
+            return errorCode == null || isProviderFailureCode(errorCode);
+        }
+        return true;
+    }
+
+    private boolean isProviderFailureCode(String errorCode) {
+
+        return PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED.getCode().equals(errorCode)
+                || PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_TIMED_OUT.getCode()
+                .equals(errorCode);
+    }
+
+    /**
+     * Handle FirebaseMessagingException and build PushProviderException with the appropriate error message.
+     *
+     * @param e FirebaseMessagingException
+     * @return PushProviderException
+     */
+    private PushProviderException handleFirebaseMessagingException(FirebaseMessagingException e) {
+
+        PushProviderConstants.ErrorMessages error = resolveErrorMessage(e.getMessagingErrorCode());
+        return new PushProviderServerException(error.getCode(), error.getMessage(), e);
+    }
+
+    /**
+     * Resolve the error message corresponding to the error code returned by FCM.
+     *
+     * @param errorCodeFromProvider Error code returned by FCM.
+     * @return Error message.
+     */
+    private PushProviderConstants.ErrorMessages resolveErrorMessage(MessagingErrorCode errorCodeFromProvider) {
+
         if (errorCodeFromProvider == INVALID_ARGUMENT) {
-            error = PushProviderConstants.ErrorMessages.ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER;
+            return PushProviderConstants.ErrorMessages.ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER;
         } else if (errorCodeFromProvider == UNREGISTERED) {
-            error = PushProviderConstants.ErrorMessages.ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED;
-        } else {
-            error = PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+            return PushProviderConstants.ErrorMessages.ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED;
         }
-        throw new PushProviderServerException(error.getCode(), error.getMessage(), e);
+        return PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED;
+    }
+
+    /**
+     * Get the key identifying the credentials of the given push sender, which is the name of the Firebase app it is
+     * bound to, so that push senders sharing an app share its rate limit as well.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param providerId   Provider id of the push sender.
+     * @return Credential key.
+     */
+    private String getCredentialKey(String tenantDomain, String providerId) {
+
+        String appName = generateFirebaseAppName(tenantDomain, providerId);
+        String boundAppName = firebaseAppBindings != null ? firebaseAppBindings.getAppName(appName) : null;
+        return boundAppName != null ? boundAppName : appName;
     }
 
     private String generateFirebaseAppName(String tenantDomain, String providerId) {
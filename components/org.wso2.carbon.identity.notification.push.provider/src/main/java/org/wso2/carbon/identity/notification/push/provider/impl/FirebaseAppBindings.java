@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bindings of the push senders to the Firebase apps they send through.
+ * <p>
+ * Push senders configured with identical service account credentials are bound to the same app, so that the app,
+ * its cached access token and its connections are created once for all of them. Each binding holds a reference to
+ * its app, and an app is no longer needed only when the last push sender bound to it is unbound.
+ */
+public class FirebaseAppBindings {
+
+    private final ConcurrentMap<String, String> boundAppNames = new ConcurrentHashMap<>();
+    // Guarded by this.
+    private final Map<String, Integer> referenceCounts = new HashMap<>();
+
+    /**
+     * Get the name of the app the given push sender is bound to.
+     *
+     * @param senderKey Key identifying the push sender.
+     * @return Name of the Firebase app, or null if the push sender is not bound.
+     */
+    public String getAppName(String senderKey) {
+
+        return boundAppNames.get(senderKey);
+    }
+
+    /**
+     * Bind the given push sender to the given app, releasing its reference to the app it was bound to earlier.
+     *
+     * @param senderKey Key identifying the push sender.
+     * @param appName   Name of the Firebase app.
+     * @return Name of the app which is no longer referenced by any push sender, or null if there is none.
+     */
+    public synchronized String bind(String senderKey, String appName) {
+
+        String previousAppName = boundAppNames.put(senderKey, appName);
+        if (appName.equals(previousAppName)) {
+            return null;
+        }
+        referenceCounts.merge(appName, 1, Integer::sum);
+        return previousAppName != null ? dereference(previousAppName) : null;
+    }
+
+    /**
+     * Unbind the given push sender, releasing its reference to the app it was bound to.
+     *
+     * @param senderKey Key identifying the push sender.
+     * @return Name of the app which is no longer referenced by any push sender, or null if there is none.
+     */
+    public synchronized String unbind(String senderKey) {
+
+        String previousAppName = boundAppNames.remove(senderKey);
+        return previousAppName != null ? dereference(previousAppName) : null;
+    }
+
+    /**
+     * Get the number of push senders bound to the given app.
+     *
+     * @param appName Name of the Firebase app.
+     * @return Reference count.
+     */
+    public synchronized int getReferenceCount(String appName) {
+
+        return referenceCounts.getOrDefault(appName, 0);
+    }
+
+    /**
+     * Remove all the bindings.
+     */
+    public synchronized void clear() {
+
+        boundAppNames.clear();
+        referenceCounts.clear();
+    }
+
+    private String dereference(String appName) {
+
+        Integer referenceCount = referenceCounts.computeIfPresent(appName,
+                (name, count) -> count > 1 ? count - 1 : null);
+        return referenceCount == null ? appName : null;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.ServiceAccountCredentials;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Credentials given to a Firebase app, which obtain their access tokens from the credentials loaded for the app.
+ * <p>
+ * The loaded credentials are scoped for FCM up front. Firebase scopes the credentials of an app again, which for
+ * these credentials keeps the same instance, so the instance given to the app is the one which holds the token used
+ * by the app and can be refreshed in the background.
+ */
+class FirebaseAppCredentials extends GoogleCredentials {
+
+    private static final long serialVersionUID = 1L;
+    private static final List<String> FCM_SCOPES = Collections.unmodifiableList(Arrays.asList(
+            "https://www.googleapis.com/auth/firebase.messaging",
+            "https://www.googleapis.com/auth/cloud-platform"));
+
+    private final GoogleCredentials scopedCredentials;
+
+    /**
+     * Create the credentials of a Firebase app.
+     *
+     * @param credentials Credentials loaded for the app.
+     */
+    FirebaseAppCredentials(GoogleCredentials credentials) {
+
+        this.scopedCredentials = credentials.createScopedRequired() ? credentials.createScoped(FCM_SCOPES) :
+                credentials;
+    }
+
+    /**
+     * Get the project id of the service account, which Firebase can not read from these credentials.
+     *
+     * @return Project id, or null if the credentials are not service account credentials.
+     */
+    String getServiceAccountProjectId() {
+
+        if (scopedCredentials instanceof ServiceAccountCredentials) {
+            return ((ServiceAccountCredentials) scopedCredentials).getProjectId();
+        }
+        return null;
+    }
+
+    @Override
+    public AccessToken refreshAccessToken() throws IOException {
+
+        scopedCredentials.refresh();
+        return scopedCredentials.getAccessToken();
+    }
+}
@@ -0,0 +1,594 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.FirebaseMessaging;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_APP_POOL_IDLE_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_APP_POOL_MAX_SIZE;
+
+/**
+ * Registry of the Firebase apps created for the configured push senders.
+ * <p>
+ * Apps are looked up by name with a single map read. When an app is not available, it is initialized exactly once
+ * even if many threads request it at the same time, and the {@link FirebaseMessaging} instance of the app is
+ * cached together with it. The initialization runs outside the map, so that a cold start of one app, which loads
+ * its credentials from the secret store, does not hold up the lookups of other apps.
+ * <p>
+ * The registry is bounded. When the number of apps exceeds the maximum size, the least recently used apps are
+ * evicted in a batch, so that the apps are not scanned on every miss once the registry is full, and apps which have
+ * not been used within the idle timeout are evicted as well. Evicted apps are deleted
+ * so that their credentials and background threads are released, and are initialized again on the next request.
+ * An app which is leased through {@link #acquireFirebaseApp(String, CredentialsLoader, String)} is only removed from
+ * the registry while it is in use, and is deleted once the last lease is closed, so that sends in flight through the
+ * app are not failed by the eviction.
+ * <p>
+ * When a {@link CredentialRefresher} is provided, the access tokens of the apps in the registry are refreshed in the
+ * background until the apps are removed. When an HTTP transport is provided, it is shared by all the apps so that
+ * their connections are pooled together. An app can be bound to an FCM compatible endpoint other than the Google
+ * endpoint, in which case its requests are sent through a {@link FCMEndpointTransport}.
+ */
+public class FirebaseAppRegistry {
+
+    private static final Log log = LogFactory.getLog(FirebaseAppRegistry.class);
+    private static final long MAX_IDLE_SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    // Share of the maximum size evicted together once the registry is full.
+    private static final int EVICTION_BATCH_DIVISOR = 10;
+
+    private final ConcurrentMap<String, FirebaseAppHolder> firebaseApps = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<FirebaseAppHolder>> pendingInitializations =
+            new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final long idleSweepIntervalNanos;
+    private final AtomicLong nextIdleSweepTime;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final CredentialRefresher credentialRefresher;
+    private final FCMHttpTransport httpTransport;
+
+    /**
+     * Create a registry with the default pool limits.
+     */
+    public FirebaseAppRegistry() {
+
+        this(DEFAULT_FCM_APP_POOL_MAX_SIZE, DEFAULT_FCM_APP_POOL_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Create a registry with the given pool limits.
+     *
+     * @param maxSize            Maximum number of apps kept in the registry. A non positive value disables the limit.
+     * @param idleTimeoutSeconds Time in seconds after which an unused app is evicted. A non positive value disables
+     *                           idle eviction.
+     */
+    public FirebaseAppRegistry(int maxSize, long idleTimeoutSeconds) {
+
+        this(maxSize, idleTimeoutSeconds, null, null);
+    }
+
+    /**
+     * Create a registry with the given pool limits, credential refresher and HTTP transport.
+     *
+     * @param maxSize             Maximum number of apps kept in the registry. A non positive value disables the
+     *                            limit.
+     * @param idleTimeoutSeconds  Time in seconds after which an unused app is evicted. A non positive value disables
+     *                            idle eviction.
+     * @param credentialRefresher Refresher of the app credentials, or null to refresh the credentials on demand.
+     * @param httpTransport       HTTP transport shared by all the apps, or null to use the default transport of
+     *                            each app.
+     */
+    public FirebaseAppRegistry(int maxSize, long idleTimeoutSeconds, CredentialRefresher credentialRefresher,
+                               FCMHttpTransport httpTransport) {
+
+        this.credentialRefresher = credentialRefresher;
+        this.httpTransport = httpTransport;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeoutSeconds > 0 ? TimeUnit.SECONDS.toNanos(idleTimeoutSeconds) : 0;
+        this.idleSweepIntervalNanos = Math.min(idleTimeoutNanos, MAX_IDLE_SWEEP_INTERVAL_NANOS);
+        this.nextIdleSweepTime = new AtomicLong(System.nanoTime() + idleSweepIntervalNanos);
+    }
+
+    /**
+     * Get the Firebase messaging instance of the given app, initializing the app if it is not available.
+     *
+     * @param appName Name of the Firebase app.
+     * @param loader  Loader of the app credentials, used only if the app needs to be initialized.
+     * @return Firebase messaging instance of the app.
+     * @throws PushProviderException If an error occurs while initializing the app.
+     */
+    public FirebaseMessaging getFirebaseMessaging(String appName, CredentialsLoader loader)
+            throws PushProviderException {
+
+        return getFirebaseMessaging(appName, loader, null);
+    }
+
+    /**
+     * Get the Firebase messaging instance of the given app, initializing the app if it is not available.
+     *
+     * @param appName  Name of the Firebase app.
+     * @param loader   Loader of the app credentials, used only if the app needs to be initialized.
+     * @param endpoint Root URL of the FCM compatible endpoint the app sends to, or null to use the Google endpoint.
+     *                 Used only if the app needs to be initialized.
+     * @return Firebase messaging instance of the app.
+     * @throws PushProviderException If an error occurs while initializing the app.
+     */
+    public FirebaseMessaging getFirebaseMessaging(String appName, CredentialsLoader loader, String endpoint)
+            throws PushProviderException {
+
+        return getFirebaseAppHolder(appName, loader, endpoint).getFirebaseMessaging();
+    }
+
+    /**
+     * Lease the given app for sending, initializing the app if it is not available. The app is not deleted until
+     * the lease is closed, even if it is evicted or removed from the registry in the meantime.
+     *
+     * @param appName  Name of the Firebase app.
+     * @param loader   Loader of the app credentials, used only if the app needs to be initialized.
+     * @param endpoint Root URL of the FCM compatible endpoint the app sends to, or null to use the Google endpoint.
+     *                 Used only if the app needs to be initialized.
+     * @return Lease of the app, which must be closed once the app is no longer used.
+     * @throws PushProviderException If an error occurs while initializing the app.
+     */
+    public FirebaseAppLease acquireFirebaseApp(String appName, CredentialsLoader loader, String endpoint)
+            throws PushProviderException {
+
+        while (true) {
+            FirebaseAppHolder holder = getFirebaseAppHolder(appName, loader, endpoint);
+            if (holder.acquire()) {
+                return new FirebaseAppLease(holder);
+            }
+            // The app was evicted after it was looked up. Look it up again, which initializes a new app.
+        }
+    }
+
+    private FirebaseAppHolder getFirebaseAppHolder(String appName, CredentialsLoader loader, String endpoint)
+            throws PushProviderException {
+
+        long currentTime = System.nanoTime();
+        FirebaseAppHolder holder = firebaseApps.get(appName);
+        if (holder == null) {
+            missCount.increment();
+            holder = getOrInitializeFirebaseApp(appName, loader, endpoint);
+            holder.setLastAccessTime(currentTime);
+            evictLeastRecentlyUsedApps(appName);
+        } else {
+            hitCount.increment();
+            holder.setLastAccessTime(currentTime);
+            if (log.isDebugEnabled()) {
+                log.debug("Using existing Firebase app instance: " + appName);
+            }
+        }
+        evictIdleAppsIfDue(currentTime);
+        return holder;
+    }
+
+    /**
+     * Initialize the given app, or wait for the initialization of the app which is already in progress. Only the
+     * thread which registers the pending initialization initializes the app, without holding any lock of the map.
+     */
+    private FirebaseAppHolder getOrInitializeFirebaseApp(String appName, CredentialsLoader loader, String endpoint)
+            throws PushProviderException {
+
+        CompletableFuture<FirebaseAppHolder> initialization = new CompletableFuture<>();
+        CompletableFuture<FirebaseAppHolder> pendingInitialization =
+                pendingInitializations.putIfAbsent(appName, initialization);
+        if (pendingInitialization != null) {
+            return awaitInitialization(pendingInitialization);
+        }
+        try {
+            // The app may have been added after it was looked up and before the initialization was registered.
+            FirebaseAppHolder holder = firebaseApps.get(appName);
+            if (holder == null) {
+                holder = initializeFirebaseApp(appName, loader, endpoint);
+                firebaseApps.put(appName, holder);
+            }
+            initialization.complete(holder);
+            return holder;
+        } catch (PushProviderException | RuntimeException e) {
+            initialization.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingInitializations.remove(appName, initialization);
+        }
+    }
+
+    private static FirebaseAppHolder awaitInitialization(CompletableFuture<FirebaseAppHolder> initialization)
+            throws PushProviderException {
+
+        try {
+            return initialization.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PushProviderServerException("Interrupted while waiting for the Firebase app initialization.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PushProviderException) {
+                throw (PushProviderException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PushProviderServerException("Error while initializing the Firebase app.", e.getCause());
+        }
+    }
+
+    /**
+     * Evict the apps which have not been used within the idle timeout.
+     */
+    public void evictIdleApps() {
+
+        if (idleTimeoutNanos <= 0) {
+            return;
+        }
+        long currentTime = System.nanoTime();
+        for (Map.Entry<String, FirebaseAppHolder> entry : firebaseApps.entrySet()) {
+            if (currentTime - entry.getValue().getLastAccessTime() > idleTimeoutNanos) {
+                evict(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Remove the given app from the registry and delete it, so that it is initialized again on the next request.
+     *
+     * @param appName Name of the Firebase app.
+     */
+    public void removeFirebaseApp(String appName) {
+
+        FirebaseAppHolder holder = firebaseApps.remove(appName);
+        if (holder != null) {
+            holder.retire();
+            if (log.isDebugEnabled()) {
+                log.debug("Removed Firebase app instance: " + appName);
+            }
+            return;
+        }
+        // Delete any app with the same name which was not created through the registry.
+        FirebaseApp.getApps().stream().filter(app -> app.getName().equals(appName)).forEach(FirebaseApp::delete);
+    }
+
+    /**
+     * Remove and delete all the apps in the registry.
+     */
+    public void clear() {
+
+        for (String appName : firebaseApps.keySet()) {
+            removeFirebaseApp(appName);
+        }
+    }
+
+    /**
+     * Get the number of apps in the registry.
+     *
+     * @return Number of apps.
+     */
+    public int size() {
+
+        return firebaseApps.size();
+    }
+
+    /**
+     * Get the number of requests served by an app which was already in the registry.
+     *
+     * @return Hit count.
+     */
+    public long getHitCount() {
+
+        return hitCount.sum();
+    }
+
+    /**
+     * Get the number of requests which did not find the app in the registry.
+     *
+     * @return Miss count.
+     */
+    public long getMissCount() {
+
+        return missCount.sum();
+    }
+
+    /**
+     * Get the number of apps evicted due to the size limit or the idle timeout.
+     *
+     * @return Eviction count.
+     */
+    public long getEvictionCount() {
+
+        return evictionCount.sum();
+    }
+
+    private void evictIdleAppsIfDue(long currentTime) {
+
+        long nextSweepTime = nextIdleSweepTime.get();
+        if (idleTimeoutNanos <= 0 || currentTime - nextSweepTime < 0) {
+            return;
+        }
+        // Only the thread which advances the sweep time performs the sweep.
+        if (nextIdleSweepTime.compareAndSet(nextSweepTime, currentTime + idleSweepIntervalNanos)) {
+            evictIdleApps();
+        }
+    }
+
+    /**
+     * Evict the least recently used apps once the registry exceeds its maximum size. The apps are evicted down to a
+     * share below the maximum size with a single scan, so that the following misses do not scan the registry again,
+     * and only one thread scans the registry at a time.
+     */
+    private void evictLeastRecentlyUsedApps(String excludedAppName) {
+
+        if (maxSize <= 0 || firebaseApps.size() <= maxSize || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int evictionCount = firebaseApps.size() - maxSize + maxSize / EVICTION_BATCH_DIVISOR;
+            if (evictionCount <= 0) {
+                return;
+            }
+            // Keep the least recently used apps, with the most recently used of them at the head of the queue.
+            Comparator<Map.Entry<String, FirebaseAppHolder>> byLastAccessTime =
+                    (first, second) -> Long.signum(first.getValue().getLastAccessTime()
+                            - second.getValue().getLastAccessTime());
+            PriorityQueue<Map.Entry<String, FirebaseAppHolder>> leastRecentlyUsed =
+                    new PriorityQueue<>(evictionCount, byLastAccessTime.reversed());
+            for (Map.Entry<String, FirebaseAppHolder> entry : firebaseApps.entrySet()) {
+                if (entry.getKey().equals(excludedAppName)) {
+                    continue;
+                }
+                leastRecentlyUsed.offer(entry);
+                if (leastRecentlyUsed.size() > evictionCount) {
+                    leastRecentlyUsed.poll();
+                }
+            }
+            for (Map.Entry<String, FirebaseAppHolder> entry : leastRecentlyUsed) {
+                evict(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void evict(String appName, FirebaseAppHolder holder) {
+
+        // Remove only if the entry was not replaced concurrently, so that each app is deleted exactly once.
+        if (firebaseApps.remove(appName, holder)) {
+            holder.retire();
+            evictionCount.increment();
+            if (log.isDebugEnabled()) {
+                log.debug("Evicted Firebase app instance: " + appName);
+            }
+        }
+    }
+
+    private FirebaseAppHolder initializeFirebaseApp(String appName, CredentialsLoader loader, String endpoint)
+            throws PushProviderException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Firebase app instance not found. Initializing new Firebase app: " + appName);
+        }
+        // Give the app credentials which it keeps as they are, so that the token used by the app can be refreshed.
+        FirebaseAppCredentials credentials = new FirebaseAppCredentials(loader.load());
+        FirebaseOptions.Builder optionsBuilder = FirebaseOptions.builder().setCredentials(credentials);
+        String projectId = credentials.getServiceAccountProjectId();
+        if (StringUtils.isNotBlank(projectId)) {
+            optionsBuilder.setProjectId(projectId);
+        }
+        FCMEndpointTransport endpointTransport = null;
+        if (StringUtils.isNotBlank(endpoint)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Sending the FCM requests of the Firebase app: " + appName + " to: " + endpoint);
+            }
+            endpointTransport = httpTransport != null ? new FCMEndpointTransport(httpTransport, endpoint, false) :
+                    new FCMEndpointTransport(FCMHttpTransport.createDefault(), endpoint, true);
+            optionsBuilder.setHttpTransport(endpointTransport);
+        } else if (httpTransport != null) {
+            optionsBuilder.setHttpTransport(httpTransport);
+        }
+        FirebaseOptions options = optionsBuilder.build();
+
+        FirebaseApp firebaseApp;
+        try {
+            firebaseApp = FirebaseApp.initializeApp(options, appName);
+        } catch (IllegalStateException e) {
+            // An app with the same name exists outside the registry. Replace it to make sure the latest
+            // credentials are used.
+            if (log.isDebugEnabled()) {
+                log.debug("Replacing the Firebase app which was not created through the registry: " + appName);
+            }
+            FirebaseApp.getInstance(appName).delete();
+            firebaseApp = FirebaseApp.initializeApp(options, appName);
+        }
+        log.debug("Successfully initialized the firebase app.");
+        PushMetrics.getInstance().recordFirebaseAppInitialization();
+        CredentialRefresher.RefreshTask refreshTask = null;
+        if (credentialRefresher != null) {
+            refreshTask = credentialRefresher.schedule(appName, credentials);
+        }
+        return new FirebaseAppHolder(firebaseApp, FirebaseMessaging.getInstance(firebaseApp), refreshTask,
+                endpointTransport);
+    }
+
+    /**
+     * Loader of the credentials required to initialize a Firebase app.
+     */
+    @FunctionalInterface
+    public interface CredentialsLoader {
+
+        /**
+         * Load the Google credentials.
+         *
+         * @return Google credentials.
+         * @throws PushProviderException If an error occurs while loading the credentials.
+         */
+        GoogleCredentials load() throws PushProviderException;
+    }
+
+    /**
+     * Lease of a Firebase app, which keeps the app from being deleted until the lease is closed.
+     */
+    public static final class FirebaseAppLease implements AutoCloseable {
+
+        private final FirebaseAppHolder holder;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private FirebaseAppLease(FirebaseAppHolder holder) {
+
+            this.holder = holder;
+        }
+
+        /**
+         * Get the Firebase messaging instance of the leased app.
+         *
+         * @return Firebase messaging instance.
+         */
+        public FirebaseMessaging getFirebaseMessaging() {
+
+            return holder.getFirebaseMessaging();
+        }
+
+        /**
+         * Release the app. The app is deleted if it was removed from the registry and this was its last lease.
+         */
+        @Override
+        public void close() {
+
+            if (closed.compareAndSet(false, true)) {
+                holder.release();
+            }
+        }
+    }
+
+    /**
+     * Holder of an initialized Firebase app and its messaging instance.
+     */
+    private static class FirebaseAppHolder {
+
+        private final FirebaseApp firebaseApp;
+        private final FirebaseMessaging firebaseMessaging;
+        private final CredentialRefresher.RefreshTask refreshTask;
+        private final HttpTransport appTransport;
+        private volatile long lastAccessTime = System.nanoTime();
+        // Guarded by this holder.
+        private int leases;
+        private boolean retired;
+
+        FirebaseAppHolder(FirebaseApp firebaseApp, FirebaseMessaging firebaseMessaging,
+                          CredentialRefresher.RefreshTask refreshTask, HttpTransport appTransport) {
+
+            this.firebaseApp = firebaseApp;
+            this.firebaseMessaging = firebaseMessaging;
+            this.refreshTask = refreshTask;
+            this.appTransport = appTransport;
+        }
+
+        synchronized boolean acquire() {
+
+            if (retired) {
+                return false;
+            }
+            leases++;
+            return true;
+        }
+
+        void release() {
+
+            boolean deletable;
+            synchronized (this) {
+                leases--;
+                deletable = retired && leases == 0;
+            }
+            if (deletable) {
+                // The last lease is usually closed on a thread of the app, which must not be shut down from within.
+                CompletableFuture.runAsync(this::delete);
+            }
+        }
+
+        /**
+         * Mark the app as removed from the registry, and delete it unless it is still leased.
+         */
+        void retire() {
+
+            boolean deletable;
+            synchronized (this) {
+                if (retired) {
+                    return;
+                }
+                retired = true;
+                deletable = leases == 0;
+            }
+            if (deletable) {
+                delete();
+            }
+        }
+
+        private void delete() {
+
+            if (refreshTask != null) {
+                refreshTask.cancel();
+            }
+            firebaseApp.delete();
+            if (appTransport != null) {
+                try {
+                    appTransport.shutdown();
+                } catch (IOException e) {
+                    log.debug("Error while shutting down the HTTP transport of the Firebase app.", e);
+                }
+            }
+        }
+
+        FirebaseMessaging getFirebaseMessaging() {
+
+            return firebaseMessaging;
+        }
+
+        long getLastAccessTime() {
+
+            return lastAccessTime;
+        }
+
+        void setLastAccessTime(long lastAccessTime) {
+
+            this.lastAccessTime = lastAccessTime;
+        }
+    }
+}
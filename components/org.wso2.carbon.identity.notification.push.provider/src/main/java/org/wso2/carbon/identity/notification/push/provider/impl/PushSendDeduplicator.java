@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived record of the push notifications sent through a provider, used to suppress repeated sends of the same
+ * push notification to the same device.
+ * <p>
+ * The first send of a key owns the provider call, and any repeated send of the key within the window is given the
+ * outcome of that call, whether it is still in flight or already completed. Transient failures are forgotten as
+ * soon as they complete, so that a retry after such a failure reaches the provider again. The number of recorded
+ * sends is bounded; when the record is full and no entry has expired, further sends are not deduplicated.
+ */
+public class PushSendDeduplicator {
+
+    private final ConcurrentMap<String, SendRecord> sendRecords = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final int maxEntries;
+
+    /**
+     * Create a push send deduplicator.
+     *
+     * @param window     Time in seconds for which the outcome of a send is reused.
+     * @param maxEntries Maximum number of sends recorded at a time.
+     */
+    public PushSendDeduplicator(int window, int maxEntries) {
+
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(window, 1));
+        this.maxEntries = Math.max(maxEntries, 1);
+    }
+
+    /**
+     * Record a send of the given key, unless the key was already sent within the window.
+     *
+     * @param key     Key of the push notification and the device.
+     * @param outcome Outcome of the send, completed by the caller through {@link #complete}.
+     * @return Outcome of the previous send of the key, or null if the caller should send the push notification.
+     */
+    public CompletableFuture<Void> register(String key, CompletableFuture<Void> outcome) {
+
+        long now = System.nanoTime();
+        SendRecord existing = sendRecords.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return existing.outcome;
+        }
+        if (existing == null && sendRecords.size() >= maxEntries) {
+            purgeExpired(now);
+            if (sendRecords.size() >= maxEntries) {
+                return null;
+            }
+        }
+        SendRecord sendRecord = new SendRecord(outcome, now);
+        SendRecord previous = sendRecords.compute(key, (ignored, current) ->
+                current != null && !current.isExpired(now) ? current : sendRecord);
+        return previous == sendRecord ? null : previous.outcome;
+    }
+
+    /**
+     * Complete a send recorded through {@link #register}.
+     *
+     * @param key       Key of the push notification and the device.
+     * @param outcome   Outcome registered for the send.
+     * @param error     Error of the send, or null if the push notification was sent.
+     * @param retriable True if the error is transient and a repeated send should reach the provider again.
+     */
+    public void complete(String key, CompletableFuture<Void> outcome, Throwable error, boolean retriable) {
+
+        if (error != null && retriable) {
+            sendRecords.computeIfPresent(key, (ignored, current) -> current.outcome == outcome ? null : current);
+        }
+        if (error == null) {
+            outcome.complete(null);
+        } else {
+            outcome.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Get the time for which the outcome of a send is reused.
+     *
+     * @return Window in milliseconds.
+     */
+    public long getWindow() {
+
+        return TimeUnit.NANOSECONDS.toMillis(windowNanos);
+    }
+
+    /**
+     * Get the number of sends currently recorded.
+     *
+     * @return Number of recorded sends.
+     */
+    public int size() {
+
+        return sendRecords.size();
+    }
+
+    private void purgeExpired(long now) {
+
+        sendRecords.values().removeIf(sendRecord -> sendRecord.isExpired(now));
+    }
+
+    /**
+     * Outcome of a recorded send and the time it was recorded at.
+     */
+    private final class SendRecord {
+
+        private final CompletableFuture<Void> outcome;
+        private final long recordedAt;
+
+        private SendRecord(CompletableFuture<Void> outcome, long recordedAt) {
+
+            this.outcome = outcome;
+            this.recordedAt = recordedAt;
+        }
+
+        private boolean isExpired(long now) {
+
+            return now - recordedAt >= windowNanos;
+        }
+    }
+}
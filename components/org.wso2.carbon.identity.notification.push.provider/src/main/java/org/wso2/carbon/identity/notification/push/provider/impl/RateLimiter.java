@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free token bucket rate limiter.
+ * <p>
+ * The bucket is tracked as the theoretical time at which it would be full again, which allows a reservation to be
+ * made with a single compare and set. Permits refill at the configured rate up to the burst size. A reservation
+ * which can not be served immediately is granted together with the time the caller must wait, as long as that
+ * time is within the allowed wait, so that callers can either queue or be rejected.
+ */
+public class RateLimiter {
+
+    private static final long NO_PERMIT = -1;
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    // Time, as a System.nanoTime() value, at which all the reserved permits are paid back.
+    private final AtomicLong fullAt;
+
+    /**
+     * Create a rate limiter.
+     *
+     * @param permitsPerSecond Rate at which the permits are refilled.
+     * @param burst            Maximum number of permits which can be accumulated.
+     */
+    public RateLimiter(int permitsPerSecond, int burst) {
+
+        this.intervalNanos = Math.max(TimeUnit.SECONDS.toNanos(1) / Math.max(permitsPerSecond, 1), 1);
+        this.burstNanos = intervalNanos * Math.max(burst, 1);
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Reserve the given number of permits.
+     *
+     * @param permits       Number of permits.
+     * @param maxWaitNanos  Maximum time in nanoseconds the caller is willing to wait for the permits.
+     * @return Time in nanoseconds the caller must wait before using the permits, or a negative value if the permits
+     * are not available within the maximum wait, in which case nothing is reserved.
+     */
+    public long tryReserve(int permits, long maxWaitNanos) {
+
+        long cost = permits * intervalNanos;
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + cost;
+            long waitNanos = next - burstNanos - now;
+            if (waitNanos > maxWaitNanos) {
+                return NO_PERMIT;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Math.max(waitNanos, 0);
+            }
+        }
+    }
+
+    /**
+     * Return permits which were reserved but not used.
+     *
+     * @param permits Number of permits.
+     */
+    public void release(int permits) {
+
+        fullAt.addAndGet(-permits * intervalNanos);
+    }
+
+    /**
+     * Get the number of permits which can be reserved without waiting.
+     *
+     * @return Available permit count.
+     */
+    public long getAvailablePermits() {
+
+        long pendingNanos = Math.max(fullAt.get() - System.nanoTime(), 0);
+        return Math.max(burstNanos - pendingNanos, 0) / intervalNanos;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.notification.push.provider.model.RateLimitConfig;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the rate limiters applied to the push notifications.
+ * <p>
+ * Every push notification takes a permit from the rate limiter of its tenant, so that one tenant can not consume
+ * the share of the others, and from the rate limiter of the credentials it is sent with, so that the sends stay
+ * within the quota of the provider project.
+ */
+public class RateLimiterRegistry {
+
+    private static final Log log = LogFactory.getLog(RateLimiterRegistry.class);
+    private static final long NO_PERMIT = -1;
+
+    private final ConcurrentMap<String, RateLimiter> tenantRateLimiters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RateLimiter> credentialRateLimiters = new ConcurrentHashMap<>();
+    private final RateLimitConfig config;
+    private final long maxWaitNanos;
+
+    public RateLimiterRegistry(RateLimitConfig config) {
+
+        this.config = config;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(config.getMaxWait(), 0));
+    }
+
+    /**
+     * Reserve permits for sending push notifications.
+     *
+     * @param tenantDomain  Tenant domain.
+     * @param credentialKey Key identifying the credentials the push notifications are sent with.
+     * @param permits       Number of push notifications.
+     * @return Time in nanoseconds to wait before sending, or a negative value if the rate limit is exceeded.
+     */
+    public long tryReserve(String tenantDomain, String credentialKey, int permits) {
+
+        RateLimiter credentialRateLimiter = getRateLimiter(credentialRateLimiters, credentialKey,
+                config.getCredentialRate(), config.getCredentialBurst());
+        long credentialWait = 0;
+        if (credentialRateLimiter != null) {
+            credentialWait = credentialRateLimiter.tryReserve(permits, maxWaitNanos);
+            if (credentialWait < 0) {
+                logRejection(tenantDomain, credentialKey, "credential");
+                return NO_PERMIT;
+            }
+        }
+        RateLimiter tenantRateLimiter = getRateLimiter(tenantRateLimiters, tenantDomain,
+                config.getTenantRate(), config.getTenantBurst());
+        long tenantWait = 0;
+        if (tenantRateLimiter != null) {
+            tenantWait = tenantRateLimiter.tryReserve(permits, maxWaitNanos);
+            if (tenantWait < 0) {
+                if (credentialRateLimiter != null) {
+                    credentialRateLimiter.release(permits);
+                }
+                logRejection(tenantDomain, credentialKey, "tenant");
+                return NO_PERMIT;
+            }
+        }
+        return Math.max(credentialWait, tenantWait);
+    }
+
+    /**
+     * Get the number of push notifications the tenant can send without waiting.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Available permit count, or -1 if the tenant is not rate limited.
+     */
+    public long getAvailableTenantPermits(String tenantDomain) {
+
+        RateLimiter tenantRateLimiter = getRateLimiter(tenantRateLimiters, tenantDomain,
+                config.getTenantRate(), config.getTenantBurst());
+        return tenantRateLimiter != null ? tenantRateLimiter.getAvailablePermits() : NO_PERMIT;
+    }
+
+    private RateLimiter getRateLimiter(ConcurrentMap<String, RateLimiter> rateLimiters, String key, int rate,
+                                       int burst) {
+
+        if (rate < 1) {
+            return null;
+        }
+        RateLimiter rateLimiter = rateLimiters.get(key);
+        if (rateLimiter == null) {
+            rateLimiter = rateLimiters.computeIfAbsent(key, ignored -> new RateLimiter(rate, burst));
+        }
+        return rateLimiter;
+    }
+
+    private void logRejection(String tenantDomain, String credentialKey, String limit) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Push notification rejected by the " + limit + " rate limit. Tenant: " + tenantDomain
+                    + ", credentials: " + credentialKey);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.impl;
+
+import com.google.firebase.IncomingHttpResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry policy for transient FCM errors.
+ * <p>
+ * Sends which fail with {@code UNAVAILABLE}, {@code INTERNAL} or {@code QUOTA_EXCEEDED} are retried with a capped
+ * exponential backoff and jitter. A Retry-After header returned by FCM takes precedence over the computed backoff.
+ * All the attempts of a send must complete within an overall deadline, so that the authentication flow waiting on
+ * the push notification stays bounded.
+ */
+public class RetryPolicy {
+
+    private static final Log log = LogFactory.getLog(RetryPolicy.class);
+    private static final String RETRY_AFTER_HEADER = "retry-after";
+    private static final long NO_RETRY = -1;
+    private static final Set<MessagingErrorCode> RETRYABLE_ERROR_CODES = EnumSet.of(
+            MessagingErrorCode.UNAVAILABLE, MessagingErrorCode.INTERNAL, MessagingErrorCode.QUOTA_EXCEEDED);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long deadlineMillis;
+
+    /**
+     * Create a retry policy.
+     *
+     * @param maxAttempts          Maximum number of attempts including the first one. A value less than two disables
+     *                             retrying.
+     * @param initialBackoffMillis Backoff before the first retry in milliseconds.
+     * @param maxBackoffMillis     Upper bound of the computed backoff in milliseconds.
+     * @param deadlineMillis       Time in milliseconds within which all the attempts must complete.
+     */
+    public RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, long deadlineMillis) {
+
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = Math.max(initialBackoffMillis, 0);
+        this.maxBackoffMillis = Math.max(maxBackoffMillis, this.initialBackoffMillis);
+        this.deadlineMillis = Math.max(deadlineMillis, 0);
+    }
+
+    /**
+     * Calculate the deadline of a send which starts now.
+     *
+     * @return Deadline as a {@link System#nanoTime()} value.
+     */
+    public long startDeadline() {
+
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    }
+
+    /**
+     * Check whether the given error is transient and worth retrying.
+     *
+     * @param e Error returned by FCM.
+     * @return True if the error is retryable.
+     */
+    public boolean isRetryable(FirebaseMessagingException e) {
+
+        return e != null && e.getMessagingErrorCode() != null
+                && RETRYABLE_ERROR_CODES.contains(e.getMessagingErrorCode());
+    }
+
+    /**
+     * Get the time to wait before retrying a failed attempt.
+     *
+     * @param e             Error of the failed attempt.
+     * @param attempt       Number of the failed attempt, starting from one.
+     * @param deadlineNanos Deadline of the send as a {@link System#nanoTime()} value.
+     * @return Delay in milliseconds, or a negative value if the send must not be retried.
+     */
+    public long getRetryDelay(FirebaseMessagingException e, int attempt, long deadlineNanos) {
+
+        if (attempt >= maxAttempts || !isRetryable(e)) {
+            return NO_RETRY;
+        }
+        long delayMillis = getRetryAfterMillis(e);
+        if (delayMillis < 0) {
+            delayMillis = getBackoffMillis(attempt);
+        }
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (delayMillis >= remainingMillis) {
+            if (log.isDebugEnabled()) {
+                log.debug("Not retrying the push notification since the retry delay of " + delayMillis
+                        + " ms exceeds the remaining time of " + remainingMillis + " ms.");
+            }
+            return NO_RETRY;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Retrying the push notification after " + delayMillis + " ms due to the FCM error: "
+                    + e.getMessagingErrorCode() + ". Attempt: " + (attempt + 1));
+        }
+        return delayMillis;
+    }
+
+    private long getBackoffMillis(int attempt) {
+
+        // Exponential backoff capped at the maximum, with half of it randomized to spread the retries.
+        long backoff = initialBackoffMillis << Math.min(attempt - 1, 30);
+        if (backoff <= 0 || backoff > maxBackoffMillis) {
+            backoff = maxBackoffMillis;
+        }
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    private long getRetryAfterMillis(FirebaseMessagingException e) {
+
+        IncomingHttpResponse httpResponse = e.getHttpResponse();
+        if (httpResponse == null || httpResponse.getHeaders() == null) {
+            return NO_RETRY;
+        }
+        String retryAfter = getHeaderValue(httpResponse.getHeaders(), RETRY_AFTER_HEADER);
+        if (StringUtils.isBlank(retryAfter)) {
+            return NO_RETRY;
+        }
+        retryAfter = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(Long.parseLong(retryAfter), 0));
+        } catch (NumberFormatException ignored) {
+            // Not delta seconds. Hence, try the HTTP date format.
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(retryAt.toInstant().toEpochMilli() - System.currentTimeMillis(), 0);
+        } catch (DateTimeParseException ex) {
+            if (log.isDebugEnabled()) {
+                log.debug("Ignoring the invalid Retry-After header value: " + retryAfter);
+            }
+            return NO_RETRY;
+        }
+    }
+
+    private String getHeaderValue(Map<String, Object> headers, String headerName) {
+
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            if (!headerName.equalsIgnoreCase(header.getKey())) {
+                continue;
+            }
+            Object value = header.getValue();
+            if (value instanceof List) {
+                List<?> values = (List<?>) value;
+                return values.isEmpty() ? null : String.valueOf(values.get(0));
+            }
+            return value != null ? String.valueOf(value) : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.internal;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.notification.push.provider.model.APNSPushProviderConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.CircuitBreakerConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.FCMPushProviderConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushMetricsConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.RateLimitConfig;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_ALLOW_ENDPOINT_OVERRIDE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_CONNECT_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_DEFAULT_TIME_TO_LIVE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.APNS_TOKEN_REFRESH_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_HALF_OPEN_CALLS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_MINIMUM_CALLS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_OPEN_DURATION;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.CIRCUIT_BREAKER_WINDOW_SIZE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_CONNECT_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_DEFAULT_TIME_TO_LIVE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_TOKEN_REFRESH_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_APP_POOL_IDLE_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_DEDUPLICATION_MAX_ENTRIES;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_DEDUPLICATION_WINDOW;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_DEFAULT_TIME_TO_LIVE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_APP_POOL_MAX_SIZE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_ASYNC_SCHEDULER_THREADS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_CREDENTIAL_REFRESH_MARGIN;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_CREDENTIAL_REFRESH_MAX_JITTER;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_CONNECT_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_DEADLINE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_INITIAL_BACKOFF;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_MAX_ATTEMPTS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_MAX_BACKOFF;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_METRICS_MAX_SERIES;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_CREDENTIAL_BURST;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_CREDENTIAL_RATE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_MAX_WAIT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_TENANT_BURST;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_TENANT_RATE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_SECRET_CACHE_TIME_TO_LIVE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_ALLOW_ENDPOINT_OVERRIDE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_APP_POOL_IDLE_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_APP_POOL_MAX_SIZE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_ASYNC_SCHEDULER_THREADS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_CREDENTIAL_REFRESH_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_DEDUPLICATION_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_DEDUPLICATION_MAX_ENTRIES;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_DEDUPLICATION_WINDOW;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_DEFAULT_TIME_TO_LIVE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_CREDENTIAL_REFRESH_MARGIN;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_CREDENTIAL_REFRESH_MAX_JITTER;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_HTTP_CLIENT_CONNECT_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_HTTP_CLIENT_MAX_CONNECTIONS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_HTTP_CLIENT_SHARED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_RETRY_DEADLINE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_RETRY_INITIAL_BACKOFF;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_RETRY_MAX_ATTEMPTS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_RETRY_MAX_BACKOFF;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_SHARED_APP_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.METRICS_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.METRICS_MAX_SERIES;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.RATE_LIMIT_CREDENTIAL_BURST;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.RATE_LIMIT_CREDENTIAL_RATE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.RATE_LIMIT_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.RATE_LIMIT_MAX_WAIT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.RATE_LIMIT_TENANT_BURST;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.RATE_LIMIT_TENANT_RATE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.SECRET_CACHE_ENABLED;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.SECRET_CACHE_TIME_TO_LIVE;
+
+/**
+ * Reader of the push provider configurations defined in identity.xml.
+ */
+public class ProviderConfigReader {
+
+    private static final Log LOG = LogFactory.getLog(ProviderConfigReader.class);
+
+    private ProviderConfigReader() {
+
+    }
+
+    /**
+     * Read the FCM push provider configurations.
+     *
+     * @return FCM push provider configurations.
+     */
+    public static FCMPushProviderConfig readFCMPushProviderConfig() {
+
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setAppPoolMaxSize(
+                readIntProperty(FCM_APP_POOL_MAX_SIZE, DEFAULT_FCM_APP_POOL_MAX_SIZE));
+        fcmPushProviderConfig.setAppPoolIdleTimeout(
+                readIntProperty(FCM_APP_POOL_IDLE_TIMEOUT, DEFAULT_FCM_APP_POOL_IDLE_TIMEOUT));
+        fcmPushProviderConfig.setCredentialRefreshEnabled(
+                readBooleanProperty(FCM_CREDENTIAL_REFRESH_ENABLED, true));
+        fcmPushProviderConfig.setCredentialRefreshMargin(
+                readIntProperty(FCM_CREDENTIAL_REFRESH_MARGIN, DEFAULT_FCM_CREDENTIAL_REFRESH_MARGIN));
+        fcmPushProviderConfig.setCredentialRefreshMaxJitter(
+                readIntProperty(FCM_CREDENTIAL_REFRESH_MAX_JITTER, DEFAULT_FCM_CREDENTIAL_REFRESH_MAX_JITTER));
+        fcmPushProviderConfig.setSharedHttpClientEnabled(readBooleanProperty(FCM_HTTP_CLIENT_SHARED, true));
+        fcmPushProviderConfig.setHttpClientMaxConnections(
+                readIntProperty(FCM_HTTP_CLIENT_MAX_CONNECTIONS, DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS));
+        fcmPushProviderConfig.setHttpClientMaxConnectionsPerRoute(readIntProperty(
+                FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE, DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE));
+        fcmPushProviderConfig.setHttpClientConnectTimeout(
+                readIntProperty(FCM_HTTP_CLIENT_CONNECT_TIMEOUT, DEFAULT_FCM_HTTP_CLIENT_CONNECT_TIMEOUT));
+        fcmPushProviderConfig.setHttpClientIdleConnectionTimeout(readIntProperty(
+                FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT, DEFAULT_FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT));
+        fcmPushProviderConfig.setRetryMaxAttempts(
+                readIntProperty(FCM_RETRY_MAX_ATTEMPTS, DEFAULT_FCM_RETRY_MAX_ATTEMPTS));
+        fcmPushProviderConfig.setRetryInitialBackoff(
+                readIntProperty(FCM_RETRY_INITIAL_BACKOFF, DEFAULT_FCM_RETRY_INITIAL_BACKOFF));
+        fcmPushProviderConfig.setRetryMaxBackoff(
+                readIntProperty(FCM_RETRY_MAX_BACKOFF, DEFAULT_FCM_RETRY_MAX_BACKOFF));
+        fcmPushProviderConfig.setRetryDeadline(readIntProperty(FCM_RETRY_DEADLINE, DEFAULT_FCM_RETRY_DEADLINE));
+        fcmPushProviderConfig.setSendTimeout(readIntProperty(FCM_SEND_TIMEOUT, DEFAULT_FCM_SEND_TIMEOUT));
+        fcmPushProviderConfig.setAsyncSchedulerThreads(
+                readIntProperty(FCM_ASYNC_SCHEDULER_THREADS, DEFAULT_FCM_ASYNC_SCHEDULER_THREADS));
+        fcmPushProviderConfig.setDefaultTimeToLive(
+                readIntProperty(FCM_DEFAULT_TIME_TO_LIVE, DEFAULT_FCM_DEFAULT_TIME_TO_LIVE));
+        fcmPushProviderConfig.setEndpointOverrideAllowed(readBooleanProperty(FCM_ALLOW_ENDPOINT_OVERRIDE, false));
+        fcmPushProviderConfig.setSharedAppEnabled(readBooleanProperty(FCM_SHARED_APP_ENABLED, true));
+        fcmPushProviderConfig.setSecretCacheEnabled(readBooleanProperty(SECRET_CACHE_ENABLED, true));
+        fcmPushProviderConfig.setSecretCacheTimeToLive(
+                readIntProperty(SECRET_CACHE_TIME_TO_LIVE, DEFAULT_SECRET_CACHE_TIME_TO_LIVE));
+        fcmPushProviderConfig.setDeduplicationEnabled(readBooleanProperty(FCM_DEDUPLICATION_ENABLED, true));
+        fcmPushProviderConfig.setDeduplicationWindow(
+                readIntProperty(FCM_DEDUPLICATION_WINDOW, DEFAULT_FCM_DEDUPLICATION_WINDOW));
+        fcmPushProviderConfig.setDeduplicationMaxEntries(
+                readIntProperty(FCM_DEDUPLICATION_MAX_ENTRIES, DEFAULT_FCM_DEDUPLICATION_MAX_ENTRIES));
+        fcmPushProviderConfig.setCircuitBreakerConfig(readCircuitBreakerConfig());
+        fcmPushProviderConfig.setRateLimitConfig(readRateLimitConfig());
+        return fcmPushProviderConfig;
+    }
+
+    /**
+     * Read the server level configurations of the APNs push provider.
+     *
+     * @return APNs push provider configurations.
+     */
+    public static APNSPushProviderConfig readAPNSPushProviderConfig() {
+
+        APNSPushProviderConfig apnsPushProviderConfig = new APNSPushProviderConfig();
+        apnsPushProviderConfig.setEnabled(readBooleanProperty(APNS_ENABLED, true));
+        apnsPushProviderConfig.setTokenRefreshInterval(
+                readIntProperty(APNS_TOKEN_REFRESH_INTERVAL, DEFAULT_APNS_TOKEN_REFRESH_INTERVAL));
+        apnsPushProviderConfig.setConnectTimeout(readIntProperty(APNS_CONNECT_TIMEOUT, DEFAULT_APNS_CONNECT_TIMEOUT));
+        apnsPushProviderConfig.setSendTimeout(readIntProperty(APNS_SEND_TIMEOUT, DEFAULT_APNS_SEND_TIMEOUT));
+        apnsPushProviderConfig.setDefaultTimeToLive(
+                readIntProperty(APNS_DEFAULT_TIME_TO_LIVE, DEFAULT_APNS_DEFAULT_TIME_TO_LIVE));
+        apnsPushProviderConfig.setEndpointOverrideAllowed(readBooleanProperty(APNS_ALLOW_ENDPOINT_OVERRIDE, false));
+        apnsPushProviderConfig.setSecretCacheEnabled(readBooleanProperty(SECRET_CACHE_ENABLED, true));
+        apnsPushProviderConfig.setSecretCacheTimeToLive(
+                readIntProperty(SECRET_CACHE_TIME_TO_LIVE, DEFAULT_SECRET_CACHE_TIME_TO_LIVE));
+        return apnsPushProviderConfig;
+    }
+
+    /**
+     * Read the configurations of the circuit breakers guarding the push provider calls.
+     *
+     * @return Circuit breaker configurations.
+     */
+    public static CircuitBreakerConfig readCircuitBreakerConfig() {
+
+        CircuitBreakerConfig circuitBreakerConfig = new CircuitBreakerConfig();
+        circuitBreakerConfig.setEnabled(readBooleanProperty(CIRCUIT_BREAKER_ENABLED, true));
+        circuitBreakerConfig.setWindowSize(
+                readIntProperty(CIRCUIT_BREAKER_WINDOW_SIZE, DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE));
+        circuitBreakerConfig.setMinimumCalls(
+                readIntProperty(CIRCUIT_BREAKER_MINIMUM_CALLS, DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS));
+        circuitBreakerConfig.setFailureRateThreshold(readIntProperty(CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+                DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD));
+        circuitBreakerConfig.setSlowCallDuration(
+                readIntProperty(CIRCUIT_BREAKER_SLOW_CALL_DURATION, DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION));
+        circuitBreakerConfig.setSlowCallRateThreshold(readIntProperty(CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD,
+                DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD));
+        circuitBreakerConfig.setOpenDuration(
+                readIntProperty(CIRCUIT_BREAKER_OPEN_DURATION, DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION));
+        circuitBreakerConfig.setHalfOpenCalls(
+                readIntProperty(CIRCUIT_BREAKER_HALF_OPEN_CALLS, DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS));
+        return circuitBreakerConfig;
+    }
+
+    /**
+     * Read the configurations of the rate limiters applied to the push notifications.
+     *
+     * @return Rate limit configurations.
+     */
+    public static RateLimitConfig readRateLimitConfig() {
+
+        RateLimitConfig rateLimitConfig = new RateLimitConfig();
+        rateLimitConfig.setEnabled(readBooleanProperty(RATE_LIMIT_ENABLED, true));
+        rateLimitConfig.setTenantRate(readIntProperty(RATE_LIMIT_TENANT_RATE, DEFAULT_RATE_LIMIT_TENANT_RATE));
+        rateLimitConfig.setTenantBurst(readIntProperty(RATE_LIMIT_TENANT_BURST, DEFAULT_RATE_LIMIT_TENANT_BURST));
+        rateLimitConfig.setCredentialRate(
+                readIntProperty(RATE_LIMIT_CREDENTIAL_RATE, DEFAULT_RATE_LIMIT_CREDENTIAL_RATE));
+        rateLimitConfig.setCredentialBurst(
+                readIntProperty(RATE_LIMIT_CREDENTIAL_BURST, DEFAULT_RATE_LIMIT_CREDENTIAL_BURST));
+        rateLimitConfig.setMaxWait(readIntProperty(RATE_LIMIT_MAX_WAIT, DEFAULT_RATE_LIMIT_MAX_WAIT));
+        return rateLimitConfig;
+    }
+
+    /**
+     * Read the configurations of the push notification metrics.
+     *
+     * @return Push metrics configurations.
+     */
+    public static PushMetricsConfig readPushMetricsConfig() {
+
+        PushMetricsConfig pushMetricsConfig = new PushMetricsConfig();
+        pushMetricsConfig.setEnabled(readBooleanProperty(METRICS_ENABLED, true));
+        pushMetricsConfig.setMaxSeries(readIntProperty(METRICS_MAX_SERIES, DEFAULT_METRICS_MAX_SERIES));
+        return pushMetricsConfig;
+    }
+
+    private static boolean readBooleanProperty(String propertyName, boolean defaultValue) {
+
+        String configuredValue = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(configuredValue)) {
+            return Boolean.parseBoolean(configuredValue.trim());
+        }
+        return defaultValue;
+    }
+
+    private static int readIntProperty(String propertyName, int defaultValue) {
+
+        String configuredValue = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(configuredValue)) {
+            try {
+                return Integer.parseInt(configuredValue.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid value configured for '" + propertyName + "': " + configuredValue
+                        + ". Using default value: " + defaultValue, e);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -18,9 +18,13 @@
 
 package org.wso2.carbon.identity.notification.push.provider.internal;
 
+import org.wso2.carbon.identity.notification.push.provider.PushDeviceFeedbackListener;
 import org.wso2.carbon.identity.secret.mgt.core.SecretManager;
 import org.wso2.carbon.identity.secret.mgt.core.SecretResolveManager;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Push Provider Data Holder.
  */
@@ -28,6 +32,7 @@ public class ProviderDataHolder {
 
     private SecretManager secretManager;
     private SecretResolveManager secretResolveManager;
+    private final List<PushDeviceFeedbackListener> deviceFeedbackListeners = new CopyOnWriteArrayList<>();
     private static ProviderDataHolder instance = new ProviderDataHolder();
 
     private ProviderDataHolder() {
@@ -78,4 +83,34 @@ public class ProviderDataHolder {
 
         this.secretResolveManager = secretResolveManager;
     }
+
+    /**
+     * Get the listeners of the device feedback given by the push providers.
+     *
+     * @return Device feedback listeners.
+     */
+    public List<PushDeviceFeedbackListener> getDeviceFeedbackListeners() {
+
+        return deviceFeedbackListeners;
+    }
+
+    /**
+     * Add a listener of the device feedback given by the push providers.
+     *
+     * @param deviceFeedbackListener Device feedback listener.
+     */
+    public void addDeviceFeedbackListener(PushDeviceFeedbackListener deviceFeedbackListener) {
+
+        deviceFeedbackListeners.add(deviceFeedbackListener);
+    }
+
+    /**
+     * Remove a listener of the device feedback given by the push providers.
+     *
+     * @param deviceFeedbackListener Device feedback listener.
+     */
+    public void removeDeviceFeedbackListener(PushDeviceFeedbackListener deviceFeedbackListener) {
+
+        deviceFeedbackListeners.remove(deviceFeedbackListener);
+    }
 }
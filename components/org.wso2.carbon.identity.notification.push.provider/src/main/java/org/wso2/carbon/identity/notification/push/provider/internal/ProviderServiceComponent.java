@@ -27,8 +27,12 @@ import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
+import org.wso2.carbon.identity.notification.push.provider.PushDeviceFeedbackListener;
 import org.wso2.carbon.identity.notification.push.provider.PushProvider;
+import org.wso2.carbon.identity.notification.push.provider.impl.APNSPushProvider;
 import org.wso2.carbon.identity.notification.push.provider.impl.FCMPushProvider;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+import org.wso2.carbon.identity.notification.push.provider.model.APNSPushProviderConfig;
 import org.wso2.carbon.identity.secret.mgt.core.SecretManager;
 import org.wso2.carbon.identity.secret.mgt.core.SecretResolveManager;
 
@@ -43,11 +47,24 @@ public class ProviderServiceComponent {
 
     private static final Log LOG = LogFactory.getLog(ProviderServiceComponent.class);
 
+    private FCMPushProvider fcmPushProvider;
+    private APNSPushProvider apnsPushProvider;
+
     @Activate
     protected void activate(ComponentContext context) {
 
         try {
-            context.getBundleContext().registerService(PushProvider.class.getName(), new FCMPushProvider(), null);
+            PushMetrics.getInstance().configure(ProviderConfigReader.readPushMetricsConfig());
+            if (PushMetrics.getInstance().isEnabled()) {
+                PushMetrics.getInstance().register();
+            }
+            fcmPushProvider = new FCMPushProvider(ProviderConfigReader.readFCMPushProviderConfig());
+            context.getBundleContext().registerService(PushProvider.class.getName(), fcmPushProvider, null);
+            APNSPushProviderConfig apnsPushProviderConfig = ProviderConfigReader.readAPNSPushProviderConfig();
+            if (apnsPushProviderConfig.isEnabled()) {
+                apnsPushProvider = new APNSPushProvider(apnsPushProviderConfig);
+                context.getBundleContext().registerService(PushProvider.class.getName(), apnsPushProvider, null);
+            }
         } catch (Throwable e) {
             LOG.error("Error occurred while activating Push Provider Service Component", e);
             return;
@@ -61,6 +78,15 @@ public class ProviderServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        if (fcmPushProvider != null) {
+            fcmPushProvider.shutdown();
+            fcmPushProvider = null;
+        }
+        if (apnsPushProvider != null) {
+            apnsPushProvider.shutdown();
+            apnsPushProvider = null;
+        }
+        PushMetrics.getInstance().unregister();
         if (LOG.isDebugEnabled()) {
             LOG.debug("Push Provider Service Component bundle is deactivated.");
         }
@@ -99,4 +125,21 @@ public class ProviderServiceComponent {
 
         ProviderDataHolder.getInstance().setSecretResolveManager(null);
     }
+
+    @Reference(
+            name = "org.wso2.carbon.identity.notification.push.provider.PushDeviceFeedbackListener",
+            service = PushDeviceFeedbackListener.class,
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "removeDeviceFeedbackListener"
+    )
+    protected void addDeviceFeedbackListener(PushDeviceFeedbackListener deviceFeedbackListener) {
+
+        ProviderDataHolder.getInstance().addDeviceFeedbackListener(deviceFeedbackListener);
+    }
+
+    protected void removeDeviceFeedbackListener(PushDeviceFeedbackListener deviceFeedbackListener) {
+
+        ProviderDataHolder.getInstance().removeDeviceFeedbackListener(deviceFeedbackListener);
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets, in the style of an HDR histogram.
+ * <p>
+ * Latencies are recorded in microseconds. Each power of two range is split into a fixed number of linear
+ * sub-buckets, which bounds the relative error of a reported percentile to the width of a sub-bucket (12.5%) while
+ * keeping the histogram to a few hundred counters. Recording is lock free and allocation free, so the histogram can
+ * stay enabled on the send path.
+ */
+public class LatencyHistogram {
+
+    // Number of linear sub-buckets per power of two, as a power of two.
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Latencies below this value get a bucket of their own.
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int LINEAR_LIMIT_BITS = SUB_BUCKET_BITS + 1;
+    // Latencies are capped at 2^40 microseconds, which is far beyond any send timeout.
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_VALUE_BITS - LINEAR_LIMIT_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency.
+     *
+     * @param durationNanos Latency in nanoseconds.
+     */
+    public void record(long durationNanos) {
+
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(durationNanos), 0), MAX_VALUE);
+        buckets.incrementAndGet(getBucketIndex(micros));
+        count.increment();
+        sum.add(micros);
+        long currentMax = max.get();
+        while (micros > currentMax && !max.compareAndSet(currentMax, micros)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long getCount() {
+
+        return count.sum();
+    }
+
+    /**
+     * Get a point in time view of the histogram. Latencies recorded while the snapshot is taken may be partially
+     * reflected.
+     *
+     * @return Latency snapshot.
+     */
+    public LatencySnapshot getSnapshot() {
+
+        long[] counts = copyCounts();
+        long total = Arrays.stream(counts).sum();
+        long maxMicros = max.get();
+        double meanMicros = total == 0 ? 0 : (double) sum.sum() / count.sum();
+        return new LatencySnapshot(total, toMillis(meanMicros), toMillis(getPercentile(counts, total, 50, maxMicros)),
+                toMillis(getPercentile(counts, total, 90, maxMicros)),
+                toMillis(getPercentile(counts, total, 99, maxMicros)),
+                toMillis(getPercentile(counts, total, 99.9, maxMicros)), toMillis(maxMicros));
+    }
+
+    /**
+     * Get the given percentile of the recorded latencies.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Upper bound of the bucket holding the percentile, in microseconds, or 0 if nothing is recorded.
+     */
+    public long getPercentile(double percentile) {
+
+        long[] counts = copyCounts();
+        long total = Arrays.stream(counts).sum();
+        return getPercentile(counts, total, percentile, max.get());
+    }
+
+    /**
+     * Discard all the recorded latencies.
+     */
+    public void reset() {
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private long[] copyCounts() {
+
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    static int getBucketIndex(long micros) {
+
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (exponent - LINEAR_LIMIT_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long getBucketUpperBound(int index) {
+
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_LIMIT_BITS;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        long subBucketWidth = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKET_COUNT + subBucket + 1) * subBucketWidth - 1;
+    }
+
+    private static long getPercentile(long[] counts, long total, double percentile, long maxMicros) {
+
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * total), 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // The bucket bound may exceed the largest recorded latency.
+                return Math.min(getBucketUpperBound(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    private static double toMillis(double micros) {
+
+        return micros / 1000;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.metrics;
+
+/**
+ * Point in time view of a latency histogram. Latencies are reported in milliseconds.
+ */
+public class LatencySnapshot {
+
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    public LatencySnapshot(long count, double mean, double p50, double p90, double p99, double p999, double max) {
+
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    public long getCount() {
+
+        return count;
+    }
+
+    public double getMean() {
+
+        return mean;
+    }
+
+    public double getP50() {
+
+        return p50;
+    }
+
+    public double getP90() {
+
+        return p90;
+    }
+
+    public double getP99() {
+
+        return p99;
+    }
+
+    public double getP999() {
+
+        return p999;
+    }
+
+    public double getMax() {
+
+        return max;
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.metrics;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.model.PushMetricsConfig;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_METRICS_MAX_SERIES;
+
+/**
+ * Metrics of the push notifications, exposed over JMX.
+ * <p>
+ * Recording a metric is a map read followed by lock free updates of a histogram or a counter, so the metrics are
+ * enabled by default. The number of series of each metric is capped, and the measurements of any further series are
+ * folded into a single overflow series, so that a large number of tenants can not exhaust the memory.
+ */
+public class PushMetrics implements PushMetricsMXBean {
+
+    public static final String OBJECT_NAME = "org.wso2.carbon.identity.notification.push:type=PushMetrics";
+    public static final String SUCCESS = "SUCCESS";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String DEDUPLICATED = "DEDUPLICATED";
+    public static final String UNKNOWN_ERROR = "UNKNOWN";
+
+    private static final Log LOG = LogFactory.getLog(PushMetrics.class);
+    private static final String OVERFLOW_SERIES = "other";
+    private static final PushMetrics INSTANCE = new PushMetrics();
+
+    private final ConcurrentMap<String, LatencyHistogram> sendLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> sendOutcomes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> daoQueryLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> queueWaitTimes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, IntSupplier> queueDepths = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Supplier<Map<String, ?>>> circuitBreakerStates = new ConcurrentHashMap<>();
+    private final LongAdder firebaseAppInitializations = new LongAdder();
+    private volatile boolean enabled = true;
+    private volatile int maxSeries = DEFAULT_METRICS_MAX_SERIES;
+
+    PushMetrics() {
+
+    }
+
+    public static PushMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Apply the given metrics configurations.
+     *
+     * @param config Push metrics configurations.
+     */
+    public void configure(PushMetricsConfig config) {
+
+        this.enabled = config.isEnabled();
+        this.maxSeries = Math.max(config.getMaxSeries(), 1);
+    }
+
+    /**
+     * Record the outcome and the latency of a push notification sent through a provider.
+     *
+     * @param provider      Provider name.
+     * @param tenantDomain  Tenant domain.
+     * @param durationNanos Send latency in nanoseconds.
+     * @param errorCode     Push provider error code of the failure, or null if the push notification was sent.
+     */
+    public void recordSend(String provider, String tenantDomain, long durationNanos, String errorCode) {
+
+        if (!enabled) {
+            return;
+        }
+        getSeries(sendLatencies, provider + ":" + tenantDomain, key -> new LatencyHistogram()).record(durationNanos);
+        recordSendOutcome(provider, errorCode);
+    }
+
+    /**
+     * Record the outcome and the latency of a push notification sent through a provider.
+     *
+     * @param provider      Provider name.
+     * @param tenantDomain  Tenant domain.
+     * @param durationNanos Send latency in nanoseconds.
+     * @param error         Error of the send, or null if the push notification was sent.
+     */
+    public void recordSend(String provider, String tenantDomain, long durationNanos, Throwable error) {
+
+        if (enabled) {
+            recordSend(provider, tenantDomain, durationNanos, getOutcome(error));
+        }
+    }
+
+    /**
+     * Record the outcome of a push notification sent through a provider, without its latency.
+     *
+     * @param provider  Provider name.
+     * @param errorCode Push provider error code of the failure, or null if the push notification was sent.
+     */
+    public void recordSendOutcome(String provider, String errorCode) {
+
+        if (!enabled) {
+            return;
+        }
+        String outcome = provider + ":" + StringUtils.defaultIfBlank(errorCode, SUCCESS);
+        getSeries(sendOutcomes, outcome, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record a Firebase app initialization.
+     */
+    public void recordFirebaseAppInitialization() {
+
+        if (enabled) {
+            firebaseAppInitializations.increment();
+        }
+    }
+
+    /**
+     * Record the execution time of a device DAO query.
+     *
+     * @param operation     DAO operation.
+     * @param durationNanos Execution time in nanoseconds.
+     */
+    public void recordDaoQuery(String operation, long durationNanos) {
+
+        if (enabled) {
+            getSeries(daoQueryLatencies, operation, key -> new LatencyHistogram()).record(durationNanos);
+        }
+    }
+
+    /**
+     * Record the time a push notification waited in a dispatching queue before it was picked up for sending.
+     *
+     * @param queue         Name of the queue.
+     * @param durationNanos Wait time in nanoseconds.
+     */
+    public void recordQueueWait(String queue, long durationNanos) {
+
+        if (enabled) {
+            getSeries(queueWaitTimes, queue, key -> new LatencyHistogram()).record(durationNanos);
+        }
+    }
+
+    /**
+     * Register a dispatching queue whose depth is reported by the metrics.
+     *
+     * @param queue Name of the queue.
+     * @param depth Supplier of the number of push notifications waiting in the queue.
+     */
+    public void registerQueue(String queue, IntSupplier depth) {
+
+        queueDepths.put(queue, depth);
+    }
+
+    /**
+     * Stop reporting the depth of a dispatching queue.
+     *
+     * @param queue Name of the queue.
+     */
+    public void unregisterQueue(String queue) {
+
+        queueDepths.remove(queue);
+    }
+
+    /**
+     * Register the circuit breakers of a push provider, whose states are reported by the metrics.
+     *
+     * @param provider Provider name.
+     * @param states   Supplier of the circuit breaker states keyed by push sender.
+     */
+    public void registerCircuitBreakers(String provider, Supplier<Map<String, ?>> states) {
+
+        circuitBreakerStates.put(provider, states);
+    }
+
+    /**
+     * Stop reporting the states of the circuit breakers of a push provider. The states are still reported if
+     * another instance of the provider has registered its circuit breakers since.
+     *
+     * @param provider Provider name.
+     * @param states   Supplier of the circuit breaker states given when registering them.
+     */
+    public void unregisterCircuitBreakers(String provider, Supplier<Map<String, ?>> states) {
+
+        circuitBreakerStates.remove(provider, states);
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getSendLatencies() {
+
+        return getSnapshots(sendLatencies);
+    }
+
+    @Override
+    public Map<String, Long> getSendOutcomes() {
+
+        Map<String, Long> outcomes = new HashMap<>();
+        sendOutcomes.forEach((outcome, counter) -> outcomes.put(outcome, counter.sum()));
+        return outcomes;
+    }
+
+    @Override
+    public long getFirebaseAppInitializations() {
+
+        return firebaseAppInitializations.sum();
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getDaoQueryLatencies() {
+
+        return getSnapshots(daoQueryLatencies);
+    }
+
+    @Override
+    public Map<String, Integer> getQueueDepths() {
+
+        Map<String, Integer> depths = new HashMap<>();
+        queueDepths.forEach((queue, depth) -> depths.put(queue, depth.getAsInt()));
+        return depths;
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getQueueWaitTimes() {
+
+        return getSnapshots(queueWaitTimes);
+    }
+
+    @Override
+    public Map<String, String> getCircuitBreakerStates() {
+
+        Map<String, String> states = new HashMap<>();
+        circuitBreakerStates.forEach((provider, providerStates) -> providerStates.get().forEach(
+                (sender, state) -> states.put(provider + ":" + sender, String.valueOf(state))));
+        return states;
+    }
+
+    @Override
+    public void reset() {
+
+        sendLatencies.clear();
+        sendOutcomes.clear();
+        daoQueryLatencies.clear();
+        queueWaitTimes.clear();
+        firebaseAppInitializations.reset();
+    }
+
+    /**
+     * Register the metrics in the platform MBean server.
+     */
+    public void register() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("Error occurred while registering the push notification metrics MBean.", e);
+        }
+    }
+
+    /**
+     * Remove the metrics from the platform MBean server.
+     */
+    public void unregister() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("Error occurred while unregistering the push notification metrics MBean.", e);
+        }
+    }
+
+    /**
+     * Get the outcome of a push notification send from its error.
+     *
+     * @param error Error of the send, or null if the push notification was sent.
+     * @return SUCCESS, CANCELLED, the push provider error code, or UNKNOWN.
+     */
+    public static String getOutcome(Throwable error) {
+
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error == null) {
+            return SUCCESS;
+        }
+        if (error instanceof CancellationException) {
+            return CANCELLED;
+        }
+        if (error instanceof PushProviderException
+                && StringUtils.isNotBlank(((PushProviderException) error).getErrorCode())) {
+            return ((PushProviderException) error).getErrorCode();
+        }
+        return UNKNOWN_ERROR;
+    }
+
+    private <T> T getSeries(ConcurrentMap<String, T> series, String key, Function<String, T> factory) {
+
+        T value = series.get(key);
+        if (value != null) {
+            return value;
+        }
+        if (series.size() >= maxSeries) {
+            key = OVERFLOW_SERIES;
+        }
+        return series.computeIfAbsent(key, factory);
+    }
+
+    private Map<String, LatencySnapshot> getSnapshots(Map<String, LatencyHistogram> histograms) {
+
+        Map<String, LatencySnapshot> snapshots = new HashMap<>();
+        histograms.forEach((key, histogram) -> snapshots.put(key, histogram.getSnapshot()));
+        return snapshots;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the push notification metrics.
+ */
+public interface PushMetricsMXBean {
+
+    /**
+     * Check whether the metrics are being recorded.
+     *
+     * @return True if the metrics are enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Get the send latencies of the push notifications sent one at a time.
+     *
+     * @return Latency snapshots keyed by provider and tenant domain.
+     */
+    Map<String, LatencySnapshot> getSendLatencies();
+
+    /**
+     * Get the number of push notifications sent, by outcome.
+     *
+     * @return Send counts keyed by provider and either SUCCESS or the push provider error code.
+     */
+    Map<String, Long> getSendOutcomes();
+
+    /**
+     * Get the number of Firebase apps initialized.
+     *
+     * @return Firebase app initialization count.
+     */
+    long getFirebaseAppInitializations();
+
+    /**
+     * Get the execution times of the device DAO queries.
+     *
+     * @return Latency snapshots keyed by DAO operation.
+     */
+    Map<String, LatencySnapshot> getDaoQueryLatencies();
+
+    /**
+     * Get the number of push notifications waiting in each dispatching queue.
+     *
+     * @return Queue depths keyed by queue name.
+     */
+    Map<String, Integer> getQueueDepths();
+
+    /**
+     * Get the times push notifications waited in the dispatching queues before they were picked up for sending.
+     *
+     * @return Latency snapshots keyed by queue name.
+     */
+    Map<String, LatencySnapshot> getQueueWaitTimes();
+
+    /**
+     * Get the state of the circuit breaker of each push sender, which is one of CLOSED, OPEN or HALF_OPEN.
+     *
+     * @return Circuit breaker states keyed by provider, tenant domain and provider id.
+     */
+    Map<String, String> getCircuitBreakerStates();
+
+    /**
+     * Discard all the recorded metrics.
+     */
+    void reset();
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a push notification sent through a push provider.
+ * <p>
+ * The event is only committed while a flight recording with the event enabled is running. Otherwise creating, timing
+ * and committing the event is optimized away by the JVM.
+ */
+@Name("org.wso2.carbon.identity.notification.push.PushSend")
+@Label("Push Notification Send")
+@Category({"WSO2", "Push Notification"})
+@Description("Sending of a push notification through a push provider.")
+@StackTrace(false)
+public class PushSendEvent extends Event {
+
+    @Label("Tenant Domain")
+    private String tenantDomain;
+
+    @Label("Provider")
+    private String provider;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void setTenantDomain(String tenantDomain) {
+
+        this.tenantDomain = tenantDomain;
+    }
+
+    public void setProvider(String provider) {
+
+        this.provider = provider;
+    }
+
+    public void setOutcome(String outcome) {
+
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_CONNECT_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_DEFAULT_TIME_TO_LIVE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_APNS_TOKEN_REFRESH_INTERVAL;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_SECRET_CACHE_TIME_TO_LIVE;
+
+/**
+ * Model class for the server level configurations of the APNs push provider.
+ */
+public class APNSPushProviderConfig {
+
+    private boolean enabled = true;
+    private int tokenRefreshInterval = DEFAULT_APNS_TOKEN_REFRESH_INTERVAL;
+    private int connectTimeout = DEFAULT_APNS_CONNECT_TIMEOUT;
+    private int sendTimeout = DEFAULT_APNS_SEND_TIMEOUT;
+    private int defaultTimeToLive = DEFAULT_APNS_DEFAULT_TIME_TO_LIVE;
+    private boolean endpointOverrideAllowed = false;
+    // The secret cache needs the caching runtime of the server. Hence, it is enabled when read from the server
+    // configurations.
+    private boolean secretCacheEnabled = false;
+    private int secretCacheTimeToLive = DEFAULT_SECRET_CACHE_TIME_TO_LIVE;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the time in seconds after which the provider token of a push sender is signed again.
+     *
+     * @return Token refresh interval in seconds.
+     */
+    public int getTokenRefreshInterval() {
+
+        return tokenRefreshInterval;
+    }
+
+    public void setTokenRefreshInterval(int tokenRefreshInterval) {
+
+        this.tokenRefreshInterval = tokenRefreshInterval;
+    }
+
+    /**
+     * Get the time in seconds within which a connection to APNs must be established.
+     *
+     * @return Connect timeout in seconds.
+     */
+    public int getConnectTimeout() {
+
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Get the time in milliseconds within which APNs must respond to a push notification.
+     *
+     * @return Send timeout in milliseconds, or zero if the calls are not bounded.
+     */
+    public int getSendTimeout() {
+
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(int sendTimeout) {
+
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * Get the time to live in seconds applied to the push notifications which do not set one.
+     *
+     * @return Default time to live in seconds, or a negative value to use the default of APNs.
+     */
+    public int getDefaultTimeToLive() {
+
+        return defaultTimeToLive;
+    }
+
+    public void setDefaultTimeToLive(int defaultTimeToLive) {
+
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    /**
+     * Check whether push senders may send through the APNs endpoint configured in their properties instead of the
+     * Apple endpoint. This is meant for testing against a local stand-in.
+     *
+     * @return True if the endpoint override is allowed.
+     */
+    public boolean isEndpointOverrideAllowed() {
+
+        return endpointOverrideAllowed;
+    }
+
+    public void setEndpointOverrideAllowed(boolean endpointOverrideAllowed) {
+
+        this.endpointOverrideAllowed = endpointOverrideAllowed;
+    }
+
+    /**
+     * Check whether the resolved secrets of the push senders are cached.
+     *
+     * @return True if the secret cache is enabled.
+     */
+    public boolean isSecretCacheEnabled() {
+
+        return secretCacheEnabled;
+    }
+
+    public void setSecretCacheEnabled(boolean secretCacheEnabled) {
+
+        this.secretCacheEnabled = secretCacheEnabled;
+    }
+
+    /**
+     * Get the time in seconds for which a resolved secret is served from the cache.
+     *
+     * @return Secret cache time to live in seconds.
+     */
+    public int getSecretCacheTimeToLive() {
+
+        return secretCacheTimeToLive;
+    }
+
+    public void setSecretCacheTimeToLive(int secretCacheTimeToLive) {
+
+        this.secretCacheTimeToLive = secretCacheTimeToLive;
+    }
+}
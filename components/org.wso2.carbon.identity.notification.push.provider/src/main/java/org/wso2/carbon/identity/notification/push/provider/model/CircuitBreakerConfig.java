@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+
+/**
+ * Model class for the configurations of the circuit breakers guarding the push provider calls.
+ */
+public class CircuitBreakerConfig {
+
+    private boolean enabled = true;
+    private int windowSize = DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+    private int minimumCalls = DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+    private int failureRateThreshold = DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD;
+    private int slowCallDuration = DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+    private int slowCallRateThreshold = DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD;
+    private int openDuration = DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+    private int halfOpenCalls = DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of most recent calls considered when calculating the failure and slow call rates.
+     *
+     * @return Sliding window size.
+     */
+    public int getWindowSize() {
+
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Get the minimum number of calls in the sliding window before the rates are evaluated.
+     *
+     * @return Minimum call count.
+     */
+    public int getMinimumCalls() {
+
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+
+        this.minimumCalls = minimumCalls;
+    }
+
+    /**
+     * Get the failure percentage at or above which the circuit opens.
+     *
+     * @return Failure rate threshold as a percentage.
+     */
+    public int getFailureRateThreshold() {
+
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    /**
+     * Get the duration in milliseconds above which a call is considered slow.
+     *
+     * @return Slow call duration in milliseconds.
+     */
+    public int getSlowCallDuration() {
+
+        return slowCallDuration;
+    }
+
+    public void setSlowCallDuration(int slowCallDuration) {
+
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    /**
+     * Get the slow call percentage at or above which the circuit opens.
+     *
+     * @return Slow call rate threshold as a percentage.
+     */
+    public int getSlowCallRateThreshold() {
+
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    /**
+     * Get the time in milliseconds for which an open circuit rejects calls before allowing probe calls.
+     *
+     * @return Open duration in milliseconds.
+     */
+    public int getOpenDuration() {
+
+        return openDuration;
+    }
+
+    public void setOpenDuration(int openDuration) {
+
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Get the number of probe calls which must succeed in the half open state to close the circuit.
+     *
+     * @return Half open call count.
+     */
+    public int getHalfOpenCalls() {
+
+        return halfOpenCalls;
+    }
+
+    public void setHalfOpenCalls(int halfOpenCalls) {
+
+        this.halfOpenCalls = halfOpenCalls;
+    }
+}
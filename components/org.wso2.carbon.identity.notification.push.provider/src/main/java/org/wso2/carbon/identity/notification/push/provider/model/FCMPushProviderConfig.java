@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_APP_POOL_IDLE_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_ASYNC_SCHEDULER_THREADS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_DEDUPLICATION_MAX_ENTRIES;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_DEDUPLICATION_WINDOW;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_DEFAULT_TIME_TO_LIVE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_APP_POOL_MAX_SIZE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_CREDENTIAL_REFRESH_MARGIN;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_CREDENTIAL_REFRESH_MAX_JITTER;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_CONNECT_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_DEADLINE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_INITIAL_BACKOFF;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_MAX_ATTEMPTS;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_RETRY_MAX_BACKOFF;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_FCM_SEND_TIMEOUT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_SECRET_CACHE_TIME_TO_LIVE;
+
+/**
+ * Model class for the server level configurations of the FCM push provider.
+ */
+public class FCMPushProviderConfig {
+
+    private int appPoolMaxSize = DEFAULT_FCM_APP_POOL_MAX_SIZE;
+    private int appPoolIdleTimeout = DEFAULT_FCM_APP_POOL_IDLE_TIMEOUT;
+    private boolean credentialRefreshEnabled = true;
+    private int credentialRefreshMargin = DEFAULT_FCM_CREDENTIAL_REFRESH_MARGIN;
+    private int credentialRefreshMaxJitter = DEFAULT_FCM_CREDENTIAL_REFRESH_MAX_JITTER;
+    private boolean sharedHttpClientEnabled = true;
+    private int httpClientMaxConnections = DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS;
+    private int httpClientMaxConnectionsPerRoute = DEFAULT_FCM_HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE;
+    private int httpClientConnectTimeout = DEFAULT_FCM_HTTP_CLIENT_CONNECT_TIMEOUT;
+    private int httpClientIdleConnectionTimeout = DEFAULT_FCM_HTTP_CLIENT_IDLE_CONNECTION_TIMEOUT;
+    private int retryMaxAttempts = DEFAULT_FCM_RETRY_MAX_ATTEMPTS;
+    private int retryInitialBackoff = DEFAULT_FCM_RETRY_INITIAL_BACKOFF;
+    private int retryMaxBackoff = DEFAULT_FCM_RETRY_MAX_BACKOFF;
+    private int retryDeadline = DEFAULT_FCM_RETRY_DEADLINE;
+    private int sendTimeout = DEFAULT_FCM_SEND_TIMEOUT;
+    private int asyncSchedulerThreads = DEFAULT_FCM_ASYNC_SCHEDULER_THREADS;
+    private int defaultTimeToLive = DEFAULT_FCM_DEFAULT_TIME_TO_LIVE;
+    private boolean endpointOverrideAllowed = false;
+    private boolean sharedAppEnabled = true;
+    // The secret cache needs the caching runtime of the server. Hence, it is enabled when read from the server
+    // configurations.
+    private boolean secretCacheEnabled = false;
+    private int secretCacheTimeToLive = DEFAULT_SECRET_CACHE_TIME_TO_LIVE;
+    // Deduplication changes the outcome of repeated sends. Hence, it is enabled when read from the server
+    // configurations.
+    private boolean deduplicationEnabled = false;
+    private int deduplicationWindow = DEFAULT_FCM_DEDUPLICATION_WINDOW;
+    private int deduplicationMaxEntries = DEFAULT_FCM_DEDUPLICATION_MAX_ENTRIES;
+    private CircuitBreakerConfig circuitBreakerConfig = new CircuitBreakerConfig();
+    private RateLimitConfig rateLimitConfig = new RateLimitConfig();
+
+    /**
+     * Get the maximum number of Firebase apps kept in the pool.
+     *
+     * @return Maximum pool size.
+     */
+    public int getAppPoolMaxSize() {
+
+        return appPoolMaxSize;
+    }
+
+    public void setAppPoolMaxSize(int appPoolMaxSize) {
+
+        this.appPoolMaxSize = appPoolMaxSize;
+    }
+
+    /**
+     * Get the time in seconds after which an unused Firebase app is removed from the pool.
+     *
+     * @return Idle timeout in seconds.
+     */
+    public int getAppPoolIdleTimeout() {
+
+        return appPoolIdleTimeout;
+    }
+
+    public void setAppPoolIdleTimeout(int appPoolIdleTimeout) {
+
+        this.appPoolIdleTimeout = appPoolIdleTimeout;
+    }
+
+    /**
+     * Check whether the access tokens of the Firebase apps are refreshed in the background ahead of their expiry.
+     *
+     * @return True if the background refresh is enabled.
+     */
+    public boolean isCredentialRefreshEnabled() {
+
+        return credentialRefreshEnabled;
+    }
+
+    public void setCredentialRefreshEnabled(boolean credentialRefreshEnabled) {
+
+        this.credentialRefreshEnabled = credentialRefreshEnabled;
+    }
+
+    /**
+     * Get the time in seconds before the access token expiry at which the token is refreshed.
+     *
+     * @return Refresh margin in seconds.
+     */
+    public int getCredentialRefreshMargin() {
+
+        return credentialRefreshMargin;
+    }
+
+    public void setCredentialRefreshMargin(int credentialRefreshMargin) {
+
+        this.credentialRefreshMargin = credentialRefreshMargin;
+    }
+
+    /**
+     * Get the maximum random time in seconds by which an access token refresh is brought forward.
+     *
+     * @return Maximum jitter in seconds.
+     */
+    public int getCredentialRefreshMaxJitter() {
+
+        return credentialRefreshMaxJitter;
+    }
+
+    public void setCredentialRefreshMaxJitter(int credentialRefreshMaxJitter) {
+
+        this.credentialRefreshMaxJitter = credentialRefreshMaxJitter;
+    }
+
+    /**
+     * Check whether all the Firebase apps share a single pooled HTTP client.
+     *
+     * @return True if the shared HTTP client is enabled.
+     */
+    public boolean isSharedHttpClientEnabled() {
+
+        return sharedHttpClientEnabled;
+    }
+
+    public void setSharedHttpClientEnabled(boolean sharedHttpClientEnabled) {
+
+        this.sharedHttpClientEnabled = sharedHttpClientEnabled;
+    }
+
+    /**
+     * Get the maximum number of connections in the shared connection pool.
+     *
+     * @return Maximum connection count.
+     */
+    public int getHttpClientMaxConnections() {
+
+        return httpClientMaxConnections;
+    }
+
+    public void setHttpClientMaxConnections(int httpClientMaxConnections) {
+
+        this.httpClientMaxConnections = httpClientMaxConnections;
+    }
+
+    /**
+     * Get the maximum number of connections per route in the shared connection pool.
+     *
+     * @return Maximum connection count per route.
+     */
+    public int getHttpClientMaxConnectionsPerRoute() {
+
+        return httpClientMaxConnectionsPerRoute;
+    }
+
+    public void setHttpClientMaxConnectionsPerRoute(int httpClientMaxConnectionsPerRoute) {
+
+        this.httpClientMaxConnectionsPerRoute = httpClientMaxConnectionsPerRoute;
+    }
+
+    /**
+     * Get the connection establishment timeout of the shared HTTP client in seconds.
+     *
+     * @return Connect timeout in seconds.
+     */
+    public int getHttpClientConnectTimeout() {
+
+        return httpClientConnectTimeout;
+    }
+
+    public void setHttpClientConnectTimeout(int httpClientConnectTimeout) {
+
+        this.httpClientConnectTimeout = httpClientConnectTimeout;
+    }
+
+    /**
+     * Get the time in seconds for which an idle connection is kept alive in the shared connection pool.
+     *
+     * @return Idle connection timeout in seconds.
+     */
+    public int getHttpClientIdleConnectionTimeout() {
+
+        return httpClientIdleConnectionTimeout;
+    }
+
+    public void setHttpClientIdleConnectionTimeout(int httpClientIdleConnectionTimeout) {
+
+        this.httpClientIdleConnectionTimeout = httpClientIdleConnectionTimeout;
+    }
+
+    /**
+     * Get the maximum number of attempts made to send a push notification which fails with a transient error.
+     *
+     * @return Maximum attempt count.
+     */
+    public int getRetryMaxAttempts() {
+
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    /**
+     * Get the backoff before the first retry in milliseconds.
+     *
+     * @return Initial backoff in milliseconds.
+     */
+    public int getRetryInitialBackoff() {
+
+        return retryInitialBackoff;
+    }
+
+    public void setRetryInitialBackoff(int retryInitialBackoff) {
+
+        this.retryInitialBackoff = retryInitialBackoff;
+    }
+
+    /**
+     * Get the upper bound of the backoff between retries in milliseconds.
+     *
+     * @return Maximum backoff in milliseconds.
+     */
+    public int getRetryMaxBackoff() {
+
+        return retryMaxBackoff;
+    }
+
+    public void setRetryMaxBackoff(int retryMaxBackoff) {
+
+        this.retryMaxBackoff = retryMaxBackoff;
+    }
+
+    /**
+     * Get the time in milliseconds within which all the attempts to send a push notification must complete.
+     *
+     * @return Retry deadline in milliseconds.
+     */
+    public int getRetryDeadline() {
+
+        return retryDeadline;
+    }
+
+    public void setRetryDeadline(int retryDeadline) {
+
+        this.retryDeadline = retryDeadline;
+    }
+
+    /**
+     * Get the time in milliseconds within which a single call to FCM must complete. A value less than one leaves
+     * the calls bounded only by the timeouts of the HTTP transport.
+     *
+     * @return Send timeout in milliseconds.
+     */
+    public int getSendTimeout() {
+
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(int sendTimeout) {
+
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * Get the number of threads which run the delayed work of the asynchronous sends, such as the retries, the sends
+     * queued by the rate limiter and the send timeouts.
+     *
+     * @return Number of asynchronous scheduler threads.
+     */
+    public int getAsyncSchedulerThreads() {
+
+        return asyncSchedulerThreads;
+    }
+
+    public void setAsyncSchedulerThreads(int asyncSchedulerThreads) {
+
+        this.asyncSchedulerThreads = asyncSchedulerThreads;
+    }
+
+    /**
+     * Get the time in seconds for which FCM keeps a notification for an offline device when the notification does
+     * not specify its own time to live. A negative value leaves it to the default of FCM.
+     *
+     * @return Default time to live in seconds.
+     */
+    public int getDefaultTimeToLive() {
+
+        return defaultTimeToLive;
+    }
+
+    public void setDefaultTimeToLive(int defaultTimeToLive) {
+
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    /**
+     * Check whether push senders may send through the FCM endpoint configured in their properties instead of the
+     * Google endpoint. This is meant for load testing against a local stand-in.
+     *
+     * @return True if the endpoint override is allowed.
+     */
+    public boolean isEndpointOverrideAllowed() {
+
+        return endpointOverrideAllowed;
+    }
+
+    public void setEndpointOverrideAllowed(boolean endpointOverrideAllowed) {
+
+        this.endpointOverrideAllowed = endpointOverrideAllowed;
+    }
+
+    /**
+     * Check whether push senders configured with identical service account credentials share a single Firebase app.
+     *
+     * @return True if shared apps are enabled.
+     */
+    public boolean isSharedAppEnabled() {
+
+        return sharedAppEnabled;
+    }
+
+    public void setSharedAppEnabled(boolean sharedAppEnabled) {
+
+        this.sharedAppEnabled = sharedAppEnabled;
+    }
+
+    /**
+     * Check whether the resolved secrets of the push senders are cached.
+     *
+     * @return True if the secret cache is enabled.
+     */
+    public boolean isSecretCacheEnabled() {
+
+        return secretCacheEnabled;
+    }
+
+    public void setSecretCacheEnabled(boolean secretCacheEnabled) {
+
+        this.secretCacheEnabled = secretCacheEnabled;
+    }
+
+    /**
+     * Get the time in seconds for which a resolved secret is served from the cache.
+     *
+     * @return Secret cache time to live in seconds.
+     */
+    public int getSecretCacheTimeToLive() {
+
+        return secretCacheTimeToLive;
+    }
+
+    public void setSecretCacheTimeToLive(int secretCacheTimeToLive) {
+
+        this.secretCacheTimeToLive = secretCacheTimeToLive;
+    }
+
+    /**
+     * Check whether repeated sends of a push notification to the same device are suppressed.
+     *
+     * @return True if the send deduplication is enabled.
+     */
+    public boolean isDeduplicationEnabled() {
+
+        return deduplicationEnabled;
+    }
+
+    public void setDeduplicationEnabled(boolean deduplicationEnabled) {
+
+        this.deduplicationEnabled = deduplicationEnabled;
+    }
+
+    /**
+     * Get the time in seconds for which the outcome of a send is returned to repeated sends of the push
+     * notification.
+     *
+     * @return Deduplication window in seconds.
+     */
+    public int getDeduplicationWindow() {
+
+        return deduplicationWindow;
+    }
+
+    public void setDeduplicationWindow(int deduplicationWindow) {
+
+        this.deduplicationWindow = deduplicationWindow;
+    }
+
+    /**
+     * Get the maximum number of sends remembered for deduplication.
+     *
+     * @return Maximum number of deduplication entries.
+     */
+    public int getDeduplicationMaxEntries() {
+
+        return deduplicationMaxEntries;
+    }
+
+    public void setDeduplicationMaxEntries(int deduplicationMaxEntries) {
+
+        this.deduplicationMaxEntries = deduplicationMaxEntries;
+    }
+
+    /**
+     * Get the configurations of the circuit breakers guarding the calls made to FCM.
+     *
+     * @return Circuit breaker configurations.
+     */
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+
+        return circuitBreakerConfig;
+    }
+
+    public void setCircuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+
+        this.circuitBreakerConfig = circuitBreakerConfig;
+    }
+
+    /**
+     * Get the configurations of the rate limiters applied to the push notifications sent through FCM.
+     *
+     * @return Rate limit configurations.
+     */
+    public RateLimitConfig getRateLimitConfig() {
+
+        return rateLimitConfig;
+    }
+
+    public void setRateLimitConfig(RateLimitConfig rateLimitConfig) {
+
+        this.rateLimitConfig = rateLimitConfig;
+    }
+}
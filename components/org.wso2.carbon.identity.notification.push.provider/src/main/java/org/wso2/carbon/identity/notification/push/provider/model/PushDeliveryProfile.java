@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+/**
+ * Model class describing how urgently and for how long a push notification should be delivered, using Builder
+ * pattern.
+ * <p>
+ * Push providers map the profile to their platform specific options, such as the Android message priority and the
+ * APNs priority and push type headers.
+ */
+public class PushDeliveryProfile {
+
+    public static final String APNS_PRIORITY_IMMEDIATE = "10";
+    public static final String APNS_PRIORITY_POWER_CONSIDERATE = "5";
+    public static final String APNS_PUSH_TYPE_ALERT = "alert";
+    public static final String APNS_PUSH_TYPE_BACKGROUND = "background";
+
+    /**
+     * Profile for time critical authentication notifications, such as login approvals, which must be delivered
+     * immediately even when the device is idle.
+     */
+    public static final PushDeliveryProfile AUTH_CRITICAL = new Builder()
+            .setPriority(Priority.HIGH)
+            .setApnsPriority(APNS_PRIORITY_IMMEDIATE)
+            .setApnsPushType(APNS_PUSH_TYPE_ALERT)
+            .build();
+
+    /**
+     * Delivery priority of a push notification.
+     */
+    public enum Priority {
+        HIGH, NORMAL
+    }
+
+    private final Priority priority;
+    private final Long timeToLive;
+    private final String collapseKey;
+    private final String apnsPriority;
+    private final String apnsPushType;
+
+    private PushDeliveryProfile(Builder builder) {
+
+        this.priority = builder.priority;
+        this.timeToLive = builder.timeToLive;
+        this.collapseKey = builder.collapseKey;
+        this.apnsPriority = builder.apnsPriority;
+        this.apnsPushType = builder.apnsPushType;
+    }
+
+    public Priority getPriority() {
+
+        return priority;
+    }
+
+    /**
+     * Get the time in seconds for which the provider keeps the notification while the device is offline.
+     *
+     * @return Time to live in seconds, or null to use the default of the provider.
+     */
+    public Long getTimeToLive() {
+
+        return timeToLive;
+    }
+
+    /**
+     * Get the key identifying a group of notifications of which only the latest one is delivered.
+     *
+     * @return Collapse key, or null if the notifications should not be collapsed.
+     */
+    public String getCollapseKey() {
+
+        return collapseKey;
+    }
+
+    public String getApnsPriority() {
+
+        return apnsPriority;
+    }
+
+    public String getApnsPushType() {
+
+        return apnsPushType;
+    }
+
+    /**
+     * Create a builder initialized with the values of this profile.
+     *
+     * @return Builder.
+     */
+    public Builder toBuilder() {
+
+        return new Builder()
+                .setPriority(priority)
+                .setTimeToLive(timeToLive)
+                .setCollapseKey(collapseKey)
+                .setApnsPriority(apnsPriority)
+                .setApnsPushType(apnsPushType);
+    }
+
+    /**
+     * Builder class for PushDeliveryProfile.
+     */
+    public static class Builder {
+
+        private Priority priority = Priority.NORMAL;
+        private Long timeToLive;
+        private String collapseKey;
+        private String apnsPriority;
+        private String apnsPushType;
+
+        public Builder setPriority(Priority priority) {
+
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder setTimeToLive(Long timeToLive) {
+
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public Builder setCollapseKey(String collapseKey) {
+
+            this.collapseKey = collapseKey;
+            return this;
+        }
+
+        public Builder setApnsPriority(String apnsPriority) {
+
+            this.apnsPriority = apnsPriority;
+            return this;
+        }
+
+        public Builder setApnsPushType(String apnsPushType) {
+
+            this.apnsPushType = apnsPushType;
+            return this;
+        }
+
+        public PushDeliveryProfile build() {
+
+            return new PushDeliveryProfile(this);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+/**
+ * Model class to hold the feedback of a push provider about a device it sent a push notification to.
+ */
+public class PushDeviceFeedback {
+
+    private final String provider;
+    private final String tenantDomain;
+    private final String deviceId;
+    private final String deviceToken;
+    private final String errorCode;
+
+    /**
+     * Constructor to initialize the push device feedback.
+     *
+     * @param provider     Name of the push provider.
+     * @param tenantDomain Tenant domain of the push notification.
+     * @param deviceId     Device ID, if known to the push provider.
+     * @param deviceToken  Device token rejected by the push provider.
+     * @param errorCode    Push provider error code of the rejection.
+     */
+    public PushDeviceFeedback(String provider, String tenantDomain, String deviceId, String deviceToken,
+                              String errorCode) {
+
+        this.provider = provider;
+        this.tenantDomain = tenantDomain;
+        this.deviceId = deviceId;
+        this.deviceToken = deviceToken;
+        this.errorCode = errorCode;
+    }
+
+    public String getProvider() {
+
+        return provider;
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    public String getDeviceId() {
+
+        return deviceId;
+    }
+
+    public String getDeviceToken() {
+
+        return deviceToken;
+    }
+
+    public String getErrorCode() {
+
+        return errorCode;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_METRICS_MAX_SERIES;
+
+/**
+ * Model class for the configurations of the push notification metrics.
+ */
+public class PushMetricsConfig {
+
+    private boolean enabled = true;
+    private int maxSeries = DEFAULT_METRICS_MAX_SERIES;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the maximum number of series kept for each metric, such as the send latency of each provider and tenant.
+     *
+     * @return Maximum number of series.
+     */
+    public int getMaxSeries() {
+
+        return maxSeries;
+    }
+
+    public void setMaxSeries(int maxSeries) {
+
+        this.maxSeries = maxSeries;
+    }
+}
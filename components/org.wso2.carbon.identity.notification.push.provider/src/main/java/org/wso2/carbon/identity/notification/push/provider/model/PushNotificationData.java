@@ -20,8 +20,11 @@ package org.wso2.carbon.identity.notification.push.provider.model;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Model class for push notification data using Builder pattern.
@@ -47,6 +50,7 @@ public class PushNotificationData {
     private final String ipAddress;
     private final String deviceOS;
     private final String browser;
+    private final PushDeliveryProfile deliveryProfile;
 
     private PushNotificationData(Builder builder) {
 
@@ -69,6 +73,7 @@ public class PushNotificationData {
         this.ipAddress = builder.ipAddress;
         this.deviceOS = builder.deviceOS;
         this.browser = builder.browser;
+        this.deliveryProfile = resolveDeliveryProfile(builder);
     }
 
     public String getNotificationTitle() {
@@ -161,6 +166,22 @@ public class PushNotificationData {
         return deviceOS;
     }
 
+    public String getBrowser() {
+
+        return browser;
+    }
+
+    /**
+     * Get the delivery profile of the notification.
+     *
+     * @return Delivery profile, which is the auth critical profile unless another profile is set, with the time to
+     * live and collapse key of the notification applied.
+     */
+    public PushDeliveryProfile getDeliveryProfile() {
+
+        return deliveryProfile;
+    }
+
     public Map<String, String> getAdditionalData() {
 
         Map<String, String> additionalData = new HashMap<>();
@@ -214,6 +235,43 @@ public class PushNotificationData {
         return additionalData;
     }
 
+    private PushDeliveryProfile resolveDeliveryProfile(Builder builder) {
+
+        PushDeliveryProfile profile = builder.deliveryProfile != null ? builder.deliveryProfile :
+                PushDeliveryProfile.AUTH_CRITICAL;
+        Long timeToLive = builder.timeToLive != null ? builder.timeToLive : profile.getTimeToLive();
+        String collapseKey = builder.collapseKey;
+        if (collapseKey == null) {
+            collapseKey = profile.getCollapseKey() != null ? profile.getCollapseKey() : buildDefaultCollapseKey();
+        }
+        if (Objects.equals(timeToLive, profile.getTimeToLive())
+                && StringUtils.equals(collapseKey, profile.getCollapseKey())) {
+            return profile;
+        }
+        return profile.toBuilder()
+                .setTimeToLive(timeToLive)
+                .setCollapseKey(collapseKey)
+                .build();
+    }
+
+    /**
+     * Build a collapse key which is the same for the notifications sent to a user for a scenario, so that a device
+     * coming back online receives only the latest challenge. The key is a name based UUID, so that it stays within
+     * the length limits of the providers and does not expose the user details to them.
+     *
+     * @return Collapse key, or null if the notification is not sent to a known user.
+     */
+    private String buildDefaultCollapseKey() {
+
+        if (StringUtils.isEmpty(username)) {
+            return null;
+        }
+        String keyMaterial = StringUtils.defaultString(tenantDomain) + "/" + StringUtils.defaultString(organizationId)
+                + "/" + StringUtils.defaultString(userStoreDomain) + "/" + username + "/"
+                + StringUtils.defaultString(notificationScenario);
+        return UUID.nameUUIDFromBytes(keyMaterial.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
     private String buildRelativePath() {
 
         if (StringUtils.isNotEmpty(organizationId) && StringUtils.isNotEmpty(primaryTenantDomain)) {
@@ -250,6 +308,9 @@ public class PushNotificationData {
         private String ipAddress;
         private String deviceOS;
         private String browser;
+        private PushDeliveryProfile deliveryProfile;
+        private Long timeToLive;
+        private String collapseKey;
 
         public Builder setNotificationTitle(String notificationTitle) {
 
@@ -365,6 +426,39 @@ public class PushNotificationData {
             return this;
         }
 
+        public Builder setDeliveryProfile(PushDeliveryProfile deliveryProfile) {
+
+            this.deliveryProfile = deliveryProfile;
+            return this;
+        }
+
+        /**
+         * Set the time in seconds for which the notification is kept for an offline device. This should be aligned
+         * with the validity period of the challenge carried by the notification, so that expired challenges are
+         * dropped instead of being delivered.
+         *
+         * @param timeToLive Time to live in seconds.
+         * @return Builder.
+         */
+        public Builder setTimeToLive(Long timeToLive) {
+
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Set the key identifying the notifications of which only the latest one is delivered. When not set, a key
+         * derived from the user and the notification scenario is used.
+         *
+         * @param collapseKey Collapse key.
+         * @return Builder.
+         */
+        public Builder setCollapseKey(String collapseKey) {
+
+            this.collapseKey = collapseKey;
+            return this;
+        }
+
         public PushNotificationData build() {
 
             return new PushNotificationData(this);
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+/**
+ * Model class to hold the outcome of sending a single push notification as part of a batch.
+ */
+public class PushNotificationResult {
+
+    private final PushNotificationData pushNotificationData;
+    private final boolean successful;
+    private final String errorCode;
+    private final String errorMessage;
+
+    /**
+     * Constructor to initialize a successful push notification result.
+     *
+     * @param pushNotificationData Push notification data which was sent.
+     */
+    public PushNotificationResult(PushNotificationData pushNotificationData) {
+
+        this.pushNotificationData = pushNotificationData;
+        this.successful = true;
+        this.errorCode = null;
+        this.errorMessage = null;
+    }
+
+    /**
+     * Constructor to initialize a failed push notification result.
+     *
+     * @param pushNotificationData Push notification data which failed to be sent.
+     * @param errorCode            Error code of the failure.
+     * @param errorMessage         Error message of the failure.
+     */
+    public PushNotificationResult(PushNotificationData pushNotificationData, String errorCode, String errorMessage) {
+
+        this.pushNotificationData = pushNotificationData;
+        this.successful = false;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+    }
+
+    public PushNotificationData getPushNotificationData() {
+
+        return pushNotificationData;
+    }
+
+    public boolean isSuccessful() {
+
+        return successful;
+    }
+
+    public String getErrorCode() {
+
+        return errorCode;
+    }
+
+    public String getErrorMessage() {
+
+        return errorMessage;
+    }
+}
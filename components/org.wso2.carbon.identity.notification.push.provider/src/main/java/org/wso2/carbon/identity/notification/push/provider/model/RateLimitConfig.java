@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider.model;
+
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_CREDENTIAL_BURST;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_CREDENTIAL_RATE;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_MAX_WAIT;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_TENANT_BURST;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.DEFAULT_RATE_LIMIT_TENANT_RATE;
+
+/**
+ * Model class for the configurations of the rate limiters applied to the push notifications.
+ */
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+    private int tenantRate = DEFAULT_RATE_LIMIT_TENANT_RATE;
+    private int tenantBurst = DEFAULT_RATE_LIMIT_TENANT_BURST;
+    private int credentialRate = DEFAULT_RATE_LIMIT_CREDENTIAL_RATE;
+    private int credentialBurst = DEFAULT_RATE_LIMIT_CREDENTIAL_BURST;
+    private int maxWait = DEFAULT_RATE_LIMIT_MAX_WAIT;
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of push notifications a tenant may send per second. A value less than one disables the limit.
+     *
+     * @return Tenant rate per second.
+     */
+    public int getTenantRate() {
+
+        return tenantRate;
+    }
+
+    public void setTenantRate(int tenantRate) {
+
+        this.tenantRate = tenantRate;
+    }
+
+    /**
+     * Get the number of push notifications a tenant may send at once after being idle.
+     *
+     * @return Tenant burst size.
+     */
+    public int getTenantBurst() {
+
+        return tenantBurst;
+    }
+
+    public void setTenantBurst(int tenantBurst) {
+
+        this.tenantBurst = tenantBurst;
+    }
+
+    /**
+     * Get the number of push notifications which may be sent per second with the credentials of a push sender.
+     * A value less than one disables the limit.
+     *
+     * @return Credential rate per second.
+     */
+    public int getCredentialRate() {
+
+        return credentialRate;
+    }
+
+    public void setCredentialRate(int credentialRate) {
+
+        this.credentialRate = credentialRate;
+    }
+
+    /**
+     * Get the number of push notifications which may be sent at once with the credentials of a push sender after
+     * being idle.
+     *
+     * @return Credential burst size.
+     */
+    public int getCredentialBurst() {
+
+        return credentialBurst;
+    }
+
+    public void setCredentialBurst(int credentialBurst) {
+
+        this.credentialBurst = credentialBurst;
+    }
+
+    /**
+     * Get the maximum time in milliseconds a push notification is queued waiting for the rate limit. Notifications
+     * which would have to wait longer are rejected. A value of zero rejects without queueing.
+     *
+     * @return Maximum wait in milliseconds.
+     */
+    public int getMaxWait() {
+
+        return maxWait;
+    }
+
+    public void setMaxWait(int maxWait) {
+
+        this.maxWait = maxWait;
+    }
+}
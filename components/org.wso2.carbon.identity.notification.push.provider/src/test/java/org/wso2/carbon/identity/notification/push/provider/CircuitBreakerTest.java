@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.impl.CircuitBreaker;
+import org.wso2.carbon.identity.notification.push.provider.impl.CircuitBreakerRegistry;
+import org.wso2.carbon.identity.notification.push.provider.model.CircuitBreakerConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit Breaker Test.
+ */
+public class CircuitBreakerTest {
+
+    private static final long FAST_CALL = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_CALL = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    public void testCircuitOpensWhenFailureRateReachesThreshold() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker("carbon.super:test", buildConfig(10000));
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(FAST_CALL, false);
+        }
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+
+        // Two failures out of five calls is below the threshold of 50%.
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(FAST_CALL, true);
+        }
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertEquals(circuitBreaker.getFailureRate(), 40f);
+
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onResult(FAST_CALL, true);
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testCircuitOpensWhenSlowCallRateReachesThreshold() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker("carbon.super:slow", buildConfig(10000));
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(SLOW_CALL, false);
+        }
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void testSlidingWindowDropsOldOutcomes() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker("carbon.super:window", buildConfig(10000));
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onResult(FAST_CALL, i == 0);
+        }
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onResult(FAST_CALL, false);
+        }
+        Assert.assertEquals(circuitBreaker.getFailureRate(), 0f);
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void testHalfOpenProbesCloseTheCircuit() throws InterruptedException {
+
+        CircuitBreaker circuitBreaker = openCircuit(new CircuitBreaker("carbon.super:probe", buildConfig(100)));
+
+        Thread.sleep(200);
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        // Only two probe calls are permitted in the half open state.
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onResult(FAST_CALL, false);
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        circuitBreaker.onResult(FAST_CALL, false);
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertEquals(circuitBreaker.getFailureRate(), 0f);
+    }
+
+    @Test
+    public void testFailedProbeReopensTheCircuit() throws InterruptedException {
+
+        CircuitBreaker circuitBreaker = openCircuit(new CircuitBreaker("carbon.super:reopen", buildConfig(100)));
+
+        Thread.sleep(200);
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onResult(FAST_CALL, true);
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testRegistryKeysCircuitBreakersByTenantAndProvider() {
+
+        CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry(buildConfig(10000));
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.getCircuitBreaker("carbon.super", "provider1");
+
+        Assert.assertSame(circuitBreakerRegistry.getCircuitBreaker("carbon.super", "provider1"), circuitBreaker);
+        Assert.assertNotSame(circuitBreakerRegistry.getCircuitBreaker("wso2.com", "provider1"), circuitBreaker);
+
+        openCircuit(circuitBreaker);
+        Assert.assertEquals(circuitBreakerRegistry.getStates().get("carbon.super:provider1"),
+                CircuitBreaker.State.OPEN);
+        Assert.assertEquals(circuitBreakerRegistry.getStates().get("wso2.com:provider1"),
+                CircuitBreaker.State.CLOSED);
+
+        circuitBreakerRegistry.reset("carbon.super", "provider1");
+        Assert.assertEquals(circuitBreakerRegistry.getCircuitBreaker("carbon.super", "provider1").getState(),
+                CircuitBreaker.State.CLOSED);
+    }
+
+    private CircuitBreaker openCircuit(CircuitBreaker circuitBreaker) {
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onResult(FAST_CALL, true);
+        }
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+        return circuitBreaker;
+    }
+
+    private CircuitBreakerConfig buildConfig(int openDuration) {
+
+        CircuitBreakerConfig circuitBreakerConfig = new CircuitBreakerConfig();
+        circuitBreakerConfig.setWindowSize(10);
+        circuitBreakerConfig.setMinimumCalls(4);
+        circuitBreakerConfig.setFailureRateThreshold(50);
+        circuitBreakerConfig.setSlowCallDuration(1000);
+        circuitBreakerConfig.setSlowCallRateThreshold(100);
+        circuitBreakerConfig.setOpenDuration(openDuration);
+        circuitBreakerConfig.setHalfOpenCalls(2);
+        return circuitBreakerConfig;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.impl.CredentialRefresher;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Credential Refresher Test.
+ */
+public class CredentialRefresherTest {
+
+    private CredentialRefresher credentialRefresher;
+    private GoogleCredentials googleCredentials;
+
+    @BeforeMethod
+    public void setUp() {
+
+        googleCredentials = Mockito.mock(GoogleCredentials.class);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (credentialRefresher != null) {
+            credentialRefresher.shutdown();
+        }
+    }
+
+    @Test
+    public void testTokenIsRefreshedAheadOfExpiry() throws Exception {
+
+        // Tokens expire in 70 seconds and are refreshed 60 seconds ahead, so the next refresh is after 10 seconds.
+        credentialRefresher = new CredentialRefresher(60, 0);
+        when(googleCredentials.getAccessToken()).thenAnswer(invocation -> new AccessToken("token",
+                new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(70))));
+
+        credentialRefresher.schedule("FirebaseApp-refresher.test-expiry", googleCredentials);
+
+        verify(googleCredentials, timeout(5000).times(1)).refresh();
+        verify(googleCredentials, after(2000).times(1)).refresh();
+        verify(googleCredentials, timeout(15000).times(2)).refresh();
+    }
+
+    @Test
+    public void testCancelledTaskIsNotRefreshedAgain() throws Exception {
+
+        credentialRefresher = new CredentialRefresher(60, 0);
+        when(googleCredentials.getAccessToken()).thenAnswer(invocation -> new AccessToken("token",
+                new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(61))));
+
+        CredentialRefresher.RefreshTask refreshTask =
+                credentialRefresher.schedule("FirebaseApp-refresher.test-cancel", googleCredentials);
+        verify(googleCredentials, timeout(5000).atLeast(1)).refresh();
+        refreshTask.cancel();
+
+        verify(googleCredentials, after(12000).times(1)).refresh();
+    }
+
+    @Test
+    public void testTokenWithoutExpiryIsNotRescheduled() throws Exception {
+
+        credentialRefresher = new CredentialRefresher(0, 0);
+        when(googleCredentials.getAccessToken()).thenReturn(new AccessToken("token", null));
+
+        credentialRefresher.schedule("FirebaseApp-refresher.test-no-expiry", googleCredentials);
+
+        verify(googleCredentials, timeout(5000).times(1)).refresh();
+        verify(googleCredentials, after(1000).times(1)).refresh();
+        verify(googleCredentials, atLeast(1)).getAccessToken();
+    }
+}
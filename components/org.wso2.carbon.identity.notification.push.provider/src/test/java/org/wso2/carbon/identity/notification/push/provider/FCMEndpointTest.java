@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.impl.FCMEndpointTransport;
+import org.wso2.carbon.identity.notification.push.provider.impl.FCMHttpTransport;
+import org.wso2.carbon.identity.notification.push.provider.impl.FCMPushProvider;
+import org.wso2.carbon.identity.notification.push.provider.model.FCMPushProviderConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_ENDPOINT_PROPERTY;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_SERVICE_ACCOUNT_SECRET;
+
+/**
+ * Tests for sending push notifications to a configured FCM endpoint, using the FCM test server.
+ */
+public class FCMEndpointTest {
+
+    private static final String PROJECT_ID = "stand-in-project";
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    private FCMTestServer fcmTestServer;
+    private FCMPushProvider fcmPushProvider;
+    private PushSenderData pushSenderData;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+
+        fcmTestServer = new FCMTestServer();
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setEndpointOverrideAllowed(true);
+        fcmPushProviderConfig.setRetryInitialBackoff(10);
+        fcmPushProvider = new FCMPushProvider(fcmPushProviderConfig);
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(FCM_SERVICE_ACCOUNT_SECRET, Base64.getEncoder().encodeToString(
+                fcmTestServer.buildServiceAccount(PROJECT_ID).getBytes(StandardCharsets.UTF_8)));
+        properties.put(FCM_ENDPOINT_PROPERTY, fcmTestServer.getRootUrl());
+        pushSenderData = Mockito.mock(PushSenderData.class);
+        when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdStandIn");
+        when(pushSenderData.getProperties()).thenReturn(properties);
+    }
+
+    @AfterClass
+    public void tearDown() {
+
+        fcmPushProvider.shutdown();
+        fcmTestServer.close();
+    }
+
+    @Test(priority = 1)
+    public void testRewriteUrl() {
+
+        FCMEndpointTransport transport = new FCMEndpointTransport(Mockito.mock(FCMHttpTransport.class),
+                "http://localhost:8080/", false);
+        Assert.assertEquals(transport.rewriteUrl(FCMEndpointTransport.FCM_ROOT_URL + "/v1/projects/p/messages:send"),
+                "http://localhost:8080/v1/projects/p/messages:send");
+        Assert.assertEquals(transport.rewriteUrl("https://oauth2.googleapis.com/token"),
+                "https://oauth2.googleapis.com/token");
+    }
+
+    @Test(priority = 2)
+    public void testSendNotificationToStandIn() throws PushProviderException {
+
+        fcmTestServer.reset();
+        fcmPushProvider.sendNotification(buildPushNotificationData(), pushSenderData, TENANT_DOMAIN);
+
+        Assert.assertEquals(fcmTestServer.getSendRequestCount(), 1);
+        Assert.assertTrue(fcmTestServer.getTokenRequestCount() >= 1);
+        Assert.assertTrue(fcmTestServer.getCapturedMessages().get(0).contains("testDeviceToken"));
+    }
+
+    @Test(priority = 3)
+    public void testSendNotificationRetriedOnQuotaExceeded() throws PushProviderException {
+
+        fcmTestServer.reset();
+        fcmTestServer.injectError(429, "QUOTA_EXCEEDED", "0");
+        fcmPushProvider.sendNotification(buildPushNotificationData(), pushSenderData, TENANT_DOMAIN);
+
+        Assert.assertEquals(fcmTestServer.getSendRequestCount(), 2);
+    }
+
+    @Test(priority = 4)
+    public void testSendNotificationWithInvalidDeviceToken() {
+
+        fcmTestServer.reset();
+        fcmTestServer.injectError(400, "INVALID_ARGUMENT");
+        try {
+            fcmPushProvider.sendNotification(buildPushNotificationData(), pushSenderData, TENANT_DOMAIN);
+            Assert.fail("Push notification should have failed with an invalid device token.");
+        } catch (PushProviderException e) {
+            Assert.assertEquals(e.getErrorCode(), PushProviderConstants.ErrorMessages
+                    .ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER.getCode());
+        }
+        Assert.assertEquals(fcmTestServer.getSendRequestCount(), 1);
+    }
+
+    @Test(priority = 5)
+    public void testInvalidEndpointRejected() {
+
+        Map<String, String> properties = new HashMap<>(pushSenderData.getProperties());
+        properties.put(FCM_ENDPOINT_PROPERTY, "ftp://localhost");
+        PushSenderData invalidPushSenderData = Mockito.mock(PushSenderData.class);
+        when(invalidPushSenderData.getProviderId()).thenReturn("testFCMProviderIdInvalidEndpoint");
+        when(invalidPushSenderData.getProperties()).thenReturn(properties);
+        try {
+            fcmPushProvider.sendNotification(buildPushNotificationData(), invalidPushSenderData, TENANT_DOMAIN);
+            Assert.fail("Push notification should have failed with an invalid endpoint.");
+        } catch (PushProviderException e) {
+            Assert.assertEquals(e.getErrorCode(),
+                    PushProviderConstants.ErrorMessages.ERROR_REQUIRED_METADATA_MISSING.getCode());
+        }
+    }
+
+    @Test(priority = 6)
+    public void testFirebaseAppSharedAcrossTenants() throws PushProviderException {
+
+        fcmTestServer.reset();
+        // Push senders of other tenants with the same service account reuse the app and the access token obtained
+        // for the first push sender.
+        fcmPushProvider.sendNotification(buildPushNotificationData(), pushSenderData, "tenant-a.com");
+        fcmPushProvider.sendNotification(buildPushNotificationData(), pushSenderData, "tenant-b.com");
+        Assert.assertEquals(fcmTestServer.getSendRequestCount(), 2);
+        Assert.assertEquals(fcmTestServer.getTokenRequestCount(), 0);
+
+        // Updating the credentials of one push sender keeps the app shared with the others.
+        fcmPushProvider.updateCredentials(pushSenderData, "tenant-a.com");
+        fcmPushProvider.sendNotification(buildPushNotificationData(), pushSenderData, "tenant-b.com");
+        Assert.assertEquals(fcmTestServer.getTokenRequestCount(), 0);
+    }
+
+    @Test(priority = 7)
+    public void testFirebaseAppNotSharedAcrossServiceAccountKeys() throws PushProviderException {
+
+        fcmTestServer.reset();
+        // Same project and key id, but a different private key.
+        Map<String, String> properties = new HashMap<>(pushSenderData.getProperties());
+        properties.put(FCM_SERVICE_ACCOUNT_SECRET, Base64.getEncoder().encodeToString(
+                fcmTestServer.buildServiceAccount(PROJECT_ID).getBytes(StandardCharsets.UTF_8)));
+        PushSenderData otherPushSenderData = Mockito.mock(PushSenderData.class);
+        when(otherPushSenderData.getProviderId()).thenReturn("testFCMProviderIdStandIn");
+        when(otherPushSenderData.getProperties()).thenReturn(properties);
+
+        fcmPushProvider.sendNotification(buildPushNotificationData(), otherPushSenderData, "tenant-c.com");
+        Assert.assertEquals(fcmTestServer.getSendRequestCount(), 1);
+        Assert.assertEquals(fcmTestServer.getTokenRequestCount(), 1);
+    }
+
+    private PushNotificationData buildPushNotificationData() {
+
+        return new PushNotificationData.Builder()
+                .setNotificationTitle("Test Title")
+                .setNotificationBody("Test Body")
+                .setDeviceToken("testDeviceToken")
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.impl.FCMHttpClientPool;
+import org.wso2.carbon.identity.notification.push.provider.impl.FCMHttpTransport;
+import org.wso2.carbon.identity.notification.push.provider.impl.FCMPushProvider;
+import org.wso2.carbon.identity.notification.push.provider.model.FCMPushProviderConfig;
+
+/**
+ * FCM HTTP Client Pool Test.
+ */
+public class FCMHttpClientPoolTest {
+
+    @Test
+    public void testPoolMetricsOfNewPool() {
+
+        FCMHttpClientPool httpClientPool = new FCMHttpClientPool(50, 10, 5, 30);
+        try {
+            Assert.assertTrue(httpClientPool.getHttpTransport() instanceof FCMHttpTransport);
+            Assert.assertEquals(httpClientPool.getMaxConnections(), 50);
+            Assert.assertEquals(httpClientPool.getLeasedConnections(), 0);
+            Assert.assertEquals(httpClientPool.getAvailableConnections(), 0);
+            Assert.assertEquals(httpClientPool.getPendingRequests(), 0);
+        } finally {
+            httpClientPool.close();
+        }
+    }
+
+    @Test
+    public void testSharedPoolIsOptional() {
+
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setSharedHttpClientEnabled(false);
+        FCMPushProvider fcmPushProvider = new FCMPushProvider(fcmPushProviderConfig);
+        try {
+            Assert.assertNull(fcmPushProvider.getHttpClientPool());
+        } finally {
+            fcmPushProvider.shutdown();
+        }
+
+        fcmPushProvider = new FCMPushProvider();
+        try {
+            Assert.assertNotNull(fcmPushProvider.getHttpClientPool());
+        } finally {
+            fcmPushProvider.shutdown();
+        }
+    }
+}
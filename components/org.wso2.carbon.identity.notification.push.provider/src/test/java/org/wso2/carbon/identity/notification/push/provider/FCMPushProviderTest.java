@@ -18,22 +18,38 @@
 
 package org.wso2.carbon.identity.notification.push.provider;
 
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.testng.Assert;
-import org.testng.annotations.BeforeTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCache;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCacheEntry;
+import org.wso2.carbon.identity.notification.push.provider.cache.PushProviderSecretCacheKey;
+import org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants;
 import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
 import org.wso2.carbon.identity.notification.push.provider.impl.FCMPushProvider;
 import org.wso2.carbon.identity.notification.push.provider.internal.ProviderDataHolder;
+import org.wso2.carbon.identity.notification.push.provider.model.FCMPushProviderConfig;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceFeedback;
 import org.wso2.carbon.identity.notification.push.provider.model.PushDeviceData;
 import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationResult;
 import org.wso2.carbon.identity.notification.push.provider.model.PushSenderData;
 import org.wso2.carbon.identity.secret.mgt.core.SecretManager;
 import org.wso2.carbon.identity.secret.mgt.core.SecretResolveManager;
@@ -43,14 +59,25 @@ import org.wso2.carbon.identity.secret.mgt.core.model.SecretType;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_SEND_TIMEOUT_PROPERTY;
 import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.FCM_SERVICE_ACCOUNT_SECRET;
 import static org.wso2.carbon.identity.notification.push.provider.constant.PushProviderConstants.PUSH_PROVIDER_SECRET_TYPE;
 
@@ -67,12 +94,19 @@ public class FCMPushProviderTest {
     @Mock
     private GoogleCredentials googleCredentials = Mockito.mock(GoogleCredentials.class);
 
-    @BeforeTest
+    @BeforeMethod
     public void createNewObject() {
 
+        // A new provider per test, so that the Firebase apps, circuit breakers and metrics of a test are not reused.
         fcmPushProvider = new FCMPushProvider();
     }
 
+    @AfterMethod
+    public void shutdownProvider() {
+
+        fcmPushProvider.shutdown();
+    }
+
     @Test(priority = 1)
     public void testGetName() {
 
@@ -623,13 +657,19 @@ public class FCMPushProviderTest {
                         .thenReturn(firebaseMessaging);
                 when(firebaseMessaging.send(Mockito.any(Message.class))).thenReturn("mockMessageId2");
 
+                fcmPushProvider.sendNotification(new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build(), pushSenderData, "carbon.super");
+
                 PushNotificationData pushNotificationData = new PushNotificationData.Builder()
                         .setNotificationTitle("Test Title 2")
                         .setNotificationBody("Test Body 2")
                         .setDeviceToken("testDeviceToken2")
                         .build();
 
-                // This should use the existing FirebaseApp instance from previous test
+                // This should use the existing FirebaseApp instance created by the previous send.
                 fcmPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
             }
         }
@@ -855,4 +895,856 @@ public class FCMPushProviderTest {
             }
         }
     }
+
+    @Test(priority = 38)
+    public void testSendNotificationAsync() throws Exception {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdAsync1");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                when(firebaseMessaging.sendAsync(Mockito.any(Message.class)))
+                        .thenReturn(ApiFutures.immediateFuture("mockMessageIdAsync"));
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title Async")
+                        .setNotificationBody("Test Body Async")
+                        .setDeviceToken("testDeviceTokenAsync")
+                        .build();
+
+                CompletableFuture<Void> future =
+                        fcmPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super");
+                future.get();
+                Assert.assertTrue(future.isDone());
+                Assert.assertFalse(future.isCompletedExceptionally());
+                verify(firebaseMessaging, never()).send(Mockito.any(Message.class));
+            }
+        }
+    }
+
+    @Test(priority = 39)
+    public void testSendNotificationAsyncFailWithUnregisteredError() throws Exception {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdAsync2");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+
+                FirebaseMessagingException firebaseException = Mockito.mock(FirebaseMessagingException.class);
+                when(firebaseException.getMessagingErrorCode())
+                        .thenReturn(com.google.firebase.messaging.MessagingErrorCode.UNREGISTERED);
+                when(firebaseMessaging.sendAsync(Mockito.any(Message.class)))
+                        .thenReturn(ApiFutures.immediateFailedFuture(firebaseException));
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title Async")
+                        .setNotificationBody("Test Body Async")
+                        .setDeviceToken("testDeviceTokenAsync")
+                        .build();
+
+                CompletableFuture<Void> future =
+                        fcmPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super");
+                try {
+                    future.get();
+                    Assert.fail("Expected the asynchronous send to fail.");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof PushProviderException);
+                    Assert.assertEquals(((PushProviderException) e.getCause()).getErrorCode(),
+                            PushProviderConstants.ErrorMessages
+                                    .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode());
+                }
+            }
+        }
+    }
+
+    @Test(priority = 40)
+    public void testSendNotificationAsyncFailWithBlankServiceAccount() {
+
+        when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdAsync3");
+        Map<String, String> properties = new HashMap<>();
+        properties.put(FCM_SERVICE_ACCOUNT_SECRET, "");
+        when(pushSenderData.getProperties()).thenReturn(properties);
+
+        PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                .setNotificationTitle("Test Title")
+                .setNotificationBody("Test Body")
+                .setDeviceToken("testDeviceToken")
+                .build();
+
+        CompletableFuture<Void> future =
+                fcmPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super");
+        Assert.assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test(priority = 41)
+    public void testSendNotificationsInBatches() throws Exception {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdBatch1");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+
+                FirebaseMessagingException firebaseException = Mockito.mock(FirebaseMessagingException.class);
+                when(firebaseException.getMessagingErrorCode())
+                        .thenReturn(com.google.firebase.messaging.MessagingErrorCode.UNREGISTERED);
+                // The first message of every batch fails while the rest succeed.
+                when(firebaseMessaging.sendEach(Mockito.anyList())).thenAnswer(invocation -> {
+                    List<Message> messages = invocation.getArgument(0);
+                    List<SendResponse> responses = new ArrayList<>();
+                    for (int i = 0; i < messages.size(); i++) {
+                        SendResponse response = Mockito.mock(SendResponse.class);
+                        when(response.isSuccessful()).thenReturn(i != 0);
+                        when(response.getException()).thenReturn(i == 0 ? firebaseException : null);
+                        responses.add(response);
+                    }
+                    BatchResponse batchResponse = Mockito.mock(BatchResponse.class);
+                    when(batchResponse.getResponses()).thenReturn(responses);
+                    return batchResponse;
+                });
+
+                List<PushNotificationData> notifications = new ArrayList<>();
+                for (int i = 0; i < 600; i++) {
+                    notifications.add(new PushNotificationData.Builder()
+                            .setNotificationTitle("Test Title")
+                            .setNotificationBody("Test Body")
+                            .setDeviceToken("testDeviceToken" + i)
+                            .build());
+                }
+
+                List<PushNotificationResult> results =
+                        fcmPushProvider.sendNotifications(notifications, pushSenderData, "carbon.super");
+
+                verify(firebaseMessaging, times(2)).sendEach(Mockito.anyList());
+                Assert.assertEquals(results.size(), 600);
+                Assert.assertFalse(results.get(0).isSuccessful());
+                Assert.assertEquals(results.get(0).getErrorCode(), PushProviderConstants.ErrorMessages
+                        .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode());
+                Assert.assertTrue(results.get(1).isSuccessful());
+                Assert.assertFalse(results.get(500).isSuccessful());
+                Assert.assertSame(results.get(599).getPushNotificationData(), notifications.get(599));
+            }
+        }
+    }
+
+    @Test(priority = 42)
+    public void testSendNotificationsWithFailedBatch() throws Exception {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdBatch2");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                when(firebaseMessaging.sendEach(Mockito.anyList())).thenThrow(FirebaseMessagingException.class);
+
+                List<PushNotificationData> notifications = Arrays.asList(
+                        new PushNotificationData.Builder().setDeviceToken("testDeviceToken1").build(),
+                        new PushNotificationData.Builder().setDeviceToken("testDeviceToken2").build());
+
+                List<PushNotificationResult> results =
+                        fcmPushProvider.sendNotifications(notifications, pushSenderData, "carbon.super");
+
+                Assert.assertEquals(results.size(), 2);
+                for (PushNotificationResult result : results) {
+                    Assert.assertFalse(result.isSuccessful());
+                    Assert.assertEquals(result.getErrorCode(), PushProviderConstants.ErrorMessages
+                            .ERROR_PUSH_NOTIFICATION_SENDING_FAILED.getCode());
+                }
+            }
+        }
+    }
+
+    @Test(priority = 43)
+    public void testSendNotificationRetriesTransientError() throws PushProviderException,
+            FirebaseMessagingException {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdRetry1");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                FirebaseMessagingException firebaseException = Mockito.mock(FirebaseMessagingException.class);
+                when(firebaseException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.UNAVAILABLE);
+                when(firebaseMessaging.send(Mockito.any(Message.class)))
+                        .thenThrow(firebaseException)
+                        .thenReturn("mockMessageId");
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                fcmPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                verify(firebaseMessaging, times(2)).send(Mockito.any(Message.class));
+            }
+        }
+    }
+
+    @Test(priority = 44)
+    public void testSendNotificationAsyncRetriesTransientError() throws Exception {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdRetry2");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                FirebaseMessagingException firebaseException = Mockito.mock(FirebaseMessagingException.class);
+                when(firebaseException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.INTERNAL);
+                AtomicReference<String> retryThreadName = new AtomicReference<>();
+                when(firebaseMessaging.sendAsync(Mockito.any(Message.class)))
+                        .thenReturn(ApiFutures.immediateFailedFuture(firebaseException))
+                        .thenAnswer(invocation -> {
+                            retryThreadName.set(Thread.currentThread().getName());
+                            return ApiFutures.immediateFuture("mockMessageId");
+                        });
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                fcmPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super")
+                        .get(10, TimeUnit.SECONDS);
+                verify(firebaseMessaging, times(2)).sendAsync(Mockito.any(Message.class));
+                // The retry runs on the scheduler owned by the provider rather than on the common pool.
+                Assert.assertEquals(retryThreadName.get(), "FCM-Async-Send-Scheduler");
+            }
+        }
+    }
+
+    @Test(priority = 45)
+    public void testSendNotificationRejectedByRateLimit() throws PushProviderException,
+            FirebaseMessagingException {
+
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setSharedHttpClientEnabled(false);
+        fcmPushProviderConfig.getRateLimitConfig().setTenantRate(1);
+        fcmPushProviderConfig.getRateLimitConfig().setTenantBurst(1);
+        fcmPushProviderConfig.getRateLimitConfig().setMaxWait(0);
+        FCMPushProvider rateLimitedPushProvider = new FCMPushProvider(fcmPushProviderConfig);
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdRateLimit");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenReturn("mockMessageId");
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                rateLimitedPushProvider.sendNotification(pushNotificationData, pushSenderData, "rate.limited");
+                try {
+                    rateLimitedPushProvider.sendNotification(pushNotificationData, pushSenderData, "rate.limited");
+                    Assert.fail("Push notification should have been rejected by the rate limit.");
+                } catch (PushProviderException e) {
+                    Assert.assertEquals(e.getErrorCode(),
+                            PushProviderConstants.ErrorMessages.ERROR_RATE_LIMIT_EXCEEDED.getCode());
+                }
+                verify(firebaseMessaging, times(1)).send(Mockito.any(Message.class));
+
+                List<PushNotificationResult> results = rateLimitedPushProvider.sendNotifications(
+                        Arrays.asList(pushNotificationData, pushNotificationData), pushSenderData, "rate.limited");
+                Assert.assertEquals(results.size(), 2);
+                for (PushNotificationResult result : results) {
+                    Assert.assertEquals(result.getErrorCode(),
+                            PushProviderConstants.ErrorMessages.ERROR_RATE_LIMIT_EXCEEDED.getCode());
+                }
+                verify(firebaseMessaging, never()).sendEach(Mockito.anyList());
+
+                // Other tenants have their own share of the rate limit.
+                rateLimitedPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                verify(firebaseMessaging, times(2)).send(Mockito.any(Message.class));
+            }
+        } finally {
+            rateLimitedPushProvider.shutdown();
+        }
+    }
+
+    @Test(priority = 46)
+    public void testSendNotificationTimesOut() throws FirebaseMessagingException {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdTimeout1");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            properties.put(FCM_SEND_TIMEOUT_PROPERTY, "100");
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                SettableApiFuture<String> hungCall = SettableApiFuture.create();
+                when(firebaseMessaging.sendAsync(Mockito.any(Message.class))).thenReturn(hungCall);
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                try {
+                    fcmPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                    Assert.fail("Push notification should have timed out.");
+                } catch (PushProviderException e) {
+                    Assert.assertEquals(e.getErrorCode(), PushProviderConstants.ErrorMessages
+                            .ERROR_PUSH_NOTIFICATION_SENDING_TIMED_OUT.getCode());
+                }
+                Assert.assertTrue(hungCall.isCancelled());
+                verify(firebaseMessaging, never()).send(Mockito.any(Message.class));
+            }
+        }
+    }
+
+    @Test(priority = 47)
+    public void testSendNotificationAsyncTimesOut() throws Exception {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdTimeout2");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            properties.put(FCM_SEND_TIMEOUT_PROPERTY, "100");
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                SettableApiFuture<String> hungCall = SettableApiFuture.create();
+                when(firebaseMessaging.sendAsync(Mockito.any(Message.class))).thenReturn(hungCall);
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                CompletableFuture<Void> result =
+                        fcmPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super");
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                    Assert.fail("Push notification should have timed out.");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof PushProviderException);
+                    Assert.assertEquals(((PushProviderException) e.getCause()).getErrorCode(),
+                            PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_TIMED_OUT.getCode());
+                }
+            }
+        }
+    }
+
+    @Test(priority = 48)
+    public void testSendNotificationWithDeliveryProfiles() throws PushProviderException,
+            FirebaseMessagingException {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdProfile");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenReturn("mockMessageId");
+
+                PushNotificationData authNotification = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+                Assert.assertSame(authNotification.getDeliveryProfile(), PushDeliveryProfile.AUTH_CRITICAL);
+                Assert.assertEquals(authNotification.getDeliveryProfile().getPriority(),
+                        PushDeliveryProfile.Priority.HIGH);
+
+                PushDeliveryProfile backgroundProfile = new PushDeliveryProfile.Builder()
+                        .setPriority(PushDeliveryProfile.Priority.NORMAL)
+                        .setTimeToLive(60L)
+                        .setCollapseKey("testCollapseKey")
+                        .setApnsPriority(PushDeliveryProfile.APNS_PRIORITY_POWER_CONSIDERATE)
+                        .setApnsPushType(PushDeliveryProfile.APNS_PUSH_TYPE_BACKGROUND)
+                        .build();
+                PushNotificationData backgroundNotification = new PushNotificationData.Builder()
+                        .setDeviceToken("testDeviceToken")
+                        .setDeliveryProfile(backgroundProfile)
+                        .build();
+                Assert.assertSame(backgroundNotification.getDeliveryProfile(), backgroundProfile);
+
+                fcmPushProvider.sendNotification(authNotification, pushSenderData, "carbon.super");
+                fcmPushProvider.sendNotification(backgroundNotification, pushSenderData, "carbon.super");
+                verify(firebaseMessaging, times(2)).send(Mockito.any(Message.class));
+            }
+        }
+    }
+
+    @Test(priority = 49)
+    public void testRetrievePushProviderSecretPropertiesFromCache() throws Exception {
+
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setSharedHttpClientEnabled(false);
+        fcmPushProviderConfig.setSecretCacheEnabled(true);
+        FCMPushProvider cachingPushProvider = new FCMPushProvider(fcmPushProviderConfig);
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+        when(pushSenderData.getProperties()).thenReturn(properties);
+        when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdSecretCache");
+
+        try (MockedStatic<ProviderDataHolder> mockedProviderDataHolder = Mockito.mockStatic(ProviderDataHolder.class);
+             MockedStatic<PushProviderSecretCache> mockedSecretCache =
+                     Mockito.mockStatic(PushProviderSecretCache.class);
+             MockedStatic<PrivilegedCarbonContext> mockedCarbonContext =
+                     Mockito.mockStatic(PrivilegedCarbonContext.class)) {
+
+            ProviderDataHolder providerDataHolder = Mockito.mock(ProviderDataHolder.class);
+            mockedProviderDataHolder.when(ProviderDataHolder::getInstance).thenReturn(providerDataHolder);
+            SecretManager secretManager = Mockito.mock(SecretManager.class);
+            when(providerDataHolder.getSecretManager()).thenReturn(secretManager);
+            SecretResolveManager secretResolveManager = Mockito.mock(SecretResolveManager.class);
+            when(providerDataHolder.getSecretResolveManager()).thenReturn(secretResolveManager);
+            when(secretManager.isSecretExist(Mockito.anyString(), Mockito.anyString())).thenReturn(true);
+            ResolvedSecret resolvedSecret = new ResolvedSecret();
+            resolvedSecret.setResolvedSecretValue("ResolvedServiceAccountContent");
+            when(secretResolveManager.getResolvedSecret(Mockito.anyString(), Mockito.anyString()))
+                    .thenReturn(resolvedSecret);
+
+            PushProviderSecretCache secretCache = Mockito.mock(PushProviderSecretCache.class);
+            mockedSecretCache.when(PushProviderSecretCache::getInstance).thenReturn(secretCache);
+            PrivilegedCarbonContext carbonContext = Mockito.mock(PrivilegedCarbonContext.class);
+            mockedCarbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext).thenReturn(carbonContext);
+            when(carbonContext.getTenantDomain()).thenReturn("carbon.super");
+
+            // The secret is resolved and cached on a cache miss.
+            Map<String, String> processedProperties =
+                    cachingPushProvider.retrievePushProviderSecretProperties(pushSenderData);
+            Assert.assertEquals(processedProperties.get(FCM_SERVICE_ACCOUNT_SECRET), "ResolvedServiceAccountContent");
+            verify(secretCache).addToCache(Mockito.any(PushProviderSecretCacheKey.class),
+                    Mockito.any(PushProviderSecretCacheEntry.class), Mockito.eq("carbon.super"));
+
+            // The secret is served from the cache on a cache hit.
+            when(secretCache.getValueFromCache(Mockito.any(PushProviderSecretCacheKey.class),
+                    Mockito.eq("carbon.super")))
+                    .thenReturn(new PushProviderSecretCacheEntry("CachedServiceAccountContent", 60));
+            processedProperties = cachingPushProvider.retrievePushProviderSecretProperties(pushSenderData);
+            Assert.assertEquals(processedProperties.get(FCM_SERVICE_ACCOUNT_SECRET), "CachedServiceAccountContent");
+            verify(secretResolveManager, times(1)).getResolvedSecret(Mockito.anyString(), Mockito.anyString());
+            verify(secretManager, times(1)).isSecretExist(Mockito.anyString(), Mockito.anyString());
+
+            // Changing the secret clears the cached secret.
+            cachingPushProvider.storePushProviderSecretProperties(pushSenderData);
+            cachingPushProvider.deletePushProviderSecretProperties(pushSenderData);
+            verify(secretCache, times(2)).clearCacheEntry(Mockito.any(PushProviderSecretCacheKey.class),
+                    Mockito.eq("carbon.super"));
+            cachingPushProvider.updateCredentials(pushSenderData, "wso2.com");
+            verify(secretCache).clearCacheEntry(Mockito.any(PushProviderSecretCacheKey.class),
+                    Mockito.eq("wso2.com"));
+        } finally {
+            cachingPushProvider.shutdown();
+        }
+
+        // Expired entries are not served.
+        PushProviderSecretCacheEntry expiredEntry = new PushProviderSecretCacheEntry("ExpiredContent", 0);
+        Thread.sleep(5);
+        Assert.assertNull(expiredEntry.getResolvedSecretValue());
+    }
+
+    @Test(priority = 50)
+    public void testSendNotificationDeduplicatedByPushId() throws Exception {
+
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setSharedHttpClientEnabled(false);
+        fcmPushProviderConfig.setDeduplicationEnabled(true);
+        FCMPushProvider deduplicatingPushProvider = new FCMPushProvider(fcmPushProviderConfig);
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdDeduplication");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenReturn("mockMessageId");
+                when(firebaseMessaging.sendAsync(Mockito.any(Message.class)))
+                        .thenReturn(ApiFutures.immediateFuture("mockMessageId"));
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setPushId("testPushId")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                // A repeated send of the push notification reuses the outcome of the first send.
+                deduplicatingPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                deduplicatingPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                deduplicatingPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super")
+                        .get(10, TimeUnit.SECONDS);
+                verify(firebaseMessaging, times(1)).send(Mockito.any(Message.class));
+                verify(firebaseMessaging, never()).sendAsync(Mockito.any(Message.class));
+
+                // The same push notification sent to another device is not suppressed.
+                PushNotificationData otherDeviceNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setPushId("testPushId")
+                        .setDeviceToken("otherDeviceToken")
+                        .build();
+                deduplicatingPushProvider.sendNotification(otherDeviceNotificationData, pushSenderData,
+                        "carbon.super");
+                verify(firebaseMessaging, times(2)).send(Mockito.any(Message.class));
+
+                // A send which failed because the device is unregistered is not repeated either.
+                FirebaseMessagingException firebaseException = Mockito.mock(FirebaseMessagingException.class);
+                when(firebaseException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.UNREGISTERED);
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenThrow(firebaseException);
+                PushNotificationData unregisteredNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setPushId("testPushId")
+                        .setDeviceToken("unregisteredDeviceToken")
+                        .build();
+                for (int i = 0; i < 2; i++) {
+                    try {
+                        deduplicatingPushProvider.sendNotification(unregisteredNotificationData, pushSenderData,
+                                "carbon.super");
+                        Assert.fail("Expected the send to fail for an unregistered device.");
+                    } catch (PushProviderException e) {
+                        Assert.assertEquals(e.getErrorCode(), PushProviderConstants.ErrorMessages
+                                .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode());
+                    }
+                }
+                verify(firebaseMessaging, times(3)).send(Mockito.any(Message.class));
+            }
+        } finally {
+            deduplicatingPushProvider.shutdown();
+        }
+    }
+
+    @Test(priority = 51)
+    public void testSendNotificationReportsUnregisteredDevice() throws PushProviderException,
+            FirebaseMessagingException {
+
+        PushDeviceFeedbackListener listener = Mockito.mock(PushDeviceFeedbackListener.class);
+        ProviderDataHolder.getInstance().addDeviceFeedbackListener(listener);
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdFeedback");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceId("testDeviceId")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                // A failure which is not caused by the device does not report it.
+                FirebaseMessagingException mismatchException = Mockito.mock(FirebaseMessagingException.class);
+                when(mismatchException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.SENDER_ID_MISMATCH);
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenThrow(mismatchException);
+                try {
+                    fcmPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                    Assert.fail("Expected the send to fail for a sender ID mismatch.");
+                } catch (PushProviderException e) {
+                    verify(listener, never()).onDeviceRejected(Mockito.any(PushDeviceFeedback.class));
+                }
+
+                // FCM also returns INVALID_ARGUMENT for malformed messages, which must not report the device.
+                FirebaseMessagingException payloadException = Mockito.mock(FirebaseMessagingException.class);
+                when(payloadException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.INVALID_ARGUMENT);
+                when(payloadException.getMessage()).thenReturn("Invalid value at 'message.android.ttl'.");
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenThrow(payloadException);
+                try {
+                    fcmPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                    Assert.fail("Expected the send to fail for a malformed message.");
+                } catch (PushProviderException e) {
+                    verify(listener, never()).onDeviceRejected(Mockito.any(PushDeviceFeedback.class));
+                }
+
+                FirebaseMessagingException unregisteredException = Mockito.mock(FirebaseMessagingException.class);
+                when(unregisteredException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.UNREGISTERED);
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenThrow(unregisteredException);
+                try {
+                    fcmPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                    Assert.fail("Expected the send to fail for an unregistered device.");
+                } catch (PushProviderException e) {
+                    Assert.assertEquals(e.getErrorCode(), PushProviderConstants.ErrorMessages
+                            .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode());
+                }
+
+                ArgumentCaptor<PushDeviceFeedback> feedback = ArgumentCaptor.forClass(PushDeviceFeedback.class);
+                verify(listener, times(1)).onDeviceRejected(feedback.capture());
+                Assert.assertEquals(feedback.getValue().getProvider(), "FCM");
+                Assert.assertEquals(feedback.getValue().getTenantDomain(), "carbon.super");
+                Assert.assertEquals(feedback.getValue().getDeviceId(), "testDeviceId");
+                Assert.assertEquals(feedback.getValue().getDeviceToken(), "testDeviceToken");
+                Assert.assertEquals(feedback.getValue().getErrorCode(), PushProviderConstants.ErrorMessages
+                        .ERROR_DEVICE_HANDLE_EXPIRED_OR_NEW_REGISTRATION_REQUIRED.getCode());
+
+                FirebaseMessagingException invalidTokenException = Mockito.mock(FirebaseMessagingException.class);
+                when(invalidTokenException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.INVALID_ARGUMENT);
+                when(invalidTokenException.getMessage())
+                        .thenReturn("The registration token is not a valid FCM registration token");
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenThrow(invalidTokenException);
+                try {
+                    fcmPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                    Assert.fail("Expected the send to fail for an invalid registration token.");
+                } catch (PushProviderException e) {
+                    Assert.assertEquals(e.getErrorCode(), PushProviderConstants.ErrorMessages
+                            .ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER.getCode());
+                }
+                verify(listener, times(2)).onDeviceRejected(feedback.capture());
+                Assert.assertEquals(feedback.getValue().getErrorCode(), PushProviderConstants.ErrorMessages
+                        .ERROR_INVALID_DEVICE_HANDLE_FOR_CONFIGURED_PROVIDER.getCode());
+            }
+        } finally {
+            ProviderDataHolder.getInstance().removeDeviceFeedbackListener(listener);
+        }
+    }
+
+    @Test(priority = 52)
+    public void testSendNotificationAsyncFailsWhenFirebaseAppIsNotUsable() throws Exception {
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdAsyncDeleted");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                FirebaseMessagingException firebaseException = Mockito.mock(FirebaseMessagingException.class);
+                when(firebaseException.getMessagingErrorCode()).thenReturn(MessagingErrorCode.INTERNAL);
+                // The first attempt fails with a transient error, and the app is deleted before the retry.
+                when(firebaseMessaging.sendAsync(Mockito.any(Message.class)))
+                        .thenReturn(ApiFutures.immediateFailedFuture(firebaseException))
+                        .thenThrow(new IllegalStateException("FirebaseApp was deleted."));
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                CompletableFuture<Void> result =
+                        fcmPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super");
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                    Assert.fail("Expected the send to fail when the Firebase app is deleted.");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof PushProviderException);
+                    Assert.assertEquals(((PushProviderException) e.getCause()).getErrorCode(),
+                            PushProviderConstants.ErrorMessages.ERROR_PUSH_NOTIFICATION_SENDING_FAILED.getCode());
+                }
+
+                // A failure of the first attempt completes the returned future instead of reaching the caller.
+                CompletableFuture<Void> failedResult =
+                        fcmPushProvider.sendNotificationAsync(pushNotificationData, pushSenderData, "carbon.super");
+                Assert.assertTrue(failedResult.isCompletedExceptionally());
+                verify(firebaseMessaging, times(3)).sendAsync(Mockito.any(Message.class));
+            }
+        }
+    }
+
+    @Test(priority = 53)
+    public void testRepeatedSendDoesNotWaitForHungSendIndefinitely() throws Exception {
+
+        FCMPushProviderConfig fcmPushProviderConfig = new FCMPushProviderConfig();
+        fcmPushProviderConfig.setSharedHttpClientEnabled(false);
+        fcmPushProviderConfig.setDeduplicationEnabled(true);
+        fcmPushProviderConfig.setDeduplicationWindow(1);
+        FCMPushProvider deduplicatingPushProvider = new FCMPushProvider(fcmPushProviderConfig);
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        CountDownLatch releaseSend = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (MockedStatic<GoogleCredentials> mockedCredentials = Mockito.mockStatic(GoogleCredentials.class)) {
+
+            mockedCredentials.when(() -> GoogleCredentials.fromStream(Mockito.any(InputStream.class)))
+                    .thenReturn(googleCredentials);
+
+            when(pushSenderData.getProviderId()).thenReturn("testFCMProviderIdDeduplicationHung");
+            Map<String, String> properties = new HashMap<>();
+            properties.put(FCM_SERVICE_ACCOUNT_SECRET, ENCODED_SERVICE_ACCOUNT_STRING);
+            when(pushSenderData.getProperties()).thenReturn(properties);
+
+            try (MockedStatic<FirebaseMessaging> mockedFirebaseMessaging =
+                         Mockito.mockStatic(FirebaseMessaging.class)) {
+
+                FirebaseMessaging firebaseMessaging = Mockito.mock(FirebaseMessaging.class);
+                mockedFirebaseMessaging.when(() -> FirebaseMessaging.getInstance(Mockito.any(FirebaseApp.class)))
+                        .thenReturn(firebaseMessaging);
+                when(firebaseMessaging.send(Mockito.any(Message.class))).thenAnswer(invocation -> {
+                    sendStarted.countDown();
+                    releaseSend.await(10, TimeUnit.SECONDS);
+                    return "mockMessageId";
+                });
+
+                PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                        .setNotificationTitle("Test Title")
+                        .setNotificationBody("Test Body")
+                        .setPushId("testPushId")
+                        .setDeviceToken("testDeviceToken")
+                        .build();
+
+                Future<?> firstSend = executor.submit(() -> {
+                    deduplicatingPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                    return null;
+                });
+                Assert.assertTrue(sendStarted.await(10, TimeUnit.SECONDS));
+
+                // The repeated send gives up after the deduplication window, since no send timeout is configured.
+                long startTime = System.nanoTime();
+                try {
+                    deduplicatingPushProvider.sendNotification(pushNotificationData, pushSenderData, "carbon.super");
+                    Assert.fail("Expected the repeated send to time out while the first send is in flight.");
+                } catch (PushProviderException e) {
+                    Assert.assertEquals(e.getErrorCode(), PushProviderConstants.ErrorMessages
+                            .ERROR_PUSH_NOTIFICATION_SENDING_TIMED_OUT.getCode());
+                }
+                Assert.assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(5));
+
+                releaseSend.countDown();
+                firstSend.get(10, TimeUnit.SECONDS);
+                verify(firebaseMessaging, times(1)).send(Mockito.any(Message.class));
+            }
+        } finally {
+            releaseSend.countDown();
+            executor.shutdownNow();
+            deduplicatingPushProvider.shutdown();
+        }
+    }
 }
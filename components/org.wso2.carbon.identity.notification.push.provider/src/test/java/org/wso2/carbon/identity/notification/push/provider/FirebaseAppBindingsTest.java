@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.impl.FirebaseAppBindings;
+
+/**
+ * Firebase App Bindings Test.
+ */
+public class FirebaseAppBindingsTest {
+
+    private static final String SHARED_APP_NAME = "FirebaseApp-shared-test";
+
+    @Test
+    public void testSharedAppReleasedWithLastBinding() {
+
+        FirebaseAppBindings firebaseAppBindings = new FirebaseAppBindings();
+        Assert.assertNull(firebaseAppBindings.bind("tenant-a:provider", SHARED_APP_NAME));
+        Assert.assertNull(firebaseAppBindings.bind("tenant-b:provider", SHARED_APP_NAME));
+        Assert.assertEquals(firebaseAppBindings.getReferenceCount(SHARED_APP_NAME), 2);
+        Assert.assertEquals(firebaseAppBindings.getAppName("tenant-a:provider"), SHARED_APP_NAME);
+
+        // The app is still referenced by the other push sender.
+        Assert.assertNull(firebaseAppBindings.unbind("tenant-a:provider"));
+        Assert.assertNull(firebaseAppBindings.getAppName("tenant-a:provider"));
+        Assert.assertEquals(firebaseAppBindings.getReferenceCount(SHARED_APP_NAME), 1);
+
+        Assert.assertEquals(firebaseAppBindings.unbind("tenant-b:provider"), SHARED_APP_NAME);
+        Assert.assertEquals(firebaseAppBindings.getReferenceCount(SHARED_APP_NAME), 0);
+        Assert.assertNull(firebaseAppBindings.unbind("tenant-b:provider"));
+    }
+
+    @Test
+    public void testRebindingReleasesPreviousApp() {
+
+        FirebaseAppBindings firebaseAppBindings = new FirebaseAppBindings();
+        firebaseAppBindings.bind("tenant-a:provider", SHARED_APP_NAME);
+
+        // Binding to the same app again does not add a reference.
+        Assert.assertNull(firebaseAppBindings.bind("tenant-a:provider", SHARED_APP_NAME));
+        Assert.assertEquals(firebaseAppBindings.getReferenceCount(SHARED_APP_NAME), 1);
+
+        Assert.assertEquals(firebaseAppBindings.bind("tenant-a:provider", "FirebaseApp-shared-other"),
+                SHARED_APP_NAME);
+        Assert.assertEquals(firebaseAppBindings.getReferenceCount(SHARED_APP_NAME), 0);
+        Assert.assertEquals(firebaseAppBindings.getReferenceCount("FirebaseApp-shared-other"), 1);
+    }
+}
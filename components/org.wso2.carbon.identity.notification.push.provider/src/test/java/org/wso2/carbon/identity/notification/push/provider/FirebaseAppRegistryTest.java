@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.FirebaseMessaging;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderException;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
+import org.wso2.carbon.identity.notification.push.provider.impl.CredentialRefresher;
+import org.wso2.carbon.identity.notification.push.provider.impl.FirebaseAppRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Firebase App Registry Test.
+ */
+public class FirebaseAppRegistryTest {
+
+    private static final String APP_NAME_PREFIX = "FirebaseApp-registry.test-";
+    private static final int CONCURRENT_REQUESTS = 32;
+
+    private FirebaseAppRegistry firebaseAppRegistry;
+    private final GoogleCredentials googleCredentials = Mockito.mock(GoogleCredentials.class);
+
+    @BeforeMethod
+    public void setUp() {
+
+        firebaseAppRegistry = new FirebaseAppRegistry();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        firebaseAppRegistry.clear();
+    }
+
+    @Test
+    public void testConcurrentColdStartInitializesAppOnce() throws Exception {
+
+        String appName = APP_NAME_PREFIX + "concurrent";
+        AtomicInteger loadCount = new AtomicInteger();
+        FirebaseAppRegistry.CredentialsLoader loader = () -> {
+            loadCount.incrementAndGet();
+            return googleCredentials;
+        };
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            List<Future<FirebaseMessaging>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                Callable<FirebaseMessaging> task = () -> {
+                    startLatch.await();
+                    return firebaseAppRegistry.getFirebaseMessaging(appName, loader);
+                };
+                futures.add(executorService.submit(task));
+            }
+            startLatch.countDown();
+
+            Set<FirebaseMessaging> instances = new HashSet<>();
+            for (Future<FirebaseMessaging> future : futures) {
+                instances.add(future.get(30, TimeUnit.SECONDS));
+            }
+
+            Assert.assertEquals(loadCount.get(), 1);
+            Assert.assertEquals(instances.size(), 1);
+            Assert.assertEquals(firebaseAppRegistry.size(), 1);
+            Assert.assertNotNull(FirebaseApp.getInstance(appName));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testColdStartDoesNotBlockOtherApps() throws Exception {
+
+        String slowAppName = APP_NAME_PREFIX + "slow";
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch releaseLoading = new CountDownLatch(1);
+        FirebaseAppRegistry.CredentialsLoader slowLoader = () -> {
+            loading.countDown();
+            try {
+                releaseLoading.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return googleCredentials;
+        };
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<FirebaseMessaging> slowApp =
+                    executorService.submit(() -> firebaseAppRegistry.getFirebaseMessaging(slowAppName, slowLoader));
+            Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // The other app is initialized while the credentials of the slow app are still being loaded.
+            Assert.assertNotNull(firebaseAppRegistry.getFirebaseMessaging(APP_NAME_PREFIX + "fast",
+                    this::loadCredentials));
+            Assert.assertFalse(slowApp.isDone());
+
+            releaseLoading.countDown();
+            Assert.assertNotNull(slowApp.get(30, TimeUnit.SECONDS));
+            Assert.assertEquals(firebaseAppRegistry.size(), 2);
+        } finally {
+            releaseLoading.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGetFirebaseMessagingReusesInitializedApp() throws PushProviderException {
+
+        String appName = APP_NAME_PREFIX + "reuse";
+        AtomicInteger loadCount = new AtomicInteger();
+        FirebaseAppRegistry.CredentialsLoader loader = () -> {
+            loadCount.incrementAndGet();
+            return googleCredentials;
+        };
+
+        FirebaseMessaging first = firebaseAppRegistry.getFirebaseMessaging(appName, loader);
+        FirebaseMessaging second = firebaseAppRegistry.getFirebaseMessaging(appName, loader);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(loadCount.get(), 1);
+    }
+
+    @Test
+    public void testRemoveFirebaseAppReinitializesOnNextRequest() throws PushProviderException {
+
+        String appName = APP_NAME_PREFIX + "remove";
+        AtomicInteger loadCount = new AtomicInteger();
+        FirebaseAppRegistry.CredentialsLoader loader = () -> {
+            loadCount.incrementAndGet();
+            return googleCredentials;
+        };
+
+        FirebaseMessaging first = firebaseAppRegistry.getFirebaseMessaging(appName, loader);
+        firebaseAppRegistry.removeFirebaseApp(appName);
+        Assert.assertEquals(firebaseAppRegistry.size(), 0);
+        Assert.assertTrue(FirebaseApp.getApps().stream().noneMatch(app -> app.getName().equals(appName)));
+
+        FirebaseMessaging second = firebaseAppRegistry.getFirebaseMessaging(appName, loader);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test
+    public void testReplaceAppCreatedOutsideRegistry() throws PushProviderException {
+
+        String appName = APP_NAME_PREFIX + "external";
+        FirebaseApp externalApp = FirebaseApp.initializeApp(buildFirebaseOptions(), appName);
+
+        firebaseAppRegistry.getFirebaseMessaging(appName, this::loadCredentials);
+
+        Assert.assertNotSame(FirebaseApp.getInstance(appName), externalApp);
+        Assert.assertEquals(firebaseAppRegistry.size(), 1);
+    }
+
+    @Test
+    public void testLoaderFailureIsNotCached() {
+
+        String appName = APP_NAME_PREFIX + "failure";
+        try {
+            firebaseAppRegistry.getFirebaseMessaging(appName, () -> {
+                throw new PushProviderServerException("Service account credentials are not provided.");
+            });
+            Assert.fail("Expected PushProviderException was not thrown.");
+        } catch (PushProviderException e) {
+            Assert.assertEquals(e.getMessage(), "Service account credentials are not provided.");
+        }
+        Assert.assertEquals(firebaseAppRegistry.size(), 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedAppIsEvictedWhenPoolIsFull() throws PushProviderException {
+
+        firebaseAppRegistry = new FirebaseAppRegistry(2, 0);
+        String firstAppName = APP_NAME_PREFIX + "lru-1";
+        String secondAppName = APP_NAME_PREFIX + "lru-2";
+        String thirdAppName = APP_NAME_PREFIX + "lru-3";
+
+        firebaseAppRegistry.getFirebaseMessaging(firstAppName, this::loadCredentials);
+        firebaseAppRegistry.getFirebaseMessaging(secondAppName, this::loadCredentials);
+        // Use the first app again so that the second app becomes the least recently used one.
+        firebaseAppRegistry.getFirebaseMessaging(firstAppName, this::loadCredentials);
+        firebaseAppRegistry.getFirebaseMessaging(thirdAppName, this::loadCredentials);
+
+        Assert.assertEquals(firebaseAppRegistry.size(), 2);
+        Assert.assertEquals(firebaseAppRegistry.getHitCount(), 1);
+        Assert.assertEquals(firebaseAppRegistry.getMissCount(), 3);
+        Assert.assertEquals(firebaseAppRegistry.getEvictionCount(), 1);
+        Assert.assertTrue(FirebaseApp.getApps().stream().noneMatch(app -> app.getName().equals(secondAppName)));
+        Assert.assertTrue(FirebaseApp.getApps().stream().anyMatch(app -> app.getName().equals(firstAppName)));
+    }
+
+    @Test
+    public void testLeasedAppIsDeletedOnlyAfterLeaseIsClosed() throws Exception {
+
+        firebaseAppRegistry = new FirebaseAppRegistry(1, 0);
+        String leasedAppName = APP_NAME_PREFIX + "leased";
+        String otherAppName = APP_NAME_PREFIX + "leased-other";
+
+        FirebaseAppRegistry.FirebaseAppLease lease =
+                firebaseAppRegistry.acquireFirebaseApp(leasedAppName, this::loadCredentials, null);
+        // Exceed the pool size so that the leased app is evicted while it is in use.
+        firebaseAppRegistry.getFirebaseMessaging(otherAppName, this::loadCredentials);
+
+        Assert.assertEquals(firebaseAppRegistry.getEvictionCount(), 1);
+        Assert.assertTrue(FirebaseApp.getApps().stream().anyMatch(app -> app.getName().equals(leasedAppName)));
+        Assert.assertNotNull(lease.getFirebaseMessaging());
+
+        lease.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (FirebaseApp.getApps().stream().anyMatch(app -> app.getName().equals(leasedAppName))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(FirebaseApp.getApps().stream().noneMatch(app -> app.getName().equals(leasedAppName)));
+
+        // A new lease of the evicted app initializes it again.
+        try (FirebaseAppRegistry.FirebaseAppLease newLease =
+                     firebaseAppRegistry.acquireFirebaseApp(leasedAppName, this::loadCredentials, null)) {
+            Assert.assertNotSame(newLease.getFirebaseMessaging(), lease.getFirebaseMessaging());
+        }
+    }
+
+    @Test
+    public void testIdleAppIsEvicted() throws PushProviderException, InterruptedException {
+
+        firebaseAppRegistry = new FirebaseAppRegistry(0, 1);
+        String appName = APP_NAME_PREFIX + "idle";
+        firebaseAppRegistry.getFirebaseMessaging(appName, this::loadCredentials);
+
+        firebaseAppRegistry.evictIdleApps();
+        Assert.assertEquals(firebaseAppRegistry.size(), 1);
+
+        Thread.sleep(1500);
+        firebaseAppRegistry.evictIdleApps();
+
+        Assert.assertEquals(firebaseAppRegistry.size(), 0);
+        Assert.assertEquals(firebaseAppRegistry.getEvictionCount(), 1);
+        Assert.assertTrue(FirebaseApp.getApps().stream().noneMatch(app -> app.getName().equals(appName)));
+    }
+
+    @Test
+    public void testCredentialsOfInitializedAppAreRefreshed() throws Exception {
+
+        CredentialRefresher credentialRefresher = new CredentialRefresher(0, 0);
+        try {
+            firebaseAppRegistry = new FirebaseAppRegistry(0, 0, credentialRefresher, null);
+            GoogleCredentials refreshedCredentials = Mockito.mock(GoogleCredentials.class);
+            when(refreshedCredentials.createScopedRequired()).thenReturn(true);
+            when(refreshedCredentials.createScoped(Mockito.anyCollection())).thenReturn(refreshedCredentials);
+
+            firebaseAppRegistry.getFirebaseMessaging(APP_NAME_PREFIX + "refresh", () -> refreshedCredentials);
+
+            verify(refreshedCredentials, timeout(5000).times(1)).refresh();
+        } finally {
+            credentialRefresher.shutdown();
+        }
+    }
+
+    private GoogleCredentials loadCredentials() {
+
+        return googleCredentials;
+    }
+
+    private FirebaseOptions buildFirebaseOptions() {
+
+        return FirebaseOptions.builder().setCredentials(googleCredentials).build();
+    }
+}
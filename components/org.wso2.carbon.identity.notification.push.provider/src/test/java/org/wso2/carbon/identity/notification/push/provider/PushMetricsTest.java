@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
+import org.wso2.carbon.identity.notification.push.provider.metrics.LatencyHistogram;
+import org.wso2.carbon.identity.notification.push.provider.metrics.LatencySnapshot;
+import org.wso2.carbon.identity.notification.push.provider.metrics.PushMetrics;
+import org.wso2.carbon.identity.notification.push.provider.model.PushMetricsConfig;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Push Metrics Test.
+ */
+public class PushMetricsTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    private PushMetrics pushMetrics;
+
+    @BeforeMethod
+    public void setUp() {
+
+        pushMetrics = PushMetrics.getInstance();
+        pushMetrics.configure(new PushMetricsConfig());
+        pushMetrics.reset();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        pushMetrics.unregister();
+        pushMetrics.configure(new PushMetricsConfig());
+        pushMetrics.reset();
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        LatencySnapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getCount(), 1000);
+        Assert.assertEquals(snapshot.getMax(), 1000d);
+        Assert.assertEquals(snapshot.getMean(), 500.5d, 0.001);
+        // Reported percentiles are bucket bounds, within the 12.5% precision of the histogram.
+        Assert.assertEquals(snapshot.getP50(), 500d, 500 * 0.125);
+        Assert.assertEquals(snapshot.getP90(), 900d, 900 * 0.125);
+        Assert.assertEquals(snapshot.getP99(), 990d, 990 * 0.125);
+        Assert.assertTrue(snapshot.getP999() <= snapshot.getMax());
+
+        histogram.reset();
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getPercentile(50), 0);
+    }
+
+    @Test
+    public void testSmallLatenciesAreExact() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(3));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(7));
+
+        Assert.assertEquals(histogram.getPercentile(50), 3);
+        Assert.assertEquals(histogram.getPercentile(100), 7);
+    }
+
+    @Test
+    public void testSendsAreRecordedByProviderTenantAndOutcome() {
+
+        pushMetrics.recordSend("FCM", TENANT_DOMAIN, TimeUnit.MILLISECONDS.toNanos(10), (Throwable) null);
+        pushMetrics.recordSend("FCM", TENANT_DOMAIN, TimeUnit.MILLISECONDS.toNanos(20),
+                new CompletionException(new PushProviderServerException("65003", "Device handle expired.")));
+        pushMetrics.recordSend("APNS", TENANT_DOMAIN, TimeUnit.MILLISECONDS.toNanos(30),
+                new IllegalStateException("Unexpected error."));
+        pushMetrics.recordSendOutcome("FCM", null);
+
+        Map<String, LatencySnapshot> sendLatencies = pushMetrics.getSendLatencies();
+        Assert.assertEquals(sendLatencies.get("FCM:" + TENANT_DOMAIN).getCount(), 2);
+        Assert.assertEquals(sendLatencies.get("APNS:" + TENANT_DOMAIN).getCount(), 1);
+        Map<String, Long> sendOutcomes = pushMetrics.getSendOutcomes();
+        Assert.assertEquals(sendOutcomes.get("FCM:" + PushMetrics.SUCCESS), Long.valueOf(2));
+        Assert.assertEquals(sendOutcomes.get("FCM:65003"), Long.valueOf(1));
+        Assert.assertEquals(sendOutcomes.get("APNS:" + PushMetrics.UNKNOWN_ERROR), Long.valueOf(1));
+    }
+
+    @Test
+    public void testSeriesBeyondLimitAreFolded() {
+
+        PushMetricsConfig pushMetricsConfig = new PushMetricsConfig();
+        pushMetricsConfig.setMaxSeries(2);
+        pushMetrics.configure(pushMetricsConfig);
+
+        for (int i = 0; i < 5; i++) {
+            pushMetrics.recordSend("FCM", "tenant" + i + ".com", 1000, (String) null);
+        }
+
+        Map<String, LatencySnapshot> sendLatencies = pushMetrics.getSendLatencies();
+        Assert.assertEquals(sendLatencies.size(), 3);
+        Assert.assertEquals(sendLatencies.get("other").getCount(), 3);
+    }
+
+    @Test
+    public void testDisabledMetricsAreNotRecorded() {
+
+        PushMetricsConfig pushMetricsConfig = new PushMetricsConfig();
+        pushMetricsConfig.setEnabled(false);
+        pushMetrics.configure(pushMetricsConfig);
+
+        pushMetrics.recordSend("FCM", TENANT_DOMAIN, 1000, (String) null);
+        pushMetrics.recordFirebaseAppInitialization();
+        pushMetrics.recordDaoQuery("getDevice", 1000);
+
+        Assert.assertTrue(pushMetrics.getSendLatencies().isEmpty());
+        Assert.assertTrue(pushMetrics.getSendOutcomes().isEmpty());
+        Assert.assertEquals(pushMetrics.getFirebaseAppInitializations(), 0);
+        Assert.assertTrue(pushMetrics.getDaoQueryLatencies().isEmpty());
+    }
+
+    @Test
+    public void testMetricsAreExposedOverJmx() throws Exception {
+
+        pushMetrics.recordFirebaseAppInitialization();
+        pushMetrics.recordDaoQuery("getDevice", TimeUnit.MILLISECONDS.toNanos(2));
+        pushMetrics.register();
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(PushMetrics.OBJECT_NAME);
+        Assert.assertTrue(mBeanServer.isRegistered(objectName));
+        Assert.assertEquals(mBeanServer.getAttribute(objectName, "FirebaseAppInitializations"), 1L);
+        Assert.assertNotNull(mBeanServer.getAttribute(objectName, "DaoQueryLatencies"));
+
+        pushMetrics.unregister();
+        Assert.assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    @Test
+    public void testCircuitBreakerStatesAreReported() throws Exception {
+
+        Supplier<Map<String, ?>> states = () -> Collections.singletonMap(TENANT_DOMAIN + ":provider1", "OPEN");
+        pushMetrics.registerCircuitBreakers("FCM", states);
+        try {
+            pushMetrics.register();
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            Map<?, ?> reportedStates = (Map<?, ?>) mBeanServer.getAttribute(new ObjectName(PushMetrics.OBJECT_NAME),
+                    "CircuitBreakerStates");
+            Assert.assertEquals(reportedStates.get("FCM:" + TENANT_DOMAIN + ":provider1"), "OPEN");
+
+            // The states registered by another instance of the provider are not removed.
+            pushMetrics.unregisterCircuitBreakers("FCM", () -> Collections.emptyMap());
+            Assert.assertEquals(pushMetrics.getCircuitBreakerStates().size(), 1);
+        } finally {
+            pushMetrics.unregisterCircuitBreakers("FCM", states);
+        }
+        Assert.assertTrue(pushMetrics.getCircuitBreakerStates().isEmpty());
+    }
+}
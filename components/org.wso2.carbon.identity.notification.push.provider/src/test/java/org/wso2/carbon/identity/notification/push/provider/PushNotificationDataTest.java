@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.model.PushDeliveryProfile;
+import org.wso2.carbon.identity.notification.push.provider.model.PushNotificationData;
+
+/**
+ * Push Notification Data Test.
+ */
+public class PushNotificationDataTest {
+
+    @Test
+    public void testDefaultCollapseKeyIsPerUserAndScenario() {
+
+        PushDeliveryProfile first = buildNotification("alice", "AUTHENTICATION").getDeliveryProfile();
+        PushDeliveryProfile second = buildNotification("alice", "AUTHENTICATION").getDeliveryProfile();
+        PushDeliveryProfile otherScenario = buildNotification("alice", "REGISTRATION").getDeliveryProfile();
+        PushDeliveryProfile otherUser = buildNotification("bob", "AUTHENTICATION").getDeliveryProfile();
+
+        Assert.assertNotNull(first.getCollapseKey());
+        Assert.assertEquals(second.getCollapseKey(), first.getCollapseKey());
+        Assert.assertNotEquals(otherScenario.getCollapseKey(), first.getCollapseKey());
+        Assert.assertNotEquals(otherUser.getCollapseKey(), first.getCollapseKey());
+        Assert.assertFalse(first.getCollapseKey().contains("alice"));
+        // The auth critical options are kept.
+        Assert.assertEquals(first.getPriority(), PushDeliveryProfile.Priority.HIGH);
+        Assert.assertEquals(first.getApnsPriority(), PushDeliveryProfile.APNS_PRIORITY_IMMEDIATE);
+    }
+
+    @Test
+    public void testTimeToLiveAndCollapseKeyFromBuilder() {
+
+        PushDeliveryProfile deliveryProfile = new PushNotificationData.Builder()
+                .setUsername("alice")
+                .setTimeToLive(120L)
+                .setCollapseKey("challenge")
+                .build()
+                .getDeliveryProfile();
+
+        Assert.assertEquals(deliveryProfile.getTimeToLive(), Long.valueOf(120));
+        Assert.assertEquals(deliveryProfile.getCollapseKey(), "challenge");
+    }
+
+    @Test
+    public void testProfileValuesAreKeptWhenNotOverridden() {
+
+        PushDeliveryProfile profile = new PushDeliveryProfile.Builder()
+                .setTimeToLive(30L)
+                .setCollapseKey("profileKey")
+                .build();
+        PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                .setUsername("alice")
+                .setDeliveryProfile(profile)
+                .build();
+
+        Assert.assertSame(pushNotificationData.getDeliveryProfile(), profile);
+    }
+
+    @Test
+    public void testNotificationWithoutUserIsNotCollapsed() {
+
+        PushNotificationData pushNotificationData = new PushNotificationData.Builder()
+                .setDeviceToken("testDeviceToken")
+                .build();
+
+        Assert.assertSame(pushNotificationData.getDeliveryProfile(), PushDeliveryProfile.AUTH_CRITICAL);
+        Assert.assertNull(pushNotificationData.getDeliveryProfile().getCollapseKey());
+        Assert.assertNull(pushNotificationData.getDeliveryProfile().getTimeToLive());
+    }
+
+    private PushNotificationData buildNotification(String username, String scenario) {
+
+        return new PushNotificationData.Builder()
+                .setUsername(username)
+                .setTenantDomain("carbon.super")
+                .setUserStoreDomain("PRIMARY")
+                .setNotificationScenario(scenario)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.exception.PushProviderServerException;
+import org.wso2.carbon.identity.notification.push.provider.impl.PushSendDeduplicator;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Push Send Deduplicator Test.
+ */
+public class PushSendDeduplicatorTest {
+
+    @Test
+    public void testRepeatedSendReusesOutcome() {
+
+        PushSendDeduplicator deduplicator = new PushSendDeduplicator(30, 10);
+        CompletableFuture<Void> firstOutcome = new CompletableFuture<>();
+
+        Assert.assertNull(deduplicator.register("push-1:device-1", firstOutcome));
+        // A repeated send while the first send is in flight waits for the first send.
+        Assert.assertSame(deduplicator.register("push-1:device-1", new CompletableFuture<>()), firstOutcome);
+
+        deduplicator.complete("push-1:device-1", firstOutcome, null, false);
+        CompletableFuture<Void> repeatedOutcome = deduplicator.register("push-1:device-1", new CompletableFuture<>());
+        Assert.assertSame(repeatedOutcome, firstOutcome);
+        Assert.assertTrue(repeatedOutcome.isDone());
+        Assert.assertFalse(repeatedOutcome.isCompletedExceptionally());
+
+        Assert.assertNull(deduplicator.register("push-1:device-2", new CompletableFuture<>()));
+    }
+
+    @Test
+    public void testRetriableFailureIsForgotten() {
+
+        PushSendDeduplicator deduplicator = new PushSendDeduplicator(30, 10);
+        CompletableFuture<Void> failedOutcome = new CompletableFuture<>();
+        Assert.assertNull(deduplicator.register("push-1:device-1", failedOutcome));
+
+        deduplicator.complete("push-1:device-1", failedOutcome, new PushProviderServerException("65001", "Failed."),
+                true);
+
+        Assert.assertTrue(failedOutcome.isCompletedExceptionally());
+        Assert.assertEquals(deduplicator.size(), 0);
+        Assert.assertNull(deduplicator.register("push-1:device-1", new CompletableFuture<>()));
+    }
+
+    @Test
+    public void testFinalFailureIsReused() {
+
+        PushSendDeduplicator deduplicator = new PushSendDeduplicator(30, 10);
+        CompletableFuture<Void> failedOutcome = new CompletableFuture<>();
+        Assert.assertNull(deduplicator.register("push-1:device-1", failedOutcome));
+
+        deduplicator.complete("push-1:device-1", failedOutcome, new PushProviderServerException("65003", "Expired."),
+                false);
+
+        CompletableFuture<Void> repeatedOutcome = deduplicator.register("push-1:device-1", new CompletableFuture<>());
+        Assert.assertSame(repeatedOutcome, failedOutcome);
+        Assert.assertTrue(repeatedOutcome.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testRecordedSendsAreBounded() {
+
+        PushSendDeduplicator deduplicator = new PushSendDeduplicator(30, 2);
+        Assert.assertNull(deduplicator.register("push-1:device-1", new CompletableFuture<>()));
+        Assert.assertNull(deduplicator.register("push-2:device-1", new CompletableFuture<>()));
+
+        // Sends beyond the bound are not recorded, hence repeated sends of them are not suppressed.
+        Assert.assertNull(deduplicator.register("push-3:device-1", new CompletableFuture<>()));
+        Assert.assertNull(deduplicator.register("push-3:device-1", new CompletableFuture<>()));
+        Assert.assertEquals(deduplicator.size(), 2);
+    }
+}
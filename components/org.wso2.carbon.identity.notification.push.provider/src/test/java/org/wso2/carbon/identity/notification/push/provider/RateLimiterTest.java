@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.impl.RateLimiter;
+import org.wso2.carbon.identity.notification.push.provider.impl.RateLimiterRegistry;
+import org.wso2.carbon.identity.notification.push.provider.model.RateLimitConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate Limiter Test.
+ */
+public class RateLimiterTest {
+
+    @Test
+    public void testBurstIsServedWithoutWaiting() {
+
+        RateLimiter rateLimiter = new RateLimiter(10, 5);
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(rateLimiter.tryReserve(1, 0), 0);
+        }
+        Assert.assertTrue(rateLimiter.tryReserve(1, 0) < 0);
+    }
+
+    @Test
+    public void testReservationBeyondBurstIsQueued() {
+
+        RateLimiter rateLimiter = new RateLimiter(10, 1);
+
+        Assert.assertEquals(rateLimiter.tryReserve(1, 0), 0);
+        long waitNanos = rateLimiter.tryReserve(1, TimeUnit.SECONDS.toNanos(1));
+        Assert.assertTrue(waitNanos > TimeUnit.MILLISECONDS.toNanos(50), "Wait: " + waitNanos);
+        Assert.assertTrue(waitNanos <= TimeUnit.MILLISECONDS.toNanos(100), "Wait: " + waitNanos);
+        // Waits longer than the allowed wait are rejected without reserving.
+        Assert.assertTrue(rateLimiter.tryReserve(10, TimeUnit.MILLISECONDS.toNanos(500)) < 0);
+    }
+
+    @Test
+    public void testPermitsRefillOverTime() throws InterruptedException {
+
+        RateLimiter rateLimiter = new RateLimiter(100, 2);
+
+        Assert.assertEquals(rateLimiter.tryReserve(2, 0), 0);
+        Assert.assertEquals(rateLimiter.getAvailablePermits(), 0);
+        Thread.sleep(50);
+        Assert.assertEquals(rateLimiter.getAvailablePermits(), 2);
+        Assert.assertEquals(rateLimiter.tryReserve(2, 0), 0);
+    }
+
+    @Test
+    public void testReleasedPermitsCanBeReserved() {
+
+        RateLimiter rateLimiter = new RateLimiter(1, 3);
+
+        Assert.assertEquals(rateLimiter.tryReserve(3, 0), 0);
+        rateLimiter.release(2);
+        Assert.assertEquals(rateLimiter.tryReserve(2, 0), 0);
+        Assert.assertTrue(rateLimiter.tryReserve(1, 0) < 0);
+    }
+
+    @Test
+    public void testConcurrentReservationsDoNotExceedBurst() throws InterruptedException {
+
+        RateLimiter rateLimiter = new RateLimiter(1, 100);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            for (int i = 0; i < 400; i++) {
+                executorService.execute(() -> {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (rateLimiter.tryReserve(1, 0) >= 0) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+            latch.countDown();
+        } finally {
+            executorService.shutdown();
+            Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(granted.get(), 100);
+    }
+
+    @Test
+    public void testRegistryLimitsTenantsIndependently() {
+
+        RateLimitConfig rateLimitConfig = new RateLimitConfig();
+        rateLimitConfig.setTenantRate(1);
+        rateLimitConfig.setTenantBurst(2);
+        rateLimitConfig.setCredentialRate(1);
+        rateLimitConfig.setCredentialBurst(3);
+        rateLimitConfig.setMaxWait(0);
+        RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry(rateLimitConfig);
+
+        Assert.assertEquals(rateLimiterRegistry.tryReserve("tenant1", "credentials", 2), 0);
+        Assert.assertTrue(rateLimiterRegistry.tryReserve("tenant1", "credentials", 1) < 0);
+        // The credential permit taken by the rejected reservation is returned, so the other tenant gets it.
+        Assert.assertEquals(rateLimiterRegistry.tryReserve("tenant2", "credentials", 1), 0);
+        Assert.assertTrue(rateLimiterRegistry.tryReserve("tenant2", "credentials", 1) < 0);
+        Assert.assertEquals(rateLimiterRegistry.getAvailableTenantPermits("tenant2"), 1);
+    }
+
+    @Test
+    public void testRegistryWithoutLimits() {
+
+        RateLimitConfig rateLimitConfig = new RateLimitConfig();
+        rateLimitConfig.setTenantRate(0);
+        rateLimitConfig.setCredentialRate(0);
+        RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry(rateLimitConfig);
+
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(rateLimiterRegistry.tryReserve("tenant", "credentials", 500), 0);
+        }
+        Assert.assertEquals(rateLimiterRegistry.getAvailableTenantPermits("tenant"), -1);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.notification.push.provider;
+
+import com.google.firebase.IncomingHttpResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.notification.push.provider.impl.RetryPolicy;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Retry Policy Test.
+ */
+public class RetryPolicyTest {
+
+    private final RetryPolicy retryPolicy = new RetryPolicy(3, 100, 400, 5000);
+
+    @DataProvider(name = "errorCodes")
+    public Object[][] errorCodes() {
+
+        return new Object[][]{
+                {MessagingErrorCode.UNAVAILABLE, true},
+                {MessagingErrorCode.INTERNAL, true},
+                {MessagingErrorCode.QUOTA_EXCEEDED, true},
+                {MessagingErrorCode.UNREGISTERED, false},
+                {MessagingErrorCode.INVALID_ARGUMENT, false},
+                {MessagingErrorCode.SENDER_ID_MISMATCH, false},
+                {null, false}
+        };
+    }
+
+    @Test(dataProvider = "errorCodes")
+    public void testIsRetryable(MessagingErrorCode errorCode, boolean expected) {
+
+        Assert.assertEquals(retryPolicy.isRetryable(buildException(errorCode, null)), expected);
+    }
+
+    @Test
+    public void testBackoffIsCappedAndJittered() {
+
+        long deadline = retryPolicy.startDeadline();
+        FirebaseMessagingException e = buildException(MessagingErrorCode.UNAVAILABLE, null);
+        for (int i = 0; i < 50; i++) {
+            long firstDelay = retryPolicy.getRetryDelay(e, 1, deadline);
+            Assert.assertTrue(firstDelay >= 50 && firstDelay <= 100, "Unexpected delay: " + firstDelay);
+            long secondDelay = retryPolicy.getRetryDelay(e, 2, deadline);
+            Assert.assertTrue(secondDelay >= 100 && secondDelay <= 200, "Unexpected delay: " + secondDelay);
+        }
+        RetryPolicy cappedPolicy = new RetryPolicy(10, 100, 400, 60000);
+        long cappedDelay = cappedPolicy.getRetryDelay(e, 8, cappedPolicy.startDeadline());
+        Assert.assertTrue(cappedDelay >= 200 && cappedDelay <= 400, "Unexpected delay: " + cappedDelay);
+    }
+
+    @Test
+    public void testNoRetryAfterMaxAttempts() {
+
+        FirebaseMessagingException e = buildException(MessagingErrorCode.INTERNAL, null);
+        Assert.assertTrue(retryPolicy.getRetryDelay(e, 3, retryPolicy.startDeadline()) < 0);
+    }
+
+    @Test
+    public void testNoRetryForPermanentError() {
+
+        FirebaseMessagingException e = buildException(MessagingErrorCode.UNREGISTERED, null);
+        Assert.assertTrue(retryPolicy.getRetryDelay(e, 1, retryPolicy.startDeadline()) < 0);
+    }
+
+    @Test
+    public void testRetryAfterHeaderIsHonoured() {
+
+        FirebaseMessagingException e = buildException(MessagingErrorCode.QUOTA_EXCEEDED,
+                Collections.<String, Object>singletonMap("retry-after", Collections.singletonList("2")));
+        Assert.assertEquals(retryPolicy.getRetryDelay(e, 1, retryPolicy.startDeadline()),
+                TimeUnit.SECONDS.toMillis(2));
+    }
+
+    @Test
+    public void testNoRetryWhenRetryAfterExceedsDeadline() {
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("Retry-After", "10");
+        FirebaseMessagingException e = buildException(MessagingErrorCode.UNAVAILABLE, headers);
+        Assert.assertTrue(retryPolicy.getRetryDelay(e, 1, retryPolicy.startDeadline()) < 0);
+    }
+
+    @Test
+    public void testInvalidRetryAfterFallsBackToBackoff() {
+
+        FirebaseMessagingException e = buildException(MessagingErrorCode.UNAVAILABLE,
+                Collections.<String, Object>singletonMap("retry-after", "invalid"));
+        long delay = retryPolicy.getRetryDelay(e, 1, retryPolicy.startDeadline());
+        Assert.assertTrue(delay >= 50 && delay <= 100, "Unexpected delay: " + delay);
+    }
+
+    private FirebaseMessagingException buildException(MessagingErrorCode errorCode, Map<String, Object> headers) {
+
+        FirebaseMessagingException e = Mockito.mock(FirebaseMessagingException.class);
+        when(e.getMessagingErrorCode()).thenReturn(errorCode);
+        if (headers != null) {
+            IncomingHttpResponse httpResponse = Mockito.mock(IncomingHttpResponse.class);
+            when(httpResponse.getHeaders()).thenReturn(headers);
+            when(e.getHttpResponse()).thenReturn(httpResponse);
+        }
+        return e;
+    }
+}